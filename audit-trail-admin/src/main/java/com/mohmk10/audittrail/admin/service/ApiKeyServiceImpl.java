@@ -7,13 +7,11 @@ import com.mohmk10.audittrail.admin.domain.ApiKey;
 import com.mohmk10.audittrail.admin.domain.ApiKeyCreationResult;
 import com.mohmk10.audittrail.admin.domain.ApiKeyScope;
 import com.mohmk10.audittrail.admin.domain.ApiKeyStatus;
+import com.mohmk10.audittrail.core.crypto.Crypto;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -163,20 +161,6 @@ public class ApiKeyServiceImpl implements ApiKeyService {
     }
 
     private String hashKey(String key) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not found", e);
-        }
+        return Crypto.sha256Hex(key);
     }
 }
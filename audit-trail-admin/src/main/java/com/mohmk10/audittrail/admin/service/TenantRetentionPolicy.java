@@ -0,0 +1,37 @@
+package com.mohmk10.audittrail.admin.service;
+
+import com.mohmk10.audittrail.admin.domain.Tenant;
+import com.mohmk10.audittrail.core.port.out.RetentionPolicyPort;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class TenantRetentionPolicy implements RetentionPolicyPort {
+
+    private final TenantService tenantService;
+
+    public TenantRetentionPolicy(TenantService tenantService) {
+        this.tenantService = tenantService;
+    }
+
+    // events carry either the tenant id or its slug, so both map to the tenant's retention
+    @Override
+    public Map<String, Integer> retentionDaysByTenant() {
+        Map<String, Integer> retentionDays = new HashMap<>();
+        for (Tenant tenant : tenantService.findAll()) {
+            if (tenant.getQuota() == null || tenant.getQuota().getRetentionDays() <= 0) {
+                continue;
+            }
+            int days = tenant.getQuota().getRetentionDays();
+            if (tenant.getId() != null) {
+                retentionDays.put(tenant.getId().toString(), days);
+            }
+            if (tenant.getSlug() != null) {
+                retentionDays.put(tenant.getSlug(), days);
+            }
+        }
+        return retentionDays;
+    }
+}
@@ -0,0 +1,48 @@
+package com.mohmk10.audittrail.admin.service;
+
+import com.mohmk10.audittrail.admin.domain.Tenant;
+import com.mohmk10.audittrail.admin.domain.TenantPlan;
+import com.mohmk10.audittrail.admin.domain.TenantQuota;
+import com.mohmk10.audittrail.admin.fixtures.AdminTestFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantRetentionPolicyTest {
+
+    @Mock
+    private TenantService tenantService;
+
+    @InjectMocks
+    private TenantRetentionPolicy retentionPolicy;
+
+    @Test
+    void shouldMapTenantIdAndSlugToRetentionDays() {
+        Tenant tenant = AdminTestFixtures.createTenantWithPlan(TenantPlan.FREE);
+        when(tenantService.findAll()).thenReturn(List.of(tenant));
+
+        Map<String, Integer> retentionDays = retentionPolicy.retentionDaysByTenant();
+
+        assertThat(retentionDays)
+                .containsEntry(tenant.getId().toString(), tenant.getQuota().getRetentionDays())
+                .containsEntry(tenant.getSlug(), tenant.getQuota().getRetentionDays());
+    }
+
+    @Test
+    void shouldSkipTenantsWithoutRetention() {
+        Tenant tenant = AdminTestFixtures.createTenant();
+        tenant.setQuota(new TenantQuota(1000, 30000, 2, 2, 1, 0));
+        when(tenantService.findAll()).thenReturn(List.of(tenant));
+
+        assertThat(retentionPolicy.retentionDaysByTenant()).isEmpty();
+    }
+}
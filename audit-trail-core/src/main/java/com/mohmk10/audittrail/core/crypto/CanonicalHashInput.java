@@ -0,0 +1,94 @@
+package com.mohmk10.audittrail.core.crypto;
+
+import com.mohmk10.audittrail.core.domain.Event;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+
+// the bytes an event hash is computed over. Version 1 concatenated the fields as text without delimiters, so
+// different events could produce the same input; version 2 writes the version, the timestamp as seconds and nanos,
+// then every text field as a 4-byte length followed by its UTF-8 bytes (length -1 for null), into a per-thread
+// buffer that goes straight into the digest
+public final class CanonicalHashInput {
+
+    public static final int LEGACY_VERSION = 1;
+    public static final int CURRENT_VERSION = 2;
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int NULL_LENGTH = -1;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_CAPACITY));
+
+    private CanonicalHashInput() {
+    }
+
+    public static void write(MessageDigest digest, Event event, String previousHash) {
+        ByteBuffer buffer = BUFFER.get();
+        while (true) {
+            buffer.clear();
+            if (encode(buffer, event, previousHash)) {
+                break;
+            }
+            buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            BUFFER.set(buffer);
+        }
+        buffer.flip();
+        digest.update(buffer);
+    }
+
+    // false when the buffer is too small for this event
+    private static boolean encode(ByteBuffer buffer, Event event, String previousHash) {
+        Instant timestamp = event.timestamp();
+        if (buffer.remaining() < 1 + Long.BYTES + Integer.BYTES) {
+            return false;
+        }
+        buffer.put((byte) CURRENT_VERSION);
+        buffer.putLong(timestamp.getEpochSecond());
+        buffer.putInt(timestamp.getNano());
+        return putString(buffer, event.actor().id())
+                && putString(buffer, event.action().type().name())
+                && putString(buffer, event.resource().id())
+                && putString(buffer, previousHash);
+    }
+
+    // ASCII is copied char by char without an intermediate array; anything else goes through the UTF-8 encoder
+    private static boolean putString(ByteBuffer buffer, String value) {
+        if (buffer.remaining() < Integer.BYTES) {
+            return false;
+        }
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return true;
+        }
+        int length = value.length();
+        if (isAscii(value)) {
+            if (buffer.remaining() < Integer.BYTES + length) {
+                return false;
+            }
+            buffer.putInt(length);
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+            return true;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < Integer.BYTES + bytes.length) {
+            return false;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        return true;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
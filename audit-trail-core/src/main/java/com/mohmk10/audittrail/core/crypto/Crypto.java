@@ -0,0 +1,96 @@
+package com.mohmk10.audittrail.core.crypto;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+
+// per-thread digest, MAC and signature engines; provider lookup happens once per thread instead of once per call.
+// An engine handed out here belongs to the calling thread until its result is taken, so it must not be kept
+// across calls or used while another Crypto method runs on the same thread.
+public final class Crypto {
+
+    public static final String SHA_256 = "SHA-256";
+    public static final String HMAC_SHA_256 = "HmacSHA256";
+    public static final String SHA_256_WITH_ECDSA = "SHA256withECDSA";
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<MessageDigest> SHA_256_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    private static final ThreadLocal<Mac> HMAC_SHA_256_MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("HmacSHA256 algorithm not available", e);
+        }
+    });
+
+    private static final ThreadLocal<Signature> ECDSA_SIGNATURE = ThreadLocal.withInitial(() -> {
+        try {
+            return Signature.getInstance(SHA_256_WITH_ECDSA);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA256withECDSA algorithm not available", e);
+        }
+    });
+
+    private Crypto() {
+    }
+
+    // reset, ready for update/digest
+    public static MessageDigest sha256() {
+        MessageDigest digest = SHA_256_DIGEST.get();
+        digest.reset();
+        return digest;
+    }
+
+    public static byte[] sha256(byte[] data) {
+        return sha256().digest(data);
+    }
+
+    public static String sha256Hex(byte[] data) {
+        return toHex(sha256(data));
+    }
+
+    public static String sha256Hex(String data) {
+        return sha256Hex(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static byte[] hmacSha256(byte[] key, byte[] data) {
+        Mac mac = HMAC_SHA_256_MAC.get();
+        try {
+            mac.init(new SecretKeySpec(key, HMAC_SHA_256));
+        } catch (InvalidKeyException e) {
+            throw new IllegalArgumentException("Invalid HMAC key", e);
+        }
+        return mac.doFinal(data);
+    }
+
+    public static String hmacSha256Hex(byte[] key, byte[] data) {
+        return toHex(hmacSha256(key, data));
+    }
+
+    // the caller initialises it for signing or verification before each use
+    public static Signature ecdsaSha256() {
+        return ECDSA_SIGNATURE.get();
+    }
+
+    // lowercase hex in a single latin-1 buffer, without per-byte formatting or builders
+    public static String toHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,17 @@
+package com.mohmk10.audittrail.core.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ChainCheckpoint(
+        UUID id,
+        String tenantId,
+        UUID lastEventId,
+        String lastHash,
+        Instant lastCreatedAt,
+        long eventCount,
+        String reason,
+        Instant createdAt,
+        String signature
+) {
+}
@@ -18,12 +18,24 @@ public record SearchCriteria(
         int page,
         int size,
         String sortBy,
-        SortDirection sortDirection
+        SortDirection sortDirection,
+        String cursor,
+        TotalCount totalCount
 ) {
     public enum SortDirection {
         ASC, DESC
     }
 
+    // EXACT counts every match; ESTIMATED uses the planner or index estimate; NONE skips counting
+    public enum TotalCount {
+        EXACT, ESTIMATED, NONE
+    }
+
+    // a cursor replaces the page number: results continue after it in timestamp order
+    public SearchCursor decodedCursor() {
+        return cursor != null && !cursor.isBlank() ? SearchCursor.decode(cursor) : null;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -42,6 +54,8 @@ public record SearchCriteria(
         private int size = 20;
         private String sortBy = "timestamp";
         private SortDirection sortDirection = SortDirection.DESC;
+        private String cursor;
+        private TotalCount totalCount = TotalCount.EXACT;
 
         public Builder actorId(String actorId) {
             this.actorId = actorId;
@@ -108,10 +122,21 @@ public record SearchCriteria(
             return this;
         }
 
+        public Builder cursor(String cursor) {
+            this.cursor = cursor;
+            return this;
+        }
+
+        public Builder totalCount(TotalCount totalCount) {
+            this.totalCount = totalCount;
+            return this;
+        }
+
         public SearchCriteria build() {
             return new SearchCriteria(
                     actorId, actionTypes, resourceTypes, dateRange, tenantId,
-                    correlationId, sessionId, tags, query, page, size, sortBy, sortDirection
+                    correlationId, sessionId, tags, query, page, size, sortBy, sortDirection,
+                    cursor, totalCount
             );
         }
     }
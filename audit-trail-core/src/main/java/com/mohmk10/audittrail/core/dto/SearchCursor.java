@@ -0,0 +1,40 @@
+package com.mohmk10.audittrail.core.dto;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+// position after the last event of a page in (timestamp, id) order; clients pass the encoded form back unchanged
+public record SearchCursor(Instant timestamp, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static SearchCursor after(Event event) {
+        return new SearchCursor(event.timestamp(), event.id());
+    }
+
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new SearchCursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
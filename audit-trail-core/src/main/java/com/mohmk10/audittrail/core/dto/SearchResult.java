@@ -2,19 +2,41 @@ package com.mohmk10.audittrail.core.dto;
 
 import java.util.List;
 
+// totalCount and totalPages are -1 when the total was not counted; nextCursor is null on the last page
 public record SearchResult<T>(
         List<T> items,
         long totalCount,
         int page,
         int size,
-        int totalPages
+        int totalPages,
+        String nextCursor,
+        boolean totalEstimated
 ) {
+    public static final long UNKNOWN_TOTAL = -1;
+
     public static <T> SearchResult<T> of(List<T> items, long totalCount, int page, int size) {
         int totalPages = (int) Math.ceil((double) totalCount / size);
-        return new SearchResult<>(items, totalCount, page, size, totalPages);
+        return new SearchResult<>(items, totalCount, page, size, totalPages, null, false);
+    }
+
+    public static <T> SearchResult<T> estimated(List<T> items, long estimatedCount, int page, int size) {
+        int totalPages = (int) Math.ceil((double) estimatedCount / size);
+        return new SearchResult<>(items, estimatedCount, page, size, totalPages, null, true);
+    }
+
+    public static <T> SearchResult<T> uncounted(List<T> items, int page, int size) {
+        return new SearchResult<>(items, UNKNOWN_TOTAL, page, size, (int) UNKNOWN_TOTAL, null, false);
     }
 
     public static <T> SearchResult<T> empty(int page, int size) {
-        return new SearchResult<>(List.of(), 0, page, size, 0);
+        return new SearchResult<>(List.of(), 0, page, size, 0, null, false);
+    }
+
+    public SearchResult<T> withNextCursor(String nextCursor) {
+        return new SearchResult<>(items, totalCount, page, size, totalPages, nextCursor, totalEstimated);
+    }
+
+    public <R> SearchResult<R> withItems(List<R> newItems) {
+        return new SearchResult<>(newItems, totalCount, page, size, totalPages, nextCursor, totalEstimated);
     }
 }
@@ -0,0 +1,9 @@
+package com.mohmk10.audittrail.core.event;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PurgedEventsHandler {
+
+    void onPurged(String tenantId, List<UUID> eventIds);
+}
@@ -0,0 +1,13 @@
+package com.mohmk10.audittrail.core.event;
+
+import com.mohmk10.audittrail.core.domain.Event;
+
+public interface StoredEventHandler {
+
+    void onStored(Event event);
+
+    // recorded with each outbox entry the handler received, so it must stay the same across restarts
+    default String name() {
+        return getClass().getName();
+    }
+}
@@ -0,0 +1,15 @@
+package com.mohmk10.audittrail.core.exception;
+
+public class IngestionOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IngestionOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package com.mohmk10.audittrail.core.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid search cursor: " + cursor);
+    }
+}
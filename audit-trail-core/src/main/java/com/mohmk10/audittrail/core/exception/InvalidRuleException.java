@@ -0,0 +1,8 @@
+package com.mohmk10.audittrail.core.exception;
+
+public class InvalidRuleException extends RuntimeException {
+
+    public InvalidRuleException(String message) {
+        super(message);
+    }
+}
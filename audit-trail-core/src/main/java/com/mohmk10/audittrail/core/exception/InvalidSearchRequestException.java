@@ -0,0 +1,8 @@
+package com.mohmk10.audittrail.core.exception;
+
+public class InvalidSearchRequestException extends RuntimeException {
+
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
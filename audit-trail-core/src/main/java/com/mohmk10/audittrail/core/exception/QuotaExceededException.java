@@ -0,0 +1,21 @@
+package com.mohmk10.audittrail.core.exception;
+
+public class QuotaExceededException extends RuntimeException {
+
+    private final String tenantId;
+    private final long retryAfterSeconds;
+
+    public QuotaExceededException(String tenantId, String message, long retryAfterSeconds) {
+        super(message);
+        this.tenantId = tenantId;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
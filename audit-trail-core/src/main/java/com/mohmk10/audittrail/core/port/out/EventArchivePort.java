@@ -10,6 +10,10 @@ public interface EventArchivePort {
 
     void archive(Event event);
 
+    default void archiveAll(List<Event> events) {
+        events.forEach(this::archive);
+    }
+
     Optional<Event> retrieve(UUID id);
 
     List<Event> listArchived(DateRange dateRange);
@@ -0,0 +1,8 @@
+package com.mohmk10.audittrail.core.port.out;
+
+import java.util.Map;
+
+public interface RetentionPolicyPort {
+
+    Map<String, Integer> retentionDaysByTenant();
+}
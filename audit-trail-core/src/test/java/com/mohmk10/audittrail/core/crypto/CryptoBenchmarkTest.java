@@ -0,0 +1,116 @@
+package com.mohmk10.audittrail.core.crypto;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.HexFormat;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ops/s and bytes allocated per op of the per-call engines the services used before, next to the shared ones
+class CryptoBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CryptoBenchmarkTest.class);
+
+    private static final int DIGEST_OPS = 50_000;
+    private static final int SIGNATURE_OPS = 300;
+    private static final String HASH_INPUT =
+            "2026-10-18T00:00:00Zuser-123CREATEdocument-4567e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final byte[] SECRET = "whsec_0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAYLOAD = ("{\"eventType\":\"event.created\",\"payload\":\"" + "x".repeat(400) + "\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static volatile Object sink;
+
+    @Test
+    void shouldHashWithoutPerCallLookups() {
+        Result before = measure("sha256 hex, getInstance per call", DIGEST_OPS, () -> {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(HASH_INPUT.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        });
+        Result after = measure("sha256 hex, shared engine", DIGEST_OPS, () -> Crypto.sha256Hex(HASH_INPUT));
+
+        assertThat(after.bytesPerOp()).isLessThan(before.bytesPerOp());
+    }
+
+    @Test
+    void shouldMacWithoutPerCallLookups() {
+        Result before = measure("hmac-sha256 hex, getInstance per call", DIGEST_OPS, () -> {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(PAYLOAD));
+        });
+        Result after = measure("hmac-sha256 hex, shared engine", DIGEST_OPS,
+                () -> Crypto.hmacSha256Hex(SECRET, PAYLOAD));
+
+        assertThat(after.bytesPerOp()).isLessThan(before.bytesPerOp());
+    }
+
+    @Test
+    void shouldSignWithoutPerCallLookups() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        PrivateKey privateKey = keyPair.getPrivate();
+        byte[] hash = Crypto.sha256Hex(HASH_INPUT).getBytes(StandardCharsets.UTF_8);
+
+        measure("ecdsa sign, getInstance per call", SIGNATURE_OPS, () -> {
+            Signature signature = Signature.getInstance("SHA256withECDSA");
+            signature.initSign(privateKey);
+            signature.update(hash);
+            return signature.sign();
+        });
+        Result after = measure("ecdsa sign, shared engine", SIGNATURE_OPS, () -> {
+            Signature signature = Crypto.ecdsaSha256();
+            signature.initSign(privateKey);
+            signature.update(hash);
+            return signature.sign();
+        });
+
+        assertThat(after.opsPerSecond()).isPositive();
+    }
+
+    private record Result(long opsPerSecond, long bytesPerOp) {
+    }
+
+    private static Result measure(String name, int ops, Callable<Object> operation) {
+        try {
+            for (int i = 0; i < ops / 5; i++) {
+                sink = operation.call();
+            }
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long thread = Thread.currentThread().getId();
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                sink = operation.call();
+            }
+            long elapsedNanos = Math.max(1, System.nanoTime() - start);
+            long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+            Result result = new Result(ops * 1_000_000_000L / elapsedNanos, allocated / ops);
+            log.info("{}: {} ops/s, {} bytes/op", name, result.opsPerSecond(), result.bytesPerOp());
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mohmk10.audittrail.core.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CryptoTest {
+
+    @Test
+    void shouldHashKnownVector() {
+        assertThat(Crypto.sha256Hex("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(Crypto.sha256Hex(""))
+                .isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
+
+    @Test
+    void shouldResetDigestBetweenCalls() {
+        MessageDigest digest = Crypto.sha256();
+        digest.update("left over".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(Crypto.sha256Hex("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    void shouldComputeHmacOfRfc4231Vector() {
+        byte[] key = HexFormat.of().parseHex("0b".repeat(20));
+
+        assertThat(Crypto.hmacSha256Hex(key, "Hi There".getBytes(StandardCharsets.US_ASCII)))
+                .isEqualTo("b0344c61d8db38535ca8afceaf0bf12b881dc200c9833da726e9376c2e32cff7");
+    }
+
+    @Test
+    void shouldKeyHmacPerCall() {
+        byte[] data = "payload".getBytes(StandardCharsets.UTF_8);
+
+        String first = Crypto.hmacSha256Hex("secret-a".getBytes(StandardCharsets.UTF_8), data);
+        String second = Crypto.hmacSha256Hex("secret-b".getBytes(StandardCharsets.UTF_8), data);
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(Crypto.hmacSha256Hex("secret-a".getBytes(StandardCharsets.UTF_8), data)).isEqualTo(first);
+    }
+
+    @Test
+    void shouldSignAndVerifyWithSharedEngine() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        byte[] data = "hash".getBytes(StandardCharsets.UTF_8);
+
+        Signature signer = Crypto.ecdsaSha256();
+        signer.initSign(keyPair.getPrivate());
+        signer.update(data);
+        byte[] signature = signer.sign();
+
+        Signature verifier = Crypto.ecdsaSha256();
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(data);
+        assertThat(verifier.verify(signature)).isTrue();
+    }
+
+    @Test
+    void shouldEncodeHexLikeHexFormat() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        assertThat(Crypto.toHex(bytes)).isEqualTo(HexFormat.of().formatHex(bytes));
+        assertThat(Crypto.toHex(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void shouldGiveEachThreadItsOwnEngine() throws Exception {
+        MessageDigest mine = Crypto.sha256();
+        MessageDigest other = CompletableFuture.supplyAsync(Crypto::sha256).get();
+
+        assertThat(other).isNotSameAs(mine);
+        assertThat(Crypto.sha256()).isSameAs(mine);
+    }
+}
@@ -2,13 +2,16 @@ package com.mohmk10.audittrail.core.dto;
 
 import com.mohmk10.audittrail.core.domain.Action;
 import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.core.exception.InvalidCursorException;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SearchCriteriaTest {
 
@@ -219,4 +222,36 @@ class SearchCriteriaTest {
         assertThat(builder.page(1)).isEqualTo(builder);
         assertThat(builder.size(10)).isEqualTo(builder);
     }
+
+    @Test
+    void shouldRoundTripCursor() {
+        SearchCursor cursor = new SearchCursor(Instant.parse("2024-06-15T10:30:00.123456Z"),
+                UUID.fromString("5f0c6a3e-8a1b-4c2d-9e3f-0a1b2c3d4e5f"));
+
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .cursor(cursor.encode())
+                .totalCount(SearchCriteria.TotalCount.NONE)
+                .build();
+
+        assertThat(criteria.decodedCursor()).isEqualTo(cursor);
+        assertThat(criteria.totalCount()).isEqualTo(SearchCriteria.TotalCount.NONE);
+    }
+
+    @Test
+    void shouldStartCursorPagingWithEmptyCursor() {
+        SearchCriteria criteria = SearchCriteria.builder().tenantId("tenant-001").cursor("").build();
+
+        assertThat(criteria.cursor()).isEmpty();
+        assertThat(criteria.decodedCursor()).isNull();
+        assertThat(SearchCriteria.builder().build().totalCount()).isEqualTo(SearchCriteria.TotalCount.EXACT);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        SearchCriteria criteria = SearchCriteria.builder().tenantId("tenant-001").cursor("not-a-cursor").build();
+
+        assertThatThrownBy(criteria::decodedCursor)
+                .isInstanceOf(InvalidCursorException.class);
+    }
 }
@@ -8,6 +8,7 @@ public record RuleConditionDto(
         Object value,
         Integer threshold,
         Integer windowMinutes,
+        String groupBy,
         List<RuleConditionDto> and,
         List<RuleConditionDto> or
 ) {
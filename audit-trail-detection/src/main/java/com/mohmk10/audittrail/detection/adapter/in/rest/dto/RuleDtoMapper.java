@@ -91,6 +91,7 @@ public class RuleDtoMapper {
         condition.setValue(dto.value());
         condition.setThreshold(dto.threshold());
         condition.setWindowMinutes(dto.windowMinutes());
+        condition.setGroupBy(dto.groupBy());
 
         if (dto.and() != null) {
             condition.setAnd(dto.and().stream().map(this::toCondition).toList());
@@ -120,6 +121,7 @@ public class RuleDtoMapper {
                 condition.getValue(),
                 condition.getThreshold(),
                 condition.getWindowMinutes(),
+                condition.getGroupBy(),
                 andDtos,
                 orDtos
         );
@@ -9,6 +9,7 @@ public class RuleCondition {
     private Object value;
     private Integer threshold;
     private Integer windowMinutes;
+    private String groupBy;
     private List<RuleCondition> and;
     private List<RuleCondition> or;
 
@@ -61,6 +62,14 @@ public class RuleCondition {
         this.windowMinutes = windowMinutes;
     }
 
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
     public List<RuleCondition> getAnd() {
         return and;
     }
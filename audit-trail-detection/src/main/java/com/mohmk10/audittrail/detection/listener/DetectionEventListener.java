@@ -1,5 +1,6 @@
 package com.mohmk10.audittrail.detection.listener;
 
+import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.core.event.EventStoredEvent;
 import com.mohmk10.audittrail.detection.domain.Alert;
 import com.mohmk10.audittrail.detection.service.AlertService;
@@ -7,6 +8,7 @@ import com.mohmk10.audittrail.detection.service.NotificationService;
 import com.mohmk10.audittrail.detection.service.RuleEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
@@ -21,38 +23,49 @@ public class DetectionEventListener {
     private final RuleEngine ruleEngine;
     private final AlertService alertService;
     private final NotificationService notificationService;
+    private final boolean outboxEnabled;
 
     public DetectionEventListener(
             RuleEngine ruleEngine,
             AlertService alertService,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            @Value("${audit-trail.storage.outbox.enabled:false}") boolean outboxEnabled) {
         this.ruleEngine = ruleEngine;
         this.alertService = alertService;
         this.notificationService = notificationService;
+        this.outboxEnabled = outboxEnabled;
     }
 
     @EventListener
     @Async
     public void onEventStored(EventStoredEvent event) {
+        if (outboxEnabled) {
+            // the outbox relay delivers this event through DetectionStoredEventHandler once it has committed
+            return;
+        }
         try {
-            List<Alert> alerts = ruleEngine.evaluate(event.getEvent());
-
-            for (Alert alert : alerts) {
-                Alert saved = alertService.create(alert);
-                notificationService.notify(saved);
-                log.debug("Created and notified alert {} for event {}",
-                        saved.getId(), event.getEvent().id());
-            }
-
-            if (!alerts.isEmpty()) {
-                log.info("Generated {} alert(s) for event {} in tenant {}",
-                        alerts.size(),
-                        event.getEvent().id(),
-                        event.getEvent().metadata().tenantId());
-            }
+            detect(event.getEvent());
         } catch (Exception e) {
             log.error("Error processing event {} for detection: {}",
                     event.getEvent().id(), e.getMessage());
         }
     }
+
+    public void detect(Event event) {
+        List<Alert> alerts = ruleEngine.evaluate(event);
+
+        for (Alert alert : alerts) {
+            Alert saved = alertService.create(alert);
+            notificationService.notify(saved);
+            log.debug("Created and notified alert {} for event {}",
+                    saved.getId(), event.id());
+        }
+
+        if (!alerts.isEmpty()) {
+            log.info("Generated {} alert(s) for event {} in tenant {}",
+                    alerts.size(),
+                    event.id(),
+                    event.metadata().tenantId());
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.mohmk10.audittrail.detection.listener;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.event.StoredEventHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "audit-trail.storage.outbox", name = "enabled", havingValue = "true")
+public class DetectionStoredEventHandler implements StoredEventHandler {
+
+    private final DetectionEventListener detectionEventListener;
+
+    public DetectionStoredEventHandler(DetectionEventListener detectionEventListener) {
+        this.detectionEventListener = detectionEventListener;
+    }
+
+    @Override
+    public void onStored(Event event) {
+        detectionEventListener.detect(event);
+    }
+
+    @Override
+    public String name() {
+        return "detection";
+    }
+}
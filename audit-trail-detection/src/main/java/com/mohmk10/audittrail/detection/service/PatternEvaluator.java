@@ -3,13 +3,153 @@ package com.mohmk10.audittrail.detection.service;
 import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.detection.domain.Rule;
 import com.mohmk10.audittrail.detection.domain.RuleCondition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 @Component
 public class PatternEvaluator {
 
+    private static final Logger log = LoggerFactory.getLogger(PatternEvaluator.class);
+
+    private static final int MAX_CACHED_LEAVES = 4096;
+
+    // the fields a condition can name, read straight off the event
+    private static final Map<String, Function<Event, String>> FIELDS = Map.ofEntries(
+            Map.entry("actionType", e -> e.action() != null && e.action().type() != null
+                    ? e.action().type().name() : null),
+            Map.entry("actorId", e -> e.actor() != null ? e.actor().id() : null),
+            Map.entry("actorType", e -> e.actor() != null && e.actor().type() != null
+                    ? e.actor().type().name() : null),
+            Map.entry("actorName", e -> e.actor() != null ? e.actor().name() : null),
+            Map.entry("actorIp", e -> e.actor() != null ? e.actor().ip() : null),
+            Map.entry("resourceId", e -> e.resource() != null ? e.resource().id() : null),
+            Map.entry("resourceType", e -> e.resource() != null && e.resource().type() != null
+                    ? e.resource().type().name() : null),
+            Map.entry("resourceName", e -> e.resource() != null ? e.resource().name() : null),
+            Map.entry("tenantId", e -> e.metadata() != null ? e.metadata().tenantId() : null),
+            Map.entry("source", e -> e.metadata() != null ? e.metadata().source() : null),
+            Map.entry("correlationId", e -> e.metadata() != null ? e.metadata().correlationId() : null));
+
+    // least recently used first, so a flood of one-off conditions only displaces the stale ones
+    private final Map<LeafKey, Predicate<Event>> leaves = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LeafKey, Predicate<Event>> eldest) {
+            return size() > MAX_CACHED_LEAVES;
+        }
+    };
+
+    // resolves the fields, operators, patterns and value sets of a condition tree once, so evaluating
+    // the result is a few getter calls and comparisons per event; same semantics as evaluate, with
+    // and/or applied at every level
+    public Predicate<Event> compile(RuleCondition condition) {
+        if (condition == null) {
+            return event -> false;
+        }
+        if (condition.getAnd() != null && !condition.getAnd().isEmpty()) {
+            List<Predicate<Event>> children = condition.getAnd().stream().map(this::compile).toList();
+            return event -> {
+                for (Predicate<Event> child : children) {
+                    if (!child.test(event)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        if (condition.getOr() != null && !condition.getOr().isEmpty()) {
+            List<Predicate<Event>> children = condition.getOr().stream().map(this::compile).toList();
+            return event -> {
+                for (Predicate<Event> child : children) {
+                    if (child.test(event)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        return leaf(condition);
+    }
+
+    private Predicate<Event> compileSingleCondition(RuleCondition condition) {
+        String operator = condition.getOperator();
+        if (condition.getField() == null || operator == null) {
+            return event -> false;
+        }
+        Function<Event, String> field = field(condition.getField());
+        if ("NOT_EXISTS".equals(operator)) {
+            return event -> field.apply(event) == null;
+        }
+        Predicate<String> test = compileOperator(operator, condition.getValue());
+        return event -> {
+            String fieldValue = field.apply(event);
+            return fieldValue != null && test.test(fieldValue);
+        };
+    }
+
+    private Predicate<String> compileOperator(String operator, Object value) {
+        String valueStr = value != null ? value.toString() : "";
+        return switch (operator) {
+            case "EQUALS" -> valueStr::equals;
+            case "NOT_EQUALS" -> fieldValue -> !fieldValue.equals(valueStr);
+            case "CONTAINS" -> fieldValue -> fieldValue.contains(valueStr);
+            case "STARTS_WITH" -> fieldValue -> fieldValue.startsWith(valueStr);
+            case "ENDS_WITH" -> fieldValue -> fieldValue.endsWith(valueStr);
+            case "MATCHES" -> compilePattern(valueStr);
+            case "IN" -> inValues(value)::contains;
+            case "NOT_IN" -> {
+                Set<String> values = inValues(value);
+                yield fieldValue -> !values.contains(fieldValue);
+            }
+            case "EXISTS" -> fieldValue -> true;
+            default -> fieldValue -> false;
+        };
+    }
+
+    private static Predicate<String> compilePattern(String regex) {
+        try {
+            Pattern pattern = Pattern.compile(regex);
+            return fieldValue -> pattern.matcher(fieldValue).matches();
+        } catch (PatternSyntaxException e) {
+            log.warn("Invalid MATCHES pattern '{}' never matches: {}", regex, e.getDescription());
+            return fieldValue -> false;
+        }
+    }
+
+    // the event's value of a condition field, null when it has none or the field is unknown
+    static Function<Event, String> field(String name) {
+        return FIELDS.getOrDefault(name, event -> null);
+    }
+
+    // whether a condition may refer to the field, as in a threshold rule's groupBy
+    public static boolean hasField(String name) {
+        return FIELDS.containsKey(name);
+    }
+
+    static Set<String> inValues(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+        }
+        if (value instanceof String valueStr) {
+            return Arrays.stream(valueStr.split(",")).map(String::trim).collect(Collectors.toUnmodifiableSet());
+        }
+        return Set.of();
+    }
+
     public boolean evaluate(Event event, Rule rule, RuleCondition condition) {
         if (condition.getAnd() != null && !condition.getAnd().isEmpty()) {
             return evaluateAndConditions(event, condition.getAnd());
@@ -41,78 +181,46 @@ public class PatternEvaluator {
     }
 
     private boolean matchesSingleCondition(Event event, RuleCondition condition) {
-        String field = condition.getField();
-        String operator = condition.getOperator();
-        Object value = condition.getValue();
+        return leaf(condition).test(event);
+    }
 
-        if (field == null || operator == null) {
-            return false;
+    // conditions passed in directly are compiled on first use and looked up by content afterwards, so a
+    // condition edited in place still gets its own predicate
+    private Predicate<Event> leaf(RuleCondition condition) {
+        LeafKey key = LeafKey.of(condition);
+        Predicate<Event> compiled;
+        synchronized (leaves) {
+            compiled = leaves.get(key);
         }
-
-        Object fieldValue = getFieldValue(event, field);
-        if (fieldValue == null && !"NOT_EXISTS".equals(operator)) {
-            return false;
+        if (compiled == null) {
+            compiled = compileSingleCondition(condition);
+            synchronized (leaves) {
+                leaves.putIfAbsent(key, compiled);
+            }
         }
-
-        return evaluateOperator(fieldValue, operator, value);
-    }
-
-    private Object getFieldValue(Event event, String field) {
-        return switch (field) {
-            case "actionType" -> event.action().type().name();
-            case "actorId" -> event.actor().id();
-            case "actorType" -> event.actor().type().name();
-            case "actorName" -> event.actor().name();
-            case "actorIp" -> event.actor().ip();
-            case "resourceId" -> event.resource().id();
-            case "resourceType" -> event.resource().type().name();
-            case "resourceName" -> event.resource().name();
-            case "tenantId" -> event.metadata().tenantId();
-            case "source" -> event.metadata().source();
-            case "correlationId" -> event.metadata().correlationId();
-            default -> null;
-        };
+        return compiled;
     }
 
-    private boolean evaluateOperator(Object fieldValue, String operator, Object value) {
-        if (fieldValue == null) {
-            return "NOT_EXISTS".equals(operator);
+    int cachedLeaves() {
+        synchronized (leaves) {
+            return leaves.size();
         }
-
-        String fieldStr = fieldValue.toString();
-        String valueStr = value != null ? value.toString() : "";
-
-        return switch (operator) {
-            case "EQUALS" -> fieldStr.equals(valueStr);
-            case "NOT_EQUALS" -> !fieldStr.equals(valueStr);
-            case "CONTAINS" -> fieldStr.contains(valueStr);
-            case "STARTS_WITH" -> fieldStr.startsWith(valueStr);
-            case "ENDS_WITH" -> fieldStr.endsWith(valueStr);
-            case "MATCHES" -> fieldStr.matches(valueStr);
-            case "IN" -> evaluateInOperator(fieldStr, value);
-            case "NOT_IN" -> !evaluateInOperator(fieldStr, value);
-            case "EXISTS" -> true;
-            case "NOT_EXISTS" -> false;
-            default -> false;
-        };
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean evaluateInOperator(String fieldValue, Object value) {
-        if (value instanceof List) {
-            return ((List<Object>) value).stream()
-                    .map(Object::toString)
-                    .anyMatch(v -> v.equals(fieldValue));
-        }
-        if (value instanceof String valueStr) {
-            // Handle comma-separated values
-            String[] values = valueStr.split(",");
-            for (String v : values) {
-                if (v.trim().equals(fieldValue)) {
-                    return true;
-                }
+    // holds its own copy of a list or map value, so a caller changing theirs cannot alter a cached key
+    private record LeafKey(String field, String operator, Object value) {
+
+        static LeafKey of(RuleCondition condition) {
+            Object value = condition.getValue();
+            // List.copyOf and Map.copyOf refuse nulls, which a condition read from JSON may still hold
+            if (value instanceof List<?> list) {
+                value = list.stream().anyMatch(Objects::isNull)
+                        ? Collections.unmodifiableList(new ArrayList<>(list)) : List.copyOf(list);
+            } else if (value instanceof Map<?, ?> map) {
+                value = map.entrySet().stream().anyMatch(e -> e.getKey() == null || e.getValue() == null)
+                        ? Collections.unmodifiableMap(new LinkedHashMap<>(map)) : Map.copyOf(map);
             }
+            return new LeafKey(condition.getField(), condition.getOperator(), value);
         }
-        return false;
     }
 }
@@ -0,0 +1,187 @@
+package com.mohmk10.audittrail.detection.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.detection.domain.RuleCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// decision tree over the low-cardinality fields most rules are gated on. A rule whose condition requires
+// actionType, resourceType or actorType to EQUALS or be IN some values sits only under those values
+// (or under "any" for a field it does not constrain), so an event reaches the rules that can match it
+// through at most 2^3 leaves, however many rules the tenant has
+final class RuleIndex {
+
+    // read through the evaluator's own accessors, so the index and the conditions see the same values
+    private enum Discriminator {
+        ACTION_TYPE("actionType"),
+        RESOURCE_TYPE("resourceType"),
+        ACTOR_TYPE("actorType");
+
+        private final String field;
+        private final Function<Event, String> accessor;
+
+        Discriminator(String field) {
+            this.field = field;
+            this.accessor = PatternEvaluator.field(field);
+        }
+    }
+
+    private static final Discriminator[] LEVELS = Discriminator.values();
+
+    private final List<RuleSetCache.CompiledRule> rules;
+    private final Node root = new Node();
+
+    RuleIndex(List<RuleSetCache.CompiledRule> rules) {
+        this.rules = rules;
+        for (int i = 0; i < rules.size(); i++) {
+            Map<Discriminator, Set<String>> constraints = constraints(rules.get(i).rule().getCondition());
+            if (constraints != null) {
+                insert(root, 0, constraints, i);
+            }
+        }
+        root.freeze();
+    }
+
+    // candidates in rule order; every other rule is known not to match the event
+    List<RuleSetCache.CompiledRule> candidates(Event event) {
+        String[] values = new String[LEVELS.length];
+        for (int level = 0; level < LEVELS.length; level++) {
+            values[level] = LEVELS[level].accessor.apply(event);
+        }
+        List<int[]> leaves = new ArrayList<>(4);
+        collect(root, 0, values, leaves);
+
+        int total = 0;
+        for (int[] leaf : leaves) {
+            total += leaf.length;
+        }
+        int[] positions = new int[total];
+        int offset = 0;
+        for (int[] leaf : leaves) {
+            System.arraycopy(leaf, 0, positions, offset, leaf.length);
+            offset += leaf.length;
+        }
+        if (leaves.size() > 1) {
+            Arrays.sort(positions);
+        }
+        List<RuleSetCache.CompiledRule> candidates = new ArrayList<>(total);
+        for (int position : positions) {
+            candidates.add(rules.get(position));
+        }
+        return candidates;
+    }
+
+    private static void collect(Node node, int level, String[] values, List<int[]> leaves) {
+        if (node == null) {
+            return;
+        }
+        if (level == LEVELS.length) {
+            if (node.leaf.length > 0) {
+                leaves.add(node.leaf);
+            }
+            return;
+        }
+        if (values[level] != null) {
+            collect(node.byValue.get(values[level]), level + 1, values, leaves);
+        }
+        collect(node.any, level + 1, values, leaves);
+    }
+
+    private static void insert(Node node, int level, Map<Discriminator, Set<String>> constraints, int position) {
+        if (level == LEVELS.length) {
+            node.positions.add(position);
+            return;
+        }
+        Set<String> allowed = constraints.get(LEVELS[level]);
+        if (allowed == null) {
+            if (node.any == null) {
+                node.any = new Node();
+            }
+            insert(node.any, level + 1, constraints, position);
+            return;
+        }
+        for (String value : allowed) {
+            insert(node.byValue.computeIfAbsent(value, v -> new Node()), level + 1, constraints, position);
+        }
+    }
+
+    // the values each discriminating field must take for the condition to hold; null when the rule can never
+    // match, since it then belongs under no leaf at all
+    private static Map<Discriminator, Set<String>> constraints(RuleCondition condition) {
+        if (condition == null) {
+            return null;
+        }
+        Map<Discriminator, Set<String>> constraints = new HashMap<>();
+        if (condition.getAnd() != null && !condition.getAnd().isEmpty()) {
+            for (RuleCondition child : condition.getAnd()) {
+                if (!addConstraint(constraints, child)) {
+                    return null;
+                }
+            }
+        } else if (condition.getOr() == null || condition.getOr().isEmpty()) {
+            if (!addConstraint(constraints, condition)) {
+                return null;
+            }
+        }
+        return constraints;
+    }
+
+    private static boolean addConstraint(Map<Discriminator, Set<String>> constraints, RuleCondition condition) {
+        if ((condition.getAnd() != null && !condition.getAnd().isEmpty())
+                || (condition.getOr() != null && !condition.getOr().isEmpty())) {
+            return true;
+        }
+        Discriminator discriminator = discriminator(condition.getField());
+        Set<String> allowed;
+        if (discriminator == null) {
+            return true;
+        } else if ("EQUALS".equals(condition.getOperator())) {
+            allowed = Set.of(condition.getValue() != null ? condition.getValue().toString() : "");
+        } else if ("IN".equals(condition.getOperator())) {
+            allowed = PatternEvaluator.inValues(condition.getValue());
+        } else {
+            return true;
+        }
+        Set<String> existing = constraints.get(discriminator);
+        if (existing != null) {
+            Set<String> both = new HashSet<>(existing);
+            both.retainAll(allowed);
+            allowed = both;
+        }
+        constraints.put(discriminator, allowed);
+        return !allowed.isEmpty();
+    }
+
+    private static Discriminator discriminator(String field) {
+        for (Discriminator discriminator : LEVELS) {
+            if (discriminator.field.equals(field)) {
+                return discriminator;
+            }
+        }
+        return null;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> byValue = new HashMap<>();
+        private final List<Integer> positions = new ArrayList<>();
+        private Node any;
+        private int[] leaf = new int[0];
+
+        private void freeze() {
+            leaf = positions.stream().mapToInt(Integer::intValue).toArray();
+            positions.clear();
+            byValue.values().forEach(Node::freeze);
+            if (any != null) {
+                any.freeze();
+            }
+        }
+    }
+}
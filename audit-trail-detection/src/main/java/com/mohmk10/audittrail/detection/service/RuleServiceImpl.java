@@ -1,9 +1,11 @@
 package com.mohmk10.audittrail.detection.service;
 
+import com.mohmk10.audittrail.core.exception.InvalidRuleException;
 import com.mohmk10.audittrail.detection.adapter.out.persistence.entity.RuleEntity;
 import com.mohmk10.audittrail.detection.adapter.out.persistence.mapper.RuleMapper;
 import com.mohmk10.audittrail.detection.adapter.out.persistence.repository.JpaRuleRepository;
 import com.mohmk10.audittrail.detection.domain.Rule;
+import com.mohmk10.audittrail.detection.domain.RuleCondition;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,14 +20,17 @@ public class RuleServiceImpl implements RuleService {
 
     private final JpaRuleRepository ruleRepository;
     private final RuleMapper ruleMapper;
+    private final RuleSetCache ruleSetCache;
 
-    public RuleServiceImpl(JpaRuleRepository ruleRepository, RuleMapper ruleMapper) {
+    public RuleServiceImpl(JpaRuleRepository ruleRepository, RuleMapper ruleMapper, RuleSetCache ruleSetCache) {
         this.ruleRepository = ruleRepository;
         this.ruleMapper = ruleMapper;
+        this.ruleSetCache = ruleSetCache;
     }
 
     @Override
     public Rule create(Rule rule) {
+        validate(rule);
         Rule newRule = rule.toBuilder()
                 .id(UUID.randomUUID())
                 .enabled(true)
@@ -35,11 +40,13 @@ public class RuleServiceImpl implements RuleService {
 
         RuleEntity entity = ruleMapper.toEntity(newRule);
         RuleEntity saved = ruleRepository.save(entity);
+        ruleSetCache.reloadAfterCommit(saved.getTenantId());
         return ruleMapper.toDomain(saved);
     }
 
     @Override
     public Rule update(UUID id, Rule rule) {
+        validate(rule);
         RuleEntity existing = ruleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Rule not found: " + id));
 
@@ -52,15 +59,27 @@ public class RuleServiceImpl implements RuleService {
 
         RuleEntity entity = ruleMapper.toEntity(updatedRule);
         RuleEntity saved = ruleRepository.save(entity);
+        ruleSetCache.reloadAfterCommit(saved.getTenantId());
         return ruleMapper.toDomain(saved);
     }
 
+    // an unknown groupBy field has no value on any event, so the rule would silently never fire
+    private static void validate(Rule rule) {
+        RuleCondition condition = rule.getCondition();
+        if (condition == null || condition.getGroupBy() == null || condition.getGroupBy().isBlank()) {
+            return;
+        }
+        if (!PatternEvaluator.hasField(condition.getGroupBy())) {
+            throw new InvalidRuleException("Unknown groupBy field: " + condition.getGroupBy());
+        }
+    }
+
     @Override
     public void delete(UUID id) {
-        if (!ruleRepository.existsById(id)) {
-            throw new RuntimeException("Rule not found: " + id);
-        }
+        RuleEntity existing = ruleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Rule not found: " + id));
         ruleRepository.deleteById(id);
+        ruleSetCache.reloadAfterCommit(existing.getTenantId());
     }
 
     @Override
@@ -95,6 +114,7 @@ public class RuleServiceImpl implements RuleService {
         entity.setEnabled(true);
         entity.setUpdatedAt(Instant.now());
         ruleRepository.save(entity);
+        ruleSetCache.reloadAfterCommit(entity.getTenantId());
     }
 
     @Override
@@ -104,5 +124,6 @@ public class RuleServiceImpl implements RuleService {
         entity.setEnabled(false);
         entity.setUpdatedAt(Instant.now());
         ruleRepository.save(entity);
+        ruleSetCache.reloadAfterCommit(entity.getTenantId());
     }
 }
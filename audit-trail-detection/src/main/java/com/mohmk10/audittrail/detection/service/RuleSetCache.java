@@ -0,0 +1,154 @@
+package com.mohmk10.audittrail.detection.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.detection.adapter.out.persistence.mapper.RuleMapper;
+import com.mohmk10.audittrail.detection.adapter.out.persistence.repository.JpaRuleRepository;
+import com.mohmk10.audittrail.detection.domain.Rule;
+import com.mohmk10.audittrail.detection.domain.RuleCondition;
+import com.mohmk10.audittrail.detection.domain.RuleType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+// the enabled rules of each tenant, loaded, compiled and indexed once and replaced as a whole when a rule
+// changes, so evaluating an event does no I/O. Rule changes made through another instance are picked up once the
+// set is older than the refresh interval
+@Component
+public class RuleSetCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleSetCache.class);
+
+    private final JpaRuleRepository ruleRepository;
+    private final RuleMapper ruleMapper;
+    private final PatternEvaluator patternEvaluator;
+    private final long refreshNanos;
+    private final ConcurrentHashMap<String, RuleSet> ruleSets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RuleSetCache(
+            JpaRuleRepository ruleRepository,
+            RuleMapper ruleMapper,
+            PatternEvaluator patternEvaluator,
+            @Value("${detection.rule-cache.refresh-interval-ms:60000}") long refreshIntervalMs) {
+        this.ruleRepository = ruleRepository;
+        this.ruleMapper = ruleMapper;
+        this.patternEvaluator = patternEvaluator;
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, refreshIntervalMs));
+    }
+
+    // never refreshes on its own
+    public RuleSetCache(JpaRuleRepository ruleRepository, RuleMapper ruleMapper, PatternEvaluator patternEvaluator) {
+        this(ruleRepository, ruleMapper, patternEvaluator, 0);
+    }
+
+    public List<CompiledRule> rules(String tenantId) {
+        return ruleSet(tenantId).rules();
+    }
+
+    // the tenant's rules that can match the event, in rule order
+    public List<CompiledRule> candidates(Event event) {
+        return ruleSet(event.metadata().tenantId()).index().candidates(event);
+    }
+
+    private RuleSet ruleSet(String tenantId) {
+        RuleSet ruleSet = ruleSets.get(tenantId);
+        if (ruleSet == null || isStale(ruleSet)) {
+            ruleSet = ruleSets.compute(tenantId,
+                    (key, current) -> current != null && !isStale(current) ? current : load(key));
+        }
+        return ruleSet;
+    }
+
+    public void reload(String tenantId) {
+        ruleSets.compute(tenantId, (key, current) -> load(key));
+    }
+
+    // a load racing the writing transaction could still see the old rules, so the set is rebuilt once it commits
+    public void reloadAfterCommit(String tenantId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload(tenantId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload(tenantId);
+            }
+        });
+    }
+
+    public void clear() {
+        ruleSets.clear();
+    }
+
+    private boolean isStale(RuleSet ruleSet) {
+        return refreshNanos > 0 && System.nanoTime() - ruleSet.loadedAt() > refreshNanos;
+    }
+
+    private RuleSet load(String tenantId) {
+        List<CompiledRule> rules = ruleRepository.findByTenantIdAndEnabled(tenantId, true)
+                .stream()
+                .map(ruleMapper::toDomain)
+                .map(this::compile)
+                .toList();
+        log.debug("Compiled {} enabled rule(s) for tenant {}", rules.size(), tenantId);
+        return new RuleSet(rules, new RuleIndex(rules), System.nanoTime());
+    }
+
+    private CompiledRule compile(Rule rule) {
+        RuleCondition condition = rule.getCondition();
+        if (condition == null || rule.getType() == null) {
+            return new CompiledRule(rule, event -> false);
+        }
+        Predicate<Event> matcher = patternEvaluator.compile(condition);
+        if (rule.getType() == RuleType.TIME_BASED) {
+            matcher = condition.getValue() instanceof Map<?, ?> timeConfig
+                    ? matcher.and(outsideAllowedHours(rule, timeConfig))
+                    : event -> false;
+        }
+        return new CompiledRule(rule, matcher);
+    }
+
+    private static Predicate<Event> outsideAllowedHours(Rule rule, Map<?, ?> timeConfig) {
+        Object startObj = timeConfig.get("allowedStartHour");
+        Object endObj = timeConfig.get("allowedEndHour");
+        if (startObj == null || endObj == null) {
+            return event -> false;
+        }
+        LocalTime startTime;
+        LocalTime endTime;
+        try {
+            startTime = LocalTime.of(Integer.parseInt(startObj.toString()), 0);
+            endTime = LocalTime.of(Integer.parseInt(endObj.toString()), 0);
+        } catch (RuntimeException e) {
+            log.warn("Rule {} has invalid allowed hours {}-{} and never triggers", rule.getId(), startObj, endObj);
+            return event -> false;
+        }
+        boolean sameDay = startTime.isBefore(endTime);
+        return event -> {
+            LocalTime eventTime = LocalTime.ofInstant(event.timestamp(), ZoneId.systemDefault());
+            return sameDay
+                    ? eventTime.isBefore(startTime) || eventTime.isAfter(endTime)
+                    : eventTime.isBefore(startTime) && eventTime.isAfter(endTime);
+        };
+    }
+
+    // matcher holds the whole check except the threshold count, which depends on other events
+    public record CompiledRule(Rule rule, Predicate<Event> matcher) {
+    }
+
+    private record RuleSet(List<CompiledRule> rules, RuleIndex index, long loadedAt) {
+    }
+}
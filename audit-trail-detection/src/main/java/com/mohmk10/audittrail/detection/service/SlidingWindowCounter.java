@@ -0,0 +1,125 @@
+package com.mohmk10.audittrail.detection.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// count of the events recorded in the last windowMillis, kept in a ring of time buckets with a running total so
+// recording and counting are O(1) amortized. Buckets are one second wide, or wider for long windows so a window
+// never holds more than maxBuckets of them; the window may then reach up to one bucket further back.
+// The most recent ids are kept in a ring that grows with use up to MAX_RECENT_IDS, to be reported with the alert
+// and to recognize an event delivered again
+final class SlidingWindowCounter {
+
+    static final int MAX_RECENT_IDS = 100;
+    private static final int INITIAL_RECENT_IDS = 8;
+
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final int[] counts;
+    private UUID[] recentIds;
+    private long[] recentMillis;
+    private long head = Long.MIN_VALUE;
+    private long total;
+    private int nextId;
+    private int idCount;
+    private long lastRecordMillis;
+
+    SlidingWindowCounter(long windowMillis, int maxBuckets) {
+        this.windowMillis = windowMillis;
+        long seconds = (windowMillis + 999) / 1000;
+        this.bucketMillis = 1000 * ((seconds + maxBuckets - 1) / maxBuckets);
+        this.counts = new int[(int) ((windowMillis + bucketMillis - 1) / bucketMillis)];
+        this.recentIds = new UUID[INITIAL_RECENT_IDS];
+        this.recentMillis = new long[INITIAL_RECENT_IDS];
+    }
+
+    long windowMillis() {
+        return windowMillis;
+    }
+
+    // records one event that occurred at atMillis and returns the count in the window ending at the newest
+    // event seen; an event older than that window, or one of the most recent ids seen again, is not counted
+    synchronized long record(long atMillis, UUID eventId) {
+        advance(atMillis);
+        long bucket = Math.floorDiv(atMillis, bucketMillis);
+        if (head - bucket >= counts.length || isRecent(eventId)) {
+            return total;
+        }
+        counts[slot(bucket)]++;
+        total++;
+        lastRecordMillis = Math.max(lastRecordMillis, atMillis);
+        if (idCount == recentIds.length && recentIds.length < MAX_RECENT_IDS) {
+            // still unwrapped: the ring only grows while it fills for the first time
+            int capacity = Math.min(recentIds.length * 2, MAX_RECENT_IDS);
+            nextId = recentIds.length;
+            recentIds = Arrays.copyOf(recentIds, capacity);
+            recentMillis = Arrays.copyOf(recentMillis, capacity);
+        }
+        recentIds[nextId] = eventId;
+        recentMillis[nextId] = atMillis;
+        nextId = (nextId + 1) % recentIds.length;
+        idCount = Math.min(idCount + 1, recentIds.length);
+        return total;
+    }
+
+    synchronized long count(long nowMillis) {
+        advance(nowMillis);
+        return total;
+    }
+
+    // nothing recorded within the last window, so the count is zero and the state can be dropped
+    synchronized boolean isIdle(long nowMillis) {
+        return nowMillis - lastRecordMillis >= windowMillis;
+    }
+
+    // most recently recorded first, only those still inside the window; a late event may sit among older ones
+    synchronized List<UUID> recentIds(long nowMillis) {
+        List<UUID> ids = new ArrayList<>(idCount);
+        long from = nowMillis - windowMillis;
+        for (int i = 1; i <= idCount; i++) {
+            int position = Math.floorMod(nextId - i, recentIds.length);
+            if (recentMillis[position] > from) {
+                ids.add(recentIds[position]);
+            }
+        }
+        return ids;
+    }
+
+    // delivery is at least once, so an event may come back; it then carries the same id
+    private boolean isRecent(UUID eventId) {
+        if (eventId == null) {
+            return false;
+        }
+        for (int i = 0; i < idCount; i++) {
+            if (eventId.equals(recentIds[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the window never moves back; an earlier reading is counted in its own bucket by record
+    private void advance(long nowMillis) {
+        long bucket = Math.floorDiv(nowMillis, bucketMillis);
+        if (head != Long.MIN_VALUE && bucket <= head) {
+            return;
+        }
+        if (head == Long.MIN_VALUE || bucket - head >= counts.length) {
+            Arrays.fill(counts, 0);
+            total = 0;
+        } else {
+            for (long expired = head + 1; expired <= bucket; expired++) {
+                int slot = slot(expired);
+                total -= counts[slot];
+                counts[slot] = 0;
+            }
+        }
+        head = bucket;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) counts.length);
+    }
+}
@@ -1,101 +1,87 @@
 package com.mohmk10.audittrail.detection.service;
 
-import com.mohmk10.audittrail.core.domain.Action;
 import com.mohmk10.audittrail.core.domain.Event;
-import com.mohmk10.audittrail.core.dto.DateRange;
-import com.mohmk10.audittrail.core.dto.SearchCriteria;
-import com.mohmk10.audittrail.core.dto.SearchResult;
 import com.mohmk10.audittrail.detection.domain.Rule;
 import com.mohmk10.audittrail.detection.domain.RuleCondition;
-import com.mohmk10.audittrail.search.service.EventSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
+// threshold rules are decided from in-memory sliding windows fed by the events that match the rule, instead of
+// searching the event store for every match. A rule with groupBy counts each value of that field (an actor,
+// an IP) in its own window. Each window counts the matches this instance has seen, so a threshold reached only
+// across several detection instances does not trigger. Matches are counted at the time the event occurred, so
+// events delivered late by a backlog or a retry still fall in the right bucket, and those already older than the
+// window are not counted at all
 @Component
 public class ThresholdEvaluator {
 
-    private final EventSearchService eventSearchService;
+    private final ThresholdWindowStore windowStore;
+    private final Clock clock;
 
-    public ThresholdEvaluator(EventSearchService eventSearchService) {
-        this.eventSearchService = eventSearchService;
+    @Autowired
+    public ThresholdEvaluator(ThresholdWindowStore windowStore) {
+        this(windowStore, Clock.systemUTC());
     }
 
+    public ThresholdEvaluator(ThresholdWindowStore windowStore, Clock clock) {
+        this.windowStore = windowStore;
+        this.clock = clock;
+    }
+
+    // called with events that already match the rule's condition; counts the event towards its group's window.
+    // An event without a value for the groupBy field belongs to no group and is not counted
     public boolean evaluate(Event event, Rule rule, RuleCondition condition) {
-        if (condition.getThreshold() == null || condition.getWindowMinutes() == null) {
+        if (condition.getThreshold() == null || condition.getWindowMinutes() == null
+                || condition.getWindowMinutes() < 1) {
             return false;
         }
-
-        int windowMinutes = condition.getWindowMinutes();
-        int threshold = condition.getThreshold();
-
-        Instant now = Instant.now();
-        Instant windowStart = now.minus(windowMinutes, ChronoUnit.MINUTES);
-
-        SearchCriteria.Builder criteriaBuilder = SearchCriteria.builder()
-                .tenantId(event.metadata().tenantId())
-                .dateRange(new DateRange(windowStart, now))
-                .page(0)
-                .size(threshold + 1);
-
-        applyConditionToSearchCriteria(criteriaBuilder, condition);
-
-        SearchResult<Event> result = eventSearchService.search(criteriaBuilder.build());
-
-        return result.totalCount() >= threshold;
+        String groupKey = groupKey(event, condition);
+        if (groupKey == null) {
+            return false;
+        }
+        long windowMillis = Duration.ofMinutes(condition.getWindowMinutes()).toMillis();
+        long nowMillis = clock.millis();
+        long occurredMillis = occurredMillis(event, nowMillis);
+        if (occurredMillis <= nowMillis - windowMillis) {
+            return false;
+        }
+        long count = windowStore.record(rule.getId(), groupKey, windowMillis, occurredMillis, event.id());
+        return count >= condition.getThreshold();
     }
 
-    public List<UUID> getMatchingEventIds(Event event, RuleCondition condition) {
-        if (condition.getWindowMinutes() == null) {
+    // the most recent matches still in the window of the event's group, newest first
+    public List<UUID> getMatchingEventIds(Event event, Rule rule) {
+        RuleCondition condition = rule.getCondition();
+        if (condition == null || condition.getWindowMinutes() == null) {
             return List.of(event.id());
         }
-
-        int windowMinutes = condition.getWindowMinutes();
-        Instant now = Instant.now();
-        Instant windowStart = now.minus(windowMinutes, ChronoUnit.MINUTES);
-
-        SearchCriteria.Builder criteriaBuilder = SearchCriteria.builder()
-                .tenantId(event.metadata().tenantId())
-                .dateRange(new DateRange(windowStart, now))
-                .page(0)
-                .size(100);
-
-        applyConditionToSearchCriteria(criteriaBuilder, condition);
-
-        SearchResult<Event> result = eventSearchService.search(criteriaBuilder.build());
-
-        return result.items().stream()
-                .map(Event::id)
-                .toList();
+        String groupKey = groupKey(event, condition);
+        List<UUID> ids = groupKey != null
+                ? windowStore.recentIds(rule.getId(), groupKey, clock.millis())
+                : List.of();
+        return ids.isEmpty() ? List.of(event.id()) : ids;
     }
 
-    private void applyConditionToSearchCriteria(SearchCriteria.Builder criteriaBuilder, RuleCondition condition) {
-        if (condition.getField() == null || condition.getValue() == null) {
-            return;
-        }
+    // the count in the window of the event's group
+    public long count(Event event, Rule rule) {
+        String groupKey = rule.getCondition() != null ? groupKey(event, rule.getCondition()) : null;
+        return groupKey != null ? windowStore.count(rule.getId(), groupKey, clock.millis()) : 0;
+    }
 
-        String field = condition.getField();
-        String value = condition.getValue().toString();
+    // a timestamp ahead of this instance's clock counts as now, so a skewed producer cannot push windows forward
+    private static long occurredMillis(Event event, long nowMillis) {
+        return event.timestamp() != null ? Math.min(event.timestamp().toEpochMilli(), nowMillis) : nowMillis;
+    }
 
-        switch (field) {
-            case "actionType" -> {
-                try {
-                    Action.ActionType actionType = Action.ActionType.valueOf(value);
-                    criteriaBuilder.actionTypes(List.of(actionType));
-                } catch (IllegalArgumentException e) {
-                    // Invalid action type, ignore
-                }
-            }
-            case "actorId" -> criteriaBuilder.actorId(value);
-            case "correlationId" -> criteriaBuilder.correlationId(value);
-            case "sessionId" -> criteriaBuilder.sessionId(value);
-            default -> {
-                // For other fields, use query string
-                criteriaBuilder.query(field + ":" + value);
-            }
+    private static String groupKey(Event event, RuleCondition condition) {
+        if (condition.getGroupBy() == null || condition.getGroupBy().isBlank()) {
+            return ThresholdWindowStore.RULE_WIDE;
         }
+        return PatternEvaluator.field(condition.getGroupBy()).apply(event);
     }
 }
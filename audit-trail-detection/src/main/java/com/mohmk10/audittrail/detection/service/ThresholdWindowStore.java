@@ -0,0 +1,217 @@
+package com.mohmk10.audittrail.detection.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// the sliding windows of the threshold rules, one per (rule, group key). Memory is bounded per rule: a rule
+// tracks at most maxKeysPerRule groups and, once full, a new group displaces the least recently used one, so a
+// flood of distinct actors or IPs costs at most that many windows. A window idle for its whole length counts
+// nothing and is dropped, on access for the rule's oldest groups and by a sweep of every rule once a minute
+@Component
+public class ThresholdWindowStore {
+
+    // the group of a rule without groupBy, whose matches all share one window
+    public static final String RULE_WIDE = "";
+
+    // per-group windows are coarser than a rule-wide one, since a rule may hold thousands of them
+    static final int RULE_WIDE_BUCKETS = 600;
+    static final int GROUP_BUCKETS = 60;
+    private static final long SWEEP_INTERVAL_MILLIS = 60_000;
+
+    private final int maxKeysPerRule;
+    private final ConcurrentHashMap<UUID, RuleWindows> rules = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong keys = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    @Autowired
+    public ThresholdWindowStore(
+            @Value("${detection.threshold.max-keys-per-rule:10000}") int maxKeysPerRule,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(maxKeysPerRule, meterRegistry.getIfAvailable());
+    }
+
+    public ThresholdWindowStore(int maxKeysPerRule) {
+        this(maxKeysPerRule, (MeterRegistry) null);
+    }
+
+    // a null registry skips the metrics
+    public ThresholdWindowStore(int maxKeysPerRule, MeterRegistry meterRegistry) {
+        this.maxKeysPerRule = Math.max(1, maxKeysPerRule);
+        if (meterRegistry != null) {
+            registerMetrics(meterRegistry);
+        }
+    }
+
+    // counts the event in its group's window and returns the count in that window; a window whose length
+    // changed starts afresh
+    public long record(UUID ruleId, String groupKey, long windowMillis, long nowMillis, UUID eventId) {
+        sweepIfDue(nowMillis);
+        int buckets = RULE_WIDE.equals(groupKey) ? RULE_WIDE_BUCKETS : GROUP_BUCKETS;
+        while (true) {
+            RuleWindows windows = rules.computeIfAbsent(ruleId, id -> new RuleWindows());
+            long count = windows.record(groupKey, windowMillis, buckets, nowMillis, eventId);
+            if (count >= 0) {
+                return count;
+            }
+            // retired by a sweep since it was looked up
+        }
+    }
+
+    public long count(UUID ruleId, String groupKey, long nowMillis) {
+        RuleWindows windows = rules.get(ruleId);
+        return windows != null ? windows.count(groupKey, nowMillis) : 0;
+    }
+
+    // the most recent events of the group still in its window, newest first
+    public List<UUID> recentIds(UUID ruleId, String groupKey, long nowMillis) {
+        RuleWindows windows = rules.get(ruleId);
+        return windows != null ? windows.recentIds(groupKey, nowMillis) : List.of();
+    }
+
+    public long size() {
+        return keys.get();
+    }
+
+    public int size(UUID ruleId) {
+        RuleWindows windows = rules.get(ruleId);
+        return windows != null ? windows.size() : 0;
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    public long expirationCount() {
+        return expirations.get();
+    }
+
+    // drops every idle window, and the rules left without any
+    public void sweep(long nowMillis) {
+        for (UUID ruleId : rules.keySet()) {
+            rules.computeIfPresent(ruleId, (id, windows) -> windows.expireAll(nowMillis) ? null : windows);
+        }
+    }
+
+    public void clear() {
+        for (UUID ruleId : rules.keySet()) {
+            rules.computeIfPresent(ruleId, (id, windows) -> {
+                windows.retire();
+                return null;
+            });
+        }
+    }
+
+    private void sweepIfDue(long nowMillis) {
+        long due = nextSweep.get();
+        if (due == Long.MIN_VALUE) {
+            nextSweep.compareAndSet(due, nowMillis + SWEEP_INTERVAL_MILLIS);
+        } else if (nowMillis >= due && nextSweep.compareAndSet(due, nowMillis + SWEEP_INTERVAL_MILLIS)) {
+            sweep(nowMillis);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("detection.threshold.windows", this, ThresholdWindowStore::size)
+                .description("Sliding windows held for threshold rules")
+                .register(meterRegistry);
+        Gauge.builder("detection.threshold.rules", rules, Map::size)
+                .description("Threshold rules holding at least one sliding window")
+                .register(meterRegistry);
+        FunctionCounter.builder("detection.threshold.evictions", evictions, AtomicLong::doubleValue)
+                .description("Windows displaced because their rule reached its group limit")
+                .register(meterRegistry);
+        FunctionCounter.builder("detection.threshold.expirations", expirations, AtomicLong::doubleValue)
+                .description("Windows dropped after a whole window without events")
+                .register(meterRegistry);
+    }
+
+    // groups in access order, eldest first
+    private final class RuleWindows {
+
+        private final LinkedHashMap<String, SlidingWindowCounter> windows = new LinkedHashMap<>(16, 0.75f, true);
+        private boolean retired;
+
+        // -1 once retired, so the caller looks the rule up again
+        synchronized long record(String groupKey, long windowMillis, int buckets, long nowMillis, UUID eventId) {
+            if (retired) {
+                return -1;
+            }
+            expireEldest(nowMillis);
+            SlidingWindowCounter window = windows.get(groupKey);
+            if (window == null || window.windowMillis() != windowMillis) {
+                if (window == null) {
+                    if (windows.size() >= maxKeysPerRule) {
+                        Iterator<String> eldest = windows.keySet().iterator();
+                        eldest.next();
+                        eldest.remove();
+                        evictions.incrementAndGet();
+                    } else {
+                        keys.incrementAndGet();
+                    }
+                }
+                window = new SlidingWindowCounter(windowMillis, buckets);
+                windows.put(groupKey, window);
+            }
+            return window.record(nowMillis, eventId);
+        }
+
+        synchronized long count(String groupKey, long nowMillis) {
+            SlidingWindowCounter window = windows.get(groupKey);
+            return window != null ? window.count(nowMillis) : 0;
+        }
+
+        synchronized List<UUID> recentIds(String groupKey, long nowMillis) {
+            SlidingWindowCounter window = windows.get(groupKey);
+            return window != null ? window.recentIds(nowMillis) : List.of();
+        }
+
+        synchronized int size() {
+            return windows.size();
+        }
+
+        // true when nothing is left, in which case the rule is retired
+        synchronized boolean expireAll(long nowMillis) {
+            Iterator<SlidingWindowCounter> iterator = windows.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isIdle(nowMillis)) {
+                    iterator.remove();
+                    keys.decrementAndGet();
+                    expirations.incrementAndGet();
+                }
+            }
+            retired = windows.isEmpty();
+            return retired;
+        }
+
+        synchronized void retire() {
+            keys.addAndGet(-windows.size());
+            windows.clear();
+            retired = true;
+        }
+
+        // the least recently used groups are the likeliest to be idle; stops at the first live one
+        private void expireEldest(long nowMillis) {
+            Iterator<SlidingWindowCounter> iterator = windows.values().iterator();
+            while (iterator.hasNext() && iterator.next().isIdle(nowMillis)) {
+                iterator.remove();
+                keys.decrementAndGet();
+                expirations.incrementAndGet();
+            }
+        }
+    }
+}
@@ -41,7 +41,7 @@ class RuleControllerTest {
     @Test
     void shouldCreateRule() {
         RuleConditionDto conditionDto = new RuleConditionDto(
-                "actionType", "EQUALS", "DELETE", null, null, null, null);
+                "actionType", "EQUALS", "DELETE", null, null, null, null, null);
         RuleActionDto actionDto = new RuleActionDto(
                 AlertType.NOTIFICATION, List.of("LOG"), null);
 
@@ -236,6 +236,7 @@ class RuleControllerTest {
                     rule.getCondition().getValue(),
                     rule.getCondition().getThreshold(),
                     rule.getCondition().getWindowMinutes(),
+                    rule.getCondition().getGroupBy(),
                     null, null
             );
         }
@@ -0,0 +1,142 @@
+package com.mohmk10.audittrail.detection.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.detection.domain.RuleCondition;
+import com.mohmk10.audittrail.detection.fixtures.DetectionTestFixtures;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ops/s and bytes allocated per op for each operator: the string-switch evaluation PatternEvaluator used to do
+// on every call, next to the compiled predicate
+class PatternEvaluatorBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PatternEvaluatorBenchmarkTest.class);
+
+    private static final int OPS = 200_000;
+
+    private static volatile boolean sink;
+
+    private final PatternEvaluator patternEvaluator = new PatternEvaluator();
+    private final Event event = DetectionTestFixtures.createMatchingEvent();
+
+    @Test
+    void shouldMatchRegexWithoutRecompiling() {
+        Result[] results = compare(DetectionTestFixtures.createSimpleCondition(
+                "resourceName", "MATCHES", "(?i).*(secret|sensitive|confidential).*\\.pdf"));
+
+        assertThat(results[1].bytesPerOp()).isLessThan(results[0].bytesPerOp());
+    }
+
+    @Test
+    void shouldLookUpListWithoutStreaming() {
+        Result[] results = compare(DetectionTestFixtures.createSimpleCondition(
+                "actorIp", "IN", List.of("10.0.0.1", "10.0.0.2", "10.0.0.3", "172.16.0.9", "192.168.1.100")));
+
+        assertThat(results[1].bytesPerOp()).isLessThan(results[0].bytesPerOp());
+    }
+
+    @Test
+    void shouldLookUpCommaSeparatedValuesWithoutSplitting() {
+        Result[] results = compare(DetectionTestFixtures.createSimpleCondition(
+                "actorIp", "NOT_IN", "10.0.0.1, 10.0.0.2, 10.0.0.3, 172.16.0.9, 192.168.1.100"));
+
+        assertThat(results[1].bytesPerOp()).isLessThan(results[0].bytesPerOp());
+    }
+
+    @Test
+    void shouldCompareStringsWithDirectGetters() {
+        for (String operator : List.of("EQUALS", "NOT_EQUALS", "CONTAINS", "STARTS_WITH", "ENDS_WITH", "EXISTS")) {
+            Result[] results = compare(DetectionTestFixtures.createSimpleCondition("actorName", operator, "John"));
+
+            assertThat(results[1].opsPerSecond()).isPositive();
+        }
+    }
+
+    private Result[] compare(RuleCondition condition) {
+        String name = condition.getOperator();
+        Predicate<Event> compiled = patternEvaluator.compile(condition);
+        assertThat(compiled.test(event)).isEqualTo(LegacyEvaluation.matches(event, condition));
+
+        Result before = measure(name + ", evaluated per call", () -> LegacyEvaluation.matches(event, condition));
+        Result after = measure(name + ", compiled", () -> compiled.test(event));
+        return new Result[] {before, after};
+    }
+
+    private record Result(long opsPerSecond, long bytesPerOp) {
+    }
+
+    private static Result measure(String name, BooleanSupplier operation) {
+        for (int i = 0; i < OPS / 5; i++) {
+            sink = operation.getAsBoolean();
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) {
+            sink = operation.getAsBoolean();
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        Result result = new Result(OPS * 1_000_000_000L / elapsedNanos, allocated / OPS);
+        log.info("{}: {} ops/s, {} bytes/op", name, result.opsPerSecond(), result.bytesPerOp());
+        return result;
+    }
+
+    // the evaluation PatternEvaluator did before conditions were compiled
+    private static final class LegacyEvaluation {
+
+        static boolean matches(Event event, RuleCondition condition) {
+            Object fieldValue = switch (condition.getField()) {
+                case "actionType" -> event.action().type().name();
+                case "actorId" -> event.actor().id();
+                case "actorName" -> event.actor().name();
+                case "actorIp" -> event.actor().ip();
+                case "resourceName" -> event.resource().name();
+                default -> null;
+            };
+            if (fieldValue == null) {
+                return "NOT_EXISTS".equals(condition.getOperator());
+            }
+            String fieldStr = fieldValue.toString();
+            Object value = condition.getValue();
+            String valueStr = value != null ? value.toString() : "";
+            return switch (condition.getOperator()) {
+                case "EQUALS" -> fieldStr.equals(valueStr);
+                case "NOT_EQUALS" -> !fieldStr.equals(valueStr);
+                case "CONTAINS" -> fieldStr.contains(valueStr);
+                case "STARTS_WITH" -> fieldStr.startsWith(valueStr);
+                case "ENDS_WITH" -> fieldStr.endsWith(valueStr);
+                case "MATCHES" -> fieldStr.matches(valueStr);
+                case "IN" -> in(fieldStr, value);
+                case "NOT_IN" -> !in(fieldStr, value);
+                case "EXISTS" -> true;
+                default -> false;
+            };
+        }
+
+        private static boolean in(String fieldValue, Object value) {
+            if (value instanceof List<?> list) {
+                return list.stream().map(Object::toString).anyMatch(v -> v.equals(fieldValue));
+            }
+            if (value instanceof String valueStr) {
+                for (String v : valueStr.split(",")) {
+                    if (v.trim().equals(fieldValue)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.mohmk10.audittrail.detection.service;
 
+import com.mohmk10.audittrail.core.domain.Actor;
 import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.detection.domain.RuleCondition;
 import com.mohmk10.audittrail.detection.fixtures.DetectionTestFixtures;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -314,4 +317,79 @@ class PatternEvaluatorTest {
 
         assertThat(result).isFalse();
     }
+
+    @Test
+    void shouldCompileConditionWithSameResultAsEvaluate() {
+        List<RuleCondition> conditions = List.of(
+                DetectionTestFixtures.createSimpleCondition("actionType", "EQUALS", "DELETE"),
+                DetectionTestFixtures.createSimpleCondition("actorName", "CONTAINS", "John"),
+                DetectionTestFixtures.createSimpleCondition("actorIp", "IN", List.of("192.168.1.100", "10.0.0.1")),
+                DetectionTestFixtures.createSimpleCondition("actorIp", "NOT_IN", "192.168.1.100, 10.0.0.1"),
+                DetectionTestFixtures.createSimpleCondition("resourceName", "MATCHES", ".*\\.pdf"),
+                DetectionTestFixtures.createSimpleCondition("resourceName", "STARTS_WITH", "Sensitive"),
+                DetectionTestFixtures.createSimpleCondition("correlationId", "EXISTS", null),
+                DetectionTestFixtures.createSimpleCondition("unknownField", "NOT_EXISTS", null),
+                DetectionTestFixtures.createSimpleCondition("actionType", "UNKNOWN", "DELETE"));
+
+        for (RuleCondition condition : conditions) {
+            for (Event event : List.of(matchingEvent, nonMatchingEvent)) {
+                assertThat(patternEvaluator.compile(condition).test(event))
+                        .as("%s %s", condition.getField(), condition.getOperator())
+                        .isEqualTo(patternEvaluator.evaluate(event, null, condition));
+            }
+        }
+    }
+
+    @Test
+    void shouldCompileNestedConditions() {
+        RuleCondition nested = DetectionTestFixtures.createOrCondition(List.of(
+                DetectionTestFixtures.createSimpleCondition("actionType", "EQUALS", "UPDATE"),
+                DetectionTestFixtures.createAndCondition(List.of(
+                        DetectionTestFixtures.createSimpleCondition("actionType", "EQUALS", "DELETE"),
+                        DetectionTestFixtures.createSimpleCondition("tenantId", "EQUALS", "tenant-001")))));
+
+        assertThat(patternEvaluator.compile(nested).test(matchingEvent)).isTrue();
+        assertThat(patternEvaluator.compile(nested).test(nonMatchingEvent)).isFalse();
+    }
+
+    @Test
+    void shouldNeverMatchInvalidCompiledPattern() {
+        RuleCondition condition = DetectionTestFixtures.createSimpleCondition("actorName", "MATCHES", "[unclosed");
+
+        assertThat(patternEvaluator.compile(condition).test(matchingEvent)).isFalse();
+    }
+
+    @Test
+    void shouldNotLetCallerChangeCachedConditionValue() {
+        Event event = DetectionTestFixtures.createMatchingEvent();
+        Actor actor = new Actor(event.actor().id(), event.actor().type(), "BB", event.actor().ip(), null, null);
+        Event bb = new Event(event.id(), event.timestamp(), actor, event.action(), event.resource(), event.metadata(),
+                null, null, null);
+        List<String> names = new ArrayList<>(List.of("Aa"));
+        RuleCondition condition = DetectionTestFixtures.createSimpleCondition("actorName", "IN", names);
+        assertThat(patternEvaluator.evaluate(bb, null, condition)).isFalse();
+
+        // same hash code as "Aa", so a key sharing the caller's list would now equal this condition
+        names.set(0, "BB");
+
+        assertThat(patternEvaluator.evaluate(bb, null, condition)).isTrue();
+    }
+
+    @Test
+    void shouldKeepRecentlyUsedLeavesWhenCacheIsFull() {
+        RuleCondition hot = DetectionTestFixtures.createSimpleCondition("actorIp", "EQUALS", "192.168.1.100");
+        patternEvaluator.evaluate(matchingEvent, null, hot);
+        Predicate<Event> hotLeaf = patternEvaluator.compile(hot);
+
+        for (int i = 0; i < 10_000; i++) {
+            patternEvaluator.evaluate(matchingEvent, null,
+                    DetectionTestFixtures.createSimpleCondition("actorName", "EQUALS", "user-" + i));
+            if (i % 100 == 0) {
+                patternEvaluator.evaluate(matchingEvent, null, hot);
+            }
+        }
+
+        assertThat(patternEvaluator.cachedLeaves()).isEqualTo(4096);
+        assertThat(patternEvaluator.compile(hot)).isSameAs(hotLeaf);
+    }
 }
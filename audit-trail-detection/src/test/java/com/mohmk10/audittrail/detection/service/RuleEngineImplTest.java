@@ -12,6 +12,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -32,16 +35,15 @@ class RuleEngineImplTest {
     @Mock
     private ThresholdEvaluator thresholdEvaluator;
 
-    @Mock
-    private PatternEvaluator patternEvaluator;
-
     private RuleEngineImpl ruleEngine;
     private Event matchingEvent;
     private Event nonMatchingEvent;
 
     @BeforeEach
     void setUp() {
-        ruleEngine = new RuleEngineImpl(ruleRepository, ruleMapper, thresholdEvaluator, patternEvaluator);
+        PatternEvaluator patternEvaluator = new PatternEvaluator();
+        ruleEngine = new RuleEngineImpl(
+                new RuleSetCache(ruleRepository, ruleMapper, patternEvaluator), thresholdEvaluator, patternEvaluator);
         matchingEvent = DetectionTestFixtures.createMatchingEvent();
         nonMatchingEvent = DetectionTestFixtures.createNonMatchingEvent();
     }
@@ -54,8 +56,6 @@ class RuleEngineImplTest {
         when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
                 .thenReturn(List.of(ruleEntity));
         when(ruleMapper.toDomain(ruleEntity)).thenReturn(patternRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), eq(patternRule), any(RuleCondition.class)))
-                .thenReturn(true);
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
 
@@ -73,8 +73,6 @@ class RuleEngineImplTest {
         when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
                 .thenReturn(List.of(ruleEntity));
         when(ruleMapper.toDomain(ruleEntity)).thenReturn(patternRule);
-        when(patternEvaluator.evaluate(eq(nonMatchingEvent), eq(patternRule), any(RuleCondition.class)))
-                .thenReturn(false);
 
         List<Alert> alerts = ruleEngine.evaluate(nonMatchingEvent);
 
@@ -89,11 +87,9 @@ class RuleEngineImplTest {
         when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
                 .thenReturn(List.of(ruleEntity));
         when(ruleMapper.toDomain(ruleEntity)).thenReturn(thresholdRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), isNull(), any(RuleCondition.class)))
-                .thenReturn(true);
         when(thresholdEvaluator.evaluate(eq(matchingEvent), eq(thresholdRule), any(RuleCondition.class)))
                 .thenReturn(true);
-        when(thresholdEvaluator.getMatchingEventIds(eq(matchingEvent), any(RuleCondition.class)))
+        when(thresholdEvaluator.getMatchingEventIds(matchingEvent, thresholdRule))
                 .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
@@ -110,8 +106,6 @@ class RuleEngineImplTest {
         when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
                 .thenReturn(List.of(ruleEntity));
         when(ruleMapper.toDomain(ruleEntity)).thenReturn(blacklistRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), isNull(), any(RuleCondition.class)))
-                .thenReturn(true);
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
 
@@ -141,8 +135,6 @@ class RuleEngineImplTest {
         when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
                 .thenReturn(List.of(ruleEntity));
         when(ruleMapper.toDomain(ruleEntity)).thenReturn(timeBasedRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), isNull(), any(RuleCondition.class)))
-                .thenReturn(true);
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
 
@@ -161,8 +153,6 @@ class RuleEngineImplTest {
                 .thenReturn(List.of(ruleEntity1, ruleEntity2));
         when(ruleMapper.toDomain(ruleEntity1)).thenReturn(patternRule);
         when(ruleMapper.toDomain(ruleEntity2)).thenReturn(blacklistRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), any(), any(RuleCondition.class)))
-                .thenReturn(true);
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
 
@@ -201,7 +191,7 @@ class RuleEngineImplTest {
 
     @Test
     void shouldContinueEvaluationOnRuleError() {
-        Rule failingRule = DetectionTestFixtures.createPatternRule();
+        Rule failingRule = DetectionTestFixtures.createThresholdRule();
         Rule successfulRule = DetectionTestFixtures.createBlacklistRule();
         RuleEntity ruleEntity1 = new RuleEntity();
         RuleEntity ruleEntity2 = new RuleEntity();
@@ -210,10 +200,8 @@ class RuleEngineImplTest {
                 .thenReturn(List.of(ruleEntity1, ruleEntity2));
         when(ruleMapper.toDomain(ruleEntity1)).thenReturn(failingRule);
         when(ruleMapper.toDomain(ruleEntity2)).thenReturn(successfulRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), eq(failingRule), any(RuleCondition.class)))
+        when(thresholdEvaluator.evaluate(eq(matchingEvent), eq(failingRule), any(RuleCondition.class)))
                 .thenThrow(new RuntimeException("Test error"));
-        when(patternEvaluator.evaluate(eq(matchingEvent), isNull(), any(RuleCondition.class)))
-                .thenReturn(true);
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
 
@@ -226,9 +214,6 @@ class RuleEngineImplTest {
         RuleCondition condition2 = DetectionTestFixtures.createSimpleCondition("tenantId", "EQUALS", "tenant-001");
         RuleCondition andCondition = DetectionTestFixtures.createAndCondition(List.of(condition1, condition2));
 
-        when(patternEvaluator.evaluate(eq(matchingEvent), isNull(), any(RuleCondition.class)))
-                .thenReturn(true);
-
         boolean result = ruleEngine.matches(matchingEvent, andCondition);
 
         assertThat(result).isTrue();
@@ -240,9 +225,6 @@ class RuleEngineImplTest {
         RuleCondition condition2 = DetectionTestFixtures.createSimpleCondition("actionType", "EQUALS", "UPDATE");
         RuleCondition orCondition = DetectionTestFixtures.createOrCondition(List.of(condition1, condition2));
 
-        when(patternEvaluator.evaluate(eq(matchingEvent), isNull(), any(RuleCondition.class)))
-                .thenReturn(true);
-
         boolean result = ruleEngine.matches(matchingEvent, orCondition);
 
         assertThat(result).isTrue();
@@ -263,8 +245,6 @@ class RuleEngineImplTest {
         when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
                 .thenReturn(List.of(ruleEntity));
         when(ruleMapper.toDomain(ruleEntity)).thenReturn(patternRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), eq(patternRule), any(RuleCondition.class)))
-                .thenReturn(true);
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
 
@@ -279,12 +259,60 @@ class RuleEngineImplTest {
         when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
                 .thenReturn(List.of(ruleEntity));
         when(ruleMapper.toDomain(ruleEntity)).thenReturn(patternRule);
-        when(patternEvaluator.evaluate(eq(matchingEvent), eq(patternRule), any(RuleCondition.class)))
-                .thenReturn(true);
 
         List<Alert> alerts = ruleEngine.evaluate(matchingEvent);
 
         assertThat(alerts.get(0).getTriggeredAt()).isNotNull();
         assertThat(alerts.get(0).getCreatedAt()).isNotNull();
     }
+
+    @Test
+    void shouldTriggerTimeBasedRuleOutsideAllowedHours() {
+        RuleCondition condition = new RuleCondition();
+        condition.setField("actionType");
+        condition.setOperator("EXISTS");
+        condition.setValue(Map.of("allowedStartHour", 9, "allowedEndHour", 17));
+
+        Rule timeBasedRule = Rule.builder()
+                .id(UUID.randomUUID())
+                .name("After Hours Detection")
+                .tenantId("tenant-001")
+                .enabled(true)
+                .type(RuleType.TIME_BASED)
+                .condition(condition)
+                .severity(Severity.HIGH)
+                .build();
+        RuleEntity ruleEntity = new RuleEntity();
+
+        when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
+                .thenReturn(List.of(ruleEntity));
+        when(ruleMapper.toDomain(ruleEntity)).thenReturn(timeBasedRule);
+
+        assertThat(ruleEngine.evaluate(at(matchingEvent, 3))).hasSize(1);
+        assertThat(ruleEngine.evaluate(at(matchingEvent, 12))).isEmpty();
+    }
+
+    @Test
+    void shouldLoadTenantRulesOnceAcrossEvents() {
+        Rule patternRule = DetectionTestFixtures.createPatternRule();
+        RuleEntity ruleEntity = new RuleEntity();
+
+        when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
+                .thenReturn(List.of(ruleEntity));
+        when(ruleMapper.toDomain(ruleEntity)).thenReturn(patternRule);
+
+        for (int i = 0; i < 100; i++) {
+            ruleEngine.evaluate(matchingEvent);
+            ruleEngine.evaluate(nonMatchingEvent);
+        }
+
+        verify(ruleRepository, times(1)).findByTenantIdAndEnabled("tenant-001", true);
+        verify(ruleMapper, times(1)).toDomain(ruleEntity);
+    }
+
+    private static Event at(Event event, int hour) {
+        Instant timestamp = LocalDate.now().atTime(hour, 30).atZone(ZoneId.systemDefault()).toInstant();
+        return new Event(event.id(), timestamp, event.actor(), event.action(), event.resource(), event.metadata(),
+                event.previousHash(), event.hash(), event.signature());
+    }
 }
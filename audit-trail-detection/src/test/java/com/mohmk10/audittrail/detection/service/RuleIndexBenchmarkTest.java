@@ -0,0 +1,112 @@
+package com.mohmk10.audittrail.detection.service;
+
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Actor;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.detection.domain.Rule;
+import com.mohmk10.audittrail.detection.domain.RuleCondition;
+import com.mohmk10.audittrail.detection.domain.RuleType;
+import com.mohmk10.audittrail.detection.domain.Severity;
+import com.mohmk10.audittrail.detection.fixtures.DetectionTestFixtures;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// candidates per event as the tenant's rule count grows; ns per event for a linear walk over every rule and for
+// the rule index are only logged, since timings vary too much between machines to assert on. Rules are spread over actionType x resourceType x actorType like typical PATTERN/BLACKLIST rules, so a given
+// event can only match a small, fixed share of them
+class RuleIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleIndexBenchmarkTest.class);
+
+    private static final int[] RULE_COUNTS = {10, 100, 1_000, 10_000};
+    private static final int EVENTS = 5_000;
+
+    private static volatile int sink;
+
+    static List<RuleSetCache.CompiledRule> rules(PatternEvaluator patternEvaluator, int count) {
+        Action.ActionType[] actions = Action.ActionType.values();
+        Resource.ResourceType[] resources = Resource.ResourceType.values();
+        Actor.ActorType[] actors = Actor.ActorType.values();
+        List<RuleSetCache.CompiledRule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RuleCondition condition = DetectionTestFixtures.createAndCondition(List.of(
+                    DetectionTestFixtures.createSimpleCondition("actionType", "EQUALS",
+                            actions[i % actions.length].name()),
+                    DetectionTestFixtures.createSimpleCondition("resourceType", "IN",
+                            List.of(resources[(i / actions.length) % resources.length].name())),
+                    DetectionTestFixtures.createSimpleCondition("actorType", "EQUALS",
+                            actors[(i / (actions.length * resources.length)) % actors.length].name()),
+                    DetectionTestFixtures.createSimpleCondition("actorIp", "IN",
+                            List.of("10.0.0." + (i % 250), "192.168.1." + (i % 250)))));
+            Rule rule = Rule.builder()
+                    .id(UUID.randomUUID())
+                    .name("rule-" + i)
+                    .tenantId("tenant-001")
+                    .type(i % 2 == 0 ? RuleType.PATTERN : RuleType.BLACKLIST)
+                    .condition(condition)
+                    .severity(Severity.MEDIUM)
+                    .build();
+            rules.add(new RuleSetCache.CompiledRule(rule, patternEvaluator.compile(condition)));
+        }
+        return rules;
+    }
+
+    @Test
+    void shouldKeepCandidateCountFlatAsRulesGrow() {
+        PatternEvaluator patternEvaluator = new PatternEvaluator();
+        Event event = DetectionTestFixtures.createMatchingEvent();
+        int[] candidates = new int[RULE_COUNTS.length];
+
+        for (int run = 0; run < RULE_COUNTS.length; run++) {
+            List<RuleSetCache.CompiledRule> rules = rules(patternEvaluator, RULE_COUNTS[run]);
+            RuleIndex index = new RuleIndex(rules);
+            candidates[run] = index.candidates(event).size();
+
+            long linearNanos = nanosPerEvent(() -> {
+                int matched = 0;
+                for (RuleSetCache.CompiledRule compiled : rules) {
+                    if (compiled.matcher().test(event)) {
+                        matched++;
+                    }
+                }
+                return matched;
+            });
+            long indexedNanos = nanosPerEvent(() -> {
+                int matched = 0;
+                for (RuleSetCache.CompiledRule compiled : index.candidates(event)) {
+                    if (compiled.matcher().test(event)) {
+                        matched++;
+                    }
+                }
+                return matched;
+            });
+            log.info("{} rules: linear {} ns/event, indexed {} ns/event ({} candidates)",
+                    RULE_COUNTS[run], linearNanos, indexedNanos, candidates[run]);
+        }
+
+        int last = RULE_COUNTS.length - 1;
+        // each combination of the three fields gets every n-th rule, so only that share is ever a candidate
+        int combinations = Action.ActionType.values().length * Resource.ResourceType.values().length
+                * Actor.ActorType.values().length;
+        assertThat(candidates[last]).isLessThanOrEqualTo(RULE_COUNTS[last] / combinations + 1);
+    }
+
+    private static long nanosPerEvent(java.util.function.IntSupplier evaluation) {
+        for (int i = 0; i < EVENTS / 10; i++) {
+            sink = evaluation.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            sink = evaluation.getAsInt();
+        }
+        return (System.nanoTime() - start) / EVENTS;
+    }
+}
@@ -0,0 +1,99 @@
+package com.mohmk10.audittrail.detection.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.detection.domain.Rule;
+import com.mohmk10.audittrail.detection.domain.RuleCondition;
+import com.mohmk10.audittrail.detection.domain.RuleType;
+import com.mohmk10.audittrail.detection.domain.Severity;
+import com.mohmk10.audittrail.detection.fixtures.DetectionTestFixtures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleIndexTest {
+
+    private final PatternEvaluator patternEvaluator = new PatternEvaluator();
+
+    private RuleSetCache.CompiledRule rule(String name, RuleCondition condition) {
+        Rule rule = Rule.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .tenantId("tenant-001")
+                .type(RuleType.PATTERN)
+                .condition(condition)
+                .severity(Severity.LOW)
+                .build();
+        return new RuleSetCache.CompiledRule(rule, patternEvaluator.compile(condition));
+    }
+
+    private static RuleCondition condition(String field, String operator, Object value) {
+        return DetectionTestFixtures.createSimpleCondition(field, operator, value);
+    }
+
+    @Test
+    void shouldOnlyOfferRulesGatedOnTheEventsValues() {
+        List<RuleSetCache.CompiledRule> rules = List.of(
+                rule("delete", condition("actionType", "EQUALS", "DELETE")),
+                rule("read", condition("actionType", "EQUALS", "READ")),
+                rule("delete documents", DetectionTestFixtures.createAndCondition(List.of(
+                        condition("resourceType", "IN", List.of("DOCUMENT", "FILE")),
+                        condition("actionType", "IN", "DELETE, UPDATE")))),
+                rule("delete configs", DetectionTestFixtures.createAndCondition(List.of(
+                        condition("actionType", "EQUALS", "DELETE"),
+                        condition("resourceType", "EQUALS", "CONFIG")))),
+                rule("blacklisted ip", condition("actorIp", "IN", List.of("192.168.1.100"))),
+                rule("users", condition("actorType", "EQUALS", "USER")));
+        RuleIndex index = new RuleIndex(rules);
+
+        assertThat(index.candidates(DetectionTestFixtures.createMatchingEvent()))
+                .extracting(compiled -> compiled.rule().getName())
+                .containsExactly("delete", "delete documents", "blacklisted ip", "users");
+        assertThat(index.candidates(DetectionTestFixtures.createNonMatchingEvent()))
+                .extracting(compiled -> compiled.rule().getName())
+                .containsExactly("read", "blacklisted ip", "users");
+    }
+
+    @Test
+    void shouldAlwaysOfferRulesItCannotDiscriminate() {
+        List<RuleSetCache.CompiledRule> rules = List.of(
+                rule("either", DetectionTestFixtures.createOrCondition(List.of(
+                        condition("actionType", "EQUALS", "CREATE"),
+                        condition("actorName", "CONTAINS", "John")))),
+                rule("not delete", condition("actionType", "NOT_EQUALS", "DELETE")));
+        RuleIndex index = new RuleIndex(rules);
+
+        assertThat(index.candidates(DetectionTestFixtures.createMatchingEvent())).hasSize(2);
+    }
+
+    @Test
+    void shouldNeverOfferContradictoryRules() {
+        RuleIndex index = new RuleIndex(List.of(
+                rule("contradiction", DetectionTestFixtures.createAndCondition(List.of(
+                        condition("actionType", "EQUALS", "DELETE"),
+                        condition("actionType", "EQUALS", "READ"))))));
+
+        Event event = DetectionTestFixtures.createMatchingEvent();
+
+        assertThat(index.candidates(event)).isEmpty();
+    }
+
+    @Test
+    void shouldAgreeWithLinearEvaluation() {
+        List<RuleSetCache.CompiledRule> rules = RuleIndexBenchmarkTest.rules(patternEvaluator, 500);
+        RuleIndex index = new RuleIndex(rules);
+
+        for (Event event : List.of(DetectionTestFixtures.createMatchingEvent(),
+                DetectionTestFixtures.createNonMatchingEvent())) {
+            List<RuleSetCache.CompiledRule> linear = rules.stream()
+                    .filter(compiled -> compiled.matcher().test(event))
+                    .toList();
+            List<RuleSetCache.CompiledRule> indexed = index.candidates(event).stream()
+                    .filter(compiled -> compiled.matcher().test(event))
+                    .toList();
+            assertThat(indexed).isEqualTo(linear);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mohmk10.audittrail.detection.service;
+
+import com.mohmk10.audittrail.core.exception.InvalidRuleException;
+import com.mohmk10.audittrail.detection.adapter.out.persistence.entity.RuleEntity;
+import com.mohmk10.audittrail.detection.adapter.out.persistence.mapper.RuleMapper;
+import com.mohmk10.audittrail.detection.adapter.out.persistence.repository.JpaRuleRepository;
+import com.mohmk10.audittrail.detection.domain.Rule;
+import com.mohmk10.audittrail.detection.fixtures.DetectionTestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RuleServiceImplTest {
+
+    @Mock
+    private JpaRuleRepository ruleRepository;
+
+    @Mock
+    private RuleMapper ruleMapper;
+
+    @Mock
+    private RuleSetCache ruleSetCache;
+
+    private RuleServiceImpl ruleService;
+
+    @BeforeEach
+    void setUp() {
+        ruleService = new RuleServiceImpl(ruleRepository, ruleMapper, ruleSetCache);
+    }
+
+    private static Rule groupedBy(String field) {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        rule.getCondition().setGroupBy(field);
+        return rule;
+    }
+
+    @Test
+    void shouldCreateRuleGroupedByKnownField() {
+        Rule rule = groupedBy("actorIp");
+        RuleEntity entity = new RuleEntity();
+        when(ruleMapper.toEntity(any())).thenReturn(entity);
+        when(ruleRepository.save(entity)).thenReturn(entity);
+        when(ruleMapper.toDomain(entity)).thenReturn(rule);
+
+        assertThat(ruleService.create(rule)).isSameAs(rule);
+    }
+
+    @Test
+    void shouldRejectUnknownGroupByOnCreate() {
+        assertThatThrownBy(() -> ruleService.create(groupedBy("actorIP")))
+                .isInstanceOf(InvalidRuleException.class)
+                .hasMessageContaining("actorIP");
+
+        verify(ruleRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectUnknownGroupByOnUpdate() {
+        assertThatThrownBy(() -> ruleService.update(UUID.randomUUID(), groupedBy("userAgent")))
+                .isInstanceOf(InvalidRuleException.class);
+
+        verify(ruleRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,88 @@
+package com.mohmk10.audittrail.detection.service;
+
+import com.mohmk10.audittrail.detection.adapter.out.persistence.entity.RuleEntity;
+import com.mohmk10.audittrail.detection.adapter.out.persistence.mapper.RuleMapper;
+import com.mohmk10.audittrail.detection.adapter.out.persistence.repository.JpaRuleRepository;
+import com.mohmk10.audittrail.detection.domain.Rule;
+import com.mohmk10.audittrail.detection.fixtures.DetectionTestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RuleSetCacheTest {
+
+    @Mock
+    private JpaRuleRepository ruleRepository;
+
+    @Mock
+    private RuleMapper ruleMapper;
+
+    private RuleSetCache ruleSetCache;
+
+    @BeforeEach
+    void setUp() {
+        ruleSetCache = new RuleSetCache(ruleRepository, ruleMapper, new PatternEvaluator());
+    }
+
+    @Test
+    void shouldCompileRulesOncePerTenant() {
+        Rule patternRule = DetectionTestFixtures.createPatternRule();
+        RuleEntity ruleEntity = new RuleEntity();
+        when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true)).thenReturn(List.of(ruleEntity));
+        when(ruleMapper.toDomain(ruleEntity)).thenReturn(patternRule);
+
+        List<RuleSetCache.CompiledRule> first = ruleSetCache.rules("tenant-001");
+        List<RuleSetCache.CompiledRule> second = ruleSetCache.rules("tenant-001");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).singleElement().satisfies(compiled -> {
+            assertThat(compiled.rule()).isSameAs(patternRule);
+            assertThat(compiled.matcher().test(DetectionTestFixtures.createMatchingEvent())).isTrue();
+            assertThat(compiled.matcher().test(DetectionTestFixtures.createNonMatchingEvent())).isFalse();
+        });
+        verify(ruleRepository, times(1)).findByTenantIdAndEnabled("tenant-001", true);
+    }
+
+    @Test
+    void shouldSwapInReloadedRules() {
+        RuleEntity patternEntity = new RuleEntity();
+        RuleEntity blacklistEntity = new RuleEntity();
+        Rule blacklistRule = DetectionTestFixtures.createBlacklistRule();
+        when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true))
+                .thenReturn(List.of(patternEntity))
+                .thenReturn(List.of(patternEntity, blacklistEntity));
+        when(ruleMapper.toDomain(patternEntity)).thenReturn(DetectionTestFixtures.createPatternRule());
+        when(ruleMapper.toDomain(blacklistEntity)).thenReturn(blacklistRule);
+
+        assertThat(ruleSetCache.rules("tenant-001")).hasSize(1);
+
+        // no transaction is active here, so the reload happens right away
+        ruleSetCache.reloadAfterCommit("tenant-001");
+
+        assertThat(ruleSetCache.rules("tenant-001")).hasSize(2)
+                .extracting(RuleSetCache.CompiledRule::rule)
+                .contains(blacklistRule);
+    }
+
+    @Test
+    void shouldReloadOnceRefreshIntervalHasPassed() throws InterruptedException {
+        RuleSetCache refreshing = new RuleSetCache(ruleRepository, ruleMapper, new PatternEvaluator(), 1);
+        when(ruleRepository.findByTenantIdAndEnabled("tenant-001", true)).thenReturn(List.of());
+
+        refreshing.rules("tenant-001");
+        Thread.sleep(5);
+        refreshing.rules("tenant-001");
+
+        verify(ruleRepository, times(2)).findByTenantIdAndEnabled("tenant-001", true);
+    }
+}
@@ -1,215 +1,307 @@
 package com.mohmk10.audittrail.detection.service;
 
+import com.mohmk10.audittrail.core.domain.Actor;
 import com.mohmk10.audittrail.core.domain.Event;
-import com.mohmk10.audittrail.core.dto.SearchCriteria;
-import com.mohmk10.audittrail.core.dto.SearchResult;
 import com.mohmk10.audittrail.detection.domain.Rule;
 import com.mohmk10.audittrail.detection.domain.RuleCondition;
 import com.mohmk10.audittrail.detection.fixtures.DetectionTestFixtures;
-import com.mohmk10.audittrail.search.service.EventSearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.*;
 
-@ExtendWith(MockitoExtension.class)
 class ThresholdEvaluatorTest {
 
-    @Mock
-    private EventSearchService eventSearchService;
-
+    private MutableClock clock;
     private ThresholdEvaluator thresholdEvaluator;
-    private Event matchingEvent;
 
     @BeforeEach
     void setUp() {
-        thresholdEvaluator = new ThresholdEvaluator(eventSearchService);
-        matchingEvent = DetectionTestFixtures.createMatchingEvent();
+        clock = new MutableClock(Instant.parse("2026-01-15T10:00:00Z"));
+        thresholdEvaluator = new ThresholdEvaluator(new ThresholdWindowStore(100), clock);
     }
 
-    @Test
-    void shouldReturnTrueWhenThresholdExceeded() {
+    private List<Event> record(Rule rule, int count) {
+        return record(rule, count, clock.instant());
+    }
+
+    private List<Event> record(Rule rule, int count, Instant occurredAt) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = at(DetectionTestFixtures.createMatchingEvent(), occurredAt);
+            thresholdEvaluator.evaluate(event, rule, rule.getCondition());
+            events.add(event);
+        }
+        return events;
+    }
+
+    private long count(Rule rule) {
+        return thresholdEvaluator.count(DetectionTestFixtures.createMatchingEvent(), rule);
+    }
+
+    private static Event at(Event event, Instant timestamp) {
+        return new Event(event.id(), timestamp, event.actor(), event.action(), event.resource(), event.metadata(),
+                null, null, null);
+    }
+
+    private static Event fromIp(String ip) {
+        Event event = DetectionTestFixtures.createMatchingEvent();
+        Actor actor = new Actor(event.actor().id(), event.actor().type(), event.actor().name(), ip, null, null);
+        return new Event(event.id(), event.timestamp(), actor, event.action(), event.resource(), event.metadata(),
+                null, null, null);
+    }
+
+    private static Rule groupedByIp() {
         Rule rule = DetectionTestFixtures.createThresholdRule();
-        RuleCondition condition = rule.getCondition();
+        rule.getCondition().setThreshold(3);
+        rule.getCondition().setGroupBy("actorIp");
+        return rule;
+    }
 
-        List<Event> events = List.of(
-                DetectionTestFixtures.createMatchingEvent(),
-                DetectionTestFixtures.createMatchingEvent(),
-                DetectionTestFixtures.createMatchingEvent(),
-                DetectionTestFixtures.createMatchingEvent(),
-                DetectionTestFixtures.createMatchingEvent()
-        );
-        SearchResult<Event> searchResult = SearchResult.of(events, 5, 0, 10);
-        when(eventSearchService.search(any(SearchCriteria.class))).thenReturn(searchResult);
+    @Test
+    void shouldReturnTrueWhenThresholdReached() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        record(rule, 4);
 
-        boolean result = thresholdEvaluator.evaluate(matchingEvent, rule, condition);
+        boolean result = thresholdEvaluator.evaluate(DetectionTestFixtures.createMatchingEvent(), rule,
+                rule.getCondition());
 
         assertThat(result).isTrue();
+        assertThat(count(rule)).isEqualTo(5);
     }
 
     @Test
     void shouldReturnFalseWhenThresholdNotReached() {
         Rule rule = DetectionTestFixtures.createThresholdRule();
-        RuleCondition condition = rule.getCondition();
-
-        List<Event> events = List.of(
-                DetectionTestFixtures.createMatchingEvent(),
-                DetectionTestFixtures.createMatchingEvent()
-        );
-        SearchResult<Event> searchResult = SearchResult.of(events, 2, 0, 10);
-        when(eventSearchService.search(any(SearchCriteria.class))).thenReturn(searchResult);
+        record(rule, 3);
 
-        boolean result = thresholdEvaluator.evaluate(matchingEvent, rule, condition);
+        boolean result = thresholdEvaluator.evaluate(DetectionTestFixtures.createMatchingEvent(), rule,
+                rule.getCondition());
 
         assertThat(result).isFalse();
     }
 
     @Test
     void shouldReturnFalseWhenThresholdIsNull() {
-        RuleCondition condition = new RuleCondition();
-        condition.setField("actionType");
-        condition.setOperator("EQUALS");
-        condition.setValue("DELETE");
-        condition.setWindowMinutes(60);
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        rule.getCondition().setThreshold(null);
 
-        boolean result = thresholdEvaluator.evaluate(matchingEvent, null, condition);
+        boolean result = thresholdEvaluator.evaluate(DetectionTestFixtures.createMatchingEvent(), rule,
+                rule.getCondition());
 
         assertThat(result).isFalse();
-        verifyNoInteractions(eventSearchService);
+        assertThat(count(rule)).isZero();
     }
 
     @Test
     void shouldReturnFalseWhenWindowMinutesIsNull() {
-        RuleCondition condition = new RuleCondition();
-        condition.setField("actionType");
-        condition.setOperator("EQUALS");
-        condition.setValue("DELETE");
-        condition.setThreshold(5);
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        rule.getCondition().setWindowMinutes(null);
 
-        boolean result = thresholdEvaluator.evaluate(matchingEvent, null, condition);
+        boolean result = thresholdEvaluator.evaluate(DetectionTestFixtures.createMatchingEvent(), rule,
+                rule.getCondition());
 
         assertThat(result).isFalse();
-        verifyNoInteractions(eventSearchService);
     }
 
     @Test
-    void shouldUseCorrectSearchCriteria() {
+    void shouldForgetEventsThatLeftTheWindow() {
         Rule rule = DetectionTestFixtures.createThresholdRule();
-        RuleCondition condition = rule.getCondition();
+        record(rule, 3);
+        clock.advance(Duration.ofMinutes(30));
+        record(rule, 1);
 
-        List<Event> events = List.of(DetectionTestFixtures.createMatchingEvent());
-        SearchResult<Event> searchResult = SearchResult.of(events, 1, 0, 10);
-        when(eventSearchService.search(any(SearchCriteria.class))).thenReturn(searchResult);
+        clock.advance(Duration.ofMinutes(31));
 
-        thresholdEvaluator.evaluate(matchingEvent, rule, condition);
+        assertThat(count(rule)).isEqualTo(1);
+        assertThat(thresholdEvaluator.evaluate(DetectionTestFixtures.createMatchingEvent(), rule,
+                rule.getCondition())).isFalse();
 
-        ArgumentCaptor<SearchCriteria> captor = ArgumentCaptor.forClass(SearchCriteria.class);
-        verify(eventSearchService).search(captor.capture());
+        clock.advance(Duration.ofHours(2));
 
-        SearchCriteria criteria = captor.getValue();
-        assertThat(criteria.tenantId()).isEqualTo("tenant-001");
-        assertThat(criteria.dateRange()).isNotNull();
+        assertThat(count(rule)).isZero();
     }
 
     @Test
-    void shouldGetMatchingEventIds() {
-        RuleCondition condition = new RuleCondition();
-        condition.setField("actionType");
-        condition.setOperator("EQUALS");
-        condition.setValue("DELETE");
-        condition.setWindowMinutes(60);
+    void shouldCountLateEventsAtTheirOwnTime() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        Instant now = clock.instant();
+        // delivered now, after a backlog, but they occurred 50 minutes ago
+        record(rule, 3, now.minus(Duration.ofMinutes(50)));
+        record(rule, 1, now);
 
-        Event event1 = DetectionTestFixtures.createMatchingEvent();
-        Event event2 = DetectionTestFixtures.createMatchingEvent();
-        List<Event> events = List.of(event1, event2);
-        SearchResult<Event> searchResult = SearchResult.of(events, 2, 0, 100);
-        when(eventSearchService.search(any(SearchCriteria.class))).thenReturn(searchResult);
+        assertThat(count(rule)).isEqualTo(4);
 
-        List<UUID> eventIds = thresholdEvaluator.getMatchingEventIds(matchingEvent, condition);
+        clock.advance(Duration.ofMinutes(11));
 
-        assertThat(eventIds).hasSize(2);
-        assertThat(eventIds).contains(event1.id(), event2.id());
+        assertThat(count(rule)).isEqualTo(1);
     }
 
     @Test
-    void shouldReturnSingleEventIdWhenNoWindow() {
-        RuleCondition condition = new RuleCondition();
-        condition.setField("actionType");
-        condition.setOperator("EQUALS");
-        condition.setValue("DELETE");
+    void shouldNotCountEventsOlderThanTheWindow() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        rule.getCondition().setThreshold(1);
+        Event stale = at(DetectionTestFixtures.createMatchingEvent(), clock.instant().minus(Duration.ofMinutes(61)));
 
-        List<UUID> eventIds = thresholdEvaluator.getMatchingEventIds(matchingEvent, condition);
+        assertThat(thresholdEvaluator.evaluate(stale, rule, rule.getCondition())).isFalse();
+        assertThat(count(rule)).isZero();
+    }
+
+    @Test
+    void shouldCountEachRuleSeparately() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        Rule otherRule = DetectionTestFixtures.createThresholdRule();
+        record(rule, 4);
+        record(otherRule, 1);
 
-        assertThat(eventIds).hasSize(1);
-        assertThat(eventIds).contains(matchingEvent.id());
-        verifyNoInteractions(eventSearchService);
+        assertThat(count(rule)).isEqualTo(4);
+        assertThat(count(otherRule)).isEqualTo(1);
     }
 
     @Test
-    void shouldApplyActionTypeToSearchCriteria() {
-        RuleCondition condition = new RuleCondition();
-        condition.setField("actionType");
-        condition.setOperator("EQUALS");
-        condition.setValue("DELETE");
-        condition.setThreshold(5);
-        condition.setWindowMinutes(60);
+    void shouldRestartCountingWhenWindowChanges() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        record(rule, 4);
 
-        SearchResult<Event> searchResult = SearchResult.of(List.of(), 0, 0, 10);
-        when(eventSearchService.search(any(SearchCriteria.class))).thenReturn(searchResult);
+        rule.getCondition().setWindowMinutes(5);
+        record(rule, 1);
 
-        thresholdEvaluator.evaluate(matchingEvent, null, condition);
+        assertThat(count(rule)).isEqualTo(1);
+    }
 
-        ArgumentCaptor<SearchCriteria> captor = ArgumentCaptor.forClass(SearchCriteria.class);
-        verify(eventSearchService).search(captor.capture());
+    @Test
+    void shouldCountARedeliveredEventOnce() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        List<Event> events = record(rule, 4);
 
-        SearchCriteria criteria = captor.getValue();
-        assertThat(criteria.actionTypes()).isNotNull();
+        boolean result = thresholdEvaluator.evaluate(events.get(3), rule, rule.getCondition());
+
+        assertThat(result).isFalse();
+        assertThat(count(rule)).isEqualTo(4);
+        assertThat(thresholdEvaluator.getMatchingEventIds(events.get(3), rule)).hasSize(4);
     }
 
     @Test
-    void shouldApplyActorIdToSearchCriteria() {
-        RuleCondition condition = new RuleCondition();
-        condition.setField("actorId");
-        condition.setOperator("EQUALS");
-        condition.setValue("actor-123");
-        condition.setThreshold(5);
-        condition.setWindowMinutes(60);
+    void shouldGetMatchingEventIdsNewestFirst() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        List<Event> events = record(rule, 5);
+
+        List<UUID> ids = thresholdEvaluator.getMatchingEventIds(events.get(4), rule);
 
-        SearchResult<Event> searchResult = SearchResult.of(List.of(), 0, 0, 10);
-        when(eventSearchService.search(any(SearchCriteria.class))).thenReturn(searchResult);
+        assertThat(ids).containsExactly(events.get(4).id(), events.get(3).id(), events.get(2).id(),
+                events.get(1).id(), events.get(0).id());
+    }
+
+    @Test
+    void shouldKeepOnlyTheMostRecentEventIds() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        List<Event> events = record(rule, SlidingWindowCounter.MAX_RECENT_IDS + 20);
 
-        thresholdEvaluator.evaluate(matchingEvent, null, condition);
+        List<UUID> ids = thresholdEvaluator.getMatchingEventIds(events.get(events.size() - 1), rule);
 
-        ArgumentCaptor<SearchCriteria> captor = ArgumentCaptor.forClass(SearchCriteria.class);
-        verify(eventSearchService).search(captor.capture());
+        assertThat(ids).hasSize(SlidingWindowCounter.MAX_RECENT_IDS);
+        assertThat(ids.get(0)).isEqualTo(events.get(events.size() - 1).id());
+        assertThat(ids).doesNotContain(events.get(0).id());
+        assertThat(count(rule)).isEqualTo(SlidingWindowCounter.MAX_RECENT_IDS + 20);
+    }
 
-        SearchCriteria criteria = captor.getValue();
-        assertThat(criteria.actorId()).isEqualTo("actor-123");
+    @Test
+    void shouldCountEachGroupSeparately() {
+        Rule rule = groupedByIp();
+        thresholdEvaluator.evaluate(fromIp("10.0.0.1"), rule, rule.getCondition());
+        thresholdEvaluator.evaluate(fromIp("10.0.0.1"), rule, rule.getCondition());
+        thresholdEvaluator.evaluate(fromIp("10.0.0.2"), rule, rule.getCondition());
+        thresholdEvaluator.evaluate(fromIp("10.0.0.3"), rule, rule.getCondition());
+
+        assertThat(thresholdEvaluator.evaluate(fromIp("10.0.0.2"), rule, rule.getCondition())).isFalse();
+        assertThat(thresholdEvaluator.evaluate(fromIp("10.0.0.1"), rule, rule.getCondition())).isTrue();
+        assertThat(thresholdEvaluator.count(fromIp("10.0.0.2"), rule)).isEqualTo(2);
+        assertThat(thresholdEvaluator.count(fromIp("10.0.0.4"), rule)).isZero();
     }
 
     @Test
-    void shouldHandleInvalidActionType() {
-        RuleCondition condition = new RuleCondition();
-        condition.setField("actionType");
-        condition.setOperator("EQUALS");
-        condition.setValue("INVALID_ACTION");
-        condition.setThreshold(5);
-        condition.setWindowMinutes(60);
+    void shouldReportOnlyTheEventIdsOfTheGroup() {
+        Rule rule = groupedByIp();
+        Event first = fromIp("10.0.0.1");
+        Event other = fromIp("10.0.0.2");
+        Event second = fromIp("10.0.0.1");
+        thresholdEvaluator.evaluate(first, rule, rule.getCondition());
+        thresholdEvaluator.evaluate(other, rule, rule.getCondition());
+        thresholdEvaluator.evaluate(second, rule, rule.getCondition());
+
+        assertThat(thresholdEvaluator.getMatchingEventIds(second, rule)).containsExactly(second.id(), first.id());
+    }
 
-        SearchResult<Event> searchResult = SearchResult.of(List.of(), 0, 0, 10);
-        when(eventSearchService.search(any(SearchCriteria.class))).thenReturn(searchResult);
+    @Test
+    void shouldNotCountEventsWithoutGroupValue() {
+        Rule rule = groupedByIp();
+        rule.getCondition().setThreshold(1);
 
-        boolean result = thresholdEvaluator.evaluate(matchingEvent, null, condition);
+        assertThat(thresholdEvaluator.evaluate(fromIp(null), rule, rule.getCondition())).isFalse();
+        assertThat(thresholdEvaluator.count(fromIp(null), rule)).isZero();
+    }
 
-        assertThat(result).isFalse();
+    @Test
+    void shouldReturnSingleEventIdWhenNoWindow() {
+        Rule rule = DetectionTestFixtures.createThresholdRule();
+        RuleCondition condition = rule.getCondition();
+        condition.setWindowMinutes(null);
+        Event event = DetectionTestFixtures.createMatchingEvent();
+
+        List<UUID> ids = thresholdEvaluator.getMatchingEventIds(event, rule);
+
+        assertThat(ids).containsExactly(event.id());
+    }
+
+    @Test
+    void shouldUseLongerBucketsForLongWindows() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofDays(1).toMillis(),
+                ThresholdWindowStore.RULE_WIDE_BUCKETS);
+        long start = Instant.parse("2026-01-15T00:00:00Z").toEpochMilli();
+
+        for (int minute = 0; minute < 24 * 60; minute += 10) {
+            counter.record(start + Duration.ofMinutes(minute).toMillis(), UUID.randomUUID());
+        }
+
+        assertThat(counter.count(start + Duration.ofHours(24).toMillis() - 1)).isEqualTo(144);
+        assertThat(counter.count(start + Duration.ofHours(36).toMillis())).isBetween(71L, 73L);
+        assertThat(counter.count(start + Duration.ofHours(48).toMillis())).isZero();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
     }
 }
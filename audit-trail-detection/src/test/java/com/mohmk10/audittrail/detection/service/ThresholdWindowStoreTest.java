@@ -0,0 +1,116 @@
+package com.mohmk10.audittrail.detection.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThresholdWindowStoreTest {
+
+    private static final long WINDOW = Duration.ofMinutes(5).toMillis();
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void shouldCapGroupsPerRuleAndEvictLeastRecentlyUsed() {
+        ThresholdWindowStore store = new ThresholdWindowStore(100);
+        UUID ruleId = UUID.randomUUID();
+        store.record(ruleId, "hot", WINDOW, NOW, UUID.randomUUID());
+
+        // a flood of one-off keys, as from a spoofed source address per event
+        for (int i = 0; i < 10_000; i++) {
+            store.record(ruleId, "ip-" + i, WINDOW, NOW, UUID.randomUUID());
+            if (i % 50 == 0) {
+                store.record(ruleId, "hot", WINDOW, NOW, UUID.randomUUID());
+            }
+        }
+
+        assertThat(store.size(ruleId)).isEqualTo(100);
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(store.evictionCount()).isEqualTo(10_001 - 100);
+        assertThat(store.count(ruleId, "hot", NOW)).isEqualTo(201);
+        assertThat(store.count(ruleId, "ip-0", NOW)).isZero();
+    }
+
+    @Test
+    void shouldCapEachRuleOnItsOwn() {
+        ThresholdWindowStore store = new ThresholdWindowStore(10);
+        UUID ruleId = UUID.randomUUID();
+        UUID otherRuleId = UUID.randomUUID();
+
+        for (int i = 0; i < 50; i++) {
+            store.record(ruleId, "key-" + i, WINDOW, NOW, UUID.randomUUID());
+        }
+        store.record(otherRuleId, "key-0", WINDOW, NOW, UUID.randomUUID());
+
+        assertThat(store.size(ruleId)).isEqualTo(10);
+        assertThat(store.size(otherRuleId)).isEqualTo(1);
+        assertThat(store.count(otherRuleId, "key-0", NOW)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropIdleGroupsOnAccess() {
+        ThresholdWindowStore store = new ThresholdWindowStore(100);
+        UUID ruleId = UUID.randomUUID();
+        store.record(ruleId, "old-1", WINDOW, NOW, UUID.randomUUID());
+        store.record(ruleId, "old-2", WINDOW, NOW, UUID.randomUUID());
+
+        store.record(ruleId, "new", WINDOW, NOW + WINDOW, UUID.randomUUID());
+
+        assertThat(store.size(ruleId)).isEqualTo(1);
+        assertThat(store.expirationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSweepIdleRules() {
+        ThresholdWindowStore store = new ThresholdWindowStore(100);
+        UUID idleRuleId = UUID.randomUUID();
+        UUID liveRuleId = UUID.randomUUID();
+        store.record(idleRuleId, "a", WINDOW, NOW, UUID.randomUUID());
+        store.record(idleRuleId, "b", WINDOW, NOW, UUID.randomUUID());
+        store.record(liveRuleId, "a", WINDOW, NOW + WINDOW, UUID.randomUUID());
+
+        store.sweep(NOW + WINDOW + 1);
+
+        assertThat(store.size(idleRuleId)).isZero();
+        assertThat(store.size(liveRuleId)).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+
+        store.record(idleRuleId, "a", WINDOW, NOW + WINDOW + 2, UUID.randomUUID());
+
+        assertThat(store.count(idleRuleId, "a", NOW + WINDOW + 2)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSweepWhileRecording() {
+        ThresholdWindowStore store = new ThresholdWindowStore(100);
+        UUID idleRuleId = UUID.randomUUID();
+        UUID liveRuleId = UUID.randomUUID();
+        store.record(idleRuleId, "a", WINDOW, NOW, UUID.randomUUID());
+
+        store.record(liveRuleId, "a", WINDOW, NOW + Duration.ofMinutes(10).toMillis(), UUID.randomUUID());
+
+        assertThat(store.size(idleRuleId)).isZero();
+    }
+
+    @Test
+    void shouldExposeStateSize() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ThresholdWindowStore store = new ThresholdWindowStore(2, meterRegistry);
+        UUID ruleId = UUID.randomUUID();
+
+        store.record(ruleId, "a", WINDOW, NOW, UUID.randomUUID());
+        store.record(ruleId, "b", WINDOW, NOW, UUID.randomUUID());
+        store.record(ruleId, "c", WINDOW, NOW, UUID.randomUUID());
+
+        assertThat(meterRegistry.get("detection.threshold.windows").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("detection.threshold.rules").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("detection.threshold.evictions").functionCounter().count()).isEqualTo(1.0);
+
+        store.clear();
+
+        assertThat(meterRegistry.get("detection.threshold.windows").gauge().value()).isZero();
+    }
+}
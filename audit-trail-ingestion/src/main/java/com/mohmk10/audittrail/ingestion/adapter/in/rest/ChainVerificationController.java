@@ -0,0 +1,51 @@
+package com.mohmk10.audittrail.ingestion.adapter.in.rest;
+
+import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.ChainVerificationResponse;
+import com.mohmk10.audittrail.storage.service.ChainVerificationJob;
+import com.mohmk10.audittrail.storage.service.ChainVerificationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/tenants/{tenantId}/chain-verifications")
+public class ChainVerificationController {
+
+    private final ChainVerificationService chainVerificationService;
+
+    public ChainVerificationController(ChainVerificationService chainVerificationService) {
+        this.chainVerificationService = chainVerificationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ChainVerificationResponse> start(@PathVariable String tenantId) {
+        ChainVerificationJob job = chainVerificationService.start(tenantId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ChainVerificationResponse.from(job));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ChainVerificationResponse> getStatus(@PathVariable String tenantId, @PathVariable UUID jobId) {
+        return findJob(tenantId, jobId)
+                .map(job -> ResponseEntity.ok(ChainVerificationResponse.from(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<ChainVerificationResponse> cancel(@PathVariable String tenantId, @PathVariable UUID jobId) {
+        Optional<ChainVerificationJob> job = findJob(tenantId, jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        chainVerificationService.cancel(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ChainVerificationResponse.from(job.get()));
+    }
+
+    // job ids are only visible under the tenant they verify
+    private Optional<ChainVerificationJob> findJob(String tenantId, UUID jobId) {
+        return chainVerificationService.findJob(jobId)
+                .filter(job -> job.getTenantId().equals(tenantId));
+    }
+}
@@ -5,11 +5,13 @@ import com.mohmk10.audittrail.core.dto.SearchCriteria;
 import com.mohmk10.audittrail.core.dto.SearchResult;
 import com.mohmk10.audittrail.core.dto.DateRange;
 import com.mohmk10.audittrail.core.exception.EventNotFoundException;
+import com.mohmk10.audittrail.core.exception.InvalidSearchRequestException;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.BatchEventRequest;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.BatchEventResponse;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.EventRequest;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.EventResponse;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.mapper.EventRequestMapper;
+import com.mohmk10.audittrail.ingestion.config.IngestionConfig;
 import com.mohmk10.audittrail.ingestion.service.EventIngestionService;
 import com.mohmk10.audittrail.search.service.EventSearchService;
 import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
@@ -20,6 +22,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -31,16 +34,19 @@ public class EventController {
     private final ImmutableStorageService immutableStorageService;
     private final EventSearchService eventSearchService;
     private final EventRequestMapper eventRequestMapper;
+    private final IngestionConfig ingestionConfig;
 
     public EventController(
             EventIngestionService eventIngestionService,
             ImmutableStorageService immutableStorageService,
             EventSearchService eventSearchService,
-            EventRequestMapper eventRequestMapper) {
+            EventRequestMapper eventRequestMapper,
+            IngestionConfig ingestionConfig) {
         this.eventIngestionService = eventIngestionService;
         this.immutableStorageService = immutableStorageService;
         this.eventSearchService = eventSearchService;
         this.eventRequestMapper = eventRequestMapper;
+        this.ingestionConfig = ingestionConfig;
     }
 
     @GetMapping
@@ -52,7 +58,9 @@ public class EventController {
             @RequestParam(required = false) Instant from,
             @RequestParam(required = false) Instant to,
             @RequestParam(required = false) String actorId,
-            @RequestParam(required = false) String query
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count
     ) {
         String effectiveTenantId = tenantId != null ? tenantId : headerTenantId;
         if (effectiveTenantId == null || effectiveTenantId.isBlank()) {
@@ -71,6 +79,8 @@ public class EventController {
                 .query(query)
                 .page(page)
                 .size(size)
+                .cursor(cursor)
+                .totalCount(parseTotalCount(count))
                 .build();
 
         SearchResult<Event> result = eventSearchService.search(criteria);
@@ -79,6 +89,11 @@ public class EventController {
 
     @PostMapping
     public ResponseEntity<EventResponse> ingestEvent(@RequestBody @Valid EventRequest request) {
+        if (ingestionConfig.getAsync().isEnabled()) {
+            Event acceptedEvent = eventIngestionService.accept(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(eventRequestMapper.toAcceptedResponse(acceptedEvent));
+        }
+
         Event storedEvent = eventIngestionService.ingest(request);
         EventResponse response = eventRequestMapper.toResponse(storedEvent);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -97,4 +112,16 @@ public class EventController {
         EventResponse response = eventRequestMapper.toResponse(event);
         return ResponseEntity.ok(response);
     }
+
+    // an unknown mode is rejected rather than run as the costliest one, as on the search endpoint
+    private static SearchCriteria.TotalCount parseTotalCount(String count) {
+        if (count.isBlank()) {
+            return SearchCriteria.TotalCount.EXACT;
+        }
+        try {
+            return SearchCriteria.TotalCount.valueOf(count.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("count must be one of exact, estimated, none");
+        }
+    }
 }
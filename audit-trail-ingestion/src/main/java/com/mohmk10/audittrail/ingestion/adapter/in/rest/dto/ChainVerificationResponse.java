@@ -0,0 +1,39 @@
+package com.mohmk10.audittrail.ingestion.adapter.in.rest.dto;
+
+import com.mohmk10.audittrail.storage.service.ChainVerificationJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ChainVerificationResponse(
+        UUID id,
+        String tenantId,
+        String status,
+        long verifiedEvents,
+        int segments,
+        int completedSegments,
+        UUID lastVerifiedEventId,
+        Instant lastVerifiedCreatedAt,
+        UUID brokenEventId,
+        String message,
+        Instant startedAt,
+        Instant finishedAt
+) {
+
+    public static ChainVerificationResponse from(ChainVerificationJob job) {
+        return new ChainVerificationResponse(
+                job.getId(),
+                job.getTenantId(),
+                job.getStatus().name(),
+                job.getVerifiedEvents(),
+                job.getSegments(),
+                job.getCompletedSegments(),
+                job.getLastVerifiedEventId(),
+                job.getLastVerifiedCreatedAt(),
+                job.getBrokenEventId(),
+                job.getMessage(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
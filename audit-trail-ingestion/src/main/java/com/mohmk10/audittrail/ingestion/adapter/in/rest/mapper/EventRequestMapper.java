@@ -41,6 +41,15 @@ public class EventRequestMapper {
         );
     }
 
+    public EventResponse toAcceptedResponse(Event event) {
+        return new EventResponse(
+                event.id(),
+                event.timestamp(),
+                null,
+                "ACCEPTED"
+        );
+    }
+
     private Actor toActor(ActorRequest request) {
         Actor.ActorType actorType;
         try {
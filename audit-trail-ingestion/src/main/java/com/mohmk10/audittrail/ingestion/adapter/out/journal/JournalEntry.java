@@ -0,0 +1,11 @@
+package com.mohmk10.audittrail.ingestion.adapter.out.journal;
+
+import com.mohmk10.audittrail.core.domain.Event;
+
+public record JournalEntry(
+        long segmentId,
+        int offset,
+        Event event,
+        boolean replayed
+) {
+}
@@ -0,0 +1,8 @@
+package com.mohmk10.audittrail.ingestion.adapter.out.journal;
+
+public class JournalFullException extends RuntimeException {
+
+    public JournalFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,289 @@
+package com.mohmk10.audittrail.ingestion.adapter.out.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.domain.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class MappedEventJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedEventJournal.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String DEAD_LETTER_FILE = "dead-letter.ndjson";
+
+    // record layout: int payload length | int crc32 | byte status | payload
+    static final int HEADER_SIZE = 9;
+    static final byte STATUS_PENDING = 0;
+    static final byte STATUS_DONE = 1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final Map<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong mappedBytes = new AtomicLong();
+
+    private Segment active;
+
+    public MappedEventJournal(Path directory, int segmentSize, boolean fsync, ObjectMapper objectMapper) {
+        this(directory, segmentSize, fsync, objectMapper, Long.MAX_VALUE);
+    }
+
+    // maxBytes bounds the segments on disk: once the live ones reach it, appends fail until workers drain some
+    public MappedEventJournal(Path directory, int segmentSize, boolean fsync, ObjectMapper objectMapper,
+                              long maxBytes) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized List<JournalEntry> open() {
+        List<JournalEntry> pending = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(this::isSegmentFile).sorted().toList();
+            }
+            for (Path file : files) {
+                Segment segment = mapSegment(file, segmentId(file), Files.size(file));
+                pending.addAll(segment.recover());
+                if (segment.pending.get() == 0) {
+                    segment.delete();
+                } else {
+                    segments.put(segment.id, segment);
+                }
+            }
+            long nextId = files.isEmpty() ? 1 : segmentId(files.get(files.size() - 1)) + 1;
+            active = createSegment(nextId, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open ingestion journal in " + directory, e);
+        }
+        log.info("Opened ingestion journal {} with {} pending events", directory, pending.size());
+        return pending;
+    }
+
+    public synchronized JournalEntry append(Event event) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize event " + event.id(), e);
+        }
+
+        int recordSize = HEADER_SIZE + payload.length;
+        if (!active.hasRoom(recordSize)) {
+            int size = Math.max(segmentSize, recordSize + Integer.BYTES);
+            if (mappedBytes.get() + size > maxBytes) {
+                throw new JournalFullException("Ingestion journal " + directory + " holds " + mappedBytes.get()
+                        + " bytes of undrained segments, the limit is " + maxBytes);
+            }
+            Segment full = active;
+            active = createSegment(full.id + 1, size);
+            full.sealed = true;
+            full.deleteIfDrained();
+        }
+        return active.append(event, payload, fsync);
+    }
+
+    public void markDone(Collection<JournalEntry> entries) {
+        Set<Segment> touched = new LinkedHashSet<>();
+        for (JournalEntry entry : entries) {
+            Segment segment = segments.get(entry.segmentId());
+            if (segment != null) {
+                segment.markDone(entry.offset());
+                touched.add(segment);
+            }
+        }
+        for (Segment segment : touched) {
+            if (fsync) {
+                segment.force();
+            }
+            segment.deleteIfDrained();
+        }
+    }
+
+    public synchronized void deadLetter(JournalEntry entry, String reason) {
+        try {
+            String line = objectMapper.writeValueAsString(Map.of("reason", reason, "event", entry.event()));
+            Files.writeString(directory.resolve(DEAD_LETTER_FILE), line + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dead-letter event " + entry.event().id(), e);
+        }
+        markDone(List.of(entry));
+    }
+
+    public long sizeBytes() {
+        return mappedBytes.get();
+    }
+
+    public int pendingCount() {
+        return segments.values().stream().mapToInt(segment -> segment.pending.get()).sum();
+    }
+
+    @Override
+    public synchronized void close() {
+        segments.values().forEach(Segment::force);
+    }
+
+    private Segment createSegment(long id, int size) {
+        try {
+            Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+            Segment segment = mapSegment(file, id, size);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + id, e);
+        }
+    }
+
+    private Segment mapSegment(Path file, long id, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Segment segment = new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            mappedBytes.addAndGet(size);
+            return segment;
+        }
+    }
+
+    private boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private final class Segment {
+
+        private final long id;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger pending = new AtomicInteger();
+        private int position;
+        private volatile boolean sealed;
+        private volatile boolean deleted;
+
+        private Segment(long id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        List<JournalEntry> recover() {
+            sealed = true;
+            List<JournalEntry> entries = new ArrayList<>();
+            int offset = 0;
+            while (offset + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_SIZE + length > buffer.capacity()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(offset + HEADER_SIZE, payload);
+                if (crc(payload) != buffer.getInt(offset + Integer.BYTES)) {
+                    log.warn("Ignoring torn record at offset {} of journal segment {}", offset, file);
+                    break;
+                }
+                if (buffer.get(offset + 2 * Integer.BYTES) == STATUS_PENDING) {
+                    try {
+                        Event event = objectMapper.readValue(payload, Event.class);
+                        entries.add(new JournalEntry(id, offset, event, true));
+                        pending.incrementAndGet();
+                    } catch (IOException e) {
+                        log.error("Skipping unreadable record at offset {} of journal segment {}", offset, file, e);
+                    }
+                }
+                offset += HEADER_SIZE + length;
+            }
+            position = offset;
+            return entries;
+        }
+
+        boolean hasRoom(int recordSize) {
+            // keep room for a zero length marker so recovery knows where the log ends
+            return position + recordSize + Integer.BYTES <= buffer.capacity();
+        }
+
+        JournalEntry append(Event event, byte[] payload, boolean fsync) {
+            int offset = position;
+            buffer.putInt(offset + Integer.BYTES, crc(payload));
+            buffer.put(offset + 2 * Integer.BYTES, STATUS_PENDING);
+            buffer.put(offset + HEADER_SIZE, payload);
+            // the length is written last so a torn append is never mistaken for a record
+            buffer.putInt(offset, payload.length);
+            position = offset + HEADER_SIZE + payload.length;
+            pending.incrementAndGet();
+            if (fsync) {
+                buffer.force(offset, HEADER_SIZE + payload.length);
+            }
+            return new JournalEntry(id, offset, event, false);
+        }
+
+        synchronized void markDone(int offset) {
+            if (buffer.get(offset + 2 * Integer.BYTES) != STATUS_DONE) {
+                buffer.put(offset + 2 * Integer.BYTES, STATUS_DONE);
+                pending.decrementAndGet();
+            }
+        }
+
+        void force() {
+            if (!deleted) {
+                buffer.force();
+            }
+        }
+
+        void deleteIfDrained() {
+            if (sealed && pending.get() == 0) {
+                delete();
+            }
+        }
+
+        synchronized void delete() {
+            if (deleted) {
+                return;
+            }
+            deleted = true;
+            segments.remove(id);
+            mappedBytes.addAndGet(-buffer.capacity());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete drained journal segment {}: {}", file, e.getMessage());
+            }
+        }
+
+        private int crc(byte[] payload) {
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue();
+        }
+    }
+}
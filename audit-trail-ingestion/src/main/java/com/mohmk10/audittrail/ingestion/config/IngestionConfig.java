@@ -9,6 +9,9 @@ public class IngestionConfig {
 
     private BatchConfig batch = new BatchConfig();
     private ValidationConfig validation = new ValidationConfig();
+    private AsyncConfig async = new AsyncConfig();
+    private CoalescingConfig coalescing = new CoalescingConfig();
+    private QuotaConfig quota = new QuotaConfig();
 
     public BatchConfig getBatch() {
         return batch;
@@ -26,6 +29,30 @@ public class IngestionConfig {
         this.validation = validation;
     }
 
+    public AsyncConfig getAsync() {
+        return async;
+    }
+
+    public void setAsync(AsyncConfig async) {
+        this.async = async;
+    }
+
+    public CoalescingConfig getCoalescing() {
+        return coalescing;
+    }
+
+    public void setCoalescing(CoalescingConfig coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public QuotaConfig getQuota() {
+        return quota;
+    }
+
+    public void setQuota(QuotaConfig quota) {
+        this.quota = quota;
+    }
+
     public static class BatchConfig {
         private int maxSize = 1000;
 
@@ -49,4 +76,148 @@ public class IngestionConfig {
             this.strictMode = strictMode;
         }
     }
+
+    public static class AsyncConfig {
+        private boolean enabled = false;
+        private String journalPath = "./data/ingestion-journal";
+        private int segmentSizeMb = 64;
+        private boolean fsync = true;
+        private int workers = 2;
+        private int maxBatchSize = 256;
+        private int maxAttempts = 5;
+        private long retryBackoffMs = 1000;
+        private int maxQueuedEvents = 100_000;
+        private int maxJournalSizeMb = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getJournalPath() {
+            return journalPath;
+        }
+
+        public void setJournalPath(String journalPath) {
+            this.journalPath = journalPath;
+        }
+
+        public int getSegmentSizeMb() {
+            return segmentSizeMb;
+        }
+
+        public void setSegmentSizeMb(int segmentSizeMb) {
+            this.segmentSizeMb = segmentSizeMb;
+        }
+
+        public boolean isFsync() {
+            return fsync;
+        }
+
+        public void setFsync(boolean fsync) {
+            this.fsync = fsync;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getRetryBackoffMs() {
+            return retryBackoffMs;
+        }
+
+        public void setRetryBackoffMs(long retryBackoffMs) {
+            this.retryBackoffMs = retryBackoffMs;
+        }
+
+        public int getMaxQueuedEvents() {
+            return maxQueuedEvents;
+        }
+
+        public void setMaxQueuedEvents(int maxQueuedEvents) {
+            this.maxQueuedEvents = maxQueuedEvents;
+        }
+
+        public int getMaxJournalSizeMb() {
+            return maxJournalSizeMb;
+        }
+
+        public void setMaxJournalSizeMb(int maxJournalSizeMb) {
+            this.maxJournalSizeMb = maxJournalSizeMb;
+        }
+    }
+
+    public static class CoalescingConfig {
+        private boolean enabled = false;
+        private int maxBatchSize = 256;
+        private long maxLatencyMicros = 2000;
+        private int flushThreads = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getMaxLatencyMicros() {
+            return maxLatencyMicros;
+        }
+
+        public void setMaxLatencyMicros(long maxLatencyMicros) {
+            this.maxLatencyMicros = maxLatencyMicros;
+        }
+
+        public int getFlushThreads() {
+            return flushThreads;
+        }
+
+        public void setFlushThreads(int flushThreads) {
+            this.flushThreads = flushThreads;
+        }
+    }
+
+    public static class QuotaConfig {
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package com.mohmk10.audittrail.ingestion.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.event.EventStoredEvent;
+import com.mohmk10.audittrail.ingestion.config.IngestionConfig;
+import com.mohmk10.audittrail.search.service.EventIndexingService;
+import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@ConditionalOnProperty(prefix = "ingestion.coalescing", name = "enabled", havingValue = "true")
+public class EventCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCoalescer.class);
+
+    private final ImmutableStorageService storageService;
+    private final EventIndexingService indexingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchSize;
+    private final long maxLatencyMicros;
+    private final ScheduledExecutorService flushExecutor;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private final DistributionSummary batchSize;
+    private final DistributionSummary fillRatio;
+    private final Counter sizeFlushes;
+    private final Counter timerFlushes;
+
+    public EventCoalescer(
+            ImmutableStorageService storageService,
+            EventIndexingService indexingService,
+            ApplicationEventPublisher eventPublisher,
+            IngestionConfig ingestionConfig,
+            MeterRegistry meterRegistry) {
+        IngestionConfig.CoalescingConfig config = ingestionConfig.getCoalescing();
+        this.storageService = storageService;
+        this.indexingService = indexingService;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.maxLatencyMicros = config.getMaxLatencyMicros();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.flushExecutor = Executors.newScheduledThreadPool(config.getFlushThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "ingest-coalescer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.batchSize = DistributionSummary.builder("ingestion.coalescer.batch.size")
+                .description("Events committed per coalesced batch")
+                .register(meterRegistry);
+        this.fillRatio = DistributionSummary.builder("ingestion.coalescer.batch.fill.ratio")
+                .description("Coalesced batch size divided by the configured maximum")
+                .register(meterRegistry);
+        this.sizeFlushes = Counter.builder("ingestion.coalescer.flushes").tag("trigger", "size").register(meterRegistry);
+        this.timerFlushes = Counter.builder("ingestion.coalescer.flushes").tag("trigger", "latency").register(meterRegistry);
+    }
+
+    public CompletableFuture<Event> submit(Event event) {
+        String tenantId = event.metadata() != null ? event.metadata().tenantId() : "default";
+        Pending pending = new Pending(event, new CompletableFuture<>());
+        windows.computeIfAbsent(tenantId, key -> new Window()).add(pending);
+        return pending.future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        windows.values().forEach(window -> {
+            List<Pending> remaining = window.drain();
+            if (!remaining.isEmpty()) {
+                commit(remaining);
+            }
+        });
+        flushExecutor.shutdown();
+    }
+
+    private void commit(List<Pending> batch) {
+        batchSize.record(batch.size());
+        fillRatio.record((double) batch.size() / maxBatchSize);
+
+        List<Event> stored;
+        try {
+            stored = storageService.storeBatch(batch.stream().map(Pending::event).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(stored.get(i));
+            }
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            log.warn("Coalesced batch of {} events failed, storing them one by one: {}", batch.size(), e.getMessage());
+            stored = storeEach(batch);
+        }
+        if (stored.isEmpty()) {
+            return;
+        }
+
+        try {
+            indexingService.indexBatch(stored);
+            for (Event event : stored) {
+                eventPublisher.publishEvent(new EventStoredEvent(this, event));
+            }
+        } catch (Exception e) {
+            log.error("Failed to index {} events: {}", stored.size(), e.getMessage());
+        }
+    }
+
+    // one event that cannot be stored fails the whole batch, so the others are retried on their own and only
+    // the caller of the offending event sees its error
+    private List<Event> storeEach(List<Pending> batch) {
+        List<Event> stored = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            try {
+                Event event = storageService.store(pending.event());
+                pending.future.complete(event);
+                stored.add(event);
+            } catch (Exception e) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+        return stored;
+    }
+
+    private record Pending(Event event, CompletableFuture<Event> future) {
+    }
+
+    private final class Window {
+
+        private List<Pending> pending = new ArrayList<>();
+
+        synchronized void add(Pending item) {
+            pending.add(item);
+            if (pending.size() >= maxBatchSize) {
+                List<Pending> full = drain();
+                sizeFlushes.increment();
+                flushExecutor.execute(() -> commit(full));
+            } else if (pending.size() == 1) {
+                // the first event of a window bounds how long the others may wait
+                List<Pending> window = pending;
+                flushExecutor.schedule(() -> flushIfCurrent(window), maxLatencyMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+
+        synchronized List<Pending> drain() {
+            List<Pending> drained = pending;
+            pending = new ArrayList<>();
+            return drained;
+        }
+
+        private void flushIfCurrent(List<Pending> window) {
+            List<Pending> batch;
+            synchronized (this) {
+                if (pending != window || pending.isEmpty()) {
+                    return;
+                }
+                batch = drain();
+            }
+            timerFlushes.increment();
+            commit(batch);
+        }
+    }
+}
@@ -9,5 +9,7 @@ public interface EventIngestionService {
 
     Event ingest(EventRequest request);
 
+    Event accept(EventRequest request);
+
     BatchEventResponse ingestBatch(BatchEventRequest request);
 }
@@ -13,11 +13,17 @@ import com.mohmk10.audittrail.search.service.EventIndexingService;
 import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntPredicate;
 
 @Service
 public class EventIngestionServiceImpl implements EventIngestionService {
@@ -30,6 +36,9 @@ public class EventIngestionServiceImpl implements EventIngestionService {
     private final EventRequestMapper mapper;
     private final EventIndexingService indexingService;
     private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<WriteBehindIngestionProcessor> writeBehindProcessor;
+    private final EventCoalescer coalescer;
+    private final TenantQuotaEnforcer quotaEnforcer;
 
     public EventIngestionServiceImpl(
             EventValidationService validationService,
@@ -37,45 +46,80 @@ public class EventIngestionServiceImpl implements EventIngestionService {
             ImmutableStorageService storageService,
             EventRequestMapper mapper,
             EventIndexingService indexingService,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<WriteBehindIngestionProcessor> writeBehindProcessor,
+            ObjectProvider<EventCoalescer> coalescer,
+            ObjectProvider<TenantQuotaEnforcer> quotaEnforcer) {
         this.validationService = validationService;
         this.enrichmentService = enrichmentService;
         this.storageService = storageService;
         this.mapper = mapper;
         this.indexingService = indexingService;
         this.eventPublisher = eventPublisher;
+        this.writeBehindProcessor = writeBehindProcessor;
+        this.coalescer = coalescer.getIfAvailable();
+        this.quotaEnforcer = quotaEnforcer.getIfAvailable();
     }
 
     @Override
-    @Transactional
     public Event ingest(EventRequest request) {
         List<String> violations = validationService.validate(request);
         if (!violations.isEmpty()) {
             throw new InvalidEventException("Event validation failed", violations);
         }
+        acquireQuota(request);
+        try {
+            Event event = mapper.toEvent(request);
+            Event enrichedEvent = enrichmentService.enrich(event);
+            if (coalescer != null) {
+                // the coalescer stores and indexes the event together with its tenant's concurrent ingests
+                return awaitCoalesced(coalescer.submit(enrichedEvent));
+            }
+            Event storedEvent = storageService.store(enrichedEvent);
 
-        Event event = mapper.toEvent(request);
-        Event enrichedEvent = enrichmentService.enrich(event);
-        Event storedEvent = storageService.store(enrichedEvent);
+            indexEvent(storedEvent);
+
+            return storedEvent;
+        } catch (RuntimeException e) {
+            releaseQuota(request);
+            throw e;
+        }
+    }
 
-        indexEvent(storedEvent);
+    @Override
+    public Event accept(EventRequest request) {
+        WriteBehindIngestionProcessor processor = writeBehindProcessor.getIfAvailable();
+        if (processor == null) {
+            throw new IllegalStateException("Asynchronous ingestion is disabled");
+        }
 
-        return storedEvent;
+        List<String> violations = validationService.validate(request);
+        if (!violations.isEmpty()) {
+            throw new InvalidEventException("Event validation failed", violations);
+        }
+        acquireQuota(request);
+        try {
+            Event event = enrichmentService.enrich(mapper.toEvent(request));
+            processor.submit(event);
+            return event;
+        } catch (RuntimeException e) {
+            releaseQuota(request);
+            throw e;
+        }
     }
 
     @Override
-    @Transactional
     public BatchEventResponse ingestBatch(BatchEventRequest request) {
-        List<EventResponse> successfulEvents = new ArrayList<>();
+        Event[] storedEvents = new Event[request.events().size()];
         List<ErrorDetail> errors = new ArrayList<>();
-        List<Event> eventsToIndex = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Event> eventsToStore = new ArrayList<>();
 
         for (int i = 0; i < request.events().size(); i++) {
             EventRequest eventRequest = request.events().get(i);
             try {
-                Event storedEvent = ingestSingleEvent(eventRequest);
-                successfulEvents.add(mapper.toResponse(storedEvent));
-                eventsToIndex.add(storedEvent);
+                eventsToStore.add(prepareEvent(eventRequest));
+                positions.add(i);
             } catch (InvalidEventException e) {
                 errors.add(new ErrorDetail(i, e.getMessage(), e.getViolations()));
             } catch (Exception e) {
@@ -83,6 +127,27 @@ public class EventIngestionServiceImpl implements EventIngestionService {
             }
         }
 
+        if (!eventsToStore.isEmpty()) {
+            // the valid events count against the quota as a whole, so an exhausted tenant gets a 429 instead of
+            // per-event errors; the events that then fail to store are given back
+            acquireQuota(request, positions, position -> true);
+            try {
+                storeAll(eventsToStore, positions, storedEvents, errors);
+            } finally {
+                releaseQuota(request, positions, position -> storedEvents[position] == null);
+            }
+        }
+
+        List<EventResponse> successfulEvents = new ArrayList<>();
+        List<Event> eventsToIndex = new ArrayList<>();
+        for (Event storedEvent : storedEvents) {
+            if (storedEvent != null) {
+                successfulEvents.add(mapper.toResponse(storedEvent));
+                eventsToIndex.add(storedEvent);
+            }
+        }
+        errors.sort(Comparator.comparingInt(ErrorDetail::index));
+
         if (!eventsToIndex.isEmpty()) {
             indexEvents(eventsToIndex);
         }
@@ -96,15 +161,89 @@ public class EventIngestionServiceImpl implements EventIngestionService {
         );
     }
 
-    private Event ingestSingleEvent(EventRequest request) {
+    // the valid events go to storage as one batch, one chain segment per tenant. If the batch fails, each event
+    // is stored on its own so that only the events that cannot be stored are reported as failed
+    private void storeAll(List<Event> events, List<Integer> positions, Event[] storedEvents, List<ErrorDetail> errors) {
+        try {
+            List<Event> stored = storageService.storeBatch(events);
+            for (int i = 0; i < stored.size(); i++) {
+                storedEvents[positions.get(i)] = stored.get(i);
+            }
+            return;
+        } catch (Exception e) {
+            if (events.size() == 1) {
+                errors.add(new ErrorDetail(positions.get(0), e.getMessage(), List.of()));
+                return;
+            }
+            log.warn("Batch of {} events failed to store, storing them one by one: {}", events.size(), e.getMessage());
+        }
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                storedEvents[positions.get(i)] = storageService.store(events.get(i));
+            } catch (Exception e) {
+                errors.add(new ErrorDetail(positions.get(i), e.getMessage(), List.of()));
+            }
+        }
+    }
+
+    private Event prepareEvent(EventRequest request) {
         List<String> violations = validationService.validate(request);
         if (!violations.isEmpty()) {
             throw new InvalidEventException("Event validation failed", violations);
         }
 
         Event event = mapper.toEvent(request);
-        Event enrichedEvent = enrichmentService.enrich(event);
-        return storageService.store(enrichedEvent);
+        return enrichmentService.enrich(event);
+    }
+
+    private void acquireQuota(EventRequest request) {
+        if (quotaEnforcer != null) {
+            quotaEnforcer.acquire(tenantOf(request), 1);
+        }
+    }
+
+    private void releaseQuota(EventRequest request) {
+        if (quotaEnforcer != null) {
+            quotaEnforcer.release(tenantOf(request), 1);
+        }
+    }
+
+    private void acquireQuota(BatchEventRequest request, List<Integer> positions, IntPredicate counted) {
+        if (quotaEnforcer != null) {
+            quotaEnforcer.acquireAll(eventsByTenant(request, positions, counted));
+        }
+    }
+
+    private void releaseQuota(BatchEventRequest request, List<Integer> positions, IntPredicate counted) {
+        if (quotaEnforcer != null) {
+            eventsByTenant(request, positions, counted).forEach(quotaEnforcer::release);
+        }
+    }
+
+    private Map<String, Integer> eventsByTenant(BatchEventRequest request, List<Integer> positions,
+                                                IntPredicate counted) {
+        Map<String, Integer> eventsByTenant = new LinkedHashMap<>();
+        for (int position : positions) {
+            if (counted.test(position)) {
+                eventsByTenant.merge(tenantOf(request.events().get(position)), 1, Integer::sum);
+            }
+        }
+        return eventsByTenant;
+    }
+
+    private String tenantOf(EventRequest request) {
+        return request.metadata() != null ? request.metadata().tenantId() : "default";
+    }
+
+    private Event awaitCoalesced(CompletableFuture<Event> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     private void indexEvent(Event event) {
@@ -0,0 +1,266 @@
+package com.mohmk10.audittrail.ingestion.service;
+
+import com.mohmk10.audittrail.admin.domain.Tenant;
+import com.mohmk10.audittrail.admin.service.TenantService;
+import com.mohmk10.audittrail.core.exception.QuotaExceededException;
+import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@ConditionalOnProperty(prefix = "ingestion.quota", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TenantQuotaEnforcer {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantQuotaEnforcer.class);
+
+    private static final Limits UNLIMITED = new Limits(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private record Limits(long perDay, long perMonth) {
+
+        boolean unlimited() {
+            return perDay == Long.MAX_VALUE && perMonth == Long.MAX_VALUE;
+        }
+    }
+
+    // usage of one day or month: the persisted count it was loaded with plus what this node accepted since
+    private static final class Usage {
+        private final long period;
+        private final AtomicLong persisted;
+        private final LongAdder accepted = new LongAdder();
+
+        private Usage(long period, long persisted) {
+            this.period = period;
+            this.persisted = new AtomicLong(persisted);
+        }
+
+        long used() {
+            return persisted.get() + accepted.sum();
+        }
+
+        // only ever raises: accepted events that are still in flight are not in the persisted count yet
+        void raiseTo(long persistedCount) {
+            long shortfall = persistedCount - used();
+            if (shortfall > 0) {
+                persisted.addAndGet(shortfall);
+            }
+        }
+    }
+
+    private static final class TenantUsage {
+        private volatile Limits limits;
+        private final AtomicReference<Usage> day;
+        private final AtomicReference<Usage> month;
+
+        private TenantUsage(Limits limits, Usage day, Usage month) {
+            this.limits = limits;
+            this.day = new AtomicReference<>(day);
+            this.month = new AtomicReference<>(month);
+        }
+    }
+
+    private final TenantService tenantService;
+    private final ImmutableStorageService storageService;
+    private final Clock clock;
+    private final Map<String, TenantUsage> tenants = new ConcurrentHashMap<>();
+
+    private final Counter rejectedDaily;
+    private final Counter rejectedMonthly;
+
+    @Autowired
+    public TenantQuotaEnforcer(
+            TenantService tenantService,
+            ImmutableStorageService storageService,
+            MeterRegistry meterRegistry) {
+        this(tenantService, storageService, meterRegistry, Clock.systemUTC());
+    }
+
+    TenantQuotaEnforcer(
+            TenantService tenantService,
+            ImmutableStorageService storageService,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.tenantService = tenantService;
+        this.storageService = storageService;
+        this.clock = clock;
+        this.rejectedDaily = Counter.builder("ingestion.quota.rejected")
+                .description("Events rejected because a tenant quota was exhausted")
+                .tag("limit", "daily")
+                .register(meterRegistry);
+        this.rejectedMonthly = Counter.builder("ingestion.quota.rejected")
+                .description("Events rejected because a tenant quota was exhausted")
+                .tag("limit", "monthly")
+                .register(meterRegistry);
+    }
+
+    // the check is a soft limit: concurrent acquires may overshoot by at most the events in flight
+    public void acquire(String tenantId, int events) {
+        TenantUsage usage = usage(tenantId);
+        Limits limits = usage.limits;
+        if (limits.unlimited()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        Usage day = current(usage.day, today.toEpochDay());
+        Usage month = current(usage.month, monthKey(today));
+        if (day.used() + events > limits.perDay()) {
+            rejectedDaily.increment(events);
+            throw new QuotaExceededException(tenantId,
+                    "Daily event quota of " + limits.perDay() + " exceeded for tenant " + tenantId,
+                    secondsUntil(today.plusDays(1)));
+        }
+        if (month.used() + events > limits.perMonth()) {
+            rejectedMonthly.increment(events);
+            throw new QuotaExceededException(tenantId,
+                    "Monthly event quota of " + limits.perMonth() + " exceeded for tenant " + tenantId,
+                    secondsUntil(today.withDayOfMonth(1).plusMonths(1)));
+        }
+        day.accepted.add(events);
+        month.accepted.add(events);
+    }
+
+    // all-or-nothing for a batch that spans several tenants
+    public void acquireAll(Map<String, Integer> eventsByTenant) {
+        Map<String, Integer> acquired = new LinkedHashMap<>();
+        try {
+            eventsByTenant.forEach((tenantId, events) -> {
+                acquire(tenantId, events);
+                acquired.put(tenantId, events);
+            });
+        } catch (QuotaExceededException e) {
+            acquired.forEach(this::release);
+            throw e;
+        }
+    }
+
+    public void release(String tenantId, int events) {
+        TenantUsage usage = tenants.get(tenantId);
+        if (usage == null || usage.limits.unlimited()) {
+            return;
+        }
+        usage.day.get().accepted.add(-events);
+        usage.month.get().accepted.add(-events);
+    }
+
+    // refreshes quotas and raises node-local counts to what every node has persisted so far
+    public void reconcile() {
+        LocalDate today = LocalDate.now(clock);
+        for (Map.Entry<String, TenantUsage> entry : tenants.entrySet()) {
+            TenantUsage usage = entry.getValue();
+            if (usage.limits.unlimited()) {
+                // unknown tenant ids come from clients, so do not keep them around; they are looked up again on use
+                tenants.remove(entry.getKey(), usage);
+                continue;
+            }
+            try {
+                TenantUsage refreshed = load(entry.getKey(), today);
+                merge(usage.day, refreshed.day.get());
+                merge(usage.month, refreshed.month.get());
+                usage.limits = refreshed.limits;
+            } catch (Exception e) {
+                log.warn("Failed to reconcile quota usage of tenant {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${ingestion.quota.reconcile-interval-ms:60000}",
+            fixedDelayString = "${ingestion.quota.reconcile-interval-ms:60000}")
+    void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Quota reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private TenantUsage usage(String tenantId) {
+        TenantUsage usage = tenants.get(tenantId);
+        if (usage != null) {
+            return usage;
+        }
+        // loaded outside the map so a slow first lookup does not block other tenants
+        TenantUsage loaded = load(tenantId, LocalDate.now(clock));
+        TenantUsage existing = tenants.putIfAbsent(tenantId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private TenantUsage load(String tenantId, LocalDate today) {
+        Limits limits = resolveTenant(tenantId)
+                .map(Tenant::getQuota)
+                .map(quota -> new Limits(limitOf(quota.getMaxEventsPerDay()), limitOf(quota.getMaxEventsPerMonth())))
+                .orElse(UNLIMITED);
+        if (limits.unlimited()) {
+            return new TenantUsage(limits, new Usage(today.toEpochDay(), 0), new Usage(monthKey(today), 0));
+        }
+        long usedToday = storageService.countStoredSince(tenantId, startOf(today));
+        long usedThisMonth = storageService.countStoredSince(tenantId, startOf(today.withDayOfMonth(1)));
+        return new TenantUsage(limits,
+                new Usage(today.toEpochDay(), usedToday),
+                new Usage(monthKey(today), usedThisMonth));
+    }
+
+    // events carry either the tenant id or its slug
+    private Optional<Tenant> resolveTenant(String tenantId) {
+        try {
+            return tenantService.findById(UUID.fromString(tenantId));
+        } catch (IllegalArgumentException e) {
+            return tenantService.findBySlug(tenantId);
+        }
+    }
+
+    private static void merge(AtomicReference<Usage> ref, Usage refreshed) {
+        Usage usage = ref.get();
+        if (usage.period == refreshed.period) {
+            usage.raiseTo(refreshed.persisted.get());
+        } else if (usage.period < refreshed.period) {
+            ref.compareAndSet(usage, refreshed);
+        }
+    }
+
+    private Usage current(AtomicReference<Usage> ref, long period) {
+        Usage usage = ref.get();
+        if (usage.period == period) {
+            return usage;
+        }
+        Usage fresh = new Usage(period, 0);
+        return ref.compareAndSet(usage, fresh) ? fresh : ref.get();
+    }
+
+    private long secondsUntil(LocalDate date) {
+        long seconds = Duration.between(clock.instant(), startOf(date)).toSeconds();
+        return Math.max(1, seconds + 1);
+    }
+
+    // an unset (zero) quota does not limit the tenant
+    private static long limitOf(long quota) {
+        return quota <= 0 ? Long.MAX_VALUE : quota;
+    }
+
+    private static long monthKey(LocalDate date) {
+        return date.getYear() * 12L + date.getMonthValue() - 1;
+    }
+
+    private static Instant startOf(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,281 @@
+package com.mohmk10.audittrail.ingestion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.event.EventStoredEvent;
+import com.mohmk10.audittrail.core.exception.IngestionOverloadedException;
+import com.mohmk10.audittrail.ingestion.adapter.out.journal.JournalEntry;
+import com.mohmk10.audittrail.ingestion.adapter.out.journal.JournalFullException;
+import com.mohmk10.audittrail.ingestion.adapter.out.journal.MappedEventJournal;
+import com.mohmk10.audittrail.ingestion.config.IngestionConfig;
+import com.mohmk10.audittrail.search.service.EventIndexingService;
+import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@ConditionalOnProperty(prefix = "ingestion.async", name = "enabled", havingValue = "true")
+public class WriteBehindIngestionProcessor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindIngestionProcessor.class);
+
+    private static final long POLL_TIMEOUT_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+    private static final long OVERLOAD_RETRY_AFTER_SECONDS = 5;
+
+    private final ImmutableStorageService storageService;
+    private final EventIndexingService indexingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngestionConfig.AsyncConfig config;
+    private final MappedEventJournal journal;
+    private final TenantQuotaEnforcer quotaEnforcer;
+    private final List<BlockingQueue<PendingEvent>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    // accepted events not yet stored, across all queues and including the batches being written
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private volatile boolean running;
+
+    @Autowired
+    public WriteBehindIngestionProcessor(
+            ImmutableStorageService storageService,
+            EventIndexingService indexingService,
+            ApplicationEventPublisher eventPublisher,
+            IngestionConfig ingestionConfig,
+            ObjectMapper objectMapper,
+            ObjectProvider<TenantQuotaEnforcer> quotaEnforcer) {
+        this(storageService, indexingService, eventPublisher, ingestionConfig.getAsync(),
+                new MappedEventJournal(
+                        Path.of(ingestionConfig.getAsync().getJournalPath()),
+                        ingestionConfig.getAsync().getSegmentSizeMb() * 1024 * 1024,
+                        ingestionConfig.getAsync().isFsync(),
+                        objectMapper,
+                        ingestionConfig.getAsync().getMaxJournalSizeMb() * 1024L * 1024),
+                quotaEnforcer.getIfAvailable());
+    }
+
+    WriteBehindIngestionProcessor(
+            ImmutableStorageService storageService,
+            EventIndexingService indexingService,
+            ApplicationEventPublisher eventPublisher,
+            IngestionConfig.AsyncConfig config,
+            MappedEventJournal journal) {
+        this(storageService, indexingService, eventPublisher, config, journal, null);
+    }
+
+    // a null quota enforcer skips refunding events that end in the dead letter
+    WriteBehindIngestionProcessor(
+            ImmutableStorageService storageService,
+            EventIndexingService indexingService,
+            ApplicationEventPublisher eventPublisher,
+            IngestionConfig.AsyncConfig config,
+            MappedEventJournal journal,
+            TenantQuotaEnforcer quotaEnforcer) {
+        this.storageService = storageService;
+        this.indexingService = indexingService;
+        this.eventPublisher = eventPublisher;
+        this.config = config;
+        this.journal = journal;
+        this.quotaEnforcer = quotaEnforcer;
+        for (int i = 0; i < Math.max(1, config.getWorkers()); i++) {
+            queues.add(new LinkedBlockingQueue<>());
+        }
+    }
+
+    // refuses the event rather than acknowledging it when the backlog or the journal is full, as during a
+    // database outage, so clients slow down instead of the heap and the disk filling up
+    public void submit(Event event) {
+        if (!running) {
+            throw new IllegalStateException("Asynchronous ingestion is not running");
+        }
+        if (!reserveSlot()) {
+            throw new IngestionOverloadedException("Write-behind backlog is full with " + queued.get()
+                    + " events waiting to be stored", OVERLOAD_RETRY_AFTER_SECONDS);
+        }
+        JournalEntry entry;
+        try {
+            entry = journal.append(event);
+        } catch (JournalFullException e) {
+            queued.decrementAndGet();
+            throw new IngestionOverloadedException(e.getMessage(), OVERLOAD_RETRY_AFTER_SECONDS);
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+        enqueue(entry);
+    }
+
+    public int backlog() {
+        return queues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        List<JournalEntry> recovered = journal.open();
+        // the replayed backlog was acknowledged already, so it is taken in full even past the limit
+        queued.addAndGet(recovered.size());
+        recovered.forEach(this::enqueue);
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} accepted events from the ingestion journal", recovered.size());
+        }
+
+        running = true;
+        for (int i = 0; i < queues.size(); i++) {
+            BlockingQueue<PendingEvent> queue = queues.get(i);
+            Thread worker = new Thread(() -> drain(queue), "ingest-writer-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        journal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = queued.get();
+            if (current >= config.getMaxQueuedEvents()) {
+                return false;
+            }
+            if (queued.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void enqueue(JournalEntry entry) {
+        // one queue per tenant hash keeps each tenant's events in acceptance order
+        String tenantId = entry.event().metadata() != null ? entry.event().metadata().tenantId() : "default";
+        queues.get(Math.floorMod(String.valueOf(tenantId).hashCode(), queues.size())).add(new PendingEvent(entry));
+    }
+
+    private void drain(BlockingQueue<PendingEvent> queue) {
+        List<PendingEvent> batch = new ArrayList<>(config.getMaxBatchSize());
+        while (running) {
+            try {
+                PendingEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.getMaxBatchSize() - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Write-behind worker failed, {} events stay in the journal: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                queued.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    void process(List<PendingEvent> batch) throws InterruptedException {
+        List<PendingEvent> toStore = new ArrayList<>(batch.size());
+        for (PendingEvent pending : batch) {
+            if (pending.entry.replayed() && storageService.findById(pending.entry.event().id()).isPresent()) {
+                journal.markDone(List.of(pending.entry));
+            } else {
+                toStore.add(pending);
+            }
+        }
+        if (toStore.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Event> stored = storageService.storeBatch(toStore.stream().map(p -> p.entry.event()).toList());
+            journal.markDone(toStore.stream().map(p -> p.entry).toList());
+            indexEvents(stored);
+        } catch (Exception e) {
+            log.warn("Group commit of {} events failed, storing them one by one: {}", toStore.size(), e.getMessage());
+            for (PendingEvent pending : toStore) {
+                storeIndividually(pending);
+            }
+        }
+    }
+
+    private void storeIndividually(PendingEvent pending) throws InterruptedException {
+        while (running) {
+            try {
+                Event stored = storageService.store(pending.entry.event());
+                journal.markDone(List.of(pending.entry));
+                indexEvents(List.of(stored));
+                return;
+            } catch (Exception e) {
+                pending.attempts++;
+                if (pending.attempts >= config.getMaxAttempts()) {
+                    log.error("Giving up on event {} after {} attempts, moved to dead letter: {}",
+                            pending.entry.event().id(), pending.attempts, e.getMessage());
+                    journal.deadLetter(pending.entry, e.getMessage());
+                    releaseQuota(pending.entry.event());
+                    return;
+                }
+                Thread.sleep(config.getRetryBackoffMs() * pending.attempts);
+            }
+        }
+    }
+
+    // the event was charged when it was accepted, but it will never be stored
+    private void releaseQuota(Event event) {
+        if (quotaEnforcer != null) {
+            quotaEnforcer.release(event.metadata() != null ? event.metadata().tenantId() : "default", 1);
+        }
+    }
+
+    private void indexEvents(List<Event> events) {
+        try {
+            indexingService.indexBatch(events);
+            for (Event event : events) {
+                eventPublisher.publishEvent(new EventStoredEvent(this, event));
+            }
+        } catch (Exception e) {
+            log.error("Failed to index {} events: {}", events.size(), e.getMessage());
+        }
+    }
+
+    static final class PendingEvent {
+
+        private final JournalEntry entry;
+        private int attempts;
+
+        PendingEvent(JournalEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
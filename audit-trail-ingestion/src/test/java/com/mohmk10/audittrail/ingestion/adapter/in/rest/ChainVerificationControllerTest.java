@@ -0,0 +1,69 @@
+package com.mohmk10.audittrail.ingestion.adapter.in.rest;
+
+import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.ChainVerificationResponse;
+import com.mohmk10.audittrail.storage.service.ChainVerificationJob;
+import com.mohmk10.audittrail.storage.service.ChainVerificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChainVerificationControllerTest {
+
+    @Mock
+    private ChainVerificationService chainVerificationService;
+
+    private ChainVerificationController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ChainVerificationController(chainVerificationService);
+    }
+
+    @Test
+    void shouldStartVerificationJob() {
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", Instant.now());
+        when(chainVerificationService.start("acme")).thenReturn(job);
+
+        ResponseEntity<ChainVerificationResponse> response = controller.start("acme");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody().id()).isEqualTo(job.getId());
+        assertThat(response.getBody().status()).isEqualTo("RUNNING");
+    }
+
+    @Test
+    void shouldHideJobsOfOtherTenants() {
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", Instant.now());
+        when(chainVerificationService.findJob(job.getId())).thenReturn(Optional.of(job));
+
+        assertThat(controller.getStatus("other", job.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(controller.cancel("other", job.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        verify(chainVerificationService, never()).cancel(any());
+    }
+
+    @Test
+    void shouldCancelRunningJob() {
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", Instant.now());
+        when(chainVerificationService.findJob(job.getId())).thenReturn(Optional.of(job));
+
+        ResponseEntity<ChainVerificationResponse> response = controller.cancel("acme", job.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        verify(chainVerificationService).cancel(job.getId());
+    }
+}
@@ -15,7 +15,9 @@ import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.EventMetadataRequest
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.EventRequest;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.EventResponse;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.ResourceRequest;
+import com.mohmk10.audittrail.ingestion.adapter.in.rest.exception.GlobalExceptionHandler;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.mapper.EventRequestMapper;
+import com.mohmk10.audittrail.ingestion.config.IngestionConfig;
 import com.mohmk10.audittrail.ingestion.service.EventIngestionService;
 import com.mohmk10.audittrail.search.service.EventSearchService;
 import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
@@ -26,6 +28,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.Instant;
 import java.util.List;
@@ -35,7 +39,11 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 class EventControllerTest {
@@ -52,11 +60,15 @@ class EventControllerTest {
     @Mock
     private EventRequestMapper eventRequestMapper;
 
+    private IngestionConfig ingestionConfig;
+
     private EventController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new EventController(eventIngestionService, immutableStorageService, eventSearchService, eventRequestMapper);
+        ingestionConfig = new IngestionConfig();
+        controller = new EventController(eventIngestionService, immutableStorageService, eventSearchService,
+                eventRequestMapper, ingestionConfig);
     }
 
     private EventRequest createValidEventRequest() {
@@ -98,6 +110,23 @@ class EventControllerTest {
         assertThat(result.getBody().status()).isEqualTo("STORED");
     }
 
+    @Test
+    void shouldReturnAcceptedWhenAsyncIngestionEnabled() {
+        ingestionConfig.getAsync().setEnabled(true);
+        EventRequest request = createValidEventRequest();
+        Event acceptedEvent = createTestEvent();
+        EventResponse response = new EventResponse(acceptedEvent.id(), acceptedEvent.timestamp(), null, "ACCEPTED");
+
+        when(eventIngestionService.accept(any())).thenReturn(acceptedEvent);
+        when(eventRequestMapper.toAcceptedResponse(acceptedEvent)).thenReturn(response);
+
+        ResponseEntity<EventResponse> result = controller.ingestEvent(request);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(result.getBody().id()).isEqualTo(acceptedEvent.id());
+        assertThat(result.getBody().status()).isEqualTo("ACCEPTED");
+    }
+
     @Test
     void shouldThrowExceptionForInvalidEvent() {
         EventRequest request = createValidEventRequest();
@@ -209,4 +238,17 @@ class EventControllerTest {
         assertThat(result.getBody().succeeded()).isEqualTo(2);
         assertThat(result.getBody().failed()).isEqualTo(1);
     }
+
+    @Test
+    void shouldRejectUnknownCountModeWithBadRequest() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/v1/events").param("tenantId", "tenant-001").param("count", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("count must be one of exact, estimated, none"));
+
+        verifyNoInteractions(eventSearchService);
+    }
 }
@@ -1,7 +1,10 @@
 package com.mohmk10.audittrail.ingestion.adapter.in.rest.exception;
 
 import com.mohmk10.audittrail.core.exception.EventNotFoundException;
+import com.mohmk10.audittrail.core.exception.IngestionOverloadedException;
 import com.mohmk10.audittrail.core.exception.InvalidEventException;
+import com.mohmk10.audittrail.core.exception.InvalidRuleException;
+import com.mohmk10.audittrail.core.exception.QuotaExceededException;
 import com.mohmk10.audittrail.core.exception.StorageException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
@@ -12,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -56,6 +60,43 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().details()).containsExactlyElementsOf(violations);
     }
 
+    @Test
+    void shouldHandleInvalidRuleException() {
+        InvalidRuleException exception = new InvalidRuleException("Unknown groupBy field: actorIP");
+
+        ResponseEntity<ApiError> response = exceptionHandler.handleInvalidRuleException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().message()).isEqualTo("Unknown groupBy field: actorIP");
+    }
+
+    @Test
+    void shouldHandleQuotaExceededExceptionWithRetryAfter() {
+        QuotaExceededException exception = new QuotaExceededException(
+                "tenant-001", "Daily event quota of 1000 exceeded for tenant tenant-001", 3600);
+
+        ResponseEntity<ApiError> response = exceptionHandler.handleQuotaExceededException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3600");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(429);
+        assertThat(response.getBody().message()).contains("Daily event quota");
+    }
+
+    @Test
+    void shouldHandleIngestionOverloadedExceptionWithRetryAfter() {
+        IngestionOverloadedException exception = new IngestionOverloadedException("Write-behind backlog is full", 5);
+
+        ResponseEntity<ApiError> response = exceptionHandler.handleIngestionOverloadedException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(503);
+    }
+
     @Test
     void shouldHandleEventNotFoundException() {
         UUID eventId = UUID.randomUUID();
@@ -0,0 +1,155 @@
+package com.mohmk10.audittrail.ingestion.adapter.out.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Actor;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.EventMetadata;
+import com.mohmk10.audittrail.core.domain.Resource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedEventJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayPendingEventsAfterRestart() {
+        MappedEventJournal journal = new MappedEventJournal(directory, 64 * 1024, true, objectMapper);
+        assertThat(journal.open()).isEmpty();
+        Event first = createTestEvent();
+        Event second = createTestEvent();
+        journal.append(first);
+        journal.append(second);
+        journal.close();
+
+        MappedEventJournal reopened = new MappedEventJournal(directory, 64 * 1024, true, objectMapper);
+        List<JournalEntry> recovered = reopened.open();
+
+        assertThat(recovered).extracting(entry -> entry.event().id()).containsExactly(first.id(), second.id());
+        assertThat(recovered).allMatch(JournalEntry::replayed);
+        assertThat(recovered.get(0).event()).isEqualTo(first);
+    }
+
+    @Test
+    void shouldNotReplayCompletedEvents() {
+        MappedEventJournal journal = new MappedEventJournal(directory, 64 * 1024, true, objectMapper);
+        journal.open();
+        JournalEntry done = journal.append(createTestEvent());
+        Event pending = createTestEvent();
+        journal.append(pending);
+        journal.markDone(List.of(done));
+        journal.close();
+
+        List<JournalEntry> recovered = new MappedEventJournal(directory, 64 * 1024, true, objectMapper).open();
+
+        assertThat(recovered).extracting(entry -> entry.event().id()).containsExactly(pending.id());
+    }
+
+    @Test
+    void shouldRollSegmentsAndDeleteDrainedOnes() throws IOException {
+        MappedEventJournal journal = new MappedEventJournal(directory, 2 * 1024, false, objectMapper);
+        journal.open();
+        List<JournalEntry> entries = Stream.generate(this::createTestEvent).limit(20)
+                .map(journal::append)
+                .toList();
+
+        assertThat(entries.stream().map(JournalEntry::segmentId).distinct().count()).isGreaterThan(1);
+
+        journal.markDone(entries);
+
+        assertThat(journal.pendingCount()).isZero();
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    void shouldRefuseAppendsOnceSegmentsReachTheSizeLimit() throws IOException {
+        MappedEventJournal journal = new MappedEventJournal(directory, 2 * 1024, false, objectMapper, 4 * 1024);
+        journal.open();
+        List<JournalEntry> entries = new ArrayList<>();
+        // two segments fit within the limit, a third would not
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 100; i++) {
+                entries.add(journal.append(createTestEvent()));
+            }
+        }).isInstanceOf(JournalFullException.class);
+        assertThat(journal.sizeBytes()).isLessThanOrEqualTo(4 * 1024);
+        assertThat(segmentFiles()).hasSize(2);
+
+        journal.markDone(entries);
+
+        assertThat(journal.sizeBytes()).isEqualTo(2 * 1024);
+        assertThat(journal.append(createTestEvent())).isNotNull();
+    }
+
+    @Test
+    void shouldIgnoreTornRecordAtEndOfSegment() throws IOException {
+        MappedEventJournal journal = new MappedEventJournal(directory, 64 * 1024, true, objectMapper);
+        journal.open();
+        Event intact = createTestEvent();
+        journal.append(intact);
+        JournalEntry torn = journal.append(createTestEvent());
+        journal.close();
+
+        Path segment = segmentFiles().get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[torn.offset() + MappedEventJournal.HEADER_SIZE] ^= 0x7f;
+        Files.write(segment, bytes);
+
+        List<JournalEntry> recovered = new MappedEventJournal(directory, 64 * 1024, true, objectMapper).open();
+
+        assertThat(recovered).extracting(entry -> entry.event().id()).containsExactly(intact.id());
+    }
+
+    @Test
+    void shouldWriteDeadLetterAndCompleteEntry() throws IOException {
+        MappedEventJournal journal = new MappedEventJournal(directory, 64 * 1024, true, objectMapper);
+        journal.open();
+        Event event = createTestEvent();
+        JournalEntry entry = journal.append(event);
+
+        journal.deadLetter(entry, "constraint violation");
+
+        assertThat(journal.pendingCount()).isZero();
+        assertThat(Files.readString(directory.resolve("dead-letter.ndjson")))
+                .contains(event.id().toString())
+                .contains("constraint violation");
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private Event createTestEvent() {
+        return new Event(
+                UUID.randomUUID(),
+                Instant.now().truncatedTo(ChronoUnit.MILLIS),
+                new Actor("actor-123", Actor.ActorType.USER, "John", "10.0.0.1", null, Map.of("role", "admin")),
+                new Action(Action.ActionType.CREATE, "Created", null),
+                new Resource("res-123", Resource.ResourceType.DOCUMENT, "Report", null, Map.of("status", "draft")),
+                new EventMetadata("web-app", "tenant-001", null, null, Map.of("env", "test"), null),
+                null,
+                null,
+                null
+        );
+    }
+}
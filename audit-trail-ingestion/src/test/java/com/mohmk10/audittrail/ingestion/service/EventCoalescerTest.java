@@ -0,0 +1,183 @@
+package com.mohmk10.audittrail.ingestion.service;
+
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Actor;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.EventMetadata;
+import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.core.event.EventStoredEvent;
+import com.mohmk10.audittrail.core.exception.StorageException;
+import com.mohmk10.audittrail.ingestion.config.IngestionConfig;
+import com.mohmk10.audittrail.search.service.EventIndexingService;
+import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventCoalescerTest {
+
+    @Mock
+    private ImmutableStorageService storageService;
+
+    @Mock
+    private EventIndexingService indexingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EventCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    private EventCoalescer createCoalescer(int maxBatchSize, long maxLatencyMicros) {
+        IngestionConfig config = new IngestionConfig();
+        config.getCoalescing().setEnabled(true);
+        config.getCoalescing().setMaxBatchSize(maxBatchSize);
+        config.getCoalescing().setMaxLatencyMicros(maxLatencyMicros);
+        config.getCoalescing().setFlushThreads(2);
+        return new EventCoalescer(storageService, indexingService, eventPublisher, config, meterRegistry);
+    }
+
+    private Event createTestEvent(String tenantId) {
+        return new Event(
+                UUID.randomUUID(),
+                Instant.now(),
+                new Actor("actor-123", Actor.ActorType.USER, "John", null, null, null),
+                new Action(Action.ActionType.CREATE, "Created", null),
+                new Resource("res-123", Resource.ResourceType.DOCUMENT, "Report", null, null),
+                new EventMetadata("web-app", tenantId, null, null, null, null),
+                null,
+                null,
+                null
+        );
+    }
+
+    @Test
+    void shouldCommitFullWindowAsOneBatch() throws Exception {
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        coalescer = createCoalescer(3, TimeUnit.SECONDS.toMicros(30));
+
+        Event first = createTestEvent("tenant-001");
+        Event second = createTestEvent("tenant-001");
+        Event third = createTestEvent("tenant-001");
+        CompletableFuture<Event> firstResult = coalescer.submit(first);
+        CompletableFuture<Event> secondResult = coalescer.submit(second);
+        CompletableFuture<Event> thirdResult = coalescer.submit(third);
+
+        assertThat(firstResult.get(2, TimeUnit.SECONDS)).isEqualTo(first);
+        assertThat(secondResult.get(2, TimeUnit.SECONDS)).isEqualTo(second);
+        assertThat(thirdResult.get(2, TimeUnit.SECONDS)).isEqualTo(third);
+        verify(storageService).storeBatch(List.of(first, second, third));
+        verify(indexingService, timeout(2000)).indexBatch(List.of(first, second, third));
+        verify(eventPublisher, timeout(2000).times(3)).publishEvent(any(EventStoredEvent.class));
+        assertThat(meterRegistry.get("ingestion.coalescer.flushes").tag("trigger", "size").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldFlushPartialWindowAfterMaxLatency() throws Exception {
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        coalescer = createCoalescer(4, TimeUnit.MILLISECONDS.toMicros(200));
+
+        Event first = createTestEvent("tenant-001");
+        Event second = createTestEvent("tenant-001");
+        CompletableFuture<Event> firstResult = coalescer.submit(first);
+        CompletableFuture<Event> secondResult = coalescer.submit(second);
+
+        assertThat(firstResult.get(2, TimeUnit.SECONDS)).isEqualTo(first);
+        assertThat(secondResult.get(2, TimeUnit.SECONDS)).isEqualTo(second);
+        verify(storageService).storeBatch(List.of(first, second));
+        assertThat(meterRegistry.get("ingestion.coalescer.batch.fill.ratio").summary().max()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("ingestion.coalescer.flushes").tag("trigger", "latency").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldKeepTenantsInSeparateBatches() throws Exception {
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        coalescer = createCoalescer(2, TimeUnit.SECONDS.toMicros(30));
+
+        Event tenantOne = createTestEvent("tenant-001");
+        Event tenantTwo = createTestEvent("tenant-002");
+        CompletableFuture<Event> tenantOneResult = coalescer.submit(tenantOne);
+        CompletableFuture<Event> tenantTwoResult = coalescer.submit(tenantTwo);
+        coalescer.submit(createTestEvent("tenant-001"));
+        coalescer.submit(createTestEvent("tenant-002"));
+
+        assertThat(tenantOneResult.get(2, TimeUnit.SECONDS)).isEqualTo(tenantOne);
+        assertThat(tenantTwoResult.get(2, TimeUnit.SECONDS)).isEqualTo(tenantTwo);
+        verify(storageService, times(2)).storeBatch(argThat(batch ->
+                batch.stream().map(event -> event.metadata().tenantId()).distinct().count() == 1));
+    }
+
+    @Test
+    void shouldFailOnlyTheOffendingCallerWhenBatchCannotBeStored() throws Exception {
+        Event invalid = createTestEvent("tenant-001");
+        Event valid = createTestEvent("tenant-001");
+        when(storageService.storeBatch(anyList())).thenThrow(new StorageException("Failed to store event batch"));
+        when(storageService.store(invalid)).thenThrow(new StorageException("Duplicate event id"));
+        when(storageService.store(valid)).thenReturn(valid);
+        coalescer = createCoalescer(2, TimeUnit.SECONDS.toMicros(30));
+
+        CompletableFuture<Event> invalidResult = coalescer.submit(invalid);
+        CompletableFuture<Event> validResult = coalescer.submit(valid);
+
+        assertThatThrownBy(() -> invalidResult.get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StorageException.class)
+                .hasMessageContaining("Duplicate event id");
+        assertThat(validResult.get(2, TimeUnit.SECONDS)).isEqualTo(valid);
+        verify(indexingService, timeout(2000)).indexBatch(List.of(valid));
+    }
+
+    @Test
+    void shouldFailEveryCallerWhenNoEventCanBeStored() {
+        when(storageService.storeBatch(anyList())).thenThrow(new StorageException("Failed to store event batch"));
+        when(storageService.store(any())).thenThrow(new StorageException("Database unavailable"));
+        coalescer = createCoalescer(2, TimeUnit.SECONDS.toMicros(30));
+
+        CompletableFuture<Event> firstResult = coalescer.submit(createTestEvent("tenant-001"));
+        CompletableFuture<Event> secondResult = coalescer.submit(createTestEvent("tenant-001"));
+
+        assertThatThrownBy(() -> firstResult.get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StorageException.class);
+        assertThatThrownBy(() -> secondResult.get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StorageException.class);
+        verifyNoInteractions(indexingService);
+    }
+
+    @Test
+    void shouldCommitPendingEventsOnShutdown() throws Exception {
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        coalescer = createCoalescer(8, TimeUnit.SECONDS.toMicros(30));
+
+        Event event = createTestEvent("tenant-001");
+        CompletableFuture<Event> result = coalescer.submit(event);
+        coalescer.shutdown();
+
+        assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo(event);
+    }
+}
@@ -6,6 +6,8 @@ import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.core.domain.EventMetadata;
 import com.mohmk10.audittrail.core.domain.Resource;
 import com.mohmk10.audittrail.core.exception.InvalidEventException;
+import com.mohmk10.audittrail.core.exception.QuotaExceededException;
+import com.mohmk10.audittrail.core.exception.StorageException;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.ActionRequest;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.ActorRequest;
 import com.mohmk10.audittrail.ingestion.adapter.in.rest.dto.BatchEventRequest;
@@ -22,15 +24,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +60,15 @@ class EventIngestionServiceImplTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private ObjectProvider<WriteBehindIngestionProcessor> writeBehindProcessor;
+
+    @Mock
+    private ObjectProvider<EventCoalescer> coalescerProvider;
+
+    @Mock
+    private ObjectProvider<TenantQuotaEnforcer> quotaEnforcerProvider;
+
     private EventIngestionServiceImpl ingestionService;
 
     @BeforeEach
@@ -64,7 +79,10 @@ class EventIngestionServiceImplTest {
                 storageService,
                 mapper,
                 indexingService,
-                eventPublisher
+                eventPublisher,
+                writeBehindProcessor,
+                coalescerProvider,
+                quotaEnforcerProvider
         );
     }
 
@@ -90,6 +108,13 @@ class EventIngestionServiceImplTest {
         );
     }
 
+    private void stubStoreBatch(Event storedEvent) {
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> {
+            List<Event> events = invocation.getArgument(0);
+            return events.stream().map(event -> storedEvent).toList();
+        });
+    }
+
     @Test
     void shouldIngestValidEvent() {
         EventRequest request = createValidEventRequest();
@@ -162,7 +187,7 @@ class EventIngestionServiceImplTest {
         when(validationService.validate(any())).thenReturn(List.of());
         when(mapper.toEvent(any())).thenReturn(mappedEvent);
         when(enrichmentService.enrich(any())).thenReturn(enrichedEvent);
-        when(storageService.store(any())).thenReturn(storedEvent);
+        stubStoreBatch(storedEvent);
         when(mapper.toResponse(any())).thenReturn(response);
 
         BatchEventResponse result = ingestionService.ingestBatch(batchRequest);
@@ -193,7 +218,7 @@ class EventIngestionServiceImplTest {
         });
         when(mapper.toEvent(any())).thenReturn(mappedEvent);
         when(enrichmentService.enrich(any())).thenReturn(enrichedEvent);
-        when(storageService.store(any())).thenReturn(storedEvent);
+        stubStoreBatch(storedEvent);
         when(mapper.toResponse(any())).thenReturn(response);
 
         BatchEventResponse result = ingestionService.ingestBatch(batchRequest);
@@ -236,7 +261,7 @@ class EventIngestionServiceImplTest {
         when(validationService.validate(any())).thenReturn(List.of());
         when(mapper.toEvent(any())).thenReturn(mappedEvent);
         when(enrichmentService.enrich(any())).thenReturn(enrichedEvent);
-        when(storageService.store(any())).thenReturn(storedEvent);
+        stubStoreBatch(storedEvent);
         when(mapper.toResponse(any())).thenReturn(response);
 
         ingestionService.ingestBatch(batchRequest);
@@ -257,7 +282,7 @@ class EventIngestionServiceImplTest {
         when(validationService.validate(any())).thenReturn(List.of());
         when(mapper.toEvent(any())).thenReturn(mappedEvent);
         when(enrichmentService.enrich(any())).thenReturn(enrichedEvent);
-        when(storageService.store(any())).thenReturn(storedEvent);
+        stubStoreBatch(storedEvent);
         when(mapper.toResponse(any())).thenReturn(response);
         doThrow(new RuntimeException("Batch indexing failed")).when(indexingService).indexBatch(any());
 
@@ -278,7 +303,7 @@ class EventIngestionServiceImplTest {
         when(validationService.validate(any())).thenReturn(List.of());
         when(mapper.toEvent(any())).thenReturn(mappedEvent);
         when(enrichmentService.enrich(any())).thenReturn(enrichedEvent);
-        when(storageService.store(any())).thenThrow(new RuntimeException("Storage failed"));
+        when(storageService.storeBatch(anyList())).thenThrow(new RuntimeException("Storage failed"));
 
         BatchEventResponse result = ingestionService.ingestBatch(batchRequest);
 
@@ -287,6 +312,50 @@ class EventIngestionServiceImplTest {
         assertThat(result.errors().get(0).message()).contains("Storage failed");
     }
 
+    @Test
+    void shouldStoreValidBatchEventsInOneStorageCall() {
+        EventRequest validRequest = createValidEventRequest();
+        EventRequest invalidRequest = createValidEventRequest();
+        BatchEventRequest batchRequest = new BatchEventRequest(List.of(validRequest, invalidRequest, validRequest));
+        Event storedEvent = createTestEvent();
+
+        when(validationService.validate(any())).thenAnswer(invocation ->
+                invocation.getArgument(0) == invalidRequest ? List.of("Invalid type") : List.of());
+        when(mapper.toEvent(any())).thenReturn(createTestEvent());
+        when(enrichmentService.enrich(any())).thenReturn(createTestEvent());
+        stubStoreBatch(storedEvent);
+
+        ingestionService.ingestBatch(batchRequest);
+
+        verify(storageService).storeBatch(argThat(events -> events.size() == 2));
+        verify(storageService, never()).store(any());
+    }
+
+    @Test
+    void shouldStoreEventsOneByOneWhenBatchFails() {
+        EventRequest request = createValidEventRequest();
+        BatchEventRequest batchRequest = new BatchEventRequest(List.of(request, request, request));
+        Event good = createTestEvent();
+        Event bad = createTestEvent();
+        Event storedEvent = createTestEvent();
+        EventResponse response = new EventResponse(storedEvent.id(), storedEvent.timestamp(), storedEvent.hash(), "STORED");
+
+        when(validationService.validate(any())).thenReturn(List.of());
+        when(mapper.toEvent(any())).thenReturn(createTestEvent());
+        when(enrichmentService.enrich(any())).thenReturn(good, bad, good);
+        when(storageService.storeBatch(anyList())).thenThrow(new StorageException("Duplicate event id"));
+        when(storageService.store(good)).thenReturn(storedEvent);
+        when(storageService.store(bad)).thenThrow(new StorageException("Duplicate event id"));
+        when(mapper.toResponse(any())).thenReturn(response);
+
+        BatchEventResponse result = ingestionService.ingestBatch(batchRequest);
+
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors().get(0).index()).isEqualTo(1);
+        assertThat(result.errors().get(0).message()).contains("Duplicate event id");
+    }
+
     @Test
     void shouldPublishEventForEachSuccessfulBatchItem() {
         EventRequest request = createValidEventRequest();
@@ -300,7 +369,7 @@ class EventIngestionServiceImplTest {
         when(validationService.validate(any())).thenReturn(List.of());
         when(mapper.toEvent(any())).thenReturn(mappedEvent);
         when(enrichmentService.enrich(any())).thenReturn(enrichedEvent);
-        when(storageService.store(any())).thenReturn(storedEvent);
+        stubStoreBatch(storedEvent);
         when(mapper.toResponse(any())).thenReturn(response);
 
         ingestionService.ingestBatch(batchRequest);
@@ -332,7 +401,7 @@ class EventIngestionServiceImplTest {
         });
         when(mapper.toEvent(any())).thenReturn(mappedEvent);
         when(enrichmentService.enrich(any())).thenReturn(enrichedEvent);
-        when(storageService.store(any())).thenReturn(storedEvent);
+        stubStoreBatch(storedEvent);
         when(mapper.toResponse(any())).thenReturn(response);
 
         BatchEventResponse result = ingestionService.ingestBatch(batchRequest);
@@ -341,4 +410,198 @@ class EventIngestionServiceImplTest {
         assertThat(result.errors().get(0).index()).isEqualTo(2);
         assertThat(result.errors().get(1).index()).isEqualTo(4);
     }
+
+    @Test
+    void shouldAcceptEventIntoWriteBehindProcessor() {
+        WriteBehindIngestionProcessor processor = mock(WriteBehindIngestionProcessor.class);
+        EventRequest request = createValidEventRequest();
+        Event mappedEvent = createTestEvent();
+        Event enrichedEvent = createTestEvent();
+
+        when(writeBehindProcessor.getIfAvailable()).thenReturn(processor);
+        when(validationService.validate(request)).thenReturn(List.of());
+        when(mapper.toEvent(request)).thenReturn(mappedEvent);
+        when(enrichmentService.enrich(mappedEvent)).thenReturn(enrichedEvent);
+
+        Event result = ingestionService.accept(request);
+
+        assertThat(result).isEqualTo(enrichedEvent);
+        verify(processor).submit(enrichedEvent);
+        verifyNoInteractions(storageService, indexingService);
+    }
+
+    @Test
+    void shouldRejectInvalidEventBeforeJournaling() {
+        WriteBehindIngestionProcessor processor = mock(WriteBehindIngestionProcessor.class);
+        EventRequest request = createValidEventRequest();
+
+        when(writeBehindProcessor.getIfAvailable()).thenReturn(processor);
+        when(validationService.validate(request)).thenReturn(List.of("Actor is required"));
+
+        assertThatThrownBy(() -> ingestionService.accept(request))
+                .isInstanceOf(InvalidEventException.class);
+        verifyNoInteractions(processor);
+    }
+
+    @Test
+    void shouldFailToAcceptWhenAsyncIngestionDisabled() {
+        when(writeBehindProcessor.getIfAvailable()).thenReturn(null);
+
+        assertThatThrownBy(() -> ingestionService.accept(createValidEventRequest()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("disabled");
+    }
+
+    @Test
+    void shouldIngestThroughCoalescerWhenEnabled() {
+        EventCoalescer coalescer = mock(EventCoalescer.class);
+        EventRequest request = createValidEventRequest();
+        Event mappedEvent = createTestEvent();
+        Event enrichedEvent = createTestEvent();
+        Event storedEvent = createTestEvent();
+
+        when(coalescerProvider.getIfAvailable()).thenReturn(coalescer);
+        when(validationService.validate(request)).thenReturn(List.of());
+        when(mapper.toEvent(request)).thenReturn(mappedEvent);
+        when(enrichmentService.enrich(mappedEvent)).thenReturn(enrichedEvent);
+        when(coalescer.submit(enrichedEvent)).thenReturn(CompletableFuture.completedFuture(storedEvent));
+
+        EventIngestionServiceImpl coalescingService = new EventIngestionServiceImpl(
+                validationService, enrichmentService, storageService, mapper,
+                indexingService, eventPublisher, writeBehindProcessor, coalescerProvider, quotaEnforcerProvider);
+
+        Event result = coalescingService.ingest(request);
+
+        assertThat(result).isEqualTo(storedEvent);
+        verifyNoInteractions(storageService, indexingService);
+    }
+
+    @Test
+    void shouldRethrowCoalescedStorageFailure() {
+        EventCoalescer coalescer = mock(EventCoalescer.class);
+        EventRequest request = createValidEventRequest();
+        Event mappedEvent = createTestEvent();
+
+        when(coalescerProvider.getIfAvailable()).thenReturn(coalescer);
+        when(validationService.validate(request)).thenReturn(List.of());
+        when(mapper.toEvent(request)).thenReturn(mappedEvent);
+        when(enrichmentService.enrich(mappedEvent)).thenReturn(mappedEvent);
+        when(coalescer.submit(mappedEvent)).thenReturn(
+                CompletableFuture.failedFuture(new StorageException("Failed to store event")));
+
+        EventIngestionServiceImpl coalescingService = new EventIngestionServiceImpl(
+                validationService, enrichmentService, storageService, mapper,
+                indexingService, eventPublisher, writeBehindProcessor, coalescerProvider, quotaEnforcerProvider);
+
+        assertThatThrownBy(() -> coalescingService.ingest(request))
+                .isInstanceOf(StorageException.class)
+                .hasMessage("Failed to store event");
+    }
+
+    @Test
+    void shouldRejectIngestOverQuotaBeforeStoring() {
+        TenantQuotaEnforcer quotaEnforcer = mock(TenantQuotaEnforcer.class);
+        EventRequest request = createValidEventRequest();
+
+        when(quotaEnforcerProvider.getIfAvailable()).thenReturn(quotaEnforcer);
+        when(validationService.validate(request)).thenReturn(List.of());
+        doThrow(new QuotaExceededException("tenant-001", "Daily event quota of 1000 exceeded", 60))
+                .when(quotaEnforcer).acquire("tenant-001", 1);
+
+        EventIngestionServiceImpl quotaService = new EventIngestionServiceImpl(
+                validationService, enrichmentService, storageService, mapper,
+                indexingService, eventPublisher, writeBehindProcessor, coalescerProvider, quotaEnforcerProvider);
+
+        assertThatThrownBy(() -> quotaService.ingest(request))
+                .isInstanceOf(QuotaExceededException.class);
+        verifyNoInteractions(storageService, indexingService);
+    }
+
+    @Test
+    void shouldAcquireQuotaForWholeBatchPerTenant() {
+        TenantQuotaEnforcer quotaEnforcer = mock(TenantQuotaEnforcer.class);
+        EventRequest request = createValidEventRequest();
+        BatchEventRequest batchRequest = new BatchEventRequest(List.of(request, request, request));
+
+        when(quotaEnforcerProvider.getIfAvailable()).thenReturn(quotaEnforcer);
+        when(validationService.validate(any())).thenReturn(List.of());
+        doThrow(new QuotaExceededException("tenant-001", "Monthly event quota of 30000 exceeded", 60))
+                .when(quotaEnforcer).acquireAll(Map.of("tenant-001", 3));
+
+        EventIngestionServiceImpl quotaService = new EventIngestionServiceImpl(
+                validationService, enrichmentService, storageService, mapper,
+                indexingService, eventPublisher, writeBehindProcessor, coalescerProvider, quotaEnforcerProvider);
+
+        assertThatThrownBy(() -> quotaService.ingestBatch(batchRequest))
+                .isInstanceOf(QuotaExceededException.class);
+        verifyNoInteractions(storageService, indexingService);
+    }
+
+    @Test
+    void shouldReleaseQuotaWhenIngestFailsToStore() {
+        TenantQuotaEnforcer quotaEnforcer = mock(TenantQuotaEnforcer.class);
+        EventRequest request = createValidEventRequest();
+        Event event = createTestEvent();
+
+        when(quotaEnforcerProvider.getIfAvailable()).thenReturn(quotaEnforcer);
+        when(validationService.validate(request)).thenReturn(List.of());
+        when(mapper.toEvent(request)).thenReturn(event);
+        when(enrichmentService.enrich(event)).thenReturn(event);
+        when(storageService.store(event)).thenThrow(new StorageException("Failed to store event"));
+
+        EventIngestionServiceImpl quotaService = new EventIngestionServiceImpl(
+                validationService, enrichmentService, storageService, mapper,
+                indexingService, eventPublisher, writeBehindProcessor, coalescerProvider, quotaEnforcerProvider);
+
+        assertThatThrownBy(() -> quotaService.ingest(request))
+                .isInstanceOf(StorageException.class);
+        verify(quotaEnforcer).acquire("tenant-001", 1);
+        verify(quotaEnforcer).release("tenant-001", 1);
+    }
+
+    @Test
+    void shouldNotChargeQuotaForInvalidEvent() {
+        TenantQuotaEnforcer quotaEnforcer = mock(TenantQuotaEnforcer.class);
+        EventRequest request = createValidEventRequest();
+
+        when(quotaEnforcerProvider.getIfAvailable()).thenReturn(quotaEnforcer);
+        when(validationService.validate(request)).thenReturn(List.of("actor.id is required"));
+
+        EventIngestionServiceImpl quotaService = new EventIngestionServiceImpl(
+                validationService, enrichmentService, storageService, mapper,
+                indexingService, eventPublisher, writeBehindProcessor, coalescerProvider, quotaEnforcerProvider);
+
+        assertThatThrownBy(() -> quotaService.ingest(request))
+                .isInstanceOf(InvalidEventException.class);
+        verifyNoInteractions(quotaEnforcer);
+    }
+
+    @Test
+    void shouldChargeQuotaOnlyForStoredBatchEvents() {
+        TenantQuotaEnforcer quotaEnforcer = mock(TenantQuotaEnforcer.class);
+        EventRequest request = createValidEventRequest();
+        EventRequest invalid = createValidEventRequest();
+        BatchEventRequest batchRequest = new BatchEventRequest(List.of(request, invalid, request, request));
+        Event good = createTestEvent();
+        Event bad = createTestEvent();
+        Event storedEvent = createTestEvent();
+
+        when(quotaEnforcerProvider.getIfAvailable()).thenReturn(quotaEnforcer);
+        when(validationService.validate(any())).thenReturn(List.of(), List.of("actor.id is required"), List.of());
+        when(mapper.toEvent(any())).thenReturn(createTestEvent());
+        when(enrichmentService.enrich(any())).thenReturn(good, bad, good);
+        when(storageService.storeBatch(anyList())).thenThrow(new StorageException("Duplicate event id"));
+        when(storageService.store(good)).thenReturn(storedEvent);
+        when(storageService.store(bad)).thenThrow(new StorageException("Duplicate event id"));
+
+        EventIngestionServiceImpl quotaService = new EventIngestionServiceImpl(
+                validationService, enrichmentService, storageService, mapper,
+                indexingService, eventPublisher, writeBehindProcessor, coalescerProvider, quotaEnforcerProvider);
+
+        BatchEventResponse result = quotaService.ingestBatch(batchRequest);
+
+        assertThat(result.succeeded()).isEqualTo(2);
+        verify(quotaEnforcer).acquireAll(Map.of("tenant-001", 3));
+        verify(quotaEnforcer).release("tenant-001", 1);
+    }
 }
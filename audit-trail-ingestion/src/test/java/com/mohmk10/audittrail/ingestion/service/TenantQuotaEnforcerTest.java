@@ -0,0 +1,150 @@
+package com.mohmk10.audittrail.ingestion.service;
+
+import com.mohmk10.audittrail.admin.domain.Tenant;
+import com.mohmk10.audittrail.admin.domain.TenantQuota;
+import com.mohmk10.audittrail.admin.service.TenantService;
+import com.mohmk10.audittrail.core.exception.QuotaExceededException;
+import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantQuotaEnforcerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T23:00:00Z");
+    private static final Instant START_OF_DAY = Instant.parse("2026-10-18T00:00:00Z");
+    private static final Instant START_OF_MONTH = Instant.parse("2026-10-01T00:00:00Z");
+
+    @Mock
+    private TenantService tenantService;
+
+    @Mock
+    private ImmutableStorageService storageService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TenantQuotaEnforcer enforcer;
+
+    @BeforeEach
+    void setUp() {
+        enforcer = new TenantQuotaEnforcer(tenantService, storageService, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private void givenTenant(String slug, long perDay, long perMonth) {
+        Tenant tenant = Tenant.builder()
+                .slug(slug)
+                .quota(new TenantQuota(perDay, perMonth, 2, 2, 1, 7))
+                .build();
+        when(tenantService.findBySlug(slug)).thenReturn(Optional.of(tenant));
+    }
+
+    @Test
+    void shouldRejectOnceDailyQuotaIsUsedWithRetryAfterMidnight() {
+        givenTenant("acme", 10, 1000);
+        when(storageService.countStoredSince("acme", START_OF_DAY)).thenReturn(8L);
+        when(storageService.countStoredSince("acme", START_OF_MONTH)).thenReturn(100L);
+
+        enforcer.acquire("acme", 1);
+        enforcer.acquire("acme", 1);
+
+        assertThatThrownBy(() -> enforcer.acquire("acme", 1))
+                .isInstanceOf(QuotaExceededException.class)
+                .hasMessageContaining("Daily")
+                .satisfies(e -> assertThat(((QuotaExceededException) e).getRetryAfterSeconds()).isEqualTo(3601));
+        assertThat(meterRegistry.get("ingestion.quota.rejected").tag("limit", "daily").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldRejectOnceMonthlyQuotaIsUsed() {
+        givenTenant("acme", 1000, 50);
+        when(storageService.countStoredSince("acme", START_OF_DAY)).thenReturn(0L);
+        when(storageService.countStoredSince("acme", START_OF_MONTH)).thenReturn(50L);
+
+        assertThatThrownBy(() -> enforcer.acquire("acme", 1))
+                .isInstanceOf(QuotaExceededException.class)
+                .hasMessageContaining("Monthly");
+    }
+
+    @Test
+    void shouldOnlyLookUpTenantOnce() {
+        givenTenant("acme", 1000, 10_000);
+        when(storageService.countStoredSince(anyString(), any(Instant.class))).thenReturn(0L);
+
+        for (int i = 0; i < 100; i++) {
+            enforcer.acquire("acme", 1);
+        }
+
+        verify(tenantService, times(1)).findBySlug("acme");
+        verify(storageService, times(2)).countStoredSince(anyString(), any(Instant.class));
+    }
+
+    @Test
+    void shouldNotLimitUnknownTenants() {
+        when(tenantService.findBySlug("production")).thenReturn(Optional.empty());
+
+        assertThatNoException().isThrownBy(() -> enforcer.acquire("production", 1_000_000));
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void shouldReleaseEarlierTenantsWhenBatchIsRejected() {
+        givenTenant("acme", 10, 1000);
+        givenTenant("globex", 1, 1000);
+        when(storageService.countStoredSince(anyString(), any(Instant.class))).thenReturn(0L);
+        Map<String, Integer> batch = new LinkedHashMap<>();
+        batch.put("acme", 10);
+        batch.put("globex", 2);
+
+        assertThatThrownBy(() -> enforcer.acquireAll(batch)).isInstanceOf(QuotaExceededException.class);
+
+        assertThatNoException().isThrownBy(() -> enforcer.acquire("acme", 10));
+    }
+
+    @Test
+    void shouldRaiseLocalCountsToPersistedUsageOnReconcile() {
+        givenTenant("acme", 10, 1000);
+        when(storageService.countStoredSince("acme", START_OF_DAY)).thenReturn(0L, 10L);
+        when(storageService.countStoredSince("acme", START_OF_MONTH)).thenReturn(0L, 10L);
+
+        enforcer.acquire("acme", 5);
+        enforcer.reconcile();
+
+        // another node stored the rest of today's quota
+        assertThatThrownBy(() -> enforcer.acquire("acme", 1)).isInstanceOf(QuotaExceededException.class);
+    }
+
+    @Test
+    void shouldKeepInFlightAcquisitionsAcrossReconcile() {
+        givenTenant("acme", 10, 1000);
+        when(storageService.countStoredSince(anyString(), any(Instant.class))).thenReturn(0L);
+
+        enforcer.acquire("acme", 8);
+        // none of the acquired events are persisted yet
+        enforcer.reconcile();
+
+        assertThatThrownBy(() -> enforcer.acquire("acme", 3)).isInstanceOf(QuotaExceededException.class);
+
+        enforcer.release("acme", 8);
+        enforcer.acquire("acme", 10);
+        assertThatThrownBy(() -> enforcer.acquire("acme", 1)).isInstanceOf(QuotaExceededException.class);
+    }
+}
@@ -0,0 +1,182 @@
+package com.mohmk10.audittrail.ingestion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Actor;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.EventMetadata;
+import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.core.event.EventStoredEvent;
+import com.mohmk10.audittrail.core.exception.IngestionOverloadedException;
+import com.mohmk10.audittrail.ingestion.adapter.out.journal.MappedEventJournal;
+import com.mohmk10.audittrail.ingestion.config.IngestionConfig;
+import com.mohmk10.audittrail.search.service.EventIndexingService;
+import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindIngestionProcessorTest {
+
+    private static final int JOURNAL_SEGMENT_SIZE = 64 * 1024;
+
+    @Mock
+    private ImmutableStorageService storageService;
+
+    @Mock
+    private EventIndexingService indexingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IngestionConfig.AsyncConfig config;
+    private MappedEventJournal journal;
+    private WriteBehindIngestionProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        config = new IngestionConfig.AsyncConfig();
+        config.setWorkers(2);
+        config.setMaxAttempts(2);
+        config.setRetryBackoffMs(1);
+        journal = new MappedEventJournal(directory, JOURNAL_SEGMENT_SIZE, true, objectMapper);
+        processor = new WriteBehindIngestionProcessor(storageService, indexingService, eventPublisher, config, journal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.stop();
+    }
+
+    @Test
+    void shouldRejectSubmitBeforeStart() {
+        assertThatThrownBy(() -> processor.submit(createTestEvent()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldStoreAndIndexSubmittedEvents() {
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        processor.start();
+
+        Event event = createTestEvent();
+        processor.submit(event);
+
+        verify(storageService, timeout(2000)).storeBatch(List.of(event));
+        verify(indexingService, timeout(2000)).indexBatch(List.of(event));
+        verify(eventPublisher, timeout(2000)).publishEvent(any(EventStoredEvent.class));
+        assertThat(journal.pendingCount()).isZero();
+    }
+
+    @Test
+    void shouldRefuseEventsWhileTheBacklogIsFull() {
+        CountDownLatch databaseBack = new CountDownLatch(1);
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> {
+            databaseBack.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        config.setMaxQueuedEvents(2);
+        processor.start();
+        Event first = createTestEvent();
+        processor.submit(first);
+        verify(storageService, timeout(2000)).storeBatch(List.of(first));
+        processor.submit(createTestEvent());
+
+        assertThatThrownBy(() -> processor.submit(createTestEvent()))
+                .isInstanceOf(IngestionOverloadedException.class);
+        assertThat(journal.pendingCount()).isEqualTo(2);
+
+        databaseBack.countDown();
+
+        verify(storageService, timeout(2000).times(2)).storeBatch(anyList());
+        verify(indexingService, timeout(2000).times(2)).indexBatch(anyList());
+        processor.submit(createTestEvent());
+    }
+
+    @Test
+    void shouldReplayJournalOnStartAndSkipAlreadyStoredEvents() {
+        MappedEventJournal previousRun = new MappedEventJournal(directory, JOURNAL_SEGMENT_SIZE, true, objectMapper);
+        previousRun.open();
+        Event alreadyStored = createTestEvent();
+        Event notStored = createTestEvent();
+        previousRun.append(alreadyStored);
+        previousRun.append(notStored);
+        previousRun.close();
+
+        when(storageService.findById(alreadyStored.id())).thenReturn(Optional.of(alreadyStored));
+        when(storageService.findById(notStored.id())).thenReturn(Optional.empty());
+        when(storageService.storeBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        processor.start();
+
+        verify(storageService, timeout(2000)).storeBatch(List.of(notStored));
+        verify(storageService, never()).storeBatch(List.of(alreadyStored, notStored));
+    }
+
+    @Test
+    void shouldFallBackToSingleStoresAndDeadLetterPoisonEvents() throws Exception {
+        Event good = createTestEvent();
+        Event poison = createTestEvent();
+        when(storageService.storeBatch(anyList())).thenThrow(new RuntimeException("batch failed"));
+        when(storageService.store(good)).thenReturn(good);
+        when(storageService.store(poison)).thenThrow(new RuntimeException("constraint violation"));
+        config.setWorkers(1);
+        MappedEventJournal spiedJournal = spy(journal);
+        TenantQuotaEnforcer quotaEnforcer = mock(TenantQuotaEnforcer.class);
+        processor = new WriteBehindIngestionProcessor(storageService, indexingService, eventPublisher, config,
+                spiedJournal, quotaEnforcer);
+        processor.start();
+
+        processor.submit(good);
+        processor.submit(poison);
+
+        verify(storageService, timeout(2000).times(config.getMaxAttempts())).store(poison);
+        verify(indexingService, timeout(2000)).indexBatch(List.of(good));
+        // the dead letter is written after the last attempt returns, so wait for it rather than for the store call
+        verify(spiedJournal, timeout(2000)).deadLetter(any(), eq("constraint violation"));
+        assertThat(Files.readString(directory.resolve("dead-letter.ndjson"))).contains(poison.id().toString());
+        verify(quotaEnforcer, timeout(2000)).release(poison.metadata().tenantId(), 1);
+    }
+
+    private Event createTestEvent() {
+        return new Event(
+                UUID.randomUUID(),
+                Instant.now().truncatedTo(ChronoUnit.MILLIS),
+                new Actor("actor-123", Actor.ActorType.USER, "John", null, null, null),
+                new Action(Action.ActionType.CREATE, "Created", null),
+                new Resource("res-123", Resource.ResourceType.DOCUMENT, "Report", null, null),
+                new EventMetadata("web-app", "tenant-001", null, null, null, null),
+                null,
+                null,
+                null
+        );
+    }
+}
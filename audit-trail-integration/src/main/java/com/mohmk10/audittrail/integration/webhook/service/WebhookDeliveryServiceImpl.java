@@ -1,12 +1,12 @@
 package com.mohmk10.audittrail.integration.webhook.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.crypto.Crypto;
 import com.mohmk10.audittrail.integration.webhook.adapter.out.persistence.JpaWebhookDeliveryRepository;
 import com.mohmk10.audittrail.integration.webhook.adapter.out.persistence.JpaWebhookRepository;
 import com.mohmk10.audittrail.integration.webhook.adapter.out.persistence.WebhookDeliveryEntity;
 import com.mohmk10.audittrail.integration.webhook.adapter.out.persistence.WebhookDeliveryMapper;
 import com.mohmk10.audittrail.integration.webhook.domain.*;
-import org.apache.commons.codec.binary.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatusCode;
@@ -16,8 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -28,7 +27,6 @@ import java.util.UUID;
 public class WebhookDeliveryServiceImpl implements WebhookDeliveryService {
     
     private static final Logger log = LoggerFactory.getLogger(WebhookDeliveryServiceImpl.class);
-    private static final String HMAC_SHA256 = "HmacSHA256";
     private static final Duration TIMEOUT = Duration.ofSeconds(30);
     
     private final WebClient webClient;
@@ -161,10 +159,9 @@ public class WebhookDeliveryServiceImpl implements WebhookDeliveryService {
     @Override
     public String calculateSignature(String payload, String secret) {
         try {
-            Mac mac = Mac.getInstance(HMAC_SHA256);
-            mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
-            byte[] hash = mac.doFinal(payload.getBytes());
-            return "sha256=" + Hex.encodeHexString(hash);
+            byte[] hash = Crypto.hmacSha256(secret.getBytes(StandardCharsets.UTF_8),
+                    payload.getBytes(StandardCharsets.UTF_8));
+            return "sha256=" + Crypto.toHex(hash);
         } catch (Exception e) {
             throw new RuntimeException("Failed to calculate HMAC signature", e);
         }
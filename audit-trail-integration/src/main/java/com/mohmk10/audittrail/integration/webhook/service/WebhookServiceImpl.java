@@ -1,19 +1,18 @@
 package com.mohmk10.audittrail.integration.webhook.service;
 
+import com.mohmk10.audittrail.core.crypto.Crypto;
 import com.mohmk10.audittrail.integration.webhook.adapter.out.persistence.JpaWebhookRepository;
 import com.mohmk10.audittrail.integration.webhook.adapter.out.persistence.WebhookEntity;
 import com.mohmk10.audittrail.integration.webhook.adapter.out.persistence.WebhookMapper;
 import com.mohmk10.audittrail.integration.webhook.domain.Webhook;
 import com.mohmk10.audittrail.integration.webhook.domain.WebhookNotFoundException;
 import com.mohmk10.audittrail.integration.webhook.domain.WebhookStatus;
-import org.apache.commons.codec.binary.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Base64;
@@ -26,7 +25,6 @@ import java.util.UUID;
 public class WebhookServiceImpl implements WebhookService {
     
     private static final Logger log = LoggerFactory.getLogger(WebhookServiceImpl.class);
-    private static final String HMAC_SHA256 = "HmacSHA256";
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
     
     private final JpaWebhookRepository repository;
@@ -165,10 +163,9 @@ public class WebhookServiceImpl implements WebhookService {
     
     private String calculateHmacSignature(String payload, String secret) {
         try {
-            Mac mac = Mac.getInstance(HMAC_SHA256);
-            mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
-            byte[] hash = mac.doFinal(payload.getBytes());
-            return "sha256=" + Hex.encodeHexString(hash);
+            byte[] hash = Crypto.hmacSha256(secret.getBytes(StandardCharsets.UTF_8),
+                    payload.getBytes(StandardCharsets.UTF_8));
+            return "sha256=" + Crypto.toHex(hash);
         } catch (Exception e) {
             throw new RuntimeException("Failed to calculate HMAC signature", e);
         }
@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import org.springframework.data.domain.PageRequest;
@@ -38,6 +39,8 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/v1/search")
 public class SearchController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EventSearchService eventSearchService;
 
     public SearchController(EventSearchService eventSearchService) {
@@ -69,9 +72,19 @@ public class SearchController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor) {
 
         DateRange range = new DateRange(from, to);
+        if (cursor != null) {
+            // cursor paging: an empty cursor asks for the first page, the next one comes back in a header
+            SearchResult<Event> result = eventSearchService.getTimelinePage(tenantId, range, cursor, Math.min(size, 100));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+            }
+            return response.body(result.items().stream().map(EventSearchResponse::from).toList());
+        }
         Pageable pageable = PageRequest.of(page, Math.min(size, 100));
         List<Event> events = eventSearchService.getTimeline(tenantId, range, pageable);
         return ResponseEntity.ok(events.stream().map(EventSearchResponse::from).toList());
@@ -143,6 +156,12 @@ public class SearchController {
             sortDirection = SearchCriteria.SortDirection.ASC;
         }
 
+        SearchCriteria.TotalCount totalCount = SearchCriteria.TotalCount.EXACT;
+        if (request.totalCount() != null && !request.totalCount().isBlank()) {
+            // validated on the request, an unknown mode is rejected with 400
+            totalCount = SearchCriteria.TotalCount.valueOf(request.totalCount().trim().toUpperCase(Locale.ROOT));
+        }
+
         return SearchCriteria.builder()
                 .tenantId(request.tenantId())
                 .actorId(request.actorId())
@@ -155,6 +174,8 @@ public class SearchController {
                 .size(request.size())
                 .sortBy(request.sortBy())
                 .sortDirection(sortDirection)
+                .cursor(request.cursor())
+                .totalCount(totalCount)
                 .build();
     }
 
@@ -163,6 +184,6 @@ public class SearchController {
                 .map(EventSearchResponse::from)
                 .toList();
 
-        return SearchResult.of(responses, result.totalCount(), result.page(), result.size());
+        return result.withItems(responses);
     }
 }
@@ -6,6 +6,7 @@ import java.util.List;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 
 public record SearchRequest(
         @NotBlank String tenantId,
@@ -22,11 +23,21 @@ public record SearchRequest(
         @Min(0) int page,
         @Min(1) @Max(100) int size,
         String sortBy,
-        String sortOrder
+        String sortOrder,
+        String cursor,
+        @Pattern(regexp = "(?i)\\s*(exact|estimated|none)?\\s*",
+                message = "totalCount must be one of exact, estimated, none") String totalCount
 ) {
     public SearchRequest {
         if (page < 0) page = 0;
         if (size <= 0) size = 20;
         if (size > 100) size = 100;
     }
+
+    public SearchRequest(String tenantId, String actorId, String actorType, String actionType, String actionCategory,
+                         String resourceId, String resourceType, String query, Instant fromDate, Instant toDate,
+                         List<String> tags, int page, int size, String sortBy, String sortOrder) {
+        this(tenantId, actorId, actorType, actionType, actionCategory, resourceId, resourceType, query, fromDate,
+                toDate, tags, page, size, sortBy, sortOrder, null, null);
+    }
 }
@@ -0,0 +1,109 @@
+package com.mohmk10.audittrail.search.adapter.out.elasticsearch.spool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class IndexRetrySpool {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexRetrySpool.class);
+
+    private static final String FILE_PREFIX = "spool-";
+    private static final String FILE_SUFFIX = ".ndjson";
+    private static final char SEPARATOR = '\t';
+
+    private final Path directory;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public IndexRetrySpool(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create index retry spool in " + directory, e);
+        }
+    }
+
+    public void write(Collection<PendingDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        String name = String.format("%s%020d-%010d%s",
+                FILE_PREFIX, System.currentTimeMillis(), sequence.incrementAndGet(), FILE_SUFFIX);
+        Path target = directory.resolve(name);
+        Path temp = directory.resolve(name + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (PendingDocument document : documents) {
+                    // the source is compact JSON, so neither a tab nor a newline can appear unescaped in it
+                    writer.write(document.id());
+                    writer.write(SEPARATOR);
+                    writer.write(document.source());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool " + documents.size() + " documents", e);
+        }
+        log.debug("Spooled {} documents to {}", documents.size(), target);
+    }
+
+    public Optional<Path> oldest() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(this::isSpoolFile).sorted().findFirst();
+        } catch (IOException e) {
+            log.warn("Failed to list index retry spool {}: {}", directory, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public List<PendingDocument> read(Path file) {
+        try {
+            List<PendingDocument> documents = new ArrayList<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator > 0) {
+                    documents.add(new PendingDocument(line.substring(0, separator), line.substring(separator + 1)));
+                }
+            }
+            return documents;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read spool file " + file, e);
+        }
+    }
+
+    public void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    public long fileCount() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(this::isSpoolFile).count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private boolean isSpoolFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+}
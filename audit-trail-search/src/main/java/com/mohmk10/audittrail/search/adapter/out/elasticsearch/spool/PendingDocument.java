@@ -0,0 +1,8 @@
+package com.mohmk10.audittrail.search.adapter.out.elasticsearch.spool;
+
+public record PendingDocument(String id, String source) {
+
+    public int sizeInBytes() {
+        return source.length() + id.length();
+    }
+}
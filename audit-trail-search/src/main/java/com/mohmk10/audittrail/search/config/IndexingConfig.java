@@ -0,0 +1,121 @@
+package com.mohmk10.audittrail.search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.indexing")
+public class IndexingConfig {
+
+    private BulkConfig bulk = new BulkConfig();
+
+    public BulkConfig getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(BulkConfig bulk) {
+        this.bulk = bulk;
+    }
+
+    public static class BulkConfig {
+        private boolean enabled = true;
+        private int queueCapacity = 10_000;
+        private int maxBatchDocs = 500;
+        private long maxBatchBytes = 5 * 1024 * 1024;
+        private long flushIntervalMs = 200;
+        private long offerTimeoutMs = 500;
+        private long initialBackoffMs = 100;
+        private long maxBackoffMs = 30_000;
+        private String spoolPath = "./data/index-spool";
+        private long spoolRetryIntervalMs = 5_000;
+        private int spoolReplayBatchDocs = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxBatchDocs() {
+            return maxBatchDocs;
+        }
+
+        public void setMaxBatchDocs(int maxBatchDocs) {
+            this.maxBatchDocs = maxBatchDocs;
+        }
+
+        public long getMaxBatchBytes() {
+            return maxBatchBytes;
+        }
+
+        public void setMaxBatchBytes(long maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public long getOfferTimeoutMs() {
+            return offerTimeoutMs;
+        }
+
+        public void setOfferTimeoutMs(long offerTimeoutMs) {
+            this.offerTimeoutMs = offerTimeoutMs;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public String getSpoolPath() {
+            return spoolPath;
+        }
+
+        public void setSpoolPath(String spoolPath) {
+            this.spoolPath = spoolPath;
+        }
+
+        public long getSpoolRetryIntervalMs() {
+            return spoolRetryIntervalMs;
+        }
+
+        public void setSpoolRetryIntervalMs(long spoolRetryIntervalMs) {
+            this.spoolRetryIntervalMs = spoolRetryIntervalMs;
+        }
+
+        public int getSpoolReplayBatchDocs() {
+            return spoolReplayBatchDocs;
+        }
+
+        public void setSpoolReplayBatchDocs(int spoolReplayBatchDocs) {
+            this.spoolReplayBatchDocs = spoolReplayBatchDocs;
+        }
+    }
+}
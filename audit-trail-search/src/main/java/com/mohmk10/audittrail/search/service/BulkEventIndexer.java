@@ -0,0 +1,286 @@
+package com.mohmk10.audittrail.search.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.document.EventDocument;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.mapper.EventDocumentMapper;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.spool.IndexRetrySpool;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.spool.PendingDocument;
+import com.mohmk10.audittrail.search.config.IndexingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnExpression("${elasticsearch.enabled:false} and ${search.indexing.bulk.enabled:true}")
+public class BulkEventIndexer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkEventIndexer.class);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final EventDocumentMapper mapper;
+    private final IndexingConfig.BulkConfig config;
+    private final IndexRetrySpool spool;
+    private final BlockingQueue<PendingDocument> queue;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long backoffMs;
+    private long nextSpoolReplayAt;
+    private final Deque<PendingDocument> replayBuffer = new ArrayDeque<>();
+    private Path replayFile;
+
+    @Autowired
+    public BulkEventIndexer(
+            ElasticsearchOperations elasticsearchOperations,
+            EventDocumentMapper mapper,
+            IndexingConfig indexingConfig) {
+        this(elasticsearchOperations, mapper, indexingConfig.getBulk(),
+                new IndexRetrySpool(Path.of(indexingConfig.getBulk().getSpoolPath())));
+    }
+
+    BulkEventIndexer(
+            ElasticsearchOperations elasticsearchOperations,
+            EventDocumentMapper mapper,
+            IndexingConfig.BulkConfig config,
+            IndexRetrySpool spool) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.mapper = mapper;
+        this.config = config;
+        this.spool = spool;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+    }
+
+    public void enqueue(List<Event> events) {
+        List<PendingDocument> overflow = new ArrayList<>();
+        for (Event event : events) {
+            PendingDocument document = toPending(event);
+            if (!overflow.isEmpty() || !offer(document)) {
+                overflow.add(document);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            // the queue stayed full for the whole back-pressure window, so search catches up from the spool
+            log.warn("Indexing queue full, spooling {} documents", overflow.size());
+            spool.write(overflow);
+        }
+    }
+
+    public int backlog() {
+        return queue.size();
+    }
+
+    public long spooledFiles() {
+        return spool.fileCount();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        backoffMs = 0;
+        worker = new Thread(this::drain, "es-bulk-indexer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        List<PendingDocument> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        spool.write(remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean offer(PendingDocument document) {
+        if (!running) {
+            return false;
+        }
+        try {
+            return queue.offer(document, config.getOfferTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        List<PendingDocument> batch = new ArrayList<>(config.getMaxBatchDocs());
+        while (running) {
+            try {
+                PendingDocument first = queue.poll(config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpool();
+                    continue;
+                }
+                fillBatch(first, batch);
+                send(batch);
+                // replay a bounded slice of the spool after every live batch, or it would only drain when idle
+                replaySpool();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Bulk indexer failed, spooling {} documents: {}", batch.size(), e.getMessage(), e);
+                spool.write(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void fillBatch(PendingDocument first, List<PendingDocument> batch) {
+        batch.add(first);
+        long bytes = first.sizeInBytes();
+        // the indexer is the only consumer, so a peeked document is still there to poll
+        PendingDocument next;
+        while (batch.size() < config.getMaxBatchDocs()
+                && (next = queue.peek()) != null
+                && bytes + next.sizeInBytes() <= config.getMaxBatchBytes()) {
+            batch.add(queue.poll());
+            bytes += next.sizeInBytes();
+        }
+    }
+
+    void send(List<PendingDocument> batch) {
+        List<PendingDocument> failed = bulkIndex(batch);
+        if (failed.isEmpty()) {
+            backoffMs = 0;
+            return;
+        }
+        spool.write(failed);
+        backoff();
+    }
+
+    // replays up to spoolReplayBatchDocs documents of the oldest spool file; the file is deleted once all of
+    // its documents are indexed or spooled again. A restart replays the file from the start, which is harmless
+    // since documents are indexed by id
+    void replaySpool() {
+        if (System.currentTimeMillis() < nextSpoolReplayAt) {
+            return;
+        }
+        if (replayFile == null) {
+            Optional<Path> oldest = spool.oldest();
+            if (oldest.isEmpty()) {
+                nextSpoolReplayAt = System.currentTimeMillis() + config.getSpoolRetryIntervalMs();
+                return;
+            }
+            replayFile = oldest.get();
+            replayBuffer.addAll(spool.read(replayFile));
+        }
+
+        List<PendingDocument> documents = new ArrayList<>();
+        while (documents.size() < Math.max(1, config.getSpoolReplayBatchDocs()) && !replayBuffer.isEmpty()) {
+            documents.add(replayBuffer.pollFirst());
+        }
+        List<PendingDocument> failed = bulkIndex(documents);
+        if (failed.size() == documents.size() && !documents.isEmpty()) {
+            for (int i = documents.size() - 1; i >= 0; i--) {
+                replayBuffer.addFirst(documents.get(i));
+            }
+            nextSpoolReplayAt = System.currentTimeMillis() + config.getSpoolRetryIntervalMs();
+            backoff();
+            return;
+        }
+        spool.write(failed);
+        if (replayBuffer.isEmpty()) {
+            spool.delete(replayFile);
+            log.info("Replayed spool file {}", replayFile.getFileName());
+            replayFile = null;
+        }
+        nextSpoolReplayAt = 0;
+    }
+
+    private List<PendingDocument> bulkIndex(List<PendingDocument> documents) {
+        if (documents.isEmpty()) {
+            return List.of();
+        }
+        List<IndexQuery> queries = documents.stream()
+                .map(document -> new IndexQueryBuilder().withId(document.id()).withSource(document.source()).build())
+                .toList();
+        try {
+            elasticsearchOperations.bulkIndex(queries, EventDocument.class);
+            log.debug("Bulk indexed {} documents", documents.size());
+            return List.of();
+        } catch (BulkFailureException e) {
+            Map<String, BulkFailureException.FailureDetails> failures = e.getFailedDocuments();
+            List<PendingDocument> retryable = new ArrayList<>();
+            for (PendingDocument document : documents) {
+                BulkFailureException.FailureDetails details = failures.get(document.id());
+                if (details == null) {
+                    continue;
+                }
+                if (isRetryable(details.status())) {
+                    retryable.add(document);
+                } else {
+                    log.error("Dropping document {} rejected by Elasticsearch with status {}: {}",
+                            document.id(), details.status(), details.errorMessage());
+                }
+            }
+            log.warn("Elasticsearch failed {} of {} documents, {} will be retried",
+                    failures.size(), documents.size(), retryable.size());
+            return retryable;
+        } catch (Exception e) {
+            log.warn("Bulk request of {} documents failed: {}", documents.size(), e.getMessage());
+            return documents;
+        }
+    }
+
+    private boolean isRetryable(Integer status) {
+        // a rejected bulk item (429) or a server side failure may succeed later, a mapping error never will
+        return status == null || status == TOO_MANY_REQUESTS || status >= 500;
+    }
+
+    private void backoff() {
+        backoffMs = backoffMs == 0
+                ? config.getInitialBackoffMs()
+                : Math.min(backoffMs * 2, config.getMaxBackoffMs());
+        try {
+            Thread.sleep(backoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PendingDocument toPending(Event event) {
+        EventDocument document = mapper.toDocument(event);
+        String source = elasticsearchOperations.getElasticsearchConverter().mapObject(document).toJson();
+        return new PendingDocument(document.getId(), source);
+    }
+}
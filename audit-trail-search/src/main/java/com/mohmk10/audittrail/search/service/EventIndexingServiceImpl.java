@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.IndexOperations;
@@ -25,6 +27,19 @@ public class EventIndexingServiceImpl implements EventIndexingService {
     private final ElasticsearchEventRepository esRepository;
     private final EventDocumentMapper mapper;
     private final ElasticsearchOperations elasticsearchOperations;
+    private final BulkEventIndexer bulkIndexer;
+
+    @Autowired
+    public EventIndexingServiceImpl(
+            ElasticsearchEventRepository esRepository,
+            EventDocumentMapper mapper,
+            ElasticsearchOperations elasticsearchOperations,
+            ObjectProvider<BulkEventIndexer> bulkIndexer) {
+        this.esRepository = esRepository;
+        this.mapper = mapper;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.bulkIndexer = bulkIndexer.getIfAvailable();
+    }
 
     public EventIndexingServiceImpl(
             ElasticsearchEventRepository esRepository,
@@ -33,6 +48,7 @@ public class EventIndexingServiceImpl implements EventIndexingService {
         this.esRepository = esRepository;
         this.mapper = mapper;
         this.elasticsearchOperations = elasticsearchOperations;
+        this.bulkIndexer = null;
     }
 
     @Override
@@ -40,6 +56,10 @@ public class EventIndexingServiceImpl implements EventIndexingService {
         if (event == null) {
             return;
         }
+        if (bulkIndexer != null) {
+            bulkIndexer.enqueue(List.of(event));
+            return;
+        }
         EventDocument doc = mapper.toDocument(event);
         esRepository.save(doc);
         log.debug("Indexed event: {}", event.id());
@@ -50,6 +70,10 @@ public class EventIndexingServiceImpl implements EventIndexingService {
         if (events == null || events.isEmpty()) {
             return;
         }
+        if (bulkIndexer != null) {
+            bulkIndexer.enqueue(events);
+            return;
+        }
         List<EventDocument> documents = mapper.toDocumentList(events);
         esRepository.saveAll(documents);
         log.debug("Indexed {} events", events.size());
@@ -20,5 +20,8 @@ public interface EventSearchService {
 
     List<Event> getTimeline(String tenantId, DateRange range, Pageable pageable);
 
+    // newest first, continuing after the cursor (null for the first page)
+    SearchResult<Event> getTimelinePage(String tenantId, DateRange range, String cursor, int size);
+
     Map<String, Long> aggregateByField(String tenantId, String field, DateRange range);
 }
@@ -10,14 +10,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.stereotype.Service;
 
 import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.core.dto.DateRange;
 import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
 import com.mohmk10.audittrail.core.dto.SearchResult;
 import com.mohmk10.audittrail.search.adapter.out.elasticsearch.document.EventDocument;
 import com.mohmk10.audittrail.search.adapter.out.elasticsearch.mapper.EventDocumentMapper;
@@ -30,6 +33,8 @@ import co.elastic.clients.json.JsonData;
 @ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
 public class EventSearchServiceImpl implements EventSearchService {
 
+    private static final int ESTIMATED_TOTAL_HITS = 10_000;
+
     private final ElasticsearchOperations elasticsearchOperations;
     private final QueryBuilderService queryBuilderService;
     private final EventDocumentMapper mapper;
@@ -46,23 +51,89 @@ public class EventSearchServiceImpl implements EventSearchService {
     @Override
     public SearchResult<Event> search(SearchCriteria criteria) {
         NativeQuery baseQuery = queryBuilderService.buildQuery(criteria);
+        if (criteria.cursor() != null) {
+            return searchAfter(baseQuery, criteria);
+        }
 
         Sort sort = buildSort(criteria.sortBy(), criteria.sortDirection());
         Pageable pageable = PageRequest.of(criteria.page(), criteria.size(), sort);
 
-        NativeQuery nativeQuery = NativeQuery.builder()
+        NativeQueryBuilder builder = NativeQuery.builder()
                 .withQuery(baseQuery.getQuery())
-                .withPageable(pageable)
+                .withPageable(pageable);
+        trackTotalHits(builder, criteria.totalCount());
+
+        SearchHits<EventDocument> searchHits = elasticsearchOperations.search(builder.build(), EventDocument.class);
+
+        List<Event> events = searchHits.getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .map(mapper::toDomain)
+                .toList();
+
+        return toResult(events, searchHits, criteria);
+    }
+
+    @Override
+    public SearchResult<Event> getTimelinePage(String tenantId, DateRange range, String cursor, int size) {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId(tenantId)
+                .dateRange(range)
+                .size(size)
+                .cursor(cursor != null ? cursor : "")
+                .totalCount(SearchCriteria.TotalCount.NONE)
                 .build();
+        return searchAfter(queryBuilderService.buildTimelineQuery(tenantId, range), criteria);
+    }
 
-        SearchHits<EventDocument> searchHits = elasticsearchOperations.search(nativeQuery, EventDocument.class);
+    // search_after on (timestamp, id) instead of from/size, so deep pages cost the same as the first one;
+    // one hit past the page tells whether another page follows
+    private SearchResult<Event> searchAfter(NativeQuery baseQuery, SearchCriteria criteria) {
+        Sort.Direction direction = criteria.sortDirection() == SearchCriteria.SortDirection.ASC
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(baseQuery.getQuery())
+                .withPageable(PageRequest.of(0, criteria.size() + 1,
+                        Sort.by(direction, "timestamp").and(Sort.by(direction, "id"))));
+        SearchCursor after = criteria.decodedCursor();
+        if (after != null) {
+            builder.withSearchAfter(List.of(after.timestamp().toEpochMilli(), after.id().toString()));
+        }
+        trackTotalHits(builder, criteria.totalCount());
+
+        SearchHits<EventDocument> searchHits = elasticsearchOperations.search(builder.build(), EventDocument.class);
 
         List<Event> events = searchHits.getSearchHits().stream()
+                .limit(criteria.size())
                 .map(SearchHit::getContent)
                 .map(mapper::toDomain)
                 .toList();
 
-        return SearchResult.of(events, searchHits.getTotalHits(), criteria.page(), criteria.size());
+        SearchResult<Event> result = toResult(events, searchHits, criteria);
+        if (searchHits.getSearchHits().size() > criteria.size() && !events.isEmpty()) {
+            result = result.withNextCursor(SearchCursor.after(events.get(events.size() - 1)).encode());
+        }
+        return result;
+    }
+
+    // ESTIMATED stops counting at the default ten thousand hits and reports that lower bound
+    private static void trackTotalHits(NativeQueryBuilder builder, SearchCriteria.TotalCount totalCount) {
+        switch (totalCount) {
+            case EXACT -> builder.withTrackTotalHits(true);
+            case ESTIMATED -> builder.withTrackTotalHitsUpTo(ESTIMATED_TOTAL_HITS);
+            case NONE -> builder.withTrackTotalHits(false);
+        }
+    }
+
+    private static SearchResult<Event> toResult(List<Event> events, SearchHits<EventDocument> searchHits,
+                                                SearchCriteria criteria) {
+        return switch (criteria.totalCount()) {
+            case EXACT -> SearchResult.of(events, searchHits.getTotalHits(), criteria.page(), criteria.size());
+            case ESTIMATED -> searchHits.getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO
+                    ? SearchResult.of(events, searchHits.getTotalHits(), criteria.page(), criteria.size())
+                    : SearchResult.estimated(events, searchHits.getTotalHits(), criteria.page(), criteria.size());
+            case NONE -> SearchResult.uncounted(events, criteria.page(), criteria.size());
+        };
     }
 
     @Override
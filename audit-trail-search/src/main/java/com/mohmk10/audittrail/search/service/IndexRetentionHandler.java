@@ -0,0 +1,33 @@
+package com.mohmk10.audittrail.search.service;
+
+import com.mohmk10.audittrail.core.event.PurgedEventsHandler;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.repository.ElasticsearchEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+public class IndexRetentionHandler implements PurgedEventsHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexRetentionHandler.class);
+
+    private final ElasticsearchEventRepository esRepository;
+
+    public IndexRetentionHandler(ElasticsearchEventRepository esRepository) {
+        this.esRepository = esRepository;
+    }
+
+    @Override
+    public void onPurged(String tenantId, List<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        esRepository.deleteAllById(eventIds.stream().map(UUID::toString).toList());
+        log.debug("Removed {} purged events of tenant {} from the index", eventIds.size(), tenantId);
+    }
+}
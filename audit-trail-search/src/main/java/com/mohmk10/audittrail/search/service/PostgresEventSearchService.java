@@ -9,17 +9,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.core.dto.DateRange;
 import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
 import com.mohmk10.audittrail.core.dto.SearchResult;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.EventSearchQuery;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventSearchRepository;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
 
 @Service
@@ -28,63 +29,53 @@ public class PostgresEventSearchService implements EventSearchService {
 
     private static final Logger log = LoggerFactory.getLogger(PostgresEventSearchService.class);
 
+    private static final Instant OPEN_END = Instant.parse("9999-12-31T23:59:59Z");
+
     private final JpaEventRepository eventRepository;
+    private final JdbcEventSearchRepository searchRepository;
 
-    public PostgresEventSearchService(JpaEventRepository eventRepository) {
+    public PostgresEventSearchService(JpaEventRepository eventRepository, JdbcEventSearchRepository searchRepository) {
         this.eventRepository = eventRepository;
+        this.searchRepository = searchRepository;
         log.info("PostgreSQL-based search service initialized (Elasticsearch disabled)");
     }
 
+    // every criterion is applied in one query; page numbers still work, a cursor skips the OFFSET
     @Override
     public SearchResult<Event> search(SearchCriteria criteria) {
-        Pageable pageable = PageRequest.of(
-                criteria.page(),
-                criteria.size(),
-                Sort.by(Sort.Direction.DESC, "timestamp")
-        );
-
-        Page<EventEntity> page;
-
-        // Handle different search scenarios with available JPA methods
-        if (criteria.query() != null && !criteria.query().isBlank()) {
-            // Full-text search using LIKE
-            page = eventRepository.quickSearch(criteria.tenantId(), criteria.query(), pageable);
-        } else if (criteria.dateRange() != null) {
-            // Date range filter
-            Instant from = criteria.dateRange().from();
-            Instant to = criteria.dateRange().to() != null ? criteria.dateRange().to() : Instant.now();
-            page = eventRepository.findByTenantIdAndTimestampBetween(criteria.tenantId(), from, to, pageable);
-        } else if (criteria.actorId() != null && !criteria.actorId().isBlank()) {
-            // Actor filter
-            if (criteria.actionTypes() != null && !criteria.actionTypes().isEmpty()) {
-                // Actor + ActionType filter
-                String actionType = criteria.actionTypes().get(0).name();
-                page = eventRepository.findByTenantIdAndActorIdAndActionTypeOrderByTimestampDesc(
-                        criteria.tenantId(), criteria.actorId(), actionType, pageable);
-            } else {
-                page = eventRepository.findByTenantIdAndActorIdOrderByTimestampDesc(
-                        criteria.tenantId(), criteria.actorId(), pageable);
-            }
-        } else if (criteria.actionTypes() != null && !criteria.actionTypes().isEmpty()) {
-            // ActionType filter
-            String actionType = criteria.actionTypes().get(0).name();
-            page = eventRepository.findByTenantIdAndActionTypeOrderByTimestampDesc(
-                    criteria.tenantId(), actionType, pageable);
-        } else if (criteria.resourceTypes() != null && !criteria.resourceTypes().isEmpty()) {
-            // ResourceType filter
-            String resourceType = criteria.resourceTypes().get(0).name();
-            page = eventRepository.findByTenantIdAndResourceTypeOrderByTimestampDesc(
-                    criteria.tenantId(), resourceType, pageable);
-        } else {
-            // Default: just paginated by tenant
-            page = eventRepository.findByTenantIdOrderByTimestampDesc(criteria.tenantId(), pageable);
-        }
+        return seek(criteria);
+    }
 
-        List<Event> events = page.getContent().stream()
-                .map(EventMapper::toDomain)
-                .toList();
+    @Override
+    public SearchResult<Event> getTimelinePage(String tenantId, DateRange range, String cursor, int size) {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId(tenantId)
+                .dateRange(range)
+                .size(size)
+                .cursor(cursor != null ? cursor : "")
+                .totalCount(SearchCriteria.TotalCount.NONE)
+                .build();
+        return seek(criteria);
+    }
 
-        return SearchResult.of(events, page.getTotalElements(), criteria.page(), criteria.size());
+    // one row past the page tells whether another page follows, without counting
+    private SearchResult<Event> seek(SearchCriteria criteria) {
+        SearchCursor after = criteria.decodedCursor();
+        int offset = after == null ? criteria.page() * criteria.size() : 0;
+        List<Event> rows = searchRepository.findPage(criteria, after, offset, criteria.size() + 1);
+        boolean hasMore = rows.size() > criteria.size();
+        List<Event> events = hasMore ? rows.subList(0, criteria.size()) : rows;
+
+        SearchResult<Event> result = switch (criteria.totalCount()) {
+            case EXACT -> SearchResult.of(events, searchRepository.count(criteria), criteria.page(), criteria.size());
+            case ESTIMATED -> SearchResult.estimated(events, searchRepository.estimateCount(criteria),
+                    criteria.page(), criteria.size());
+            case NONE -> SearchResult.uncounted(events, criteria.page(), criteria.size());
+        };
+        if (!hasMore || !EventSearchQuery.ordersByTimestamp(criteria)) {
+            return result;
+        }
+        return result.withNextCursor(SearchCursor.after(events.get(events.size() - 1)).encode());
     }
 
     @Override
@@ -125,8 +116,9 @@ public class PostgresEventSearchService implements EventSearchService {
 
     @Override
     public Map<String, Long> aggregateByField(String tenantId, String field, DateRange range) {
-        Instant from = range != null ? range.from() : null;
-        Instant to = range != null ? range.to() : null;
+        // always bound the timestamp so Postgres can prune partitions of the events table
+        Instant from = range != null && range.from() != null ? range.from() : Instant.EPOCH;
+        Instant to = range != null && range.to() != null ? range.to() : OPEN_END;
 
         List<Object[]> results;
         switch (field.toLowerCase()) {
@@ -6,6 +6,7 @@ import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.core.domain.EventMetadata;
 import com.mohmk10.audittrail.core.domain.Resource;
 import com.mohmk10.audittrail.core.dto.AggregationResult;
+import com.mohmk10.audittrail.core.dto.SearchCriteria;
 import com.mohmk10.audittrail.core.dto.SearchResult;
 import com.mohmk10.audittrail.search.adapter.in.rest.dto.AggregationRequestDto;
 import com.mohmk10.audittrail.search.adapter.in.rest.dto.EventSearchResponse;
@@ -14,6 +15,7 @@ import com.mohmk10.audittrail.search.service.EventSearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +30,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -101,12 +104,44 @@ class SearchControllerTest {
                 .thenReturn(events);
 
         ResponseEntity<List<EventSearchResponse>> response = controller.timeline(
-                "tenant-001", from, to, 0, 50);
+                "tenant-001", from, to, 0, 50, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(2);
     }
 
+    @Test
+    void shouldReturnNextTimelineCursorInHeader() {
+        Instant from = Instant.parse("2024-06-15T00:00:00Z");
+        Instant to = Instant.parse("2024-06-15T23:59:59Z");
+        SearchResult<Event> page = SearchResult.uncounted(List.of(createTestEvent()), 0, 1).withNextCursor("next");
+        when(eventSearchService.getTimelinePage(eq("tenant-001"), any(), eq(""), eq(1))).thenReturn(page);
+
+        ResponseEntity<List<EventSearchResponse>> response = controller.timeline("tenant-001", from, to, 0, 1, "");
+
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("next");
+    }
+
+    @Test
+    void shouldPassCursorAndCountModeToSearch() {
+        SearchRequest request = new SearchRequest(
+                "tenant-001", null, null, null, null, null, null,
+                null, null, null, null, 0, 20, null, null, "abc", "none"
+        );
+        SearchResult<Event> result = SearchResult.uncounted(List.of(createTestEvent()), 0, 20).withNextCursor("def");
+        when(eventSearchService.search(any())).thenReturn(result);
+
+        ResponseEntity<SearchResult<EventSearchResponse>> response = controller.search(request);
+
+        ArgumentCaptor<SearchCriteria> criteria = ArgumentCaptor.forClass(SearchCriteria.class);
+        verify(eventSearchService).search(criteria.capture());
+        assertThat(criteria.getValue().cursor()).isEqualTo("abc");
+        assertThat(criteria.getValue().totalCount()).isEqualTo(SearchCriteria.TotalCount.NONE);
+        assertThat(response.getBody().nextCursor()).isEqualTo("def");
+        assertThat(response.getBody().totalCount()).isEqualTo(SearchResult.UNKNOWN_TOTAL);
+    }
+
     @Test
     void shouldFindByCorrelationId() {
         List<Event> events = List.of(createTestEvent(), createTestEvent());
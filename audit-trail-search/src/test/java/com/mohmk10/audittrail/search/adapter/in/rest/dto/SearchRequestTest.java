@@ -79,6 +79,31 @@ class SearchRequestTest {
         assertThat(violations).hasSize(1);
     }
 
+    @Test
+    void shouldAcceptKnownTotalCountModes() {
+        for (String totalCount : List.of("exact", "ESTIMATED", " none ")) {
+            SearchRequest request = new SearchRequest(
+                    "tenant-001", null, null, null, null, null, null,
+                    null, null, null, null, 0, 20, null, null, null, totalCount
+            );
+
+            assertThat(validator.validate(request)).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldFailValidationWhenTotalCountIsUnknown() {
+        SearchRequest request = new SearchRequest(
+                "tenant-001", null, null, null, null, null, null,
+                null, null, null, null, 0, 20, null, null, null, "approximate"
+        );
+
+        Set<ConstraintViolation<SearchRequest>> violations = validator.validate(request);
+
+        assertThat(violations).hasSize(1);
+        assertThat(violations.iterator().next().getPropertyPath().toString()).isEqualTo("totalCount");
+    }
+
     @Test
     void shouldNormalizeNegativePage() {
         SearchRequest request = new SearchRequest(
@@ -0,0 +1,60 @@
+package com.mohmk10.audittrail.search.adapter.out.elasticsearch.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexRetrySpoolTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRoundTripSpooledDocuments() {
+        IndexRetrySpool spool = new IndexRetrySpool(directory);
+        List<PendingDocument> documents = List.of(
+                new PendingDocument("id-1", "{\"actorName\":\"John\\tDoe\"}"),
+                new PendingDocument("id-2", "{\"actionDescription\":\"line\\nbreak\"}"));
+
+        spool.write(documents);
+
+        Path file = spool.oldest().orElseThrow();
+        assertThat(spool.read(file)).containsExactlyElementsOf(documents);
+    }
+
+    @Test
+    void shouldReturnOldestFileFirst() {
+        IndexRetrySpool spool = new IndexRetrySpool(directory);
+        spool.write(List.of(new PendingDocument("first", "{}")));
+        spool.write(List.of(new PendingDocument("second", "{}")));
+
+        Path oldest = spool.oldest().orElseThrow();
+
+        assertThat(spool.read(oldest)).extracting(PendingDocument::id).containsExactly("first");
+        assertThat(spool.fileCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDeleteReplayedFile() {
+        IndexRetrySpool spool = new IndexRetrySpool(directory);
+        spool.write(List.of(new PendingDocument("id-1", "{}")));
+
+        spool.delete(spool.oldest().orElseThrow());
+
+        assertThat(spool.oldest()).isEmpty();
+        assertThat(spool.fileCount()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreEmptyWrites() {
+        IndexRetrySpool spool = new IndexRetrySpool(directory);
+
+        spool.write(List.of());
+
+        assertThat(spool.fileCount()).isZero();
+    }
+}
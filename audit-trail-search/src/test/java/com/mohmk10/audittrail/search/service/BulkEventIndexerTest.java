@@ -0,0 +1,312 @@
+package com.mohmk10.audittrail.search.service;
+
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Actor;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.EventMetadata;
+import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.document.EventDocument;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.mapper.EventDocumentMapper;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.spool.IndexRetrySpool;
+import com.mohmk10.audittrail.search.adapter.out.elasticsearch.spool.PendingDocument;
+import com.mohmk10.audittrail.search.config.IndexingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkEventIndexerTest {
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @TempDir
+    Path directory;
+
+    private final EventDocumentMapper mapper = new EventDocumentMapper();
+
+    private IndexingConfig.BulkConfig config;
+    private IndexRetrySpool spool;
+    private BulkEventIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        when(elasticsearchOperations.getElasticsearchConverter()).thenReturn(converter);
+
+        config = new IndexingConfig.BulkConfig();
+        config.setQueueCapacity(4);
+        config.setOfferTimeoutMs(10);
+        config.setFlushIntervalMs(20);
+        config.setInitialBackoffMs(1);
+        config.setMaxBackoffMs(2);
+        config.setSpoolRetryIntervalMs(10);
+        spool = new IndexRetrySpool(directory);
+        indexer = new BulkEventIndexer(elasticsearchOperations, mapper, config, spool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexer.stop();
+    }
+
+    private Event createTestEvent() {
+        return new Event(
+                UUID.randomUUID(),
+                Instant.now(),
+                new Actor("actor-123", Actor.ActorType.USER, "John", null, null, null),
+                new Action(Action.ActionType.CREATE, "Created", null),
+                new Resource("res-123", Resource.ResourceType.DOCUMENT, "Report", null, null),
+                new EventMetadata("web-app", "tenant-001", null, null, null, null),
+                null,
+                "hash-123",
+                null
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> indexedIds() {
+        ArgumentCaptor<List<IndexQuery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations, atLeastOnce()).bulkIndex(captor.capture(), eq(EventDocument.class));
+        List<String> ids = new ArrayList<>();
+        captor.getAllValues().forEach(queries -> queries.forEach(query -> ids.add(query.getId())));
+        return ids;
+    }
+
+    @Test
+    void shouldBulkIndexQueuedEvents() {
+        indexer.start();
+        Event first = createTestEvent();
+        Event second = createTestEvent();
+
+        indexer.enqueue(List.of(first, second));
+
+        verify(elasticsearchOperations, timeout(2000).atLeastOnce()).bulkIndex(anyList(), eq(EventDocument.class));
+        assertThat(indexedIds()).containsExactly(first.id().toString(), second.id().toString());
+        assertThat(indexer.backlog()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> batchSizesAfterBacklog(int backlog) throws Exception {
+        CountDownLatch firstBatchSent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> sizes = new CopyOnWriteArrayList<>();
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(EventDocument.class))).thenAnswer(invocation -> {
+            sizes.add(((List<IndexQuery>) invocation.getArgument(0)).size());
+            firstBatchSent.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return List.of();
+        });
+        indexer.start();
+
+        indexer.enqueue(List.of(createTestEvent()));
+        assertThat(firstBatchSent.await(2, TimeUnit.SECONDS)).isTrue();
+        List<Event> queued = new ArrayList<>();
+        for (int i = 0; i < backlog; i++) {
+            queued.add(createTestEvent());
+        }
+        indexer.enqueue(queued);
+        release.countDown();
+
+        verify(elasticsearchOperations, timeout(2000).atLeast(2)).bulkIndex(anyList(), eq(EventDocument.class));
+        await(() -> sizes.stream().mapToInt(Integer::intValue).sum() == backlog + 1);
+        return sizes;
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void shouldLimitBatchesByDocumentCount() throws Exception {
+        config.setQueueCapacity(10);
+        config.setMaxBatchDocs(2);
+        indexer = new BulkEventIndexer(elasticsearchOperations, mapper, config, spool);
+
+        assertThat(batchSizesAfterBacklog(5)).containsExactly(1, 2, 2, 1);
+    }
+
+    @Test
+    void shouldLimitBatchesByPayloadBytes() throws Exception {
+        config.setQueueCapacity(10);
+        config.setMaxBatchBytes(1);
+        indexer = new BulkEventIndexer(elasticsearchOperations, mapper, config, spool);
+
+        assertThat(batchSizesAfterBacklog(3)).containsExactly(1, 1, 1, 1);
+    }
+
+    @Test
+    void shouldSpoolWhenIndexerIsStopped() {
+        List<Event> events = List.of(createTestEvent(), createTestEvent());
+
+        indexer.enqueue(events);
+
+        assertThat(spool.fileCount()).isEqualTo(1);
+        assertThat(spool.read(spool.oldest().orElseThrow()))
+                .extracting(PendingDocument::id)
+                .containsExactly(events.get(0).id().toString(), events.get(1).id().toString());
+    }
+
+    @Test
+    void shouldSpoolRejectedDocumentsAndDropUnrecoverableOnes() {
+        List<PendingDocument> batch = List.of(
+                new PendingDocument("rejected", "{}"),
+                new PendingDocument("broken", "{}"),
+                new PendingDocument("ok", "{}"));
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(EventDocument.class))).thenThrow(
+                new BulkFailureException("bulk failed", Map.of(
+                        "rejected", new BulkFailureException.FailureDetails(429, "es_rejected_execution_exception"),
+                        "broken", new BulkFailureException.FailureDetails(400, "mapper_parsing_exception"))));
+
+        indexer.send(new ArrayList<>(batch));
+
+        assertThat(spool.read(spool.oldest().orElseThrow()))
+                .extracting(PendingDocument::id)
+                .containsExactly("rejected");
+    }
+
+    @Test
+    void shouldSpoolWholeBatchWhenElasticsearchIsUnreachable() {
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(EventDocument.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        indexer.send(new ArrayList<>(List.of(new PendingDocument("a", "{}"), new PendingDocument("b", "{}"))));
+
+        assertThat(spool.read(spool.oldest().orElseThrow()))
+                .extracting(PendingDocument::id)
+                .containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldReplaySpoolOnceElasticsearchRecovers() {
+        config.setSpoolRetryIntervalMs(0);
+        spool.write(List.of(new PendingDocument("a", "{}"), new PendingDocument("b", "{}")));
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(EventDocument.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(List.of());
+
+        indexer.replaySpool();
+        assertThat(spool.fileCount()).isEqualTo(1);
+
+        indexer.replaySpool();
+        assertThat(spool.fileCount()).isZero();
+    }
+
+    @Test
+    void shouldDrainSpoolInBackground() {
+        spool.write(List.of(new PendingDocument("a", "{}")));
+
+        indexer.start();
+
+        verify(elasticsearchOperations, timeout(2000)).bulkIndex(anyList(), any(Class.class));
+        assertThat(indexedIds()).containsExactly("a");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReplaySpoolInBoundedChunks() {
+        config.setSpoolRetryIntervalMs(0);
+        config.setSpoolReplayBatchDocs(2);
+        spool.write(List.of(new PendingDocument("a", "{}"), new PendingDocument("b", "{}"),
+                new PendingDocument("c", "{}"), new PendingDocument("d", "{}"), new PendingDocument("e", "{}")));
+        List<Integer> sizes = new ArrayList<>();
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(EventDocument.class))).thenAnswer(invocation -> {
+            sizes.add(((List<IndexQuery>) invocation.getArgument(0)).size());
+            return List.of();
+        });
+
+        indexer.replaySpool();
+        indexer.replaySpool();
+        assertThat(spool.fileCount()).isEqualTo(1);
+
+        indexer.replaySpool();
+        assertThat(spool.fileCount()).isZero();
+        assertThat(sizes).containsExactly(2, 2, 1);
+        assertThat(indexedIds()).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void shouldKeepTheFailedChunkForTheNextReplay() {
+        config.setSpoolRetryIntervalMs(0);
+        config.setSpoolReplayBatchDocs(2);
+        spool.write(List.of(new PendingDocument("a", "{}"), new PendingDocument("b", "{}"),
+                new PendingDocument("c", "{}")));
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(EventDocument.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(List.of());
+
+        indexer.replaySpool();
+        indexer.replaySpool();
+        indexer.replaySpool();
+
+        assertThat(spool.fileCount()).isZero();
+        assertThat(indexedIds()).containsExactly("a", "b", "a", "b", "c");
+    }
+
+    @Test
+    void shouldDrainSpoolWhileQueueIsBusy() throws Exception {
+        config.setQueueCapacity(100);
+        config.setFlushIntervalMs(200);
+        config.setSpoolReplayBatchDocs(1);
+        indexer = new BulkEventIndexer(elasticsearchOperations, mapper, config, spool);
+        spool.write(List.of(new PendingDocument("a", "{}"), new PendingDocument("b", "{}")));
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(EventDocument.class))).thenReturn(List.of());
+        indexer.start();
+
+        // live events arrive faster than the flush interval, so the queue never goes idle
+        Thread producer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                indexer.enqueue(List.of(createTestEvent()));
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        producer.start();
+        try {
+            await(() -> spool.fileCount() == 0);
+        } finally {
+            producer.interrupt();
+            producer.join();
+        }
+        assertThat(indexedIds()).contains("a", "b");
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.IndexOperations;
 import org.springframework.data.elasticsearch.core.document.Document;
@@ -181,4 +182,23 @@ class EventIndexingServiceImplTest {
         verify(indexOperations, never()).delete();
         verify(indexOperations).create();
     }
+
+    @Test
+    void shouldHandOffEventsToBulkIndexerWhenAvailable() {
+        BulkEventIndexer bulkIndexer = mock(BulkEventIndexer.class);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<BulkEventIndexer> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bulkIndexer);
+        EventIndexingServiceImpl queuedService =
+                new EventIndexingServiceImpl(esRepository, mapper, elasticsearchOperations, provider);
+        Event event = createTestEvent();
+        List<Event> events = List.of(createTestEvent(), createTestEvent());
+
+        queuedService.index(event);
+        queuedService.indexBatch(events);
+
+        verify(bulkIndexer).enqueue(List.of(event));
+        verify(bulkIndexer).enqueue(events);
+        verifyNoInteractions(esRepository, mapper);
+    }
 }
@@ -7,12 +7,14 @@ import com.mohmk10.audittrail.core.domain.EventMetadata;
 import com.mohmk10.audittrail.core.domain.Resource;
 import com.mohmk10.audittrail.core.dto.DateRange;
 import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
 import com.mohmk10.audittrail.core.dto.SearchResult;
 import com.mohmk10.audittrail.search.adapter.out.elasticsearch.document.EventDocument;
 import com.mohmk10.audittrail.search.adapter.out.elasticsearch.mapper.EventDocumentMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -35,6 +37,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -289,4 +292,37 @@ class EventSearchServiceImplTest {
         assertThat(result.size()).isEqualTo(10);
         assertThat(result.totalCount()).isEqualTo(25);
     }
+
+    @Test
+    void shouldPageWithSearchAfterWhenCursorGiven() {
+        Event last = createTestEvent();
+        SearchCursor cursor = SearchCursor.after(last);
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .size(2)
+                .cursor(cursor.encode())
+                .totalCount(SearchCriteria.TotalCount.NONE)
+                .build();
+
+        NativeQuery baseQuery = mock(NativeQuery.class);
+        when(baseQuery.getQuery()).thenReturn(mock(Query.class));
+        when(queryBuilderService.buildQuery(criteria)).thenReturn(baseQuery);
+
+        SearchHits<EventDocument> searchHits = createMockSearchHits(
+                List.of(createTestDocument(), createTestDocument(), createTestDocument()), 0);
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(EventDocument.class))).thenReturn(searchHits);
+        Event event = createTestEvent();
+        when(mapper.toDomain(any())).thenReturn(event);
+
+        SearchResult<Event> result = searchService.search(criteria);
+
+        ArgumentCaptor<NativeQuery> query = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(elasticsearchOperations).search(query.capture(), eq(EventDocument.class));
+        assertThat(query.getValue().getSearchAfter())
+                .containsExactly(cursor.timestamp().toEpochMilli(), cursor.id().toString());
+        assertThat(query.getValue().getPageable().getPageSize()).isEqualTo(3);
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.totalCount()).isEqualTo(SearchResult.UNKNOWN_TOTAL);
+        assertThat(result.nextCursor()).isEqualTo(SearchCursor.after(event).encode());
+    }
 }
@@ -0,0 +1,124 @@
+package com.mohmk10.audittrail.search.service;
+
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Actor;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.EventMetadata;
+import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
+import com.mohmk10.audittrail.core.dto.SearchResult;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventSearchRepository;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresEventSearchServiceTest {
+
+    @Mock
+    private JpaEventRepository eventRepository;
+
+    @Mock
+    private JdbcEventSearchRepository searchRepository;
+
+    private PostgresEventSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new PostgresEventSearchService(eventRepository, searchRepository);
+    }
+
+    private Event createTestEvent(Instant timestamp) {
+        return new Event(
+                UUID.randomUUID(),
+                timestamp,
+                new Actor("actor-123", Actor.ActorType.USER, "John", null, null, null),
+                new Action(Action.ActionType.CREATE, "Created", null),
+                new Resource("res-123", Resource.ResourceType.DOCUMENT, "Report", null, null),
+                new EventMetadata("web-app", "tenant-001", null, null, null, null),
+                null,
+                "hash-123",
+                null
+        );
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreRowsFollow() {
+        Instant now = Instant.parse("2024-06-15T10:30:00Z");
+        List<Event> rows = List.of(createTestEvent(now), createTestEvent(now.minusSeconds(1)),
+                createTestEvent(now.minusSeconds(2)));
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .size(2)
+                .cursor("")
+                .totalCount(SearchCriteria.TotalCount.NONE)
+                .build();
+        when(searchRepository.findPage(criteria, null, 0, 3)).thenReturn(rows);
+
+        SearchResult<Event> result = searchService.search(criteria);
+
+        assertThat(result.items()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(result.nextCursor()).isEqualTo(SearchCursor.after(rows.get(1)).encode());
+        assertThat(result.totalCount()).isEqualTo(SearchResult.UNKNOWN_TOTAL);
+        verify(searchRepository, never()).count(any());
+        verify(searchRepository, never()).estimateCount(any());
+    }
+
+    @Test
+    void shouldNotReturnCursorWhenSortedByAnotherColumn() {
+        Instant now = Instant.parse("2024-06-15T10:30:00Z");
+        List<Event> rows = List.of(createTestEvent(now.minusSeconds(2)), createTestEvent(now),
+                createTestEvent(now.minusSeconds(1)));
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .size(2)
+                .sortBy("actorId")
+                .totalCount(SearchCriteria.TotalCount.NONE)
+                .build();
+        when(searchRepository.findPage(criteria, null, 0, 3)).thenReturn(rows);
+
+        SearchResult<Event> result = searchService.search(criteria);
+
+        // a (timestamp, id) position means nothing in actor order, so the next page is asked for by number
+        assertThat(result.items()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldContinueAfterCursorAndEstimateTotal() {
+        SearchCursor cursor = new SearchCursor(Instant.parse("2024-06-15T10:30:00Z"), UUID.randomUUID());
+        Event event = createTestEvent(cursor.timestamp().minusSeconds(1));
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .page(7)
+                .size(20)
+                .cursor(cursor.encode())
+                .totalCount(SearchCriteria.TotalCount.ESTIMATED)
+                .build();
+        when(searchRepository.findPage(eq(criteria), eq(cursor), eq(0), anyInt())).thenReturn(List.of(event));
+        when(searchRepository.estimateCount(criteria)).thenReturn(1_000_000L);
+
+        SearchResult<Event> result = searchService.search(criteria);
+
+        assertThat(result.items()).containsExactly(event);
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.totalCount()).isEqualTo(1_000_000L);
+        assertThat(result.totalEstimated()).isTrue();
+    }
+}
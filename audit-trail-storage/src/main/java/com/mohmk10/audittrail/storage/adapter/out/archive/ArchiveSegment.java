@@ -0,0 +1,285 @@
+package com.mohmk10.audittrail.storage.adapter.out.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.exception.StorageException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable archive segment: deflate-compressed NDJSON blocks followed by an index.
+ *
+ * <pre>
+ * header  : magic(int) version(int)
+ * blocks  : deflate(ndjson lines)...
+ * index   : blockCount(int) { offset(long) length(int) rawLength(int) events(int) minMillis(long) maxMillis(long) }
+ *           idCount(int) { msb(long) lsb(long) block(int) }   -- sorted by UUID
+ * footer  : indexOffset(long) magic(int)
+ * </pre>
+ *
+ * The file is self-contained so it can be shipped as is to other stores.
+ */
+public final class ArchiveSegment {
+
+    static final int MAGIC = 0x41545347; // "ATSG"
+    static final int VERSION = 1;
+
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int BLOCK_ENTRY_BYTES = Long.BYTES + 3 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int ID_ENTRY_BYTES = 2 * Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final ObjectMapper objectMapper;
+    private final int blockCount;
+    private final int blocksStart;
+    private final int idCount;
+    private final int idsStart;
+
+    private ArchiveSegment(Path path, MappedByteBuffer buffer, ObjectMapper objectMapper) {
+        this.path = path;
+        this.buffer = buffer;
+        this.objectMapper = objectMapper;
+
+        int limit = buffer.limit();
+        if (limit < 2 * Integer.BYTES + FOOTER_BYTES || buffer.getInt(0) != MAGIC
+                || buffer.getInt(limit - Integer.BYTES) != MAGIC) {
+            throw new StorageException("Not an archive segment: " + path);
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new StorageException("Unsupported archive segment version in " + path);
+        }
+        int indexOffset = (int) buffer.getLong(limit - FOOTER_BYTES);
+        this.blockCount = buffer.getInt(indexOffset);
+        this.blocksStart = indexOffset + Integer.BYTES;
+        int idsOffset = blocksStart + blockCount * BLOCK_ENTRY_BYTES;
+        this.idCount = buffer.getInt(idsOffset);
+        this.idsStart = idsOffset + Integer.BYTES;
+    }
+
+    public static ArchiveSegment open(Path path, ObjectMapper objectMapper) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new ArchiveSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), objectMapper);
+        } catch (IOException e) {
+            throw new StorageException("Failed to open archive segment " + path, e);
+        }
+    }
+
+    // events must be sorted by timestamp so block time ranges stay narrow
+    public static void write(Path target, List<Event> events, int blockEvents, boolean fsync, ObjectMapper objectMapper) {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            List<long[]> blocks = new ArrayList<>();
+            List<Object[]> ids = new ArrayList<>(events.size());
+            for (int start = 0; start < events.size(); start += blockEvents) {
+                List<Event> block = events.subList(start, Math.min(events.size(), start + blockEvents));
+                byte[] raw = toNdjson(block, objectMapper);
+                byte[] compressed = deflate(raw);
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                for (Event event : block) {
+                    long millis = event.timestamp().toEpochMilli();
+                    min = Math.min(min, millis);
+                    max = Math.max(max, millis);
+                    ids.add(new Object[]{event.id(), blocks.size()});
+                }
+                blocks.add(new long[]{out.size(), compressed.length, raw.length, block.size(), min, max});
+                out.write(compressed);
+            }
+
+            long indexOffset = out.size();
+            out.writeInt(blocks.size());
+            for (long[] block : blocks) {
+                out.writeLong(block[0]);
+                out.writeInt((int) block[1]);
+                out.writeInt((int) block[2]);
+                out.writeInt((int) block[3]);
+                out.writeLong(block[4]);
+                out.writeLong(block[5]);
+            }
+            ids.sort(Comparator.comparing(entry -> (UUID) entry[0]));
+            out.writeInt(ids.size());
+            for (Object[] entry : ids) {
+                UUID id = (UUID) entry[0];
+                out.writeLong(id.getMostSignificantBits());
+                out.writeLong(id.getLeastSignificantBits());
+                out.writeInt((Integer) entry[1]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+            out.flush();
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer content = ByteBuffer.wrap(bytes.toByteArray());
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                if (fsync) {
+                    channel.force(true);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new StorageException("Failed to write archive segment " + target, e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int eventCount() {
+        return idCount;
+    }
+
+    // ids are stored in UUID order, so id(0) and id(eventCount() - 1) bound the segment
+    public UUID id(int index) {
+        int entry = idsStart + index * ID_ENTRY_BYTES;
+        return new UUID(buffer.getLong(entry), buffer.getLong(entry + Long.BYTES));
+    }
+
+    // binary search over the mapped id table, then a single block read
+    public Optional<Event> find(UUID id) {
+        int low = 0;
+        int high = idCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = idsStart + mid * ID_ENTRY_BYTES;
+            int cmp = compare(buffer.getLong(entry), buffer.getLong(entry + Long.BYTES), id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                int block = buffer.getInt(entry + 2 * Long.BYTES);
+                return readBlock(block).stream().filter(event -> event.id().equals(id)).findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    // from/to are inclusive and may be null; blocks outside the range are skipped without inflating them
+    public List<Event> read(Instant from, Instant to) {
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        List<Event> events = new ArrayList<>();
+        for (int block = 0; block < blockCount; block++) {
+            int entry = blocksStart + block * BLOCK_ENTRY_BYTES;
+            long min = buffer.getLong(entry + Long.BYTES + 3 * Integer.BYTES);
+            long max = buffer.getLong(entry + 2 * Long.BYTES + 3 * Integer.BYTES);
+            if (max < fromMillis || min > toMillis) {
+                continue;
+            }
+            for (Event event : readBlock(block)) {
+                if ((from == null || !event.timestamp().isBefore(from)) && (to == null || !event.timestamp().isAfter(to))) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    private List<Event> readBlock(int block) {
+        int entry = blocksStart + block * BLOCK_ENTRY_BYTES;
+        int offset = (int) buffer.getLong(entry);
+        int length = buffer.getInt(entry + Long.BYTES);
+        int rawLength = buffer.getInt(entry + Long.BYTES + Integer.BYTES);
+
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, length));
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, rawLength - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // a truncated block never finishes, and the loop would spin on it forever
+                    throw new StorageException("Truncated block " + block + " in archive segment " + path);
+                }
+                read += inflated;
+            }
+            if (read < rawLength) {
+                throw new StorageException("Short block " + block + " in archive segment " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new StorageException("Corrupt block " + block + " in archive segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+
+        List<Event> events = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] == '\n') {
+                events.add(parse(Arrays.copyOfRange(raw, lineStart, i)));
+                lineStart = i + 1;
+            }
+        }
+        return events;
+    }
+
+    private Event parse(byte[] line) {
+        try {
+            return objectMapper.readValue(line, Event.class);
+        } catch (IOException e) {
+            throw new StorageException("Corrupt event in archive segment " + path, e);
+        }
+    }
+
+    private static int compare(long msb, long lsb, UUID id) {
+        int cmp = Long.compare(msb, id.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compare(lsb, id.getLeastSignificantBits());
+    }
+
+    private static byte[] toNdjson(List<Event> events, ObjectMapper objectMapper) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Event event : events) {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.mohmk10.audittrail.storage.adapter.out.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.dto.DateRange;
+import com.mohmk10.audittrail.core.exception.StorageException;
+import com.mohmk10.audittrail.core.port.out.EventArchivePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// cold storage as immutable segment files laid out as <root>/<tenant>/<yyyy-MM-dd>/<first id>_<last id>.seg.
+// Every segment is summarised in memory (day, id range and a bloom filter of its ids) so a lookup only maps the
+// segments that may hold the event; mappings are opened on use and at most maxOpenSegments are kept
+@Component
+@ConditionalOnProperty(prefix = "audit-trail.storage.archive", name = "enabled", havingValue = "true")
+public class FileEventArchive implements EventArchivePort {
+
+    private static final Logger log = LoggerFactory.getLogger(FileEventArchive.class);
+
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final int DEFAULT_MAX_OPEN_SEGMENTS = 64;
+
+    private final Path root;
+    private final int blockEvents;
+    private final boolean fsync;
+    private final int maxOpenSegments;
+    private final ObjectMapper objectMapper;
+    private final Map<Path, SegmentSummary> summaries = new ConcurrentHashMap<>();
+    // access ordered; an evicted segment is unmapped once it is garbage collected
+    private final LinkedHashMap<Path, ArchiveSegment> openSegments = new LinkedHashMap<>(16, 0.75f, true);
+
+    private volatile boolean loaded;
+
+    @Autowired
+    public FileEventArchive(
+            @Value("${audit-trail.storage.archive.path:./data/archive}") String path,
+            @Value("${audit-trail.storage.archive.block-events:256}") int blockEvents,
+            @Value("${audit-trail.storage.archive.fsync:true}") boolean fsync,
+            @Value("${audit-trail.storage.archive.max-open-segments:64}") int maxOpenSegments) {
+        this(Paths.get(path), blockEvents, fsync, maxOpenSegments);
+    }
+
+    public FileEventArchive(Path root, int blockEvents, boolean fsync) {
+        this(root, blockEvents, fsync, DEFAULT_MAX_OPEN_SEGMENTS);
+    }
+
+    public FileEventArchive(Path root, int blockEvents, boolean fsync, int maxOpenSegments) {
+        this.root = root;
+        this.blockEvents = blockEvents;
+        this.fsync = fsync;
+        this.maxOpenSegments = Math.max(1, maxOpenSegments);
+        this.objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Override
+    public void archive(Event event) {
+        archiveAll(List.of(event));
+    }
+
+    // one segment per tenant and day of the batch; a segment is only visible once completely written. Its name
+    // follows from its first and last event, so archiving the same events again, as a retention chunk retried
+    // after a failed delete does, finds the segment in place and writes nothing
+    @Override
+    public void archiveAll(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        loadSegments();
+        Map<Path, List<Event>> byDirectory = events.stream()
+                .collect(Collectors.groupingBy(this::directoryOf, TreeMap::new, Collectors.toList()));
+        byDirectory.forEach((directory, group) -> {
+            List<Event> sorted = group.stream()
+                    .sorted(Comparator.comparing(Event::timestamp).thenComparing(Event::id))
+                    .toList();
+            Path target = directory.resolve(
+                    sorted.get(0).id() + "_" + sorted.get(sorted.size() - 1).id() + SEGMENT_SUFFIX);
+            if (Files.exists(target)) {
+                log.debug("Segment {} already archived, skipping {} events", target, sorted.size());
+                return;
+            }
+            ArchiveSegment.write(target, sorted, blockEvents, fsync, objectMapper);
+            summaries.put(target, SegmentSummary.of(segment(target)));
+            log.debug("Archived {} events into {}", sorted.size(), target);
+        });
+    }
+
+    @Override
+    public Optional<Event> retrieve(UUID id) {
+        loadSegments();
+        for (SegmentSummary summary : summaries.values()) {
+            if (!summary.mightContain(id)) {
+                continue;
+            }
+            Optional<Event> event = segment(summary.path()).find(id);
+            if (event.isPresent()) {
+                return event;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Event> listArchived(DateRange dateRange) {
+        loadSegments();
+        LocalDate fromDay = dateRange.from() != null ? dateRange.from().atZone(ZoneOffset.UTC).toLocalDate() : LocalDate.MIN;
+        LocalDate toDay = dateRange.to() != null ? dateRange.to().atZone(ZoneOffset.UTC).toLocalDate() : LocalDate.MAX;
+        List<Event> events = new ArrayList<>();
+        for (SegmentSummary summary : summaries.values()) {
+            LocalDate day = summary.day();
+            if (day == null || day.isBefore(fromDay) || day.isAfter(toDay)) {
+                continue;
+            }
+            events.addAll(segment(summary.path()).read(dateRange.from(), dateRange.to()));
+        }
+        events.sort(Comparator.comparing(Event::timestamp));
+        return events;
+    }
+
+    int openSegmentCount() {
+        synchronized (openSegments) {
+            return openSegments.size();
+        }
+    }
+
+    private ArchiveSegment segment(Path path) {
+        synchronized (openSegments) {
+            ArchiveSegment segment = openSegments.get(path);
+            if (segment == null) {
+                segment = ArchiveSegment.open(path, objectMapper);
+                openSegments.put(path, segment);
+                if (openSegments.size() > maxOpenSegments) {
+                    Iterator<Path> eldest = openSegments.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            return segment;
+        }
+    }
+
+    // reads each segment's id table once to summarise it; the mappings are not kept
+    private void loadSegments() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> files = Files.walk(root, 3)) {
+                    files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                            .forEach(file -> summaries.put(file,
+                                    SegmentSummary.of(ArchiveSegment.open(file, objectMapper))));
+                } catch (IOException e) {
+                    throw new StorageException("Failed to list archive segments under " + root, e);
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private Path directoryOf(Event event) {
+        String tenantId = event.metadata() != null ? event.metadata().tenantId() : "default";
+        return root.resolve(sanitize(tenantId))
+                .resolve(event.timestamp().atZone(ZoneOffset.UTC).toLocalDate().toString());
+    }
+
+    private static LocalDate parseDay(Path directory) {
+        try {
+            return LocalDate.parse(directory.getFileName().toString());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // tenant ids come from clients, so keep them to a single safe path element
+    private static String sanitize(String tenantId) {
+        String name = tenantId.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.startsWith(".") ? "_" + name : name;
+    }
+
+    // about ten bits per event, for roughly one false positive in a hundred lookups
+    private record SegmentSummary(Path path, LocalDate day, UUID minId, UUID maxId, long[] bloom) {
+
+        private static final int BITS_PER_EVENT = 10;
+        private static final int PROBES = 4;
+
+        static SegmentSummary of(ArchiveSegment segment) {
+            int count = segment.eventCount();
+            long[] bloom = new long[Math.max(1, (count * BITS_PER_EVENT + 63) / 64)];
+            for (int i = 0; i < count; i++) {
+                UUID id = segment.id(i);
+                for (int probe = 0; probe < PROBES; probe++) {
+                    long bit = bit(id, probe, bloom.length);
+                    bloom[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+            UUID minId = count > 0 ? segment.id(0) : null;
+            UUID maxId = count > 0 ? segment.id(count - 1) : null;
+            return new SegmentSummary(segment.path(), parseDay(segment.path().getParent()), minId, maxId, bloom);
+        }
+
+        boolean mightContain(UUID id) {
+            if (minId == null || id.compareTo(minId) < 0 || id.compareTo(maxId) > 0) {
+                return false;
+            }
+            for (int probe = 0; probe < PROBES; probe++) {
+                long bit = bit(id, probe, bloom.length);
+                if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // event ids are random UUIDs, so their own bits serve as the two hashes
+        private static long bit(UUID id, int probe, int words) {
+            long h1 = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+            long h2 = id.getLeastSignificantBits() * 0x9E3779B97F4A7C15L | 1;
+            return Math.floorMod(h1 + probe * h2, words * 64L);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.mohmk10.audittrail.storage.adapter.out.keystore;
+
+import com.mohmk10.audittrail.core.exception.StorageException;
+import com.mohmk10.audittrail.storage.service.SigningKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.EncryptedPrivateKeyInfo;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.PBEParameterSpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// signing keys as PEM files, <id>.pub (X.509, preceded by its creation time) next to <id>.key (PKCS#8,
+// PBES2-encrypted when a password is set); nodes sharing the directory verify each other's signatures,
+// nodes holding only .pub files verify without signing
+@Component
+public class FileSigningKeyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSigningKeyStore.class);
+
+    static final String PUBLIC_SUFFIX = ".pub";
+    static final String PRIVATE_SUFFIX = ".key";
+
+    private static final String KEY_ALGORITHM = "EC";
+    private static final String PBE_ALGORITHM = "PBEWithHmacSHA256AndAES_256";
+    private static final String PBES2 = "PBES2";
+    private static final int PBE_ITERATIONS = 100_000;
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String CREATED_LABEL = "Created: ";
+    private static final Pattern PEM_BODY = Pattern.compile("-----BEGIN [A-Z ]+-----(.*?)-----END [A-Z ]+-----",
+            Pattern.DOTALL);
+    private static final Base64.Encoder PEM_ENCODER =
+            Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII));
+
+    private final Path directory;
+    private final char[] password;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public FileSigningKeyStore(
+            @Value("${audit-trail.storage.signing.keystore.path:./data/keys}") String path,
+            @Value("${audit-trail.storage.signing.keystore.password:}") String password) {
+        this(Paths.get(path), password.toCharArray());
+    }
+
+    public FileSigningKeyStore(Path directory, char[] password) {
+        this.directory = directory;
+        this.password = password;
+    }
+
+    public List<SigningKey> loadAll() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<SigningKey> keys = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.toString().endsWith(PUBLIC_SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                String id = name.substring(0, name.length() - PUBLIC_SUFFIX.length());
+                try {
+                    keys.add(load(id));
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    log.warn("Skipping unreadable signing key {}: {}", id, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to read signing keys from " + directory, e);
+        }
+        keys.sort(Comparator.comparing(SigningKey::createdAt));
+        return keys;
+    }
+
+    // the private key lands first, so a visible public key always has its private half next to it
+    public void save(SigningKey key) {
+        if (!KEY_ID.matcher(key.id()).matches()) {
+            throw new IllegalArgumentException("Invalid signing key id: " + key.id());
+        }
+        try {
+            Files.createDirectories(directory);
+            if (key.canSign()) {
+                write(key.id() + PRIVATE_SUFFIX, encodePrivate(key.privateKey()), true);
+            }
+            write(key.id() + PUBLIC_SUFFIX, CREATED_LABEL + key.createdAt() + "\n"
+                    + pem("PUBLIC KEY", key.publicKey().getEncoded()), false);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new StorageException("Failed to store signing key " + key.id(), e);
+        }
+    }
+
+    private SigningKey load(String id) throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance(KEY_ALGORITHM);
+        Path publicFile = directory.resolve(id + PUBLIC_SUFFIX);
+        String publicPem = Files.readString(publicFile);
+        PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(unpem(publicPem)));
+
+        Path privateFile = directory.resolve(id + PRIVATE_SUFFIX);
+        PrivateKey privateKey = Files.exists(privateFile)
+                ? keyFactory.generatePrivate(decodePrivate(Files.readString(privateFile)))
+                : null;
+        return new SigningKey(id, privateKey, publicKey, createdAt(publicPem, publicFile));
+    }
+
+    // copied key files lose their modification time, so the creation time travels inside the file
+    private static Instant createdAt(String pem, Path file) throws IOException {
+        if (pem.startsWith(CREATED_LABEL)) {
+            int end = pem.indexOf('\n');
+            try {
+                return Instant.parse(pem.substring(CREATED_LABEL.length(), end).trim());
+            } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+                log.warn("Signing key {} has an unreadable creation time", file.getFileName());
+            }
+        }
+        return Files.getLastModifiedTime(file).toInstant();
+    }
+
+    private String encodePrivate(PrivateKey privateKey) throws GeneralSecurityException, IOException {
+        byte[] pkcs8 = privateKey.getEncoded();
+        if (password.length == 0) {
+            return pem("PRIVATE KEY", pkcs8);
+        }
+        byte[] salt = new byte[16];
+        byte[] iv = new byte[16];
+        random.nextBytes(salt);
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(PBE_ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, passwordKey(),
+                new PBEParameterSpec(salt, PBE_ITERATIONS, new IvParameterSpec(iv)));
+        byte[] encrypted = cipher.doFinal(pkcs8);
+        // re-read as generic PBES2 parameters, the form EncryptedPrivateKeyInfo can encode
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance(PBES2);
+        parameters.init(cipher.getParameters().getEncoded());
+        return pem("ENCRYPTED PRIVATE KEY", new EncryptedPrivateKeyInfo(parameters, encrypted).getEncoded());
+    }
+
+    private PKCS8EncodedKeySpec decodePrivate(String pem) throws GeneralSecurityException, IOException {
+        byte[] der = unpem(pem);
+        if (!pem.contains("ENCRYPTED PRIVATE KEY")) {
+            return new PKCS8EncodedKeySpec(der);
+        }
+        if (password.length == 0) {
+            throw new GeneralSecurityException("private key is encrypted but no keystore password is set");
+        }
+        EncryptedPrivateKeyInfo info = new EncryptedPrivateKeyInfo(der);
+        Cipher cipher = Cipher.getInstance(PBE_ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, passwordKey(), info.getAlgParameters());
+        return info.getKeySpec(cipher);
+    }
+
+    private SecretKey passwordKey() throws GeneralSecurityException {
+        return SecretKeyFactory.getInstance(PBE_ALGORITHM).generateSecret(new PBEKeySpec(password));
+    }
+
+    private void write(String name, String content, boolean secret) throws IOException {
+        Path temp = Files.createTempFile(directory, name, ".tmp");
+        try {
+            if (secret && FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }
+            Files.writeString(temp, content, StandardCharsets.US_ASCII);
+            try {
+                Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + PEM_ENCODER.encodeToString(der) + "\n-----END " + type + "-----\n";
+    }
+
+    private static byte[] unpem(String pem) {
+        Matcher matcher = PEM_BODY.matcher(pem);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("not a PEM file");
+        }
+        return Base64.getMimeDecoder().decode(matcher.group(1));
+    }
+}
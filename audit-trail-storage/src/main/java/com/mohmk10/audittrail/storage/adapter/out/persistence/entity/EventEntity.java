@@ -1,5 +1,6 @@
 package com.mohmk10.audittrail.storage.adapter.out.persistence.entity;
 
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -96,6 +97,9 @@ public class EventEntity {
     @Column(name = "signature")
     private String signature;
 
+    @Column(name = "hash_version", nullable = false)
+    private int hashVersion = CanonicalHashInput.CURRENT_VERSION;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -306,6 +310,14 @@ public class EventEntity {
         this.signature = signature;
     }
 
+    public int getHashVersion() {
+        return hashVersion;
+    }
+
+    public void setHashVersion(int hashVersion) {
+        this.hashVersion = hashVersion;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,38 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.mapper;
+
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.ChainCheckpointEntity;
+
+public final class ChainCheckpointMapper {
+
+    private ChainCheckpointMapper() {
+    }
+
+    public static ChainCheckpointEntity toEntity(ChainCheckpoint domain) {
+        ChainCheckpointEntity entity = new ChainCheckpointEntity();
+        entity.setId(domain.id());
+        entity.setTenantId(domain.tenantId());
+        entity.setLastEventId(domain.lastEventId());
+        entity.setLastHash(domain.lastHash());
+        entity.setLastCreatedAt(domain.lastCreatedAt());
+        entity.setEventCount(domain.eventCount());
+        entity.setReason(domain.reason());
+        entity.setCreatedAt(domain.createdAt());
+        entity.setSignature(domain.signature());
+        return entity;
+    }
+
+    public static ChainCheckpoint toDomain(ChainCheckpointEntity entity) {
+        return new ChainCheckpoint(
+                entity.getId(),
+                entity.getTenantId(),
+                entity.getLastEventId(),
+                entity.getLastHash(),
+                entity.getLastCreatedAt(),
+                entity.getEventCount(),
+                entity.getReason(),
+                entity.getCreatedAt(),
+                entity.getSignature()
+        );
+    }
+}
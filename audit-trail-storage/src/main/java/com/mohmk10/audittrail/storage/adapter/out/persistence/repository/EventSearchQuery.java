@@ -0,0 +1,173 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
+import com.mohmk10.audittrail.core.exception.StorageException;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// SQL for one SearchCriteria over the events table. Predicates follow the (tenant_id, timestamp, id) index:
+// tenant equality and the timestamp range first, which also prunes partitions, then the selective equalities,
+// the IN lists, tag containment (served by the tags GIN index) and the unanchored text match last
+public final class EventSearchQuery {
+
+    public static final String COLUMNS = """
+            id, timestamp, actor_id, actor_type, actor_name, actor_ip, actor_user_agent, actor_attributes,
+            action_type, action_description, action_category,
+            resource_id, resource_type, resource_name, resource_before, resource_after,
+            metadata_source, tenant_id, correlation_id, session_id, tags, extra,
+            previous_hash, hash, signature, hash_version, created_at""";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // sortable fields by the names used in the API and by Elasticsearch; anything else sorts by timestamp
+    private static final Map<String, String> SORT_COLUMNS = Map.ofEntries(
+            Map.entry("timestamp", "timestamp"),
+            Map.entry("createdat", "created_at"),
+            Map.entry("created_at", "created_at"),
+            Map.entry("actorid", "actor_id"),
+            Map.entry("actor_id", "actor_id"),
+            Map.entry("actiontype", "action_type"),
+            Map.entry("action_type", "action_type"),
+            Map.entry("resourceid", "resource_id"),
+            Map.entry("resource_id", "resource_id"),
+            Map.entry("resourcetype", "resource_type"),
+            Map.entry("resource_type", "resource_type"));
+
+    private final String sql;
+    private final List<Object> args;
+
+    private EventSearchQuery(String sql, List<Object> args) {
+        this.sql = sql;
+        this.args = args;
+    }
+
+    // after is exclusive and may be null; offset only applies to the first cursor-less page.
+    // Cursor pages are always in timestamp order, since the cursor is a position in that order
+    public static EventSearchQuery page(SearchCriteria criteria, SearchCursor after, int offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM events WHERE ");
+        sql.append(where(criteria, args));
+        String direction = criteria.sortDirection() == SearchCriteria.SortDirection.ASC ? "ASC" : "DESC";
+        if (after != null) {
+            sql.append("ASC".equals(direction) ? " AND (timestamp, id) > (?, ?)" : " AND (timestamp, id) < (?, ?)");
+            args.add(Timestamp.from(after.timestamp()));
+            args.add(after.id());
+        }
+        String column = after != null || criteria.cursor() != null ? "timestamp" : sortColumn(criteria.sortBy());
+        sql.append(" ORDER BY ").append(column).append(' ').append(direction);
+        if (!"timestamp".equals(column)) {
+            sql.append(", timestamp ").append(direction);
+        }
+        sql.append(", id ").append(direction);
+        sql.append(" LIMIT ?");
+        args.add(limit);
+        if (after == null && offset > 0) {
+            sql.append(" OFFSET ?");
+            args.add(offset);
+        }
+        return new EventSearchQuery(sql.toString(), args);
+    }
+
+    // a cursor is a position in (timestamp, id) order, so only pages in that order can hand one out
+    public static boolean ordersByTimestamp(SearchCriteria criteria) {
+        return criteria.cursor() != null || "timestamp".equals(sortColumn(criteria.sortBy()));
+    }
+
+    public static EventSearchQuery count(SearchCriteria criteria) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM events WHERE " + where(criteria, args);
+        return new EventSearchQuery(sql, args);
+    }
+
+    // the planner's row estimate for the filtered scan
+    public static EventSearchQuery explainCount(SearchCriteria criteria) {
+        List<Object> args = new ArrayList<>();
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM events WHERE " + where(criteria, args);
+        return new EventSearchQuery(sql, args);
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public Object[] args() {
+        return args.toArray();
+    }
+
+    private static String where(SearchCriteria criteria, List<Object> args) {
+        StringBuilder where = new StringBuilder("tenant_id = ?");
+        args.add(criteria.tenantId());
+        if (criteria.dateRange() != null) {
+            if (criteria.dateRange().from() != null) {
+                where.append(" AND timestamp >= ?");
+                args.add(Timestamp.from(criteria.dateRange().from()));
+            }
+            if (criteria.dateRange().to() != null) {
+                where.append(" AND timestamp <= ?");
+                args.add(Timestamp.from(criteria.dateRange().to()));
+            }
+        }
+        equal(where, args, "correlation_id", criteria.correlationId());
+        equal(where, args, "session_id", criteria.sessionId());
+        equal(where, args, "actor_id", criteria.actorId());
+        in(where, args, "action_type", criteria.actionTypes());
+        in(where, args, "resource_type", criteria.resourceTypes());
+        if (criteria.tags() != null && !criteria.tags().isEmpty()) {
+            where.append(" AND tags @> CAST(? AS jsonb)");
+            args.add(toJson(criteria.tags()));
+        }
+        if (criteria.query() != null && !criteria.query().isBlank()) {
+            where.append(" AND (LOWER(actor_name) LIKE ? OR LOWER(action_description) LIKE ?"
+                    + " OR LOWER(resource_name) LIKE ?)");
+            String pattern = "%" + criteria.query().toLowerCase(Locale.ROOT) + "%";
+            args.add(pattern);
+            args.add(pattern);
+            args.add(pattern);
+        }
+        return where.toString();
+    }
+
+    private static void equal(StringBuilder where, List<Object> args, String column, String value) {
+        if (value != null && !value.isBlank()) {
+            where.append(" AND ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+
+    private static void in(StringBuilder where, List<Object> args, String column, Collection<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        if (values.size() == 1) {
+            where.append(" AND ").append(column).append(" = ?");
+        } else {
+            where.append(" AND ").append(column).append(" IN (")
+                    .append(String.join(", ", Collections.nCopies(values.size(), "?"))).append(')');
+        }
+        values.forEach(value -> args.add(value.name()));
+    }
+
+    private static String sortColumn(String sortBy) {
+        if (sortBy == null) {
+            return "timestamp";
+        }
+        return SORT_COLUMNS.getOrDefault(sortBy.trim().toLowerCase(Locale.ROOT), "timestamp");
+    }
+
+    private static String toJson(Map<String, String> tags) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(tags);
+        } catch (JsonProcessingException e) {
+            throw new StorageException("Failed to write search tags as JSON", e);
+        }
+    }
+}
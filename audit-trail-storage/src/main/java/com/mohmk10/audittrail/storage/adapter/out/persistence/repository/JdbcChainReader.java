@@ -0,0 +1,127 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Actor;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.EventMetadata;
+import com.mohmk10.audittrail.core.domain.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// pages through a tenant chain in chain order, reading only the columns that are hashed or signed
+@Repository
+public class JdbcChainReader {
+
+    private static final String COLUMNS =
+            "id, timestamp, actor_id, action_type, resource_id, previous_hash, hash, signature, hash_version, created_at";
+
+    // loose index scan: one index probe per tenant instead of reading every row
+    private static final String TENANTS_SQL = """
+            WITH RECURSIVE tenants AS (
+                SELECT MIN(tenant_id) AS tenant_id FROM events
+                UNION ALL
+                SELECT (SELECT MIN(tenant_id) FROM events WHERE tenant_id > tenants.tenant_id)
+                FROM tenants WHERE tenants.tenant_id IS NOT NULL
+            )
+            SELECT tenant_id FROM tenants WHERE tenant_id IS NOT NULL
+            """;
+
+    // position of an event in its tenant chain; chain order is (created_at, id)
+    public record ChainPosition(Instant createdAt, UUID eventId) implements Comparable<ChainPosition> {
+
+        // postgres orders uuids as unsigned bytes, unlike UUID.compareTo
+        @Override
+        public int compareTo(ChainPosition other) {
+            int cmp = createdAt.compareTo(other.createdAt);
+            if (cmp == 0) {
+                cmp = Long.compareUnsigned(eventId.getMostSignificantBits(), other.eventId.getMostSignificantBits());
+            }
+            if (cmp == 0) {
+                cmp = Long.compareUnsigned(eventId.getLeastSignificantBits(), other.eventId.getLeastSignificantBits());
+            }
+            return cmp;
+        }
+    }
+
+    public record ChainLink(Event event, Instant createdAt, int hashVersion) {
+
+        public ChainLink(Event event, Instant createdAt) {
+            this(event, createdAt, CanonicalHashInput.CURRENT_VERSION);
+        }
+
+        public ChainPosition position() {
+            return new ChainPosition(createdAt, event.id());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcChainReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // keyset on (created_at, id) so every page is an index range scan, however deep into the chain;
+    // after is exclusive, until inclusive and either may be null
+    public List<ChainLink> readPage(String tenantId, ChainPosition after, ChainPosition until, int limit) {
+        return query(tenantId, after, until, 0, limit);
+    }
+
+    // the n-th event after a position, used to place checkpoints every n events
+    public Optional<ChainLink> findNth(String tenantId, ChainPosition after, Instant createdBefore, int n) {
+        ChainPosition until = new ChainPosition(createdBefore, new UUID(0, 0));
+        return query(tenantId, after, until, n - 1, 1).stream().findFirst();
+    }
+
+    public List<String> findTenantIds() {
+        return jdbcTemplate.queryForList(TENANTS_SQL, String.class);
+    }
+
+    private List<ChainLink> query(String tenantId, ChainPosition after, ChainPosition until, int offset, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM events WHERE tenant_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(tenantId);
+        if (after != null) {
+            sql.append(" AND (created_at, id) > (?, ?)");
+            args.add(Timestamp.from(after.createdAt()));
+            args.add(after.eventId());
+        }
+        if (until != null) {
+            sql.append(" AND (created_at, id) <= (?, ?)");
+            args.add(Timestamp.from(until.createdAt()));
+            args.add(until.eventId());
+        }
+        sql.append(" ORDER BY created_at, id LIMIT ?");
+        args.add(limit);
+        if (offset > 0) {
+            sql.append(" OFFSET ?");
+            args.add(offset);
+        }
+        return jdbcTemplate.query(sql.toString(), rowMapper(tenantId), args.toArray());
+    }
+
+    private static RowMapper<ChainLink> rowMapper(String tenantId) {
+        return (rs, rowNum) -> new ChainLink(
+                new Event(
+                        rs.getObject("id", UUID.class),
+                        rs.getTimestamp("timestamp").toInstant(),
+                        new Actor(rs.getString("actor_id"), null, null, null, null, null),
+                        new Action(Action.ActionType.valueOf(rs.getString("action_type")), null, null),
+                        new Resource(rs.getString("resource_id"), null, null, null, null),
+                        new EventMetadata(null, tenantId, null, null, null, null),
+                        rs.getString("previous_hash"),
+                        rs.getString("hash"),
+                        rs.getString("signature")
+                ),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getInt("hash_version"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.exception.StorageException;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class JdbcEventBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO events (
+                id, timestamp,
+                actor_id, actor_type, actor_name, actor_ip, actor_user_agent, actor_attributes,
+                action_type, action_description, action_category,
+                resource_id, resource_type, resource_name, resource_before, resource_after,
+                metadata_source, tenant_id, correlation_id, session_id, tags, extra,
+                previous_hash, hash, signature, hash_version, created_at
+            ) VALUES (
+                ?, ?,
+                ?, ?, ?, ?, ?, CAST(? AS jsonb),
+                ?, ?, ?,
+                ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb),
+                ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb),
+                ?, ?, ?, ?, ?
+            )
+            """;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public JdbcEventBatchWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${audit-trail.storage.batch.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // rows of one segment must keep their chain order when read back by created_at, so they take
+    // firstCreatedAt onwards one microsecond apart
+    public List<EventEntity> insert(List<Event> events, Instant firstCreatedAt) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        Instant createdAt = firstCreatedAt;
+        List<EventEntity> entities = new ArrayList<>(events.size());
+        for (Event event : events) {
+            EventEntity entity = EventMapper.toEntity(event);
+            entity.setCreatedAt(createdAt);
+            entities.add(entity);
+            createdAt = createdAt.plus(1, ChronoUnit.MICROS);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, entities, batchSize, this::bind);
+        return entities;
+    }
+
+    private void bind(PreparedStatement ps, EventEntity entity) throws SQLException {
+        int i = 1;
+        ps.setObject(i++, entity.getId());
+        ps.setTimestamp(i++, toTimestamp(entity.getTimestamp()));
+        ps.setString(i++, entity.getActorId());
+        ps.setString(i++, entity.getActorType());
+        ps.setString(i++, entity.getActorName());
+        ps.setString(i++, entity.getActorIp());
+        ps.setString(i++, entity.getActorUserAgent());
+        ps.setString(i++, toJson(entity.getActorAttributes()));
+        ps.setString(i++, entity.getActionType());
+        ps.setString(i++, entity.getActionDescription());
+        ps.setString(i++, entity.getActionCategory());
+        ps.setString(i++, entity.getResourceId());
+        ps.setString(i++, entity.getResourceType());
+        ps.setString(i++, entity.getResourceName());
+        ps.setString(i++, toJson(entity.getResourceBefore()));
+        ps.setString(i++, toJson(entity.getResourceAfter()));
+        ps.setString(i++, entity.getMetadataSource());
+        ps.setString(i++, entity.getTenantId());
+        ps.setString(i++, entity.getCorrelationId());
+        ps.setString(i++, entity.getSessionId());
+        ps.setString(i++, toJson(entity.getTags()));
+        ps.setString(i++, toJson(entity.getExtra()));
+        ps.setString(i++, entity.getPreviousHash());
+        ps.setString(i++, entity.getHash());
+        ps.setString(i++, entity.getSignature());
+        ps.setInt(i++, entity.getHashVersion());
+        ps.setTimestamp(i, toTimestamp(entity.getCreatedAt()));
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    private static String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new StorageException("Failed to serialize event column to JSON", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public class JdbcEventOutbox {
+
+    private static final String INSERT_SQL = "INSERT INTO event_outbox (event_id, tenant_id) VALUES (?, ?)";
+
+    // claimed rows stay locked only for the claim itself; the lease hides them from other relays while they dispatch
+    private static final String CLAIM_SQL = """
+            UPDATE event_outbox
+            SET claimed_until = NOW() + (? * INTERVAL '1 millisecond'), attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM event_outbox
+                WHERE claimed_until IS NULL OR claimed_until < NOW()
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, event_id, created_at, attempts, delivered_to
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM event_outbox WHERE id = ?";
+
+    private static final String DELIVERED_SQL = "UPDATE event_outbox SET delivered_to = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public JdbcEventOutbox(
+            JdbcTemplate jdbcTemplate,
+            @Value("${audit-trail.storage.outbox.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void append(List<Event> events) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.id());
+            ps.setString(2, event.metadata() != null ? event.metadata().tenantId() : "default");
+        });
+    }
+
+    public List<OutboxEntry> claim(int limit, long leaseMillis) {
+        List<OutboxEntry> entries = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxEntry(
+                rs.getLong("id"),
+                rs.getObject("event_id", UUID.class),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getInt("attempts"),
+                deliveredTo(rs.getArray("delivered_to"))
+        ), leaseMillis, limit);
+        // RETURNING does not keep the sub-select order
+        return entries.stream().sorted(Comparator.comparingLong(OutboxEntry::id)).toList();
+    }
+
+    public void delete(List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, entries, entries.size(),
+                (ps, entry) -> ps.setLong(1, entry.id()));
+    }
+
+    // records the handlers each entry has now been delivered to, for entries kept for a retry
+    public void recordDeliveries(List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELIVERED_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("text", entry.deliveredTo().toArray()));
+            ps.setLong(2, entry.id());
+        });
+    }
+
+    private static Set<String> deliveredTo(Array array) throws SQLException {
+        if (array == null) {
+            return Set.of();
+        }
+        return Set.of((String[]) array.getArray());
+    }
+}
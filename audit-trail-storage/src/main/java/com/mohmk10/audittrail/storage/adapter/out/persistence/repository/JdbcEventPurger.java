@@ -0,0 +1,49 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class JdbcEventPurger {
+
+    // last event (in chain order) of the next chunk to purge; walks the (tenant_id, created_at) index
+    private static final String CHUNK_BOUNDARY_SQL = """
+            SELECT id, hash, created_at FROM (
+                SELECT id, hash, created_at FROM events
+                WHERE tenant_id = ? AND created_at < ?
+                ORDER BY created_at
+                LIMIT ?
+            ) chunk
+            ORDER BY created_at DESC
+            LIMIT 1
+            """;
+
+    private static final String DELETE_THROUGH_SQL =
+            "DELETE FROM events WHERE tenant_id = ? AND created_at <= ? RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcEventPurger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<PurgeBoundary> findChunkBoundary(String tenantId, Instant createdBefore, int chunkSize) {
+        List<PurgeBoundary> boundaries = jdbcTemplate.query(CHUNK_BOUNDARY_SQL, (rs, rowNum) -> new PurgeBoundary(
+                rs.getObject("id", UUID.class),
+                rs.getString("hash"),
+                rs.getTimestamp("created_at").toInstant()
+        ), tenantId, Timestamp.from(createdBefore), chunkSize);
+        return boundaries.stream().findFirst();
+    }
+
+    public List<UUID> deleteThrough(String tenantId, Instant createdAtInclusive) {
+        return jdbcTemplate.query(DELETE_THROUGH_SQL, (rs, rowNum) -> rs.getObject("id", UUID.class),
+                tenantId, Timestamp.from(createdAtInclusive));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
+import com.mohmk10.audittrail.core.exception.StorageException;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// event search over every SearchCriteria field: pages continue after a cursor instead of skipping an OFFSET,
+// and the total is counted, estimated from the query plan or not computed at all
+@Repository
+public class JdbcEventSearchRepository {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> STRING_MAP = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, Object>> OBJECT_MAP = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcEventSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // after is exclusive and may be null; offset only applies to the first cursor-less page
+    public List<Event> findPage(SearchCriteria criteria, SearchCursor after, int offset, int limit) {
+        EventSearchQuery query = EventSearchQuery.page(criteria, after, offset, limit);
+        return jdbcTemplate.query(query.sql(), JdbcEventSearchRepository::mapRow, query.args());
+    }
+
+    public long count(SearchCriteria criteria) {
+        EventSearchQuery query = EventSearchQuery.count(criteria);
+        Long count = jdbcTemplate.queryForObject(query.sql(), Long.class, query.args());
+        return count != null ? count : 0;
+    }
+
+    // the planner's row estimate for the filtered scan; cheap, but only as good as the table statistics
+    public long estimateCount(SearchCriteria criteria) {
+        EventSearchQuery query = EventSearchQuery.explainCount(criteria);
+        String plan = jdbcTemplate.queryForObject(query.sql(), String.class, query.args());
+        Matcher matcher = PLAN_ROWS.matcher(plan != null ? plan : "");
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static Event mapRow(ResultSet rs, int rowNum) throws SQLException {
+        EventEntity entity = new EventEntity();
+        entity.setId(rs.getObject("id", UUID.class));
+        entity.setTimestamp(rs.getTimestamp("timestamp").toInstant());
+        entity.setActorId(rs.getString("actor_id"));
+        entity.setActorType(rs.getString("actor_type"));
+        entity.setActorName(rs.getString("actor_name"));
+        entity.setActorIp(rs.getString("actor_ip"));
+        entity.setActorUserAgent(rs.getString("actor_user_agent"));
+        entity.setActorAttributes(fromJson(rs, "actor_attributes", STRING_MAP));
+        entity.setActionType(rs.getString("action_type"));
+        entity.setActionDescription(rs.getString("action_description"));
+        entity.setActionCategory(rs.getString("action_category"));
+        entity.setResourceId(rs.getString("resource_id"));
+        entity.setResourceType(rs.getString("resource_type"));
+        entity.setResourceName(rs.getString("resource_name"));
+        entity.setResourceBefore(fromJson(rs, "resource_before", OBJECT_MAP));
+        entity.setResourceAfter(fromJson(rs, "resource_after", OBJECT_MAP));
+        entity.setMetadataSource(rs.getString("metadata_source"));
+        entity.setTenantId(rs.getString("tenant_id"));
+        entity.setCorrelationId(rs.getString("correlation_id"));
+        entity.setSessionId(rs.getString("session_id"));
+        entity.setTags(fromJson(rs, "tags", STRING_MAP));
+        entity.setExtra(fromJson(rs, "extra", OBJECT_MAP));
+        entity.setPreviousHash(rs.getString("previous_hash"));
+        entity.setHash(rs.getString("hash"));
+        entity.setSignature(rs.getString("signature"));
+        entity.setHashVersion(rs.getInt("hash_version"));
+        entity.setCreatedAt(rs.getTimestamp("created_at").toInstant());
+        return EventMapper.toDomain(entity);
+    }
+
+    private static <T> T fromJson(ResultSet rs, String column, TypeReference<T> type) throws SQLException {
+        String json = rs.getString(column);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new StorageException("Failed to read event column " + column + " as JSON", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.ChainCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface JpaChainCheckpointRepository extends JpaRepository<ChainCheckpointEntity, UUID> {
+
+    List<ChainCheckpointEntity> findByTenantIdAndLastHashAndReason(String tenantId, String lastHash, String reason);
+
+    List<ChainCheckpointEntity> findByTenantIdAndReasonOrderByLastCreatedAtAsc(String tenantId, String reason);
+
+    Optional<ChainCheckpointEntity> findTopByTenantIdAndReasonOrderByLastCreatedAtDesc(String tenantId, String reason);
+}
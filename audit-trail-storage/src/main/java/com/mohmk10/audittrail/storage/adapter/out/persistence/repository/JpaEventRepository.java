@@ -22,6 +22,8 @@ public interface JpaEventRepository extends JpaRepository<EventEntity, UUID> {
 
     List<EventEntity> findByTenantIdOrderByCreatedAtAsc(String tenantId);
 
+    List<EventEntity> findByTenantIdAndCreatedAtLessThanEqualOrderByCreatedAtAsc(String tenantId, Instant createdAt);
+
     @Query("SELECT e FROM EventEntity e WHERE e.tenantId = :tenantId ORDER BY e.createdAt ASC")
     List<EventEntity> findAllByTenantIdForChainVerification(@Param("tenantId") String tenantId);
 
@@ -30,6 +32,8 @@ public interface JpaEventRepository extends JpaRepository<EventEntity, UUID> {
 
     Optional<EventEntity> findByHash(String hash);
 
+    long countByTenantIdAndCreatedAtGreaterThanEqual(String tenantId, Instant since);
+
     // Search methods for PostgreSQL fallback
     Page<EventEntity> findByTenantIdAndActorIdOrderByTimestampDesc(
             String tenantId, String actorId, Pageable pageable);
@@ -64,8 +68,7 @@ public interface JpaEventRepository extends JpaRepository<EventEntity, UUID> {
 
     @Query("SELECT e.actionType, COUNT(e) FROM EventEntity e " +
            "WHERE e.tenantId = :tenantId " +
-           "AND (:from IS NULL OR e.timestamp >= :from) " +
-           "AND (:to IS NULL OR e.timestamp <= :to) " +
+           "AND e.timestamp >= :from AND e.timestamp <= :to " +
            "GROUP BY e.actionType")
     List<Object[]> countByActionType(
             @Param("tenantId") String tenantId,
@@ -74,8 +77,7 @@ public interface JpaEventRepository extends JpaRepository<EventEntity, UUID> {
 
     @Query("SELECT e.resourceType, COUNT(e) FROM EventEntity e " +
            "WHERE e.tenantId = :tenantId " +
-           "AND (:from IS NULL OR e.timestamp >= :from) " +
-           "AND (:to IS NULL OR e.timestamp <= :to) " +
+           "AND e.timestamp >= :from AND e.timestamp <= :to " +
            "GROUP BY e.resourceType")
     List<Object[]> countByResourceType(
             @Param("tenantId") String tenantId,
@@ -84,8 +86,7 @@ public interface JpaEventRepository extends JpaRepository<EventEntity, UUID> {
 
     @Query("SELECT e.actorId, COUNT(e) FROM EventEntity e " +
            "WHERE e.tenantId = :tenantId " +
-           "AND (:from IS NULL OR e.timestamp >= :from) " +
-           "AND (:to IS NULL OR e.timestamp <= :to) " +
+           "AND e.timestamp >= :from AND e.timestamp <= :to " +
            "GROUP BY e.actorId")
     List<Object[]> countByActorId(
             @Param("tenantId") String tenantId,
@@ -0,0 +1,16 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+public record OutboxEntry(long id, UUID eventId, Instant createdAt, int attempts, Set<String> deliveredTo) {
+
+    public OutboxEntry(long id, UUID eventId, Instant createdAt, int attempts) {
+        this(id, eventId, createdAt, attempts, Set.of());
+    }
+
+    public OutboxEntry withDeliveredTo(Set<String> deliveredTo) {
+        return new OutboxEntry(id, eventId, createdAt, attempts, Set.copyOf(deliveredTo));
+    }
+}
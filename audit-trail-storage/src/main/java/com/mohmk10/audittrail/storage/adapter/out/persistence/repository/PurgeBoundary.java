@@ -0,0 +1,7 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PurgeBoundary(UUID eventId, String hash, Instant createdAt) {
+}
@@ -1,7 +1,9 @@
 package com.mohmk10.audittrail.storage.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 public class StorageConfig {
 }
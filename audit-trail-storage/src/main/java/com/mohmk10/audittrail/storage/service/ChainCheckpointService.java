@@ -0,0 +1,23 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ChainCheckpointService {
+
+    ChainCheckpoint record(String tenantId, UUID lastEventId, String lastHash, Instant lastCreatedAt,
+                           long eventCount, String reason);
+
+    // only a retention checkpoint may stand in for the removed prefix of a chain
+    Optional<ChainCheckpoint> findVerifiedAnchor(String tenantId, String hash);
+
+    Optional<ChainCheckpoint> findLatest(String tenantId, String reason);
+
+    List<ChainCheckpoint> findAll(String tenantId, String reason);
+
+    boolean verify(ChainCheckpoint checkpoint);
+}
@@ -0,0 +1,93 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.ChainCheckpointMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaChainCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class ChainCheckpointServiceImpl implements ChainCheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainCheckpointServiceImpl.class);
+
+    private final JpaChainCheckpointRepository checkpointRepository;
+    private final SignatureService signatureService;
+
+    public ChainCheckpointServiceImpl(JpaChainCheckpointRepository checkpointRepository,
+                                      SignatureService signatureService) {
+        this.checkpointRepository = checkpointRepository;
+        this.signatureService = signatureService;
+    }
+
+    @Override
+    @Transactional
+    public ChainCheckpoint record(String tenantId, UUID lastEventId, String lastHash, Instant lastCreatedAt,
+                                  long eventCount, String reason) {
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        ChainCheckpoint unsigned = new ChainCheckpoint(UUID.randomUUID(), tenantId, lastEventId, lastHash,
+                lastCreatedAt, eventCount, reason, createdAt, null);
+        ChainCheckpoint checkpoint = new ChainCheckpoint(unsigned.id(), tenantId, lastEventId, lastHash,
+                lastCreatedAt, eventCount, reason, createdAt, signatureService.sign(payload(unsigned)));
+        checkpointRepository.save(ChainCheckpointMapper.toEntity(checkpoint));
+        return checkpoint;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ChainCheckpoint> findVerifiedAnchor(String tenantId, String hash) {
+        // a periodic checkpoint marks a live chain; accepting one as a start would hide a deleted prefix
+        return checkpointRepository.findByTenantIdAndLastHashAndReason(tenantId, hash,
+                        RetentionEngine.CHECKPOINT_REASON).stream()
+                .map(ChainCheckpointMapper::toDomain)
+                .filter(this::verify)
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ChainCheckpoint> findLatest(String tenantId, String reason) {
+        return checkpointRepository.findTopByTenantIdAndReasonOrderByLastCreatedAtDesc(tenantId, reason)
+                .map(ChainCheckpointMapper::toDomain);
+    }
+
+    // in chain order
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChainCheckpoint> findAll(String tenantId, String reason) {
+        return checkpointRepository.findByTenantIdAndReasonOrderByLastCreatedAtAsc(tenantId, reason).stream()
+                .map(ChainCheckpointMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public boolean verify(ChainCheckpoint checkpoint) {
+        boolean valid = signatureService.verify(payload(checkpoint), checkpoint.signature());
+        if (!valid) {
+            log.warn("Chain checkpoint {} of tenant {} has an invalid signature", checkpoint.id(), checkpoint.tenantId());
+        }
+        return valid;
+    }
+
+    // every field of the checkpoint is covered, so none can be altered without breaking the signature
+    static String payload(ChainCheckpoint checkpoint) {
+        return String.join("|",
+                "checkpoint",
+                checkpoint.id().toString(),
+                checkpoint.tenantId(),
+                checkpoint.lastEventId().toString(),
+                checkpoint.lastHash(),
+                checkpoint.lastCreatedAt().toString(),
+                Long.toString(checkpoint.eventCount()),
+                checkpoint.reason(),
+                checkpoint.createdAt().toString());
+    }
+}
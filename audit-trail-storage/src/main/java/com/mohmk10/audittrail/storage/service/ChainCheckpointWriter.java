@@ -0,0 +1,103 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader.ChainLink;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader.ChainPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+
+// records a signed checkpoint every N events of each tenant chain so verification can split the chain
+@Component
+@ConditionalOnProperty(prefix = "audit-trail.storage.checkpoints", name = "enabled", havingValue = "true")
+public class ChainCheckpointWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainCheckpointWriter.class);
+
+    static final String CHECKPOINT_REASON = "PERIODIC";
+
+    private final JdbcChainReader chainReader;
+    private final ChainCheckpointService checkpointService;
+    private final int everyEvents;
+    private final long settleMillis;
+    private final int maxPerRun;
+    private final Clock clock;
+
+    @Autowired
+    public ChainCheckpointWriter(
+            JdbcChainReader chainReader,
+            ChainCheckpointService checkpointService,
+            @Value("${audit-trail.storage.checkpoints.every-events:10000}") int everyEvents,
+            @Value("${audit-trail.storage.checkpoints.settle-ms:60000}") long settleMillis,
+            @Value("${audit-trail.storage.checkpoints.max-per-run:100}") int maxPerRun) {
+        this(chainReader, checkpointService, everyEvents, settleMillis, maxPerRun, Clock.systemUTC());
+    }
+
+    public ChainCheckpointWriter(
+            JdbcChainReader chainReader,
+            ChainCheckpointService checkpointService,
+            int everyEvents,
+            long settleMillis,
+            int maxPerRun,
+            Clock clock) {
+        this.chainReader = chainReader;
+        this.checkpointService = checkpointService;
+        this.everyEvents = everyEvents;
+        this.settleMillis = settleMillis;
+        this.maxPerRun = maxPerRun;
+        this.clock = clock;
+    }
+
+    public int writeCheckpoints() {
+        int written = 0;
+        for (String tenantId : chainReader.findTenantIds()) {
+            written += writeCheckpoints(tenantId);
+        }
+        return written;
+    }
+
+    // events younger than the settle time are left alone, so a transaction still in flight
+    // cannot commit an event in front of a checkpoint
+    int writeCheckpoints(String tenantId) {
+        Instant settledBefore = clock.instant().minusMillis(settleMillis);
+        ChainPosition after = checkpointService.findLatest(tenantId, CHECKPOINT_REASON)
+                .map(checkpoint -> new ChainPosition(checkpoint.lastCreatedAt(), checkpoint.lastEventId()))
+                .orElse(null);
+
+        int written = 0;
+        while (written < maxPerRun) {
+            Optional<ChainLink> boundary = chainReader.findNth(tenantId, after, settledBefore, everyEvents);
+            if (boundary.isEmpty()) {
+                break;
+            }
+            ChainLink link = boundary.get();
+            checkpointService.record(tenantId, link.event().id(), link.event().hash(), link.createdAt(), everyEvents,
+                    CHECKPOINT_REASON);
+            log.debug("Recorded chain checkpoint of tenant {} at event {}", tenantId, link.event().id());
+            after = link.position();
+            written++;
+        }
+        return written;
+    }
+
+    @Scheduled(initialDelayString = "${audit-trail.storage.checkpoints.interval-ms:300000}",
+            fixedDelayString = "${audit-trail.storage.checkpoints.interval-ms:300000}")
+    void writeSafely() {
+        try {
+            int written = writeCheckpoints();
+            if (written > 0) {
+                log.info("Recorded {} periodic chain checkpoints", written);
+            }
+        } catch (Exception e) {
+            log.error("Chain checkpoint run failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mohmk10.audittrail.storage.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// createdAt is null when no stored event heads the chain, as for a new tenant or one emptied by retention
+public record ChainHead(String hash, Instant createdAt) {
+
+    public static ChainHead of(String hash) {
+        return new ChainHead(hash, null);
+    }
+
+    // chains are read back by (created_at, id), so the next event must sort after the head whatever the clock says
+    public Instant nextCreatedAt(Instant now) {
+        Instant createdAt = now.truncatedTo(ChronoUnit.MICROS);
+        if (this.createdAt != null && !createdAt.isAfter(this.createdAt)) {
+            return this.createdAt.truncatedTo(ChronoUnit.MICROS).plus(1, ChronoUnit.MICROS);
+        }
+        return createdAt;
+    }
+}
@@ -0,0 +1,125 @@
+package com.mohmk10.audittrail.storage.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class ChainHeadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainHeadCache.class);
+
+    public enum Mode {
+        LOCAL,
+        SHARED
+    }
+
+    private final Mode mode;
+    private final Map<String, ChainHead> heads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChainHeadCache(@Value("${audit-trail.storage.chain-head-cache.mode:local}") String mode) {
+        this(Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    public ChainHeadCache(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public ChainHead getHead(String tenantId, Function<String, ChainHead> loader) {
+        PendingHeads pending = currentPendingHeads();
+        if (pending != null && pending.latest.containsKey(tenantId)) {
+            return pending.latest.get(tenantId);
+        }
+        if (mode == Mode.SHARED) {
+            // other nodes may have appended since our last write
+            return loader.apply(tenantId);
+        }
+        return heads.computeIfAbsent(tenantId, loader);
+    }
+
+    public void advance(String tenantId, ChainHead previousHead, ChainHead newHead) {
+        if (mode == Mode.SHARED) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(tenantId, previousHead, newHead);
+            return;
+        }
+
+        PendingHeads pending = currentPendingHeads();
+        if (pending == null) {
+            pending = new PendingHeads();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.record(tenantId, previousHead, newHead);
+    }
+
+    public void evict(String tenantId) {
+        heads.remove(tenantId);
+    }
+
+    public void clear() {
+        heads.clear();
+    }
+
+    public int size() {
+        return heads.size();
+    }
+
+    private void publish(String tenantId, ChainHead expectedHead, ChainHead newHead) {
+        heads.compute(tenantId, (key, current) -> {
+            if (Objects.equals(current, expectedHead)) {
+                return newHead;
+            }
+            if (current != null) {
+                log.debug("Chain head for tenant {} moved concurrently, evicting cached head", tenantId);
+            }
+            return null;
+        });
+    }
+
+    private PendingHeads currentPendingHeads() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return (PendingHeads) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private final class PendingHeads implements TransactionSynchronization {
+
+        private final Map<String, ChainHead> base = new HashMap<>();
+        private final Map<String, ChainHead> latest = new HashMap<>();
+
+        void record(String tenantId, ChainHead previousHead, ChainHead newHead) {
+            base.putIfAbsent(tenantId, previousHead);
+            latest.put(tenantId, newHead);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChainHeadCache.this);
+            if (status == STATUS_COMMITTED) {
+                latest.forEach((tenantId, head) -> publish(tenantId, base.get(tenantId), head));
+            } else {
+                latest.keySet().forEach(ChainHeadCache.this::evict);
+            }
+        }
+    }
+}
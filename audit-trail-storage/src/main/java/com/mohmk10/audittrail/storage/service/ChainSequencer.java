@@ -0,0 +1,124 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.exception.StorageException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class ChainSequencer {
+
+    private static final String ADVISORY_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtextextended(?, 0))";
+
+    public enum Mode {
+        LOCAL,
+        ADVISORY
+    }
+
+    private final Mode mode;
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMillis;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ChainSequencer(
+            ObjectProvider<JdbcTemplate> jdbcTemplate,
+            @Value("${audit-trail.storage.chain-sequencer.mode:local}") String mode,
+            @Value("${audit-trail.storage.chain-sequencer.stripes:1024}") int stripes,
+            @Value("${audit-trail.storage.chain-sequencer.lock-timeout-ms:10000}") long lockTimeoutMillis) {
+        this(Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)), stripes, lockTimeoutMillis,
+                jdbcTemplate.getIfAvailable());
+    }
+
+    public ChainSequencer(Mode mode, int stripes, long lockTimeoutMillis, JdbcTemplate jdbcTemplate) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Chain sequencer needs at least one stripe");
+        }
+        if (mode == Mode.ADVISORY && jdbcTemplate == null) {
+            throw new IllegalStateException("Advisory chain sequencing requires a JDBC data source");
+        }
+        this.mode = mode;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // the order in which a caller locking several chains at once must take them: always the same for the same
+    // tenants, so two batches over overlapping tenants never wait on each other in a cycle. Stripes are taken
+    // lowest first; tenants sharing a stripe follow each other, the stripe being reentrant
+    public List<String> lockOrder(Collection<String> tenantIds) {
+        Comparator<String> order = mode == Mode.ADVISORY
+                ? Comparator.naturalOrder()
+                : Comparator.comparingInt(this::stripeIndex).thenComparing(Comparator.naturalOrder());
+        return tenantIds.stream().distinct().sorted(order).toList();
+    }
+
+    public <T> T sequence(String tenantId, Supplier<T> work) {
+        if (mode == Mode.ADVISORY) {
+            // the lock is released by Postgres when the surrounding transaction ends
+            jdbcTemplate.query(ADVISORY_LOCK_SQL, rs -> null, tenantId);
+            return work.get();
+        }
+
+        ReentrantLock lock = stripeFor(tenantId);
+        if (lock.isHeldByCurrentThread()) {
+            return work.get();
+        }
+        acquire(lock, tenantId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // keep the chain locked until the new head is committed or rolled back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+            return work.get();
+        }
+
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock, String tenantId) {
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new StorageException("Timed out waiting for hash chain lock of tenant " + tenantId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while waiting for hash chain lock of tenant " + tenantId, e);
+        }
+    }
+
+    private ReentrantLock stripeFor(String tenantId) {
+        return stripes[stripeIndex(tenantId)];
+    }
+
+    private int stripeIndex(String tenantId) {
+        return Math.floorMod(tenantId.hashCode(), stripes.length);
+    }
+}
@@ -0,0 +1,125 @@
+package com.mohmk10.audittrail.storage.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// progress of one streaming verification; written by the verifier threads, read by status requests
+public class ChainVerificationJob {
+
+    public enum Status {
+        RUNNING, VALID, BROKEN, CANCELLED, FAILED
+    }
+
+    private final UUID id;
+    private final String tenantId;
+    private final Instant startedAt;
+    private final LongAdder verifiedEvents = new LongAdder();
+    private final AtomicInteger completedSegments = new AtomicInteger();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile int segments;
+    private volatile UUID lastVerifiedEventId;
+    private volatile Instant lastVerifiedCreatedAt;
+    private volatile UUID brokenEventId;
+    private volatile String message;
+    private volatile Instant finishedAt;
+    private volatile boolean cancelRequested;
+
+    public ChainVerificationJob(UUID id, String tenantId, Instant startedAt) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.startedAt = startedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getVerifiedEvents() {
+        return verifiedEvents.sum();
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public int getCompletedSegments() {
+        return completedSegments.get();
+    }
+
+    public UUID getLastVerifiedEventId() {
+        return lastVerifiedEventId;
+    }
+
+    public Instant getLastVerifiedCreatedAt() {
+        return lastVerifiedCreatedAt;
+    }
+
+    public UUID getBrokenEventId() {
+        return brokenEventId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void segmented(int count) {
+        segments = count;
+    }
+
+    // segments are verified concurrently, so only counts are updated from every segment
+    void verified(int events) {
+        verifiedEvents.add(events);
+    }
+
+    void segmentCompleted() {
+        completedSegments.incrementAndGet();
+    }
+
+    // the end of the longest prefix of the chain known to be intact
+    synchronized void verifiedThrough(UUID eventId, Instant createdAt) {
+        lastVerifiedEventId = eventId;
+        lastVerifiedCreatedAt = createdAt;
+    }
+
+    void broken(UUID eventId, String reason, Instant now) {
+        brokenEventId = eventId;
+        finish(Status.BROKEN, reason, now);
+    }
+
+    void finish(Status finalStatus, String reason, Instant now) {
+        message = reason;
+        finishedAt = now;
+        status = finalStatus;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mohmk10.audittrail.storage.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ChainVerificationService {
+
+    ChainVerificationJob start(String tenantId);
+
+    Optional<ChainVerificationJob> findJob(UUID jobId);
+
+    boolean cancel(UUID jobId);
+
+    void verify(ChainVerificationJob job);
+}
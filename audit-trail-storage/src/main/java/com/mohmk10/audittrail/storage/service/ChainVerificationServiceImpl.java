@@ -0,0 +1,334 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader.ChainLink;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader.ChainPosition;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// verifies whole tenant chains page by page, so memory stays flat however long the chain is;
+// periodic checkpoints split the chain into segments that are verified in parallel
+@Service
+public class ChainVerificationServiceImpl implements ChainVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainVerificationServiceImpl.class);
+
+    // a contiguous part of the chain: after is exclusive, until inclusive; the first segment starts at the anchor
+    private record Segment(int index, ChainPosition after, ChainPosition until, String expectedStart,
+                           ChainCheckpoint end) {
+    }
+
+    private record SegmentOutcome(boolean completed, UUID brokenEventId, String reason) {
+
+        static final SegmentOutcome STOPPED = new SegmentOutcome(false, null, null);
+        static final SegmentOutcome COMPLETED = new SegmentOutcome(true, null, null);
+
+        static SegmentOutcome broken(UUID eventId, String reason) {
+            return new SegmentOutcome(false, eventId, reason);
+        }
+    }
+
+    private final JdbcChainReader chainReader;
+    private final HashChainService hashChainService;
+    private final ChainCheckpointService checkpointService;
+    private final SignatureService signatureService;
+    private final int pageSize;
+    private final boolean verifySignatures;
+    private final int retainedJobs;
+    private final Clock clock;
+    private final ExecutorService executor;
+    private final ForkJoinPool segmentPool;
+    private final Map<UUID, ChainVerificationJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChainVerificationServiceImpl(
+            JdbcChainReader chainReader,
+            HashChainService hashChainService,
+            ChainCheckpointService checkpointService,
+            SignatureService signatureService,
+            @Value("${audit-trail.storage.verification.page-size:1000}") int pageSize,
+            @Value("${audit-trail.storage.verification.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${audit-trail.storage.verification.parallelism:0}") int parallelism,
+            @Value("${audit-trail.storage.verification.verify-signatures:true}") boolean verifySignatures,
+            @Value("${audit-trail.storage.verification.retained-jobs:100}") int retainedJobs) {
+        this(chainReader, hashChainService, checkpointService, signatureService, pageSize, maxConcurrentJobs,
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), verifySignatures,
+                retainedJobs, Clock.systemUTC());
+    }
+
+    public ChainVerificationServiceImpl(
+            JdbcChainReader chainReader,
+            HashChainService hashChainService,
+            ChainCheckpointService checkpointService,
+            SignatureService signatureService,
+            int pageSize,
+            int maxConcurrentJobs,
+            int parallelism,
+            boolean verifySignatures,
+            int retainedJobs,
+            Clock clock) {
+        this.chainReader = chainReader;
+        this.hashChainService = hashChainService;
+        this.checkpointService = checkpointService;
+        this.signatureService = signatureService;
+        this.pageSize = pageSize;
+        this.verifySignatures = verifySignatures;
+        this.retainedJobs = retainedJobs;
+        this.clock = clock;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentJobs, runnable -> {
+            Thread thread = new Thread(runnable, "chain-verifier-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger workerCount = new AtomicInteger();
+        this.segmentPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("chain-verifier-segment-" + workerCount.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    // a tenant has at most one running verification; starting again returns the running job
+    @Override
+    public synchronized ChainVerificationJob start(String tenantId) {
+        Optional<ChainVerificationJob> running = jobs.values().stream()
+                .filter(job -> job.isRunning() && job.getTenantId().equals(tenantId))
+                .findFirst();
+        if (running.isPresent()) {
+            return running.get();
+        }
+
+        evictFinishedJobs();
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), tenantId, clock.instant());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> verify(job));
+        } catch (RejectedExecutionException e) {
+            job.finish(ChainVerificationJob.Status.FAILED, "Verifier is shutting down", clock.instant());
+        }
+        return job;
+    }
+
+    @Override
+    public Optional<ChainVerificationJob> findJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Override
+    public boolean cancel(UUID jobId) {
+        ChainVerificationJob job = jobs.get(jobId);
+        if (job == null || !job.isRunning()) {
+            return false;
+        }
+        job.requestCancel();
+        return true;
+    }
+
+    @Override
+    public void verify(ChainVerificationJob job) {
+        String tenantId = job.getTenantId();
+        try {
+            List<ChainLink> first = chainReader.readPage(tenantId, null, null, 1);
+            if (first.isEmpty()) {
+                job.finish(ChainVerificationJob.Status.VALID, null, clock.instant());
+                return;
+            }
+
+            List<Segment> segments = plan(tenantId, first.get(0));
+            job.segmented(segments.size());
+            AtomicInteger firstBrokenSegment = new AtomicInteger(Integer.MAX_VALUE);
+            PrefixTracker prefix = new PrefixTracker(job, segments.size());
+            List<Callable<SegmentOutcome>> tasks = segments.stream()
+                    .map(segment -> (Callable<SegmentOutcome>) () -> verifySegment(job, segment, firstBrokenSegment, prefix))
+                    .toList();
+            List<SegmentOutcome> outcomes = segments.size() == 1
+                    ? List.of(tasks.get(0).call())
+                    : collect(segmentPool.invokeAll(tasks));
+
+            // segments are reported in chain order, so the first break found is the first broken link
+            for (SegmentOutcome outcome : outcomes) {
+                if (outcome.brokenEventId() != null) {
+                    job.broken(outcome.brokenEventId(), outcome.reason(), clock.instant());
+                    log.warn("Chain of tenant {} is broken at event {}: {}", tenantId, outcome.brokenEventId(),
+                            outcome.reason());
+                    return;
+                }
+                if (!outcome.completed()) {
+                    job.finish(ChainVerificationJob.Status.CANCELLED,
+                            "Cancelled after " + job.getVerifiedEvents() + " events", clock.instant());
+                    return;
+                }
+            }
+            job.finish(ChainVerificationJob.Status.VALID, null, clock.instant());
+            log.info("Verified chain of tenant {}: {} events in {} segments", tenantId, job.getVerifiedEvents(),
+                    segments.size());
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Chain verification of tenant {} failed: {}", tenantId, cause.getMessage(), cause);
+            job.finish(ChainVerificationJob.Status.FAILED, cause.getMessage(), clock.instant());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ChainVerificationJob::requestCancel);
+        executor.shutdown();
+        segmentPool.shutdown();
+    }
+
+    // periodic checkpoints behind the first remaining event point at events removed by retention and are skipped
+    private List<Segment> plan(String tenantId, ChainLink first) {
+        List<ChainCheckpoint> boundaries = checkpointService.findAll(tenantId, ChainCheckpointWriter.CHECKPOINT_REASON)
+                .stream()
+                .filter(checkpoint -> positionOf(checkpoint).compareTo(first.position()) >= 0)
+                .filter(checkpoint -> !verifySignatures || checkpointService.verify(checkpoint))
+                .toList();
+
+        List<Segment> segments = new ArrayList<>(boundaries.size() + 1);
+        ChainPosition after = null;
+        String expectedStart = null;
+        for (ChainCheckpoint boundary : boundaries) {
+            segments.add(new Segment(segments.size(), after, positionOf(boundary), expectedStart, boundary));
+            after = positionOf(boundary);
+            expectedStart = boundary.lastHash();
+        }
+        segments.add(new Segment(segments.size(), after, null, expectedStart, null));
+        return segments;
+    }
+
+    private SegmentOutcome verifySegment(ChainVerificationJob job, Segment segment, AtomicInteger firstBrokenSegment,
+                                         PrefixTracker prefix) {
+        String tenantId = job.getTenantId();
+        String expectedPreviousHash = segment.expectedStart();
+        ChainPosition after = segment.after();
+        ChainLink last = null;
+        while (true) {
+            // a break in an earlier segment already decides the result
+            if (job.isCancelRequested() || firstBrokenSegment.get() < segment.index()) {
+                return SegmentOutcome.STOPPED;
+            }
+            List<ChainLink> page = chainReader.readPage(tenantId, after, segment.until(), pageSize);
+            int verified = 0;
+            for (ChainLink link : page) {
+                Event event = link.event();
+                if (expectedPreviousHash == null) {
+                    expectedPreviousHash = hashChainService.resolveAnchor(event);
+                }
+                String problem = check(link, expectedPreviousHash);
+                if (problem != null) {
+                    job.verified(verified);
+                    firstBrokenSegment.accumulateAndGet(segment.index(), Math::min);
+                    return SegmentOutcome.broken(event.id(), problem);
+                }
+                expectedPreviousHash = event.hash();
+                last = link;
+                verified++;
+            }
+            job.verified(verified);
+            if (page.size() < pageSize) {
+                break;
+            }
+            after = page.get(page.size() - 1).position();
+        }
+
+        ChainCheckpoint end = segment.end();
+        if (end != null && (last == null || !last.event().id().equals(end.lastEventId())
+                || !last.event().hash().equals(end.lastHash()))) {
+            firstBrokenSegment.accumulateAndGet(segment.index(), Math::min);
+            return SegmentOutcome.broken(end.lastEventId(), "Chain does not match checkpoint " + end.id());
+        }
+        job.segmentCompleted();
+        prefix.completed(segment.index(), last);
+        return SegmentOutcome.COMPLETED;
+    }
+
+    private String check(ChainLink link, String expectedPreviousHash) {
+        Event event = link.event();
+        if (!expectedPreviousHash.equals(event.previousHash())) {
+            return "Previous hash does not match the preceding event";
+        }
+        if (!hashChainService.calculateHash(event, event.previousHash(), link.hashVersion()).equals(event.hash())) {
+            return "Stored hash does not match the event content";
+        }
+        if (verifySignatures && !signatureService.verify(event.hash(), event.signature())) {
+            return "Signature does not match the event hash";
+        }
+        return null;
+    }
+
+    private static List<SegmentOutcome> collect(List<Future<SegmentOutcome>> futures)
+            throws InterruptedException, ExecutionException {
+        List<SegmentOutcome> outcomes = new ArrayList<>(futures.size());
+        for (Future<SegmentOutcome> future : futures) {
+            outcomes.add(future.get());
+        }
+        return outcomes;
+    }
+
+    private static ChainPosition positionOf(ChainCheckpoint checkpoint) {
+        return new ChainPosition(checkpoint.lastCreatedAt(), checkpoint.lastEventId());
+    }
+
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - retainedJobs + 1;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> !job.isRunning())
+                .sorted(Comparator.comparing(ChainVerificationJob::getFinishedAt))
+                .limit(excess)
+                .toList()
+                .forEach(job -> jobs.remove(job.getId()));
+    }
+
+    // moves the job's "verified through" marker as segments complete out of order
+    private static final class PrefixTracker {
+        private final ChainVerificationJob job;
+        private final ChainLink[] ends;
+        private final boolean[] done;
+        private int next;
+
+        private PrefixTracker(ChainVerificationJob job, int segments) {
+            this.job = job;
+            this.ends = new ChainLink[segments];
+            this.done = new boolean[segments];
+        }
+
+        synchronized void completed(int index, ChainLink last) {
+            ends[index] = last;
+            done[index] = true;
+            while (next < done.length && done[next]) {
+                if (ends[next] != null) {
+                    job.verifiedThrough(ends[next].event().id(), ends[next].createdAt());
+                }
+                next++;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.mohmk10.audittrail.storage.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+// partitions are only ever created here. They are keyed on the client timestamp while the hash chain is ordered
+// by created_at, so dropping or detaching one would cut events out of the middle of chains without a checkpoint;
+// expired events are removed by RetentionEngine instead, which anchors what it deletes and evicts it from caches.
+// On by default: V9 partitions the table unconditionally, and without partitions ahead of the clock every new
+// event lands in events_default, after which no partition overlapping those rows can be created
+@Component
+@ConditionalOnProperty(prefix = "audit-trail.storage.partitioning", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class EventPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPartitionManager.class);
+
+    private static final String PARTITION_PREFIX = "events_p";
+
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF events FOR VALUES FROM ('%s') TO ('%s')";
+
+    private static final String LIST_SQL = """
+            SELECT child.relname FROM pg_inherits i
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = 'events'
+            """;
+
+
+    public enum Granularity {
+        DAILY(DateTimeFormatter.ofPattern("yyyy_MM_dd")),
+        MONTHLY(DateTimeFormatter.ofPattern("yyyy_MM"));
+
+        private final DateTimeFormatter suffix;
+
+        Granularity(DateTimeFormatter suffix) {
+            this.suffix = suffix;
+        }
+
+        LocalDate periodStart(LocalDate date) {
+            return this == DAILY ? date : date.withDayOfMonth(1);
+        }
+
+        LocalDate plus(LocalDate periodStart, long periods) {
+            return this == DAILY ? periodStart.plusDays(periods) : periodStart.plusMonths(periods);
+        }
+
+        String partitionName(LocalDate periodStart) {
+            return PARTITION_PREFIX + suffix.format(periodStart);
+        }
+    }
+
+    // a partition covers [start, end); names written by either granularity (or by the V9 migration) are recognised
+    record PartitionRange(String name, LocalDate start, LocalDate end) {
+
+        static Optional<PartitionRange> parse(String name) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                return Optional.empty();
+            }
+            String suffix = name.substring(PARTITION_PREFIX.length());
+            try {
+                if (suffix.length() == 10) {
+                    LocalDate day = LocalDate.parse(suffix, Granularity.DAILY.suffix);
+                    return Optional.of(new PartitionRange(name, day, day.plusDays(1)));
+                }
+                if (suffix.length() == 7) {
+                    LocalDate month = LocalDate.parse(suffix + "_01", Granularity.DAILY.suffix);
+                    return Optional.of(new PartitionRange(name, month, month.plusMonths(1)));
+                }
+            } catch (DateTimeParseException e) {
+                log.debug("Ignoring partition {} with unrecognised suffix", name);
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Granularity granularity;
+    private final int premake;
+    private final Clock clock;
+
+    @Autowired
+    public EventPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${audit-trail.storage.partitioning.granularity:monthly}") String granularity,
+            @Value("${audit-trail.storage.partitioning.premake:3}") int premake) {
+        this(jdbcTemplate, Granularity.valueOf(granularity.toUpperCase(Locale.ROOT)), premake, Clock.systemUTC());
+    }
+
+    public EventPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            Granularity granularity,
+            int premake,
+            Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.granularity = granularity;
+        this.premake = premake;
+        this.clock = clock;
+    }
+
+    public void maintain() {
+        createPartitions(granularity.periodStart(LocalDate.now(clock)));
+    }
+
+    @Scheduled(fixedDelayString = "${audit-trail.storage.partitioning.check-interval-ms:3600000}")
+    void maintainSafely() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.error("Event partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createPartitions(LocalDate current) {
+        // a range already covered, typically a day of a monthly partition after switching granularity, is skipped
+        List<PartitionRange> existing = jdbcTemplate.queryForList(LIST_SQL, String.class).stream()
+                .flatMap(name -> PartitionRange.parse(name).stream())
+                .toList();
+        for (int i = 0; i <= premake; i++) {
+            LocalDate start = granularity.plus(current, i);
+            LocalDate end = granularity.plus(start, 1);
+            if (existing.stream().anyMatch(range -> !range.start().isAfter(start) && !range.end().isBefore(end))) {
+                continue;
+            }
+            String name = granularity.partitionName(start);
+            try {
+                jdbcTemplate.execute(CREATE_SQL.formatted(name, bound(start), bound(end)));
+            } catch (DataAccessException e) {
+                log.warn("Could not create event partition {} [{}, {}); events of that range stay in events_default "
+                        + "until rows overlapping it are moved out: {}", name, start, end, e.getMessage());
+            }
+        }
+    }
+
+    private static String bound(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toString();
+    }
+}
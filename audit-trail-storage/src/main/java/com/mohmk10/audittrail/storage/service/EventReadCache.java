@@ -0,0 +1,424 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.event.PurgedEventsHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// stored events by id, bounded by an estimate of their heap size. Events never change once stored, so entries are
+// only dropped by eviction or retention. A purge only reaches the cache of the instance that ran it, so entries
+// also expire ttlMillis after they were cached, which bounds how long another instance serves a purged event.
+// New entries go through a small LRU window; an entry leaving the window only
+// displaces an entry of the main LRU region when it has been requested more often (W-TinyLFU), so one-off reads of
+// old events do not flush the hot set. Lookups go through a concurrent index and a lock-free sketch; they only
+// refresh the recency order when the lock is free, so contended reads never queue behind each other
+@Component
+public class EventReadCache implements PurgedEventsHandler {
+
+    private static final int WINDOW_PERCENT = 1;
+
+    // rough per-object overheads on a 64-bit JVM with compressed oops
+    private static final int ENTRY_OVERHEAD = 400;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int MAP_ENTRY_OVERHEAD = 48;
+
+    private final long maxWeight;
+    private final long maxWindowWeight;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final LinkedHashMap<UUID, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<UUID, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+    private long windowWeight;
+    private long mainWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public EventReadCache(
+            @Value("${audit-trail.storage.event-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${audit-trail.storage.event-cache.ttl-ms:300000}") long ttlMillis,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(maxBytes, ttlMillis, meterRegistry.getIfAvailable(), System::nanoTime);
+    }
+
+    public EventReadCache(long maxBytes) {
+        this(maxBytes, (MeterRegistry) null);
+    }
+
+    public EventReadCache(long maxBytes, MeterRegistry meterRegistry) {
+        this(maxBytes, 0, meterRegistry, System::nanoTime);
+    }
+
+    // a null registry skips the metrics; maxBytes 0 disables the cache and ttlMillis 0 keeps entries until evicted
+    EventReadCache(long maxBytes, long ttlMillis, MeterRegistry meterRegistry, LongSupplier ticker) {
+        this.maxWeight = Math.max(0, maxBytes);
+        this.maxWindowWeight = Math.max(1, maxWeight * WINDOW_PERCENT / 100);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+        this.ticker = ticker;
+        this.sketch = new FrequencySketch(Math.max(16, maxWeight / ENTRY_OVERHEAD));
+        if (meterRegistry != null) {
+            registerMetrics(meterRegistry);
+        }
+    }
+
+    public Optional<Event> get(UUID id) {
+        if (maxWeight == 0) {
+            return Optional.empty();
+        }
+        sketch.increment(id);
+        Entry entry = entries.get(id);
+        if (entry != null && !isExpired(entry) && lock.tryLock()) {
+            try {
+                if (window.get(id) == null) {
+                    main.get(id);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (entry != null && isExpired(entry)) {
+            invalidate(id);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(entry.event());
+    }
+
+    public void put(Event event) {
+        if (maxWeight == 0 || event == null || event.id() == null) {
+            return;
+        }
+        long weight = weigh(event);
+        if (weight > maxWeight - maxWindowWeight) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (entries.containsKey(event.id())) {
+                return;
+            }
+            Entry entry = new Entry(event, weight, ticker.getAsLong());
+            window.put(event.id(), entry);
+            entries.put(event.id(), entry);
+            windowWeight += weight;
+            drainWindow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the transaction writing these events may still roll back, so they become visible only once it commits
+    public void putAfterCommit(List<Event> events) {
+        if (maxWeight == 0 || events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            events.forEach(this::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.forEach(EventReadCache.this::put);
+            }
+        });
+    }
+
+    public void invalidate(UUID id) {
+        lock.lock();
+        try {
+            if (entries.remove(id) == null) {
+                return;
+            }
+            Entry entry = window.remove(id);
+            if (entry != null) {
+                windowWeight -= entry.weight();
+                return;
+            }
+            entry = main.remove(id);
+            if (entry != null) {
+                mainWeight -= entry.weight();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            window.clear();
+            main.clear();
+            windowWeight = 0;
+            mainWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onPurged(String tenantId, List<UUID> eventIds) {
+        eventIds.forEach(this::invalidate);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long weight() {
+        lock.lock();
+        try {
+            return windowWeight + mainWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    private boolean isExpired(Entry entry) {
+        return ttlNanos > 0 && ticker.getAsLong() - entry.cachedAt() >= ttlNanos;
+    }
+
+    // entries leaving the window compete with the least recently used main entries for admission
+    private void drainWindow() {
+        long maxMainWeight = maxWeight - maxWindowWeight;
+        Iterator<Map.Entry<UUID, Entry>> candidates = window.entrySet().iterator();
+        while (windowWeight > maxWindowWeight && candidates.hasNext()) {
+            Map.Entry<UUID, Entry> candidate = candidates.next();
+            candidates.remove();
+            windowWeight -= candidate.getValue().weight();
+            if (admit(candidate.getKey(), candidate.getValue().weight(), maxMainWeight)) {
+                main.put(candidate.getKey(), candidate.getValue());
+                mainWeight += candidate.getValue().weight();
+            } else {
+                entries.remove(candidate.getKey());
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean admit(UUID candidateId, long candidateWeight, long maxMainWeight) {
+        if (mainWeight + candidateWeight <= maxMainWeight) {
+            return true;
+        }
+        int candidateFrequency = sketch.frequency(candidateId);
+        List<UUID> victims = new ArrayList<>();
+        long freed = 0;
+        for (Map.Entry<UUID, Entry> victim : main.entrySet()) {
+            if (mainWeight - freed + candidateWeight <= maxMainWeight) {
+                break;
+            }
+            if (sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                return false;
+            }
+            victims.add(victim.getKey());
+            freed += victim.getValue().weight();
+        }
+        for (UUID victim : victims) {
+            main.remove(victim);
+            entries.remove(victim);
+        }
+        mainWeight -= freed;
+        evictions.addAndGet(victims.size());
+        return true;
+    }
+
+    static long weigh(Event event) {
+        long weight = ENTRY_OVERHEAD;
+        weight += weigh(event.previousHash()) + weigh(event.hash()) + weigh(event.signature());
+        if (event.actor() != null) {
+            weight += weigh(event.actor().id()) + weigh(event.actor().name()) + weigh(event.actor().ip())
+                    + weigh(event.actor().userAgent()) + weighMap(event.actor().attributes());
+        }
+        if (event.action() != null) {
+            weight += weigh(event.action().description()) + weigh(event.action().category());
+        }
+        if (event.resource() != null) {
+            weight += weigh(event.resource().id()) + weigh(event.resource().name())
+                    + weighMap(event.resource().before()) + weighMap(event.resource().after());
+        }
+        if (event.metadata() != null) {
+            weight += weigh(event.metadata().source()) + weigh(event.metadata().tenantId())
+                    + weigh(event.metadata().correlationId()) + weigh(event.metadata().sessionId())
+                    + weighMap(event.metadata().tags()) + weighMap(event.metadata().extra());
+        }
+        return weight;
+    }
+
+    private static long weigh(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return STRING_OVERHEAD + string.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return weighMap(map);
+        }
+        if (value instanceof Iterable<?> iterable) {
+            long weight = STRING_OVERHEAD;
+            for (Object element : iterable) {
+                weight += weigh(element) + 8;
+            }
+            return weight;
+        }
+        return STRING_OVERHEAD;
+    }
+
+    private static long weighMap(Map<?, ?> map) {
+        if (map == null) {
+            return 0;
+        }
+        long weight = MAP_ENTRY_OVERHEAD;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            weight += MAP_ENTRY_OVERHEAD + weigh(entry.getKey()) + weigh(entry.getValue());
+        }
+        return weight;
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("audit.event-cache.size", this, EventReadCache::size)
+                .description("Events held by the read cache")
+                .register(meterRegistry);
+        Gauge.builder("audit.event-cache.weight", this, EventReadCache::weight)
+                .description("Estimated heap size of the cached events")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        registerCounter(meterRegistry, "audit.event-cache.hits", "Event lookups served from the read cache", hits);
+        registerCounter(meterRegistry, "audit.event-cache.misses", "Event lookups that went to the database", misses);
+        registerCounter(meterRegistry, "audit.event-cache.evictions", "Events dropped or not admitted for space",
+                evictions);
+    }
+
+    private static void registerCounter(MeterRegistry meterRegistry, String name, String description,
+                                        AtomicLong value) {
+        FunctionCounter.builder(name, value, AtomicLong::doubleValue)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private record Entry(Event event, long weight, long cachedAt) {
+    }
+
+    // count-min sketch of 4-bit counters, four per 64-bit word, updated with compare-and-set so reads need no
+    // lock; every counter is halved once the sample size is reached so that popularity decays
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final AtomicLongArray table;
+        private final int sampleSize;
+        private final AtomicInteger additions = new AtomicInteger();
+
+        FrequencySketch(long expectedEntries) {
+            int size = Integer.highestOneBit((int) Math.min(1 << 24, Math.max(4, expectedEntries)) - 1) << 1;
+            this.table = new AtomicLongArray(size);
+            this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * size);
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+            }
+            // only the addition reaching the sample size resets, the others keep counting meanwhile
+            if (added && additions.incrementAndGet() == sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int count = (int) ((table.get(indexOf(hash, i)) >>> offsetOf(hash, i)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        // false when the counter is saturated
+        private boolean incrementAt(int index, int offset) {
+            while (true) {
+                long word = table.get(index);
+                if (((word >>> offset) & 0xfL) == 0xfL) {
+                    return false;
+                }
+                if (table.compareAndSet(index, word, word + (1L << offset))) {
+                    return true;
+                }
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length(); i++) {
+                table.getAndUpdate(i, word -> (word >>> 1) & RESET_MASK);
+            }
+            additions.addAndGet(-(sampleSize - sampleSize / 2));
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & (table.length() - 1);
+        }
+
+        // each hash function picks one of its own four counters within the word
+        private static int offsetOf(int hash, int i) {
+            int counter = (i << 2) + ((hash >>> (i << 3)) & 3);
+            return counter << 2;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
@@ -7,7 +7,14 @@ public interface HashChainService {
 
     String calculateHash(Event event, String previousHash);
 
-    boolean verifyChain(List<Event> events);
+    String calculateHash(Event event, String previousHash, int hashVersion);
+
+    // hashVersions holds the stored hash version of each event, in the same order
+    boolean verifyChain(List<Event> events, List<Integer> hashVersions);
 
     String getLastHash(String tenantId);
+
+    ChainHead getLastHead(String tenantId);
+
+    String resolveAnchor(Event first);
 }
@@ -1,47 +1,71 @@
 package com.mohmk10.audittrail.storage.service;
 
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
+import com.mohmk10.audittrail.core.crypto.Crypto;
 import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.HexFormat;
 import java.util.List;
 
 @Service
 public class HashChainServiceImpl implements HashChainService {
 
     public static final String GENESIS_HASH = "GENESIS";
-    private static final String HASH_ALGORITHM = "SHA-256";
 
     private final JpaEventRepository jpaEventRepository;
+    private final ChainCheckpointService checkpointService;
 
-    public HashChainServiceImpl(JpaEventRepository jpaEventRepository) {
+    @Autowired
+    public HashChainServiceImpl(JpaEventRepository jpaEventRepository, ChainCheckpointService checkpointService) {
         this.jpaEventRepository = jpaEventRepository;
+        this.checkpointService = checkpointService;
+    }
+
+    public HashChainServiceImpl(JpaEventRepository jpaEventRepository) {
+        this(jpaEventRepository, null);
     }
 
     @Override
     public String calculateHash(Event event, String previousHash) {
-        String dataToHash = buildHashData(event, previousHash);
-        return computeSha256(dataToHash);
+        return calculateHash(event, previousHash, CanonicalHashInput.CURRENT_VERSION);
     }
 
+    // events keep the version they were hashed with, so rows written before the canonical encoding still verify
     @Override
-    public boolean verifyChain(List<Event> events) {
+    public String calculateHash(Event event, String previousHash, int hashVersion) {
+        String chainedHash = previousHash != null ? previousHash : GENESIS_HASH;
+        return switch (hashVersion) {
+            case CanonicalHashInput.LEGACY_VERSION -> computeSha256(buildHashData(event, chainedHash));
+            case CanonicalHashInput.CURRENT_VERSION -> {
+                MessageDigest digest = Crypto.sha256();
+                CanonicalHashInput.write(digest, event, chainedHash);
+                yield Crypto.toHex(digest.digest());
+            }
+            default -> throw new IllegalArgumentException("Unsupported hash version: " + hashVersion);
+        };
+    }
+
+    @Override
+    public boolean verifyChain(List<Event> events, List<Integer> hashVersions) {
         if (events == null || events.isEmpty()) {
             return true;
         }
+        if (hashVersions == null || hashVersions.size() != events.size()) {
+            throw new IllegalArgumentException("Expected one hash version per event");
+        }
 
-        String expectedPreviousHash = GENESIS_HASH;
+        String expectedPreviousHash = resolveAnchor(events.get(0));
 
-        for (Event event : events) {
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
             if (!expectedPreviousHash.equals(event.previousHash())) {
                 return false;
             }
 
-            String calculatedHash = calculateHash(event, event.previousHash());
+            String calculatedHash = calculateHash(event, event.previousHash(), hashVersions.get(i));
             if (!calculatedHash.equals(event.hash())) {
                 return false;
             }
@@ -54,8 +78,36 @@ public class HashChainServiceImpl implements HashChainService {
 
     @Override
     public String getLastHash(String tenantId) {
+        return getLastHead(tenantId).hash();
+    }
+
+    @Override
+    public ChainHead getLastHead(String tenantId) {
         return jpaEventRepository.findTopByTenantIdOrderByCreatedAtDesc(tenantId)
-                .map(entity -> entity.getHash())
+                .map(entity -> new ChainHead(entity.getHash(), entity.getCreatedAt()))
+                .orElseGet(() -> ChainHead.of(lastCheckpointHash(tenantId)));
+    }
+
+    // a chain whose prefix was removed starts at the hash recorded by a signed checkpoint instead of GENESIS
+    @Override
+    public String resolveAnchor(Event first) {
+        String previousHash = first.previousHash();
+        if (checkpointService == null || previousHash == null || GENESIS_HASH.equals(previousHash)) {
+            return GENESIS_HASH;
+        }
+        String tenantId = first.metadata() != null ? first.metadata().tenantId() : "default";
+        return checkpointService.findVerifiedAnchor(tenantId, previousHash)
+                .map(checkpoint -> checkpoint.lastHash())
+                .orElse(GENESIS_HASH);
+    }
+
+    // keeps the chain continuous when retention removed every stored event of the tenant
+    private String lastCheckpointHash(String tenantId) {
+        if (checkpointService == null) {
+            return GENESIS_HASH;
+        }
+        return checkpointService.findLatest(tenantId, RetentionEngine.CHECKPOINT_REASON)
+                .map(checkpoint -> checkpoint.lastHash())
                 .orElse(GENESIS_HASH);
     }
 
@@ -65,17 +117,11 @@ public class HashChainServiceImpl implements HashChainService {
         sb.append(event.actor().id());
         sb.append(event.action().type().name());
         sb.append(event.resource().id());
-        sb.append(previousHash != null ? previousHash : GENESIS_HASH);
+        sb.append(previousHash);
         return sb.toString();
     }
 
     private String computeSha256(String data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-            byte[] hashBytes = digest.digest(data.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hashBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
-        }
+        return Crypto.sha256Hex(data);
     }
 }
@@ -1,6 +1,7 @@
 package com.mohmk10.audittrail.storage.service;
 
 import com.mohmk10.audittrail.core.domain.Event;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,4 +15,6 @@ public interface ImmutableStorageService {
     Optional<Event> findById(UUID id);
 
     boolean verifyIntegrity(UUID eventId);
+
+    long countStoredSince(String tenantId, Instant since);
 }
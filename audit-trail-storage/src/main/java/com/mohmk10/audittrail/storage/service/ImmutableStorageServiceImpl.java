@@ -3,11 +3,18 @@ package com.mohmk10.audittrail.storage.service;
 import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventBatchWriter;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventOutbox;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,63 +22,79 @@ import java.util.UUID;
 public class ImmutableStorageServiceImpl implements ImmutableStorageService {
 
     private final JpaEventRepository jpaEventRepository;
+    private final JdbcEventBatchWriter eventBatchWriter;
+    private final JdbcEventOutbox eventOutbox;
     private final HashChainService hashChainService;
     private final SignatureService signatureService;
+    private final ChainHeadCache chainHeadCache;
+    private final ChainSequencer chainSequencer;
+    private final EventReadCache eventReadCache;
 
     public ImmutableStorageServiceImpl(
             JpaEventRepository jpaEventRepository,
+            JdbcEventBatchWriter eventBatchWriter,
+            JdbcEventOutbox eventOutbox,
             HashChainService hashChainService,
-            SignatureService signatureService) {
+            SignatureService signatureService,
+            ChainHeadCache chainHeadCache,
+            ChainSequencer chainSequencer,
+            EventReadCache eventReadCache) {
         this.jpaEventRepository = jpaEventRepository;
+        this.eventBatchWriter = eventBatchWriter;
+        this.eventOutbox = eventOutbox;
         this.hashChainService = hashChainService;
         this.signatureService = signatureService;
+        this.chainHeadCache = chainHeadCache;
+        this.chainSequencer = chainSequencer;
+        this.eventReadCache = eventReadCache;
     }
 
     @Override
     @Transactional
     public Event store(Event event) {
-        String tenantId = event.metadata() != null ? event.metadata().tenantId() : "default";
-        String previousHash = hashChainService.getLastHash(tenantId);
-        String hash = hashChainService.calculateHash(event, previousHash);
-        String signature = signatureService.sign(hash);
-
-        Event securedEvent = new Event(
-                event.id(),
-                event.timestamp(),
-                event.actor(),
-                event.action(),
-                event.resource(),
-                event.metadata(),
-                previousHash,
-                hash,
-                signature
-        );
-
-        EventEntity entity = EventMapper.toEntity(securedEvent);
-        EventEntity savedEntity = jpaEventRepository.save(entity);
-        return EventMapper.toDomain(savedEntity);
+        String tenantId = tenantOf(event);
+        return chainSequencer.sequence(tenantId, () -> appendToChain(tenantId, event));
     }
 
     @Override
     @Transactional
     public List<Event> storeBatch(List<Event> events) {
-        List<Event> storedEvents = new ArrayList<>();
-        for (Event event : events) {
-            storedEvents.add(store(event));
+        Map<String, List<Integer>> positionsByTenant = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            positionsByTenant.computeIfAbsent(tenantOf(events.get(i)), key -> new ArrayList<>()).add(i);
         }
-        return storedEvents;
+
+        // the chain locks are held until commit, so they are taken in the sequencer's fixed order rather than
+        // the order tenants first appear in the batch
+        Event[] storedEvents = new Event[events.size()];
+        for (String tenantId : chainSequencer.lockOrder(positionsByTenant.keySet())) {
+            List<Integer> positions = positionsByTenant.get(tenantId);
+            List<Event> segment = positions.stream().map(events::get).toList();
+            List<Event> stored = chainSequencer.sequence(tenantId, () -> appendSegment(tenantId, segment));
+            for (int i = 0; i < positions.size(); i++) {
+                storedEvents[positions.get(i)] = stored.get(i);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(storedEvents));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Event> findById(UUID id) {
-        return jpaEventRepository.findById(id)
+        Optional<Event> cached = eventReadCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<Event> event = jpaEventRepository.findById(id)
                 .map(EventMapper::toDomain);
+        event.ifPresent(eventReadCache::put);
+        return event;
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean verifyIntegrity(UUID eventId) {
+        // always the stored row, never the read cache, so a row changed in the database is detected
         Optional<EventEntity> entityOpt = jpaEventRepository.findById(eventId);
         if (entityOpt.isEmpty()) {
             return false;
@@ -80,11 +103,101 @@ public class ImmutableStorageServiceImpl implements ImmutableStorageService {
         EventEntity entity = entityOpt.get();
         Event event = EventMapper.toDomain(entity);
 
-        String recalculatedHash = hashChainService.calculateHash(event, event.previousHash());
+        String recalculatedHash = hashChainService.calculateHash(event, event.previousHash(), entity.getHashVersion());
         if (!recalculatedHash.equals(event.hash())) {
             return false;
         }
 
         return signatureService.verify(event.hash(), event.signature());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countStoredSince(String tenantId, Instant since) {
+        return jpaEventRepository.countByTenantIdAndCreatedAtGreaterThanEqual(tenantId, since);
+    }
+
+    private Event appendToChain(String tenantId, Event pending) {
+        Event event = atStoredPrecision(pending);
+        ChainHead head = chainHeadCache.getHead(tenantId, hashChainService::getLastHead);
+        String previousHash = head.hash();
+        String hash = hashChainService.calculateHash(event, previousHash);
+        String signature = signatureService.sign(hash);
+
+        Event securedEvent = new Event(
+                event.id(),
+                event.timestamp(),
+                event.actor(),
+                event.action(),
+                event.resource(),
+                event.metadata(),
+                previousHash,
+                hash,
+                signature
+        );
+
+        EventEntity entity = EventMapper.toEntity(securedEvent);
+        Instant createdAt = head.nextCreatedAt(Instant.now());
+        entity.setCreatedAt(createdAt);
+        EventEntity savedEntity = jpaEventRepository.save(entity);
+        eventOutbox.append(List.of(securedEvent));
+        chainHeadCache.advance(tenantId, head, new ChainHead(hash, createdAt));
+        Event stored = EventMapper.toDomain(savedEntity);
+        eventReadCache.putAfterCommit(List.of(stored));
+        return stored;
+    }
+
+    private List<Event> appendSegment(String tenantId, List<Event> segment) {
+        ChainHead head = chainHeadCache.getHead(tenantId, hashChainService::getLastHead);
+
+        List<Event> events = segment.stream().map(ImmutableStorageServiceImpl::atStoredPrecision).toList();
+        List<String> hashes = new ArrayList<>(events.size());
+        String previousHash = head.hash();
+        for (Event event : events) {
+            previousHash = hashChainService.calculateHash(event, previousHash);
+            hashes.add(previousHash);
+        }
+        List<String> signatures = signatureService.signAll(hashes);
+
+        List<Event> securedEvents = new ArrayList<>(events.size());
+        previousHash = head.hash();
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            securedEvents.add(new Event(
+                    event.id(),
+                    event.timestamp(),
+                    event.actor(),
+                    event.action(),
+                    event.resource(),
+                    event.metadata(),
+                    previousHash,
+                    hashes.get(i),
+                    signatures.get(i)
+            ));
+            previousHash = hashes.get(i);
+        }
+
+        Instant firstCreatedAt = head.nextCreatedAt(Instant.now());
+        eventBatchWriter.insert(securedEvents, firstCreatedAt);
+        eventOutbox.append(securedEvents);
+        chainHeadCache.advance(tenantId, head,
+                new ChainHead(previousHash, firstCreatedAt.plus(securedEvents.size() - 1, ChronoUnit.MICROS)));
+        eventReadCache.putAfterCommit(securedEvents);
+        return securedEvents;
+    }
+
+    // the events table keeps microseconds; hashing at that precision keeps the hash, the row and the event
+    // returned (and cached) here in agreement, however precise the clock that stamped the event
+    private static Event atStoredPrecision(Event event) {
+        Instant timestamp = event.timestamp();
+        if (timestamp == null || timestamp.getNano() % 1000 == 0) {
+            return event;
+        }
+        return new Event(event.id(), timestamp.truncatedTo(ChronoUnit.MICROS), event.actor(), event.action(),
+                event.resource(), event.metadata(), event.previousHash(), event.hash(), event.signature());
+    }
+
+    private String tenantOf(Event event) {
+        return event.metadata() != null ? event.metadata().tenantId() : "default";
+    }
 }
@@ -0,0 +1,107 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.crypto.Crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+// merkle tree over the event hashes of one stored batch; leaves and inner nodes are hashed with
+// distinct prefixes (RFC 6962) and an unpaired node is carried up a level unchanged
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+    private static final char LEFT = 'L';
+    private static final char RIGHT = 'R';
+    private static final char STEP_SEPARATOR = ',';
+
+    private final List<byte[][]> levels;
+
+    private MerkleTree(List<byte[][]> levels) {
+        this.levels = levels;
+    }
+
+    public static MerkleTree of(List<String> hashes) {
+        if (hashes.isEmpty()) {
+            throw new IllegalArgumentException("A merkle tree needs at least one leaf");
+        }
+        MessageDigest digest = Crypto.sha256();
+        byte[][] level = new byte[hashes.size()][];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = leaf(digest, hashes.get(i));
+        }
+
+        List<byte[][]> levels = new ArrayList<>();
+        levels.add(level);
+        while (level.length > 1) {
+            byte[][] parent = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < parent.length; i++) {
+                int left = 2 * i;
+                parent[i] = left + 1 < level.length ? node(digest, level[left], level[left + 1]) : level[left];
+            }
+            levels.add(parent);
+            level = parent;
+        }
+        return new MerkleTree(levels);
+    }
+
+    public int size() {
+        return levels.get(0).length;
+    }
+
+    public String root() {
+        return Crypto.toHex(levels.get(levels.size() - 1)[0]);
+    }
+
+    // siblings from the leaf up to the root, each prefixed with the side it sits on, e.g. "Rab12..,L34cd.."
+    public String proof(int leafIndex) {
+        StringBuilder proof = new StringBuilder();
+        int index = leafIndex;
+        for (int depth = 0; depth < levels.size() - 1; depth++) {
+            byte[][] level = levels.get(depth);
+            int sibling = index ^ 1;
+            if (sibling < level.length) {
+                if (!proof.isEmpty()) {
+                    proof.append(STEP_SEPARATOR);
+                }
+                proof.append(sibling < index ? LEFT : RIGHT).append(Crypto.toHex(level[sibling]));
+            }
+            index /= 2;
+        }
+        return proof.toString();
+    }
+
+    // root implied by a leaf and its proof; a malformed proof yields IllegalArgumentException
+    public static String rootOf(String hash, String proof) {
+        MessageDigest digest = Crypto.sha256();
+        byte[] current = leaf(digest, hash);
+        if (!proof.isEmpty()) {
+            for (String step : proof.split(String.valueOf(STEP_SEPARATOR), -1)) {
+                if (step.length() < 2) {
+                    throw new IllegalArgumentException("Malformed merkle proof step");
+                }
+                byte[] sibling = HexFormat.of().parseHex(step, 1, step.length());
+                current = switch (step.charAt(0)) {
+                    case LEFT -> node(digest, sibling, current);
+                    case RIGHT -> node(digest, current, sibling);
+                    default -> throw new IllegalArgumentException("Malformed merkle proof step");
+                };
+            }
+        }
+        return Crypto.toHex(current);
+    }
+
+    private static byte[] leaf(MessageDigest digest, String hash) {
+        digest.update(LEAF_PREFIX);
+        return digest.digest(hash.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] node(MessageDigest digest, byte[] left, byte[] right) {
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        return digest.digest(right);
+    }
+}
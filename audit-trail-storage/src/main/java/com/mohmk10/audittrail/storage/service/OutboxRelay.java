@@ -0,0 +1,176 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.event.StoredEventHandler;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventOutbox;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.OutboxEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(prefix = "audit-trail.storage.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final JdbcEventOutbox outbox;
+    private final JpaEventRepository jpaEventRepository;
+    private final List<StoredEventHandler> handlers;
+    private final int batchSize;
+    private final long leaseMillis;
+    private final int maxAttempts;
+
+    private final Counter dispatched;
+    private final Counter failed;
+    private final Counter abandoned;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Autowired
+    public OutboxRelay(
+            JdbcEventOutbox outbox,
+            JpaEventRepository jpaEventRepository,
+            ObjectProvider<StoredEventHandler> handlers,
+            MeterRegistry meterRegistry,
+            @Value("${audit-trail.storage.outbox.batch-size:200}") int batchSize,
+            @Value("${audit-trail.storage.outbox.lease-ms:30000}") long leaseMillis,
+            @Value("${audit-trail.storage.outbox.max-attempts:10}") int maxAttempts) {
+        this(outbox, jpaEventRepository, handlers.orderedStream().toList(), meterRegistry,
+                batchSize, leaseMillis, maxAttempts);
+    }
+
+    public OutboxRelay(
+            JdbcEventOutbox outbox,
+            JpaEventRepository jpaEventRepository,
+            List<StoredEventHandler> handlers,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            long leaseMillis,
+            int maxAttempts) {
+        this.outbox = outbox;
+        this.jpaEventRepository = jpaEventRepository;
+        this.handlers = handlers;
+        this.batchSize = batchSize;
+        this.leaseMillis = leaseMillis;
+        this.maxAttempts = maxAttempts;
+
+        this.dispatched = Counter.builder("audit.outbox.dispatched")
+                .description("Stored events delivered to every handler")
+                .register(meterRegistry);
+        this.failed = Counter.builder("audit.outbox.failed")
+                .description("Outbox deliveries that will be retried after the lease expires")
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("audit.outbox.abandoned")
+                .description("Outbox entries dropped after max-attempts")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("audit.outbox.relay.batch")
+                .description("Time to claim, dispatch and acknowledge one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("audit.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age in seconds of the oldest outbox entry in the last claimed batch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public int relayBatch() {
+        long started = System.nanoTime();
+        List<OutboxEntry> entries = outbox.claim(batchSize, leaseMillis);
+        if (entries.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Math.max(0, Duration.between(entries.get(0).createdAt(), Instant.now()).toMillis()));
+
+        Map<UUID, Event> events = jpaEventRepository.findAllById(entries.stream().map(OutboxEntry::eventId).toList())
+                .stream()
+                .map(EventMapper::toDomain)
+                .collect(Collectors.toMap(Event::id, Function.identity()));
+
+        List<OutboxEntry> done = new ArrayList<>(entries.size());
+        List<OutboxEntry> partial = new ArrayList<>();
+        for (OutboxEntry entry : entries) {
+            Event event = events.get(entry.eventId());
+            if (event == null) {
+                log.warn("Dropping outbox entry {}: event {} no longer exists", entry.id(), entry.eventId());
+                done.add(entry);
+                continue;
+            }
+            Set<String> deliveredTo = dispatch(entry, event);
+            if (handlers.stream().allMatch(handler -> deliveredTo.contains(handler.name()))) {
+                dispatched.increment();
+                done.add(entry);
+            } else if (entry.attempts() >= maxAttempts) {
+                log.error("Abandoning outbox entry {} for event {} after {} attempts",
+                        entry.id(), entry.eventId(), entry.attempts());
+                abandoned.increment();
+                done.add(entry);
+            } else {
+                failed.increment();
+                if (deliveredTo.size() > entry.deliveredTo().size()) {
+                    partial.add(entry.withDeliveredTo(deliveredTo));
+                }
+            }
+        }
+        outbox.delete(done);
+        outbox.recordDeliveries(partial);
+        batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return entries.size();
+    }
+
+    // delivers to every handler the entry has not reached yet and returns all the handlers it has now reached;
+    // a failing handler does not hold back the others, and only it sees the event again on the next attempt
+    private Set<String> dispatch(OutboxEntry entry, Event event) {
+        Set<String> deliveredTo = new HashSet<>(entry.deliveredTo());
+        for (StoredEventHandler handler : handlers) {
+            if (deliveredTo.contains(handler.name())) {
+                continue;
+            }
+            try {
+                handler.onStored(event);
+                deliveredTo.add(handler.name());
+            } catch (Exception e) {
+                log.warn("Outbox delivery of event {} to {} failed (attempt {}): {}",
+                        entry.eventId(), handler.name(), entry.attempts(), e.getMessage());
+            }
+        }
+        return deliveredTo;
+    }
+
+    // drains full batches back to back, then waits a poll interval
+    @Scheduled(fixedDelayString = "${audit-trail.storage.outbox.poll-interval-ms:200}")
+    void relaySafely() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed >= batchSize && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            log.error("Outbox relay failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.event.PurgedEventsHandler;
+import com.mohmk10.audittrail.core.port.out.EventArchivePort;
+import com.mohmk10.audittrail.core.port.out.RetentionPolicyPort;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventPurger;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.PurgeBoundary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(prefix = "audit-trail.storage.retention", name = "enabled", havingValue = "true")
+public class RetentionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionEngine.class);
+
+    static final String CHECKPOINT_REASON = "RETENTION";
+
+    private final JdbcEventPurger purger;
+    private final JpaEventRepository jpaEventRepository;
+    private final ChainCheckpointService checkpointService;
+    private final TransactionOperations transactions;
+    private final RetentionPolicyPort retentionPolicy;
+    private final EventArchivePort archive;
+    private final List<PurgedEventsHandler> purgedEventsHandlers;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Clock clock;
+
+    private final Counter purged;
+
+    @Autowired
+    public RetentionEngine(
+            JdbcEventPurger purger,
+            JpaEventRepository jpaEventRepository,
+            ChainCheckpointService checkpointService,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<RetentionPolicyPort> retentionPolicy,
+            ObjectProvider<EventArchivePort> archive,
+            ObjectProvider<PurgedEventsHandler> purgedEventsHandlers,
+            MeterRegistry meterRegistry,
+            @Value("${audit-trail.storage.retention.chunk-size:1000}") int chunkSize,
+            @Value("${audit-trail.storage.retention.pause-ms:200}") long pauseMillis) {
+        this(purger, jpaEventRepository, checkpointService, new TransactionTemplate(transactionManager),
+                retentionPolicy.getIfAvailable(), archive.getIfAvailable(), purgedEventsHandlers.orderedStream().toList(),
+                meterRegistry, chunkSize, pauseMillis, Clock.systemUTC());
+    }
+
+    public RetentionEngine(
+            JdbcEventPurger purger,
+            JpaEventRepository jpaEventRepository,
+            ChainCheckpointService checkpointService,
+            TransactionOperations transactions,
+            RetentionPolicyPort retentionPolicy,
+            EventArchivePort archive,
+            List<PurgedEventsHandler> purgedEventsHandlers,
+            MeterRegistry meterRegistry,
+            int chunkSize,
+            long pauseMillis,
+            Clock clock) {
+        this.purger = purger;
+        this.jpaEventRepository = jpaEventRepository;
+        this.checkpointService = checkpointService;
+        this.transactions = transactions;
+        this.retentionPolicy = retentionPolicy;
+        this.archive = archive;
+        this.purgedEventsHandlers = purgedEventsHandlers;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.clock = clock;
+        this.purged = Counter.builder("audit.retention.purged")
+                .description("Events removed because they passed their tenant's retention")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void logSettings() {
+        if (retentionPolicy == null) {
+            log.warn("Retention is enabled but no retention policy is available; nothing will be purged");
+            return;
+        }
+        log.info("Retention engine started: chunkSize={}, pauseMs={}, archive={}",
+                chunkSize, pauseMillis, archive != null);
+    }
+
+    public long purgeExpired() {
+        long total = 0;
+        for (Map.Entry<String, Integer> entry : retentionPolicy.retentionDaysByTenant().entrySet()) {
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                continue;
+            }
+            Instant cutoff = clock.instant().minus(Duration.ofDays(entry.getValue()));
+            try {
+                total += purgeTenant(entry.getKey(), cutoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Retention purge of tenant {} failed: {}", entry.getKey(), e.getMessage(), e);
+            }
+        }
+        return total;
+    }
+
+    // removes the chain prefix created before the cutoff, one short transaction per chunk
+    long purgeTenant(String tenantId, Instant cutoff) throws InterruptedException {
+        long total = 0;
+        while (true) {
+            Optional<PurgeBoundary> boundary = purger.findChunkBoundary(tenantId, cutoff, chunkSize);
+            if (boundary.isEmpty()) {
+                break;
+            }
+            List<UUID> removed = transactions.execute(status -> purgeChunk(tenantId, boundary.get()));
+            total += removed.size();
+            purged.increment(removed.size());
+            notifyPurged(tenantId, removed);
+            if (removed.size() < chunkSize) {
+                break;
+            }
+            Thread.sleep(pauseMillis);
+        }
+        if (total > 0) {
+            log.info("Purged {} events of tenant {} created before {}", total, tenantId, cutoff);
+        }
+        return total;
+    }
+
+    private List<UUID> purgeChunk(String tenantId, PurgeBoundary boundary) {
+        if (archive != null) {
+            archive.archiveAll(jpaEventRepository
+                    .findByTenantIdAndCreatedAtLessThanEqualOrderByCreatedAtAsc(tenantId, boundary.createdAt())
+                    .stream()
+                    .map(EventMapper::toDomain)
+                    .toList());
+        }
+        List<UUID> removed = purger.deleteThrough(tenantId, boundary.createdAt());
+        // committed with the delete, so the remaining suffix is never left without an anchor
+        checkpointService.record(tenantId, boundary.eventId(), boundary.hash(), boundary.createdAt(),
+                removed.size(), CHECKPOINT_REASON);
+        return removed;
+    }
+
+    private void notifyPurged(String tenantId, List<UUID> eventIds) {
+        for (PurgedEventsHandler handler : purgedEventsHandlers) {
+            try {
+                handler.onPurged(tenantId, eventIds);
+            } catch (Exception e) {
+                log.warn("Purge handler {} failed for tenant {}: {}",
+                        handler.getClass().getSimpleName(), tenantId, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${audit-trail.storage.retention.interval-ms:3600000}",
+            fixedDelayString = "${audit-trail.storage.retention.interval-ms:3600000}")
+    void purgeSafely() {
+        if (retentionPolicy == null) {
+            return;
+        }
+        try {
+            purgeExpired();
+        } catch (Exception e) {
+            log.error("Retention run failed: {}", e.getMessage(), e);
+        }
+    }
+}
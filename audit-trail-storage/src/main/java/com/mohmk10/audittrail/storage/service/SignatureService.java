@@ -1,11 +1,14 @@
 package com.mohmk10.audittrail.storage.service;
 
 import java.security.KeyPair;
+import java.util.List;
 
 public interface SignatureService {
 
     String sign(String hash);
 
+    List<String> signAll(List<String> hashes);
+
     boolean verify(String hash, String signature);
 
     KeyPair generateKeyPair();
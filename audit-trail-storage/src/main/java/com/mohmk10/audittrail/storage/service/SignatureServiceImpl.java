@@ -1,75 +1,178 @@
 package com.mohmk10.audittrail.storage.service;
 
+import com.mohmk10.audittrail.core.crypto.Crypto;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.security.SignatureException;
-import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class SignatureServiceImpl implements SignatureService {
 
-    private static final String ALGORITHM = "EC";
-    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSA";
-    private static final String CURVE = "secp256r1";
+    // signatures read "<key id>:<base64>" and batch signatures "merkle:<key id>:<base64 root signature>:<proof>";
+    // plain base64 never contains ':', and signatures written before key ids existed verify against the current key
+    static final String MERKLE_PREFIX = "merkle:";
+    private static final char SEPARATOR = ':';
+    // keeps a signed root from ever being mistaken for a signed event hash
+    private static final String ROOT_PREFIX = "merkle-root:";
 
-    private PrivateKey privateKey;
-    private PublicKey publicKey;
+    public enum Mode {
+        PER_EVENT,
+        MERKLE
+    }
+
+    private record VerifiedRoot(String keyId, String root, String signature) {
+    }
+
+    private final Mode mode;
+    private final SigningKeyRegistry keyRegistry;
+
+    // events of one batch share a root, so a chain walk only verifies each root signature once
+    private volatile VerifiedRoot lastVerifiedRoot;
+
+    @Autowired
+    public SignatureServiceImpl(
+            @Value("${audit-trail.storage.signing.mode:merkle}") String mode,
+            SigningKeyRegistry keyRegistry) {
+        this(Mode.valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ROOT)), keyRegistry);
+    }
+
+    public SignatureServiceImpl(Mode mode, SigningKeyRegistry keyRegistry) {
+        this.mode = mode;
+        this.keyRegistry = keyRegistry;
+    }
+
+    public SignatureServiceImpl(Mode mode) {
+        this(mode, SigningKeyRegistry.inMemory());
+    }
 
     @PostConstruct
     public void init() {
-        KeyPair keyPair = generateKeyPair();
-        this.privateKey = keyPair.getPrivate();
-        this.publicKey = keyPair.getPublic();
+        keyRegistry.init();
+    }
+
+    public Mode getMode() {
+        return mode;
     }
 
     @Override
     public String sign(String hash) {
+        SigningKey key = keyRegistry.current();
         try {
-            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
-            signature.initSign(privateKey);
+            Signature signature = Crypto.ecdsaSha256();
+            signature.initSign(key.privateKey());
             signature.update(hash.getBytes(StandardCharsets.UTF_8));
             byte[] signatureBytes = signature.sign();
-            return Base64.getEncoder().encodeToString(signatureBytes);
-        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+            return key.id() + SEPARATOR + Base64.getEncoder().encodeToString(signatureBytes);
+        } catch (InvalidKeyException | SignatureException e) {
             throw new RuntimeException("Failed to sign hash", e);
         }
     }
 
+    @Override
+    public List<String> signAll(List<String> hashes) {
+        if (mode == Mode.MERKLE && hashes.size() > 1) {
+            return signTree(hashes);
+        }
+        SigningKey key = keyRegistry.current();
+        try {
+            Signature signature = Crypto.ecdsaSha256();
+            signature.initSign(key.privateKey());
+            List<String> signatures = new ArrayList<>(hashes.size());
+            for (String hash : hashes) {
+                signature.update(hash.getBytes(StandardCharsets.UTF_8));
+                signatures.add(key.id() + SEPARATOR + Base64.getEncoder().encodeToString(signature.sign()));
+            }
+            return signatures;
+        } catch (InvalidKeyException | SignatureException e) {
+            throw new RuntimeException("Failed to sign hashes", e);
+        }
+    }
+
     @Override
     public boolean verify(String hash, String signatureStr) {
         if (signatureStr == null || signatureStr.isEmpty()) {
             return false;
         }
+        if (signatureStr.startsWith(MERKLE_PREFIX)) {
+            return verifyInclusion(hash, signatureStr.substring(MERKLE_PREFIX.length()));
+        }
+        int separator = signatureStr.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return verifySignature(null, hash, signatureStr);
+        }
+        return verifySignature(signatureStr.substring(0, separator), hash, signatureStr.substring(separator + 1));
+    }
+
+    @Override
+    public KeyPair generateKeyPair() {
+        return keyRegistry.generateKeyPair();
+    }
+
+    // one ECDSA signature over the batch root; every event keeps the root signature and its own proof
+    private List<String> signTree(List<String> hashes) {
+        MerkleTree tree = MerkleTree.of(hashes);
+        String rootSignature = sign(ROOT_PREFIX + tree.root());
+        List<String> signatures = new ArrayList<>(hashes.size());
+        for (int i = 0; i < hashes.size(); i++) {
+            signatures.add(MERKLE_PREFIX + rootSignature + SEPARATOR + tree.proof(i));
+        }
+        return signatures;
+    }
 
+    private boolean verifyInclusion(String hash, String envelope) {
+        String[] parts = envelope.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length < 2 || parts.length > 3) {
+            return false;
+        }
+        String keyId = parts.length == 3 ? parts[0] : null;
+        String rootSignature = parts[parts.length - 2];
+        String root;
         try {
-            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
-            signature.initVerify(publicKey);
-            signature.update(hash.getBytes(StandardCharsets.UTF_8));
-            byte[] signatureBytes = Base64.getDecoder().decode(signatureStr);
-            return signature.verify(signatureBytes);
-        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException | IllegalArgumentException e) {
+            root = MerkleTree.rootOf(hash, parts[parts.length - 1]);
+        } catch (IllegalArgumentException e) {
             return false;
         }
+
+        VerifiedRoot verified = lastVerifiedRoot;
+        if (verified != null && verified.root().equals(root) && verified.signature().equals(rootSignature)
+                && Objects.equals(verified.keyId(), keyId)) {
+            return true;
+        }
+        if (!verifySignature(keyId, ROOT_PREFIX + root, rootSignature)) {
+            return false;
+        }
+        lastVerifiedRoot = new VerifiedRoot(keyId, root, rootSignature);
+        return true;
     }
 
-    @Override
-    public KeyPair generateKeyPair() {
+    private boolean verifySignature(String keyId, String hash, String signatureStr) {
+        Optional<PublicKey> publicKey = keyId != null
+                ? keyRegistry.verificationKey(keyId)
+                : Optional.of(keyRegistry.current().publicKey());
+        if (publicKey.isEmpty()) {
+            return false;
+        }
         try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(ALGORITHM);
-            ECGenParameterSpec ecSpec = new ECGenParameterSpec(CURVE);
-            keyPairGenerator.initialize(ecSpec);
-            return keyPairGenerator.generateKeyPair();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate key pair", e);
+            Signature signature = Crypto.ecdsaSha256();
+            signature.initVerify(publicKey.get());
+            signature.update(hash.getBytes(StandardCharsets.UTF_8));
+            byte[] signatureBytes = Base64.getDecoder().decode(signatureStr);
+            return signature.verify(signatureBytes);
+        } catch (InvalidKeyException | SignatureException | IllegalArgumentException e) {
+            return false;
         }
     }
 }
@@ -0,0 +1,13 @@
+package com.mohmk10.audittrail.storage.service;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+// privateKey is null for keys this node can only verify with
+public record SigningKey(String id, PrivateKey privateKey, PublicKey publicKey, Instant createdAt) {
+
+    public boolean canSign() {
+        return privateKey != null;
+    }
+}
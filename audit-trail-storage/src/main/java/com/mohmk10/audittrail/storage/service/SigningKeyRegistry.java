@@ -0,0 +1,166 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.storage.adapter.out.keystore.FileSigningKeyStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// the signing key in use plus every public key a signature may name; keys come from the shared key store,
+// a node that meets an unknown key id re-reads the store, at most once per reload interval
+@Component
+public class SigningKeyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRegistry.class);
+
+    private static final String ALGORITHM = "EC";
+    private static final String CURVE = "secp256r1";
+    private static final DateTimeFormatter KEY_ID_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final long RELOAD_INTERVAL_MILLIS = 1000;
+
+    private final FileSigningKeyStore keyStore;
+    private final Duration rotateAfter;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, PublicKey> verificationKeys = new ConcurrentHashMap<>();
+
+    private volatile SigningKey current;
+    private volatile long lastMissReloadMillis;
+
+    @Autowired
+    public SigningKeyRegistry(
+            FileSigningKeyStore keyStore,
+            @Value("${audit-trail.storage.signing.rotation-days:90}") long rotationDays) {
+        this(keyStore, Duration.ofDays(rotationDays), Clock.systemUTC());
+    }
+
+    // a null key store keeps keys in memory only, so signatures do not outlive the process
+    public SigningKeyRegistry(FileSigningKeyStore keyStore, Duration rotateAfter, Clock clock) {
+        this.keyStore = keyStore;
+        this.rotateAfter = rotateAfter;
+        this.clock = clock;
+    }
+
+    public static SigningKeyRegistry inMemory() {
+        return new SigningKeyRegistry(null, Duration.ZERO, Clock.systemUTC());
+    }
+
+    @PostConstruct
+    public synchronized void init() {
+        if (current != null) {
+            return;
+        }
+        reload();
+        if (current == null) {
+            rotate();
+        }
+    }
+
+    public SigningKey current() {
+        SigningKey key = current;
+        if (key == null) {
+            init();
+            key = current;
+        }
+        return key;
+    }
+
+    public Optional<PublicKey> verificationKey(String keyId) {
+        PublicKey publicKey = verificationKeys.get(keyId);
+        if (publicKey == null && keyStore != null) {
+            long now = clock.millis();
+            if (now - lastMissReloadMillis >= RELOAD_INTERVAL_MILLIS) {
+                lastMissReloadMillis = now;
+                reload();
+                publicKey = verificationKeys.get(keyId);
+            }
+        }
+        return Optional.ofNullable(publicKey);
+    }
+
+    public synchronized SigningKey rotate() {
+        KeyPair keyPair = generateKeyPair();
+        Instant createdAt = clock.instant();
+        String id = KEY_ID_TIME.format(createdAt) + "-" + HexFormat.of().toHexDigits(random.nextInt());
+        SigningKey key = new SigningKey(id, keyPair.getPrivate(), keyPair.getPublic(), createdAt);
+        if (keyStore != null) {
+            keyStore.save(key);
+        }
+        verificationKeys.put(key.id(), key.publicKey());
+        current = key;
+        log.info("Signing with key {}", key.id());
+        return key;
+    }
+
+    // another node sharing the key store may already have rotated, so the store is read before deciding
+    public synchronized boolean rotateIfDue() {
+        if (rotateAfter.isZero() || rotateAfter.isNegative()) {
+            return false;
+        }
+        reload();
+        SigningKey key = current;
+        if (key != null && key.createdAt().plus(rotateAfter).isAfter(clock.instant())) {
+            return false;
+        }
+        rotate();
+        return true;
+    }
+
+    public KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(ALGORITHM);
+            keyPairGenerator.initialize(new ECGenParameterSpec(CURVE));
+            return keyPairGenerator.generateKeyPair();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate key pair", e);
+        }
+    }
+
+    private synchronized void reload() {
+        if (keyStore == null) {
+            return;
+        }
+        List<SigningKey> keys = keyStore.loadAll();
+        for (SigningKey key : keys) {
+            verificationKeys.put(key.id(), key.publicKey());
+        }
+        keys.stream()
+                .filter(SigningKey::canSign)
+                .reduce((first, second) -> second)
+                .filter(latest -> current == null || latest.createdAt().isAfter(current.createdAt()))
+                .ifPresent(latest -> current = latest);
+    }
+
+    @Scheduled(initialDelayString = "${audit-trail.storage.signing.rotation-check-ms:3600000}",
+            fixedDelayString = "${audit-trail.storage.signing.rotation-check-ms:3600000}")
+    void rotateSafely() {
+        if (keyStore == null) {
+            return;
+        }
+        try {
+            rotateIfDue();
+        } catch (Exception e) {
+            log.error("Signing key rotation failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- Signed anchors for tenant hash chains whose prefix has been removed (e.g. by retention).
+-- The first remaining event's previous_hash equals last_hash of a checkpoint, so the suffix stays verifiable.
+CREATE TABLE chain_checkpoints (
+    id UUID PRIMARY KEY,
+    tenant_id VARCHAR(100) NOT NULL,
+    last_event_id UUID NOT NULL,
+    last_hash VARCHAR(64) NOT NULL,
+    last_created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_count BIGINT NOT NULL,
+    reason VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    signature TEXT NOT NULL
+);
+
+CREATE INDEX idx_chain_checkpoints_tenant_hash ON chain_checkpoints (tenant_id, last_hash);
+CREATE INDEX idx_chain_checkpoints_tenant_created ON chain_checkpoints (tenant_id, created_at DESC);
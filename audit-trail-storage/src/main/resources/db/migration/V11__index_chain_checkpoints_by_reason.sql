@@ -0,0 +1,3 @@
+-- Periodic checkpoints split a tenant chain into segments that are verified in parallel;
+-- they are listed and extended in chain order per tenant and reason.
+CREATE INDEX idx_chain_checkpoints_tenant_reason_last ON chain_checkpoints (tenant_id, reason, last_created_at);
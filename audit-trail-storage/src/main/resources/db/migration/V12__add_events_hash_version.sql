@@ -0,0 +1,4 @@
+-- Hash input encoding an event was chained with: 1 is the original text concatenation,
+-- 2 the length-prefixed binary encoding. Existing rows keep 1 so they still verify.
+ALTER TABLE events ADD COLUMN hash_version SMALLINT NOT NULL DEFAULT 1;
+ALTER TABLE events ALTER COLUMN hash_version SET DEFAULT 2;
@@ -0,0 +1,4 @@
+-- Search and timeline pages continue after a (timestamp, id) cursor in either direction;
+-- with id in the index every page is a single range scan, so the old (tenant_id, timestamp) index is redundant.
+CREATE INDEX idx_events_tenant_timestamp_id ON events (tenant_id, timestamp DESC, id DESC);
+DROP INDEX IF EXISTS idx_events_tenant_timestamp;
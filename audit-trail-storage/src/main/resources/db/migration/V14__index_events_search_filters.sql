@@ -0,0 +1,4 @@
+-- Searches filter on tags by JSONB containment (tags @> ...) and on session id alongside the tenant;
+-- jsonb_path_ops keeps the tags index small since only containment is queried.
+CREATE INDEX idx_events_tags ON events USING GIN (tags jsonb_path_ops);
+CREATE INDEX idx_events_tenant_session ON events (tenant_id, session_id) WHERE session_id IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Handlers an outbox entry was already delivered to, so a retry after a partial failure
+-- only redelivers to the handlers that failed.
+ALTER TABLE event_outbox ADD COLUMN delivered_to TEXT[] NOT NULL DEFAULT '{}';
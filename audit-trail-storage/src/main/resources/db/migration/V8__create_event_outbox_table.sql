@@ -0,0 +1,10 @@
+CREATE TABLE event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL,
+    tenant_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    attempts INT NOT NULL DEFAULT 0,
+    claimed_until TIMESTAMPTZ
+);
+
+CREATE INDEX idx_event_outbox_claimed_until ON event_outbox(claimed_until);
@@ -0,0 +1,47 @@
+-- Convert events into a table range partitioned by event timestamp.
+-- Existing rows are copied into monthly partitions; EventPartitionManager keeps creating
+-- partitions ahead of time (daily or monthly) and detaches expired ones once retention is set.
+-- The copy rewrites the whole table, so run this migration in a maintenance window on large installations.
+
+ALTER TABLE events RENAME TO events_legacy;
+
+CREATE TABLE events (
+    LIKE events_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- catches events whose timestamp falls outside every managed partition
+CREATE TABLE events_default PARTITION OF events DEFAULT;
+
+DO $$
+DECLARE
+    first_month TIMESTAMPTZ;
+    last_month TIMESTAMPTZ := date_trunc('month', NOW() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' + INTERVAL '3 months';
+    month_start TIMESTAMPTZ;
+BEGIN
+    SELECT date_trunc('month', MIN(timestamp) AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' INTO first_month FROM events_legacy;
+    month_start := LEAST(COALESCE(first_month, last_month), date_trunc('month', NOW() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC');
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF events FOR VALUES FROM (%L) TO (%L)',
+            'events_p' || to_char(month_start AT TIME ZONE 'UTC', 'YYYY_MM'),
+            month_start,
+            month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO events SELECT * FROM events_legacy;
+
+DROP TABLE events_legacy;
+
+CREATE INDEX idx_events_timestamp ON events (timestamp DESC);
+CREATE INDEX idx_events_actor_id ON events (actor_id);
+CREATE INDEX idx_events_resource_id ON events (resource_id);
+CREATE INDEX idx_events_tenant_id ON events (tenant_id);
+CREATE INDEX idx_events_action_type ON events (action_type);
+CREATE INDEX idx_events_correlation_id ON events (correlation_id) WHERE correlation_id IS NOT NULL;
+CREATE INDEX idx_events_created_at ON events (created_at DESC);
+CREATE INDEX idx_events_tenant_created ON events (tenant_id, created_at DESC);
+CREATE INDEX idx_events_hash ON events (hash);
+CREATE INDEX idx_events_tenant_timestamp ON events (tenant_id, timestamp DESC);
@@ -0,0 +1,157 @@
+package com.mohmk10.audittrail.storage;
+
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.core.dto.DateRange;
+import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.EventSearchQuery;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventSearchRepository;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the test schema comes from Hibernate, so the search indexes of the Flyway migrations are created here
+@Testcontainers(disabledWithoutDocker = true)
+class EventSearchQueryIntegrationTest extends BaseIntegrationTest {
+
+    private static final Instant BASE = Instant.parse("2024-06-01T00:00:00Z");
+    private static final int ROWS = 2000;
+
+    @Autowired
+    private JpaEventRepository jpaEventRepository;
+
+    @Autowired
+    private JdbcEventSearchRepository searchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jpaEventRepository.deleteAll();
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_events_tenant_timestamp_id"
+                + " ON events (tenant_id, timestamp DESC, id DESC)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_events_tags ON events USING GIN (tags jsonb_path_ops)");
+
+        List<EventEntity> entities = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            entities.add(entity(i % 2 == 0 ? "tenant-a" : "tenant-b", i));
+        }
+        jpaEventRepository.saveAll(entities);
+        jdbcTemplate.execute("ANALYZE events");
+    }
+
+    @Test
+    void shouldApplyEveryCriterionTogether() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-a")
+                .dateRange(new DateRange(BASE, BASE.plusSeconds(ROWS / 2)))
+                .actionTypes(List.of(Action.ActionType.LOGIN, Action.ActionType.LOGOUT))
+                .resourceTypes(List.of(Resource.ResourceType.DOCUMENT))
+                .tags(Map.of("env", "prod"))
+                .sessionId("session-2")
+                .size(1000)
+                .build();
+
+        List<Event> events = searchRepository.findPage(criteria, null, 0, 1000);
+
+        assertThat(events).isNotEmpty().allSatisfy(event -> {
+            assertThat(event.metadata().tenantId()).isEqualTo("tenant-a");
+            assertThat(event.timestamp()).isBetween(BASE, BASE.plusSeconds(ROWS / 2));
+            assertThat(event.action().type()).isIn(Action.ActionType.LOGIN, Action.ActionType.LOGOUT);
+            assertThat(event.metadata().tags()).containsEntry("env", "prod");
+            assertThat(event.metadata().sessionId()).isEqualTo("session-2");
+        });
+        assertThat(searchRepository.count(criteria)).isEqualTo(events.size());
+    }
+
+    @Test
+    void shouldVisitEveryEventOnceWhenPagingByCursor() {
+        SearchCriteria criteria = SearchCriteria.builder().tenantId("tenant-a").size(150).cursor("").build();
+        Set<UUID> seen = new HashSet<>();
+        SearchCursor after = null;
+        List<Event> page;
+        do {
+            page = searchRepository.findPage(criteria, after, 0, criteria.size());
+            page.forEach(event -> assertThat(seen.add(event.id())).isTrue());
+            after = page.isEmpty() ? null : SearchCursor.after(page.get(page.size() - 1));
+        } while (page.size() == criteria.size());
+
+        assertThat(seen).hasSize(ROWS / 2);
+    }
+
+    @Test
+    void shouldSeekThroughTenantTimestampIndexWithoutSorting() {
+        SearchCursor after = new SearchCursor(BASE.plusSeconds(ROWS / 2), UUID.randomUUID());
+        SearchCriteria criteria = SearchCriteria.builder().tenantId("tenant-a").cursor(after.encode()).build();
+
+        String plan = explain(EventSearchQuery.page(criteria, after, 0, 21));
+
+        assertThat(plan).contains("idx_events_tenant_timestamp_id").doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldUseTagsIndexForContainment() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-a")
+                .tags(Map.of("env", "staging"))
+                .build();
+
+        String plan = explain(EventSearchQuery.count(criteria));
+
+        assertThat(plan).contains("idx_events_tags");
+    }
+
+    // sequential scans are ruled out so the plan shows whether an index can serve the query at all,
+    // which is what matters on production-sized tables
+    private String explain(EventSearchQuery query) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query.sql(), String.class,
+                    query.args()));
+        });
+    }
+
+    private static EventEntity entity(String tenantId, int i) {
+        EventEntity entity = new EventEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setTimestamp(BASE.plusSeconds(i));
+        entity.setActorId("user-" + (i % 10));
+        entity.setActorType("USER");
+        entity.setActorName("Test User");
+        entity.setActionType(Action.ActionType.values()[i % Action.ActionType.values().length].name());
+        entity.setActionDescription("Test action");
+        entity.setResourceId("res-" + i);
+        entity.setResourceType(i % 3 == 0 ? "DOCUMENT" : "USER");
+        entity.setResourceName("Test Document");
+        entity.setMetadataSource("test-app");
+        entity.setTenantId(tenantId);
+        entity.setSessionId("session-" + (i % 4));
+        entity.setTags(Map.of("env", i % 5 == 0 ? "staging" : "prod"));
+        entity.setPreviousHash("GENESIS");
+        entity.setHash("hash-" + i);
+        entity.setSignature("signature");
+        return entity;
+    }
+}
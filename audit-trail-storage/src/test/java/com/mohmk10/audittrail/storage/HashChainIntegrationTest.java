@@ -4,6 +4,7 @@ import com.mohmk10.audittrail.core.domain.*;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import com.mohmk10.audittrail.storage.service.ChainHeadCache;
 import com.mohmk10.audittrail.storage.service.HashChainService;
 import com.mohmk10.audittrail.storage.service.HashChainServiceImpl;
 import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
@@ -34,9 +35,13 @@ class HashChainIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private JpaEventRepository jpaEventRepository;
 
+    @Autowired
+    private ChainHeadCache chainHeadCache;
+
     @BeforeEach
     void setUp() {
         jpaEventRepository.deleteAll();
+        chainHeadCache.clear();
     }
 
     @Test
@@ -60,7 +65,7 @@ class HashChainIntegrationTest extends BaseIntegrationTest {
                 .map(EventMapper::toDomain)
                 .toList();
 
-        boolean isValid = hashChainService.verifyChain(chain);
+        boolean isValid = hashChainService.verifyChain(chain, hashVersions(entities));
         assertThat(isValid).isTrue();
 
         // Verify chain links
@@ -98,7 +103,7 @@ class HashChainIntegrationTest extends BaseIntegrationTest {
                 .map(EventMapper::toDomain)
                 .toList();
 
-        boolean isValid = hashChainService.verifyChain(chain);
+        boolean isValid = hashChainService.verifyChain(chain, hashVersions(entities));
         assertThat(isValid).isFalse();
     }
 
@@ -163,7 +168,7 @@ class HashChainIntegrationTest extends BaseIntegrationTest {
                     .toList();
 
             assertThat(chain).hasSize(eventsPerTenant);
-            boolean isValid = hashChainService.verifyChain(chain);
+            boolean isValid = hashChainService.verifyChain(chain, hashVersions(entities));
             assertThat(isValid).isTrue();
         }
     }
@@ -187,7 +192,7 @@ class HashChainIntegrationTest extends BaseIntegrationTest {
                 .map(EventMapper::toDomain)
                 .toList();
 
-        boolean isValid = hashChainService.verifyChain(chain);
+        boolean isValid = hashChainService.verifyChain(chain, hashVersions(entities));
         assertThat(isValid).isTrue();
     }
 
@@ -222,4 +227,8 @@ class HashChainIntegrationTest extends BaseIntegrationTest {
                 null
         );
     }
+
+    private static List<Integer> hashVersions(List<EventEntity> entities) {
+        return entities.stream().map(EventEntity::getHashVersion).toList();
+    }
 }
@@ -0,0 +1,83 @@
+package com.mohmk10.audittrail.storage;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import com.mohmk10.audittrail.storage.service.ChainHeadCache;
+import com.mohmk10.audittrail.storage.service.HashChainService;
+import com.mohmk10.audittrail.storage.service.ImmutableStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class StoreBatchBenchmarkIntegrationTest extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StoreBatchBenchmarkIntegrationTest.class);
+
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private ImmutableStorageService storageService;
+
+    @Autowired
+    private HashChainService hashChainService;
+
+    @Autowired
+    private JpaEventRepository jpaEventRepository;
+
+    @Autowired
+    private ChainHeadCache chainHeadCache;
+
+    @BeforeEach
+    void setUp() {
+        jpaEventRepository.deleteAll();
+        chainHeadCache.clear();
+    }
+
+    @Test
+    void shouldReportRowsPerSecondForSingleAndBatchPaths() {
+        List<Event> singles = events("bench-single");
+        long start = System.nanoTime();
+        singles.forEach(storageService::store);
+        long singleNanos = System.nanoTime() - start;
+
+        List<Event> batch = events("bench-batch");
+        start = System.nanoTime();
+        storageService.storeBatch(batch);
+        long batchNanos = System.nanoTime() - start;
+
+        log.info("store loop: {} rows in {}ms ({} rows/s)", ROWS,
+                TimeUnit.NANOSECONDS.toMillis(singleNanos), rowsPerSecond(singleNanos));
+        log.info("storeBatch: {} rows in {}ms ({} rows/s)", ROWS,
+                TimeUnit.NANOSECONDS.toMillis(batchNanos), rowsPerSecond(batchNanos));
+
+        List<EventEntity> entities = jpaEventRepository.findAllByTenantIdForChainVerification("bench-batch");
+        List<Event> chain = entities.stream()
+                .map(EventMapper::toDomain)
+                .toList();
+        assertThat(chain).hasSize(ROWS);
+        assertThat(hashChainService.verifyChain(chain,
+                entities.stream().map(EventEntity::getHashVersion).toList())).isTrue();
+    }
+
+    private List<Event> events(String tenantId) {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> TestFixtures.createTestEventWithTenant(tenantId))
+                .toList();
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
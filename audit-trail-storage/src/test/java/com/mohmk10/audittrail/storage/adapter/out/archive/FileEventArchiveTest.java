@@ -0,0 +1,156 @@
+package com.mohmk10.audittrail.storage.adapter.out.archive;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.dto.DateRange;
+import com.mohmk10.audittrail.core.exception.StorageException;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileEventArchiveTest {
+
+    private static final Instant DAY = Instant.parse("2025-03-10T00:00:00Z");
+
+    @TempDir
+    Path root;
+
+    @Test
+    void shouldRetrieveArchivedEventById() {
+        FileEventArchive archive = new FileEventArchive(root, 4, false);
+        List<Event> events = eventsAt("tenant-001", DAY, 10);
+
+        archive.archiveAll(events);
+
+        Event expected = events.get(7);
+        assertThat(archive.retrieve(expected.id())).contains(expected);
+        assertThat(archive.retrieve(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void shouldWriteOneSegmentPerTenantAndDay() throws IOException {
+        FileEventArchive archive = new FileEventArchive(root, 256, false);
+        List<Event> events = new ArrayList<>(eventsAt("tenant-001", DAY, 3));
+        events.addAll(eventsAt("tenant-001", DAY.plus(1, ChronoUnit.DAYS), 2));
+        events.addAll(eventsAt("../escape", DAY, 2));
+
+        archive.archiveAll(events);
+
+        try (Stream<Path> files = Files.walk(root)) {
+            List<Path> segments = files.filter(file -> file.toString().endsWith(FileEventArchive.SEGMENT_SUFFIX)).toList();
+            assertThat(segments).hasSize(3);
+            assertThat(segments).allMatch(file -> file.startsWith(root));
+        }
+    }
+
+    @Test
+    void shouldListArchivedEventsInRangeOrderedByTimestamp() {
+        FileEventArchive archive = new FileEventArchive(root, 2, false);
+        List<Event> events = new ArrayList<>(eventsAt("tenant-002", DAY.plus(1, ChronoUnit.DAYS), 3));
+        events.addAll(eventsAt("tenant-001", DAY, 5));
+        archive.archiveAll(events);
+
+        List<Event> listed = archive.listArchived(
+                new DateRange(DAY.plus(2, ChronoUnit.MINUTES), DAY.plus(1, ChronoUnit.DAYS)));
+
+        assertThat(listed).extracting(Event::timestamp).containsExactly(
+                DAY.plus(2, ChronoUnit.MINUTES),
+                DAY.plus(3, ChronoUnit.MINUTES),
+                DAY.plus(4, ChronoUnit.MINUTES),
+                DAY.plus(1, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void shouldReopenExistingSegments() {
+        List<Event> events = eventsAt("tenant-001", DAY, 5);
+        new FileEventArchive(root, 2, false).archiveAll(events);
+
+        FileEventArchive reopened = new FileEventArchive(root, 2, false);
+
+        assertThat(reopened.retrieve(events.get(4).id())).contains(events.get(4));
+        assertThat(reopened.listArchived(new DateRange(DAY, DAY.plus(1, ChronoUnit.HOURS)))).hasSize(5);
+    }
+
+    @Test
+    void shouldNotRewriteSegmentWhenSameEventsAreArchivedAgain() throws IOException {
+        FileEventArchive archive = new FileEventArchive(root, 4, false);
+        List<Event> events = eventsAt("tenant-001", DAY, 6);
+
+        archive.archiveAll(events);
+        // a retention chunk retried after its delete failed
+        archive.archiveAll(events);
+        new FileEventArchive(root, 4, false).archiveAll(events);
+
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(file -> file.toString().endsWith(FileEventArchive.SEGMENT_SUFFIX))).hasSize(1);
+        }
+        assertThat(archive.listArchived(new DateRange(DAY, DAY.plus(1, ChronoUnit.HOURS)))).hasSize(6);
+    }
+
+    @Test
+    void shouldKeepAtMostMaxOpenSegmentsMapped() {
+        List<Event> archived = new ArrayList<>();
+        FileEventArchive writer = new FileEventArchive(root, 4, false, 2);
+        for (int day = 0; day < 6; day++) {
+            List<Event> events = eventsAt("tenant-001", DAY.plus(day, ChronoUnit.DAYS), 3);
+            writer.archiveAll(events);
+            archived.addAll(events);
+        }
+        assertThat(writer.openSegmentCount()).isEqualTo(2);
+
+        FileEventArchive reopened = new FileEventArchive(root, 4, false, 2);
+
+        for (Event event : archived) {
+            assertThat(reopened.retrieve(event.id())).contains(event);
+            assertThat(reopened.openSegmentCount()).isLessThanOrEqualTo(2);
+        }
+        assertThat(reopened.retrieve(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRejectTruncatedBlock() throws IOException {
+        List<Event> events = eventsAt("tenant-001", DAY, 5);
+        new FileEventArchive(root, 2, false).archiveAll(events);
+        Path segment;
+        try (Stream<Path> files = Files.walk(root)) {
+            segment = files.filter(file -> file.toString().endsWith(FileEventArchive.SEGMENT_SUFFIX)).findFirst().orElseThrow();
+        }
+        // halve the stored length of the first block, as a torn copy of the segment would
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int blocksStart = (int) bytes.getLong(bytes.limit() - Long.BYTES - Integer.BYTES) + Integer.BYTES;
+        int lengthAt = blocksStart + Long.BYTES;
+        bytes.putInt(lengthAt, bytes.getInt(lengthAt) / 2);
+        Files.write(segment, bytes.array());
+
+        FileEventArchive reopened = new FileEventArchive(root, 2, false);
+
+        assertThatThrownBy(() -> reopened.retrieve(events.get(0).id()))
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("block 0");
+    }
+
+    private List<Event> eventsAt(String tenantId, Instant start, int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event template = TestFixtures.createTestEventWithTenant(tenantId);
+            events.add(new Event(UUID.randomUUID(), start.plus(i, ChronoUnit.MINUTES), template.actor(),
+                    template.action(), template.resource(), template.metadata(), "prev-" + i, "hash-" + i, "sig-" + i));
+        }
+        return events;
+    }
+}
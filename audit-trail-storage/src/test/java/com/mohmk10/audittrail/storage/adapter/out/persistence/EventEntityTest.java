@@ -1,5 +1,6 @@
 package com.mohmk10.audittrail.storage.adapter.out.persistence;
 
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
 import org.junit.jupiter.api.Test;
 
@@ -139,6 +140,7 @@ class EventEntityTest {
         assertThat(entity.getExtra()).isNull();
         assertThat(entity.getPreviousHash()).isNull();
         assertThat(entity.getSignature()).isNull();
+        assertThat(entity.getHashVersion()).isEqualTo(CanonicalHashInput.CURRENT_VERSION);
     }
 
     @Test
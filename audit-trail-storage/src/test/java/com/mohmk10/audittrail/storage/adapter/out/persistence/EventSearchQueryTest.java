@@ -0,0 +1,96 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence;
+
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.domain.Resource;
+import com.mohmk10.audittrail.core.dto.DateRange;
+import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.EventSearchQuery;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchQueryTest {
+
+    @Test
+    void shouldApplyEveryCriterionInIndexOrder() {
+        Instant from = Instant.parse("2024-06-01T00:00:00Z");
+        Instant to = Instant.parse("2024-06-30T00:00:00Z");
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .query("Report")
+                .tags(Map.of("env", "prod"))
+                .resourceTypes(List.of(Resource.ResourceType.DOCUMENT, Resource.ResourceType.FILE))
+                .actionTypes(List.of(Action.ActionType.CREATE, Action.ActionType.UPDATE))
+                .actorId("actor-1")
+                .sessionId("session-1")
+                .correlationId("corr-1")
+                .dateRange(new DateRange(from, to))
+                .build();
+
+        EventSearchQuery query = EventSearchQuery.count(criteria);
+
+        assertThat(query.sql()).isEqualTo("SELECT COUNT(*) FROM events WHERE tenant_id = ?"
+                + " AND timestamp >= ? AND timestamp <= ?"
+                + " AND correlation_id = ? AND session_id = ? AND actor_id = ?"
+                + " AND action_type IN (?, ?) AND resource_type IN (?, ?)"
+                + " AND tags @> CAST(? AS jsonb)"
+                + " AND (LOWER(actor_name) LIKE ? OR LOWER(action_description) LIKE ? OR LOWER(resource_name) LIKE ?)");
+        assertThat(query.args()).containsExactly(
+                "tenant-001", Timestamp.from(from), Timestamp.from(to),
+                "corr-1", "session-1", "actor-1",
+                "CREATE", "UPDATE", "DOCUMENT", "FILE",
+                "{\"env\":\"prod\"}",
+                "%report%", "%report%", "%report%");
+    }
+
+    @Test
+    void shouldSortByRequestedColumnWithTimestampAndIdAsTieBreakers() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .sortBy("actorId")
+                .sortDirection(SearchCriteria.SortDirection.ASC)
+                .page(2)
+                .size(20)
+                .build();
+
+        EventSearchQuery query = EventSearchQuery.page(criteria, null, 40, 21);
+
+        assertThat(query.sql()).endsWith(
+                "ORDER BY actor_id ASC, timestamp ASC, id ASC LIMIT ? OFFSET ?");
+        assertThat(query.args()).containsExactly("tenant-001", 21, 40);
+        assertThat(EventSearchQuery.ordersByTimestamp(criteria)).isFalse();
+    }
+
+    @Test
+    void shouldNotPassUnknownSortFieldsIntoSql() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .sortBy("timestamp; DROP TABLE events")
+                .build();
+
+        assertThat(EventSearchQuery.page(criteria, null, 0, 21).sql())
+                .endsWith("ORDER BY timestamp DESC, id DESC LIMIT ?")
+                .doesNotContain("DROP");
+    }
+
+    @Test
+    void shouldKeepTimestampOrderWhenPagingByCursor() {
+        SearchCursor after = new SearchCursor(Instant.parse("2024-06-15T10:30:00Z"), UUID.randomUUID());
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .sortBy("actorId")
+                .cursor(after.encode())
+                .build();
+
+        assertThat(EventSearchQuery.page(criteria, after, 0, 21).sql())
+                .endsWith("AND (timestamp, id) < (?, ?) ORDER BY timestamp DESC, id DESC LIMIT ?");
+        assertThat(EventSearchQuery.ordersByTimestamp(criteria)).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence;
+
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventBatchWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcEventBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcEventBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new JdbcEventBatchWriter(jdbcTemplate, 100);
+    }
+
+    @Test
+    void shouldAssignIncreasingCreatedAtInChainOrder() {
+        Instant firstCreatedAt = Instant.parse("2026-10-18T10:00:00Z");
+        List<Event> events = List.of(
+                TestFixtures.createTestEvent(),
+                TestFixtures.createTestEvent(),
+                TestFixtures.createTestEvent());
+
+        List<EventEntity> entities = writer.insert(events, firstCreatedAt);
+
+        assertThat(entities).extracting(EventEntity::getId)
+                .containsExactly(events.get(0).id(), events.get(1).id(), events.get(2).id());
+        assertThat(entities).extracting(EventEntity::getCreatedAt).containsExactly(
+                firstCreatedAt,
+                firstCreatedAt.plus(1, ChronoUnit.MICROS),
+                firstCreatedAt.plus(2, ChronoUnit.MICROS));
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(entities), eq(100), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldBindJsonColumnsAsJson() throws Exception {
+        Event event = TestFixtures.createTestEvent();
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    List<EventEntity> rows = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<EventEntity> setter = invocation.getArgument(3);
+                    setter.setValues(ps, rows.get(0));
+                    return new int[][]{{1}};
+                });
+
+        writer.insert(List.of(event), Instant.now());
+
+        verify(ps).setObject(1, event.id());
+        verify(ps).setString(8, "{\"role\":\"admin\"}");
+        verify(ps).setString(21, "{\"env\":\"test\"}");
+        verify(ps).setString(18, "tenant-001");
+        verify(ps).setInt(26, CanonicalHashInput.CURRENT_VERSION);
+    }
+
+    @Test
+    void shouldSkipEmptyBatch() {
+        assertThat(writer.insert(List.of(), Instant.now())).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,75 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventOutbox;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.OutboxEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcEventOutboxTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldNotWriteWhenDisabled() {
+        JdbcEventOutbox outbox = new JdbcEventOutbox(jdbcTemplate, false);
+
+        outbox.append(List.of(TestFixtures.createTestEvent()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldBatchInsertOneRowPerEvent() {
+        JdbcEventOutbox outbox = new JdbcEventOutbox(jdbcTemplate, true);
+        List<Event> events = List.of(TestFixtures.createTestEvent(), TestFixtures.createTestEvent());
+
+        outbox.append(events);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(events), eq(2), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnClaimedEntriesInOutboxOrder() {
+        JdbcEventOutbox outbox = new JdbcEventOutbox(jdbcTemplate, true);
+        OutboxEntry later = new OutboxEntry(7L, UUID.randomUUID(), Instant.now(), 1);
+        OutboxEntry earlier = new OutboxEntry(3L, UUID.randomUUID(), Instant.now(), 1);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(30_000L), eq(50)))
+                .thenReturn(List.of(later, earlier));
+
+        assertThat(outbox.claim(50, 30_000L)).containsExactly(earlier, later);
+    }
+
+    @Test
+    void shouldRecordDeliveriesOfEntriesKeptForRetry() {
+        JdbcEventOutbox outbox = new JdbcEventOutbox(jdbcTemplate, true);
+        List<OutboxEntry> entries = List.of(
+                new OutboxEntry(3L, UUID.randomUUID(), Instant.now(), 1, Set.of("detection")));
+
+        outbox.recordDeliveries(entries);
+        outbox.recordDeliveries(List.of());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(entries), eq(1), any());
+    }
+}
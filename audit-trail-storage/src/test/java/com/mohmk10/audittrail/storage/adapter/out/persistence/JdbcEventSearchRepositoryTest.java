@@ -0,0 +1,95 @@
+package com.mohmk10.audittrail.storage.adapter.out.persistence;
+
+import com.mohmk10.audittrail.core.domain.Action;
+import com.mohmk10.audittrail.core.dto.SearchCriteria;
+import com.mohmk10.audittrail.core.dto.SearchCursor;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcEventSearchRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcEventSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new JdbcEventSearchRepository(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSeekPastCursorInsteadOfOffset() {
+        SearchCursor after = new SearchCursor(Instant.parse("2024-06-15T10:30:00Z"), UUID.randomUUID());
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .actionTypes(List.of(Action.ActionType.CREATE))
+                .size(50)
+                .build();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+
+        repository.findPage(criteria, after, 100, 51);
+
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue())
+                .contains("tenant_id = ?")
+                .contains("action_type = ?")
+                .contains("(timestamp, id) < (?, ?)")
+                .endsWith("ORDER BY timestamp DESC, id DESC LIMIT ?")
+                .doesNotContain("OFFSET");
+        assertThat(args.getValue()).containsExactly(
+                "tenant-001", "CREATE", Timestamp.from(after.timestamp()), after.id(), 51);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSeekForwardWhenSortedAscending() {
+        SearchCursor after = new SearchCursor(Instant.parse("2024-06-15T10:30:00Z"), UUID.randomUUID());
+        SearchCriteria criteria = SearchCriteria.builder()
+                .tenantId("tenant-001")
+                .sortDirection(SearchCriteria.SortDirection.ASC)
+                .build();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+        repository.findPage(criteria, after, 0, 21);
+
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), any(Object[].class));
+        assertThat(sql.getValue())
+                .contains("(timestamp, id) > (?, ?)")
+                .endsWith("ORDER BY timestamp ASC, id ASC LIMIT ?");
+    }
+
+    @Test
+    void shouldEstimateCountFromPlanRows() {
+        SearchCriteria criteria = SearchCriteria.builder().tenantId("tenant-001").build();
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Node Type\": \"Index Only Scan\", \"Plan Rows\": 123456}}]");
+
+        assertThat(repository.estimateCount(criteria)).isEqualTo(123456);
+        verify(jdbcTemplate).queryForObject(
+                eq("EXPLAIN (FORMAT JSON) SELECT 1 FROM events WHERE tenant_id = ?"), eq(String.class),
+                eq("tenant-001"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.ChainCheckpointEntity;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.ChainCheckpointMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaChainCheckpointRepository;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChainCheckpointServiceTest {
+
+    @Mock
+    private JpaChainCheckpointRepository checkpointRepository;
+
+    @Mock
+    private JpaEventRepository jpaEventRepository;
+
+    private ChainCheckpointServiceImpl checkpointService;
+
+    @BeforeEach
+    void setUp() {
+        SignatureServiceImpl signatureService = new SignatureServiceImpl(SignatureServiceImpl.Mode.PER_EVENT);
+        signatureService.init();
+        checkpointService = new ChainCheckpointServiceImpl(checkpointRepository, signatureService);
+    }
+
+    @Test
+    void shouldPersistSignedCheckpoint() {
+        ChainCheckpoint checkpoint = checkpointService.record("tenant-a", UUID.randomUUID(), "a".repeat(64),
+                Instant.parse("2026-01-01T00:00:00Z"), 1000, "RETENTION");
+
+        ArgumentCaptor<ChainCheckpointEntity> saved = ArgumentCaptor.forClass(ChainCheckpointEntity.class);
+        verify(checkpointRepository).save(saved.capture());
+        assertThat(saved.getValue().getSignature()).isEqualTo(checkpoint.signature());
+        assertThat(checkpointService.verify(checkpoint)).isTrue();
+    }
+
+    @Test
+    void shouldRejectTamperedCheckpoint() {
+        ChainCheckpoint checkpoint = checkpointService.record("tenant-a", UUID.randomUUID(), "a".repeat(64),
+                Instant.parse("2026-01-01T00:00:00Z"), 1000, "RETENTION");
+        ChainCheckpoint tampered = new ChainCheckpoint(checkpoint.id(), checkpoint.tenantId(),
+                checkpoint.lastEventId(), "b".repeat(64), checkpoint.lastCreatedAt(), checkpoint.eventCount(),
+                checkpoint.reason(), checkpoint.createdAt(), checkpoint.signature());
+
+        assertThat(checkpointService.verify(tampered)).isFalse();
+    }
+
+    @Test
+    void shouldOnlyReturnAnchorsWithValidSignature() {
+        ChainCheckpoint valid = checkpointService.record("tenant-a", UUID.randomUUID(), "a".repeat(64),
+                Instant.parse("2026-01-01T00:00:00Z"), 1000, "RETENTION");
+        ChainCheckpoint forged = new ChainCheckpoint(UUID.randomUUID(), "tenant-a", UUID.randomUUID(),
+                "a".repeat(64), Instant.now(), 1, "RETENTION", Instant.now(), valid.signature());
+        when(checkpointRepository.findByTenantIdAndLastHashAndReason("tenant-a", "a".repeat(64), "RETENTION"))
+                .thenReturn(List.of(
+                ChainCheckpointMapper.toEntity(forged), ChainCheckpointMapper.toEntity(valid)));
+
+        assertThat(checkpointService.findVerifiedAnchor("tenant-a", "a".repeat(64))).contains(valid);
+    }
+
+    @Test
+    void shouldFailVerificationOfChainTruncatedAtPeriodicCheckpoint() {
+        Event first = TestFixtures.createTestEventWithTenant("tenant-a");
+        String periodicHash = "d".repeat(64);
+        checkpointService.record("tenant-a", UUID.randomUUID(), periodicHash,
+                Instant.parse("2026-01-01T00:00:00Z"), 1000, ChainCheckpointWriter.CHECKPOINT_REASON);
+        HashChainServiceImpl hashChainService = new HashChainServiceImpl(jpaEventRepository, checkpointService);
+        // the prefix up to the periodic checkpoint was deleted, so the remaining chain starts at its hash
+        Event suffixStart = new Event(first.id(), first.timestamp(), first.actor(), first.action(), first.resource(),
+                first.metadata(), periodicHash, hashChainService.calculateHash(first, periodicHash), null);
+        when(checkpointRepository.findByTenantIdAndLastHashAndReason("tenant-a", periodicHash, "RETENTION"))
+                .thenReturn(List.of());
+
+        assertThat(hashChainService.verifyChain(List.of(suffixStart),
+                List.of(CanonicalHashInput.CURRENT_VERSION))).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader.ChainLink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChainCheckpointWriterTest {
+
+    private static final Instant START = Instant.parse("2026-10-18T00:00:00Z");
+
+    @Mock
+    private ChainCheckpointService checkpointService;
+
+    private final HashChainService hashChainService = new HashChainServiceImpl(null);
+
+    private ChainCheckpointWriter writer(InMemoryChainReader chain, long settleMillis, int maxPerRun) {
+        Clock clock = Clock.fixed(START.plusSeconds(60), ZoneOffset.UTC);
+        return new ChainCheckpointWriter(chain, checkpointService, 10, settleMillis, maxPerRun, clock);
+    }
+
+    private static ChainCheckpoint checkpointAt(ChainLink link) {
+        return new ChainCheckpoint(UUID.randomUUID(), "acme", link.event().id(), link.event().hash(),
+                link.createdAt(), 10, ChainCheckpointWriter.CHECKPOINT_REASON, START, "sig");
+    }
+
+    @Test
+    void shouldCheckpointEveryNEvents() {
+        InMemoryChainReader chain = new InMemoryChainReader("acme", 35, START, hashChainService, null);
+        when(checkpointService.findLatest("acme", ChainCheckpointWriter.CHECKPOINT_REASON)).thenReturn(Optional.empty());
+
+        int written = writer(chain, 0, 100).writeCheckpoints();
+
+        assertThat(written).isEqualTo(3);
+        for (int index : new int[]{9, 19, 29}) {
+            ChainLink link = chain.links().get(index);
+            verify(checkpointService).record("acme", link.event().id(), link.event().hash(), link.createdAt(), 10,
+                    ChainCheckpointWriter.CHECKPOINT_REASON);
+        }
+    }
+
+    @Test
+    void shouldContinueFromLatestCheckpoint() {
+        InMemoryChainReader chain = new InMemoryChainReader("acme", 35, START, hashChainService, null);
+        when(checkpointService.findLatest("acme", ChainCheckpointWriter.CHECKPOINT_REASON))
+                .thenReturn(Optional.of(checkpointAt(chain.links().get(19))));
+
+        int written = writer(chain, 0, 100).writeCheckpoints();
+
+        assertThat(written).isEqualTo(1);
+        ChainLink link = chain.links().get(29);
+        verify(checkpointService).record("acme", link.event().id(), link.event().hash(), link.createdAt(), 10,
+                ChainCheckpointWriter.CHECKPOINT_REASON);
+    }
+
+    @Test
+    void shouldLeaveUnsettledEventsAndRespectRunLimit() {
+        // events are created one millisecond apart; the clock is 60 s after the first one
+        InMemoryChainReader chain = new InMemoryChainReader("acme", 35, START, hashChainService, null);
+        when(checkpointService.findLatest("acme", ChainCheckpointWriter.CHECKPOINT_REASON)).thenReturn(Optional.empty());
+
+        assertThat(writer(chain, 59_985, 100).writeCheckpoints()).isEqualTo(1);
+        assertThat(writer(chain, 0, 2).writeCheckpoints()).isEqualTo(2);
+        verify(checkpointService, times(3)).record(eq("acme"), any(), anyString(), any(), anyLong(),
+                eq(ChainCheckpointWriter.CHECKPOINT_REASON));
+    }
+}
@@ -0,0 +1,103 @@
+package com.mohmk10.audittrail.storage.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChainHeadCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldWarmLazilyAndReuseHead() {
+        ChainHeadCache cache = new ChainHeadCache(ChainHeadCache.Mode.LOCAL);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, ChainHead> loader = tenantId -> {
+            loads.incrementAndGet();
+            return ChainHead.of("GENESIS");
+        };
+
+        assertThat(cache.getHead("tenant-1", loader)).isEqualTo(ChainHead.of("GENESIS"));
+        assertThat(cache.getHead("tenant-1", loader)).isEqualTo(ChainHead.of("GENESIS"));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldAdvanceImmediatelyWithoutTransaction() {
+        ChainHeadCache cache = new ChainHeadCache(ChainHeadCache.Mode.LOCAL);
+        cache.getHead("tenant-1", tenantId -> ChainHead.of("GENESIS"));
+
+        cache.advance("tenant-1", ChainHead.of("GENESIS"), ChainHead.of("hash1"));
+
+        assertThat(cache.getHead("tenant-1", tenantId -> ChainHead.of("db-hash"))).isEqualTo(ChainHead.of("hash1"));
+    }
+
+    @Test
+    void shouldKeepUncommittedHeadPrivateUntilCommit() {
+        ChainHeadCache cache = new ChainHeadCache(ChainHeadCache.Mode.LOCAL);
+        cache.getHead("tenant-1", tenantId -> ChainHead.of("GENESIS"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.advance("tenant-1", ChainHead.of("GENESIS"), ChainHead.of("hash1"));
+        assertThat(cache.getHead("tenant-1", tenantId -> ChainHead.of("db-hash"))).isEqualTo(ChainHead.of("hash1"));
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(cache.getHead("tenant-1", tenantId -> ChainHead.of("db-hash"))).isEqualTo(ChainHead.of("hash1"));
+    }
+
+    @Test
+    void shouldEvictTenantOnRollback() {
+        ChainHeadCache cache = new ChainHeadCache(ChainHeadCache.Mode.LOCAL);
+        cache.getHead("tenant-1", tenantId -> ChainHead.of("GENESIS"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.advance("tenant-1", ChainHead.of("GENESIS"), ChainHead.of("hash1"));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHead("tenant-1", tenantId -> ChainHead.of("db-hash"))).isEqualTo(ChainHead.of("db-hash"));
+    }
+
+    @Test
+    void shouldEvictWhenHeadMovedConcurrently() {
+        ChainHeadCache cache = new ChainHeadCache(ChainHeadCache.Mode.LOCAL);
+        cache.getHead("tenant-1", tenantId -> ChainHead.of("GENESIS"));
+
+        cache.advance("tenant-1", ChainHead.of("GENESIS"), ChainHead.of("hash1"));
+        cache.advance("tenant-1", ChainHead.of("GENESIS"), ChainHead.of("forked-hash"));
+
+        assertThat(cache.getHead("tenant-1", tenantId -> ChainHead.of("db-hash"))).isEqualTo(ChainHead.of("db-hash"));
+    }
+
+    @Test
+    void shouldAlwaysReadThroughInSharedMode() {
+        ChainHeadCache cache = new ChainHeadCache("shared");
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, ChainHead> loader = tenantId -> ChainHead.of("hash" + loads.incrementAndGet());
+
+        cache.getHead("tenant-1", loader);
+        cache.advance("tenant-1", ChainHead.of("hash1"), ChainHead.of("local-hash"));
+
+        assertThat(cache.getMode()).isEqualTo(ChainHeadCache.Mode.SHARED);
+        assertThat(cache.getHead("tenant-1", loader)).isEqualTo(ChainHead.of("hash2"));
+        assertThat(cache.size()).isZero();
+    }
+
+    private void completeTransaction(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,83 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChainSequencerBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainSequencerBenchmarkTest.class);
+
+    private static final int THREADS = 16;
+    private static final int EVENTS_PER_THREAD = 400;
+    private static final long SIMULATED_INSERT_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private final HashChainServiceImpl hashChainService = new HashChainServiceImpl(null);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64})
+    void shouldKeepEveryChainLinearUnderContention(int tenants) throws Exception {
+        ChainSequencer sequencer = new ChainSequencer(ChainSequencer.Mode.LOCAL, 1024, 30_000, null);
+        Map<String, List<Event>> chains = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int worker = t;
+            workers.add(pool.submit(() -> {
+                for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    String tenantId = "tenant-" + (worker + i) % tenants;
+                    sequencer.sequence(tenantId, () -> append(chains, tenantId));
+                }
+            }));
+        }
+        for (Future<?> future : workers) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        pool.shutdown();
+
+        int total = THREADS * EVENTS_PER_THREAD;
+        log.info("chain sequencer: tenants={} threads={} events={} elapsed={}ms throughput={} events/s",
+                tenants, THREADS, total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                total * 1_000_000_000L / Math.max(1, elapsedNanos));
+
+        assertThat(chains).hasSize(tenants);
+        assertThat(chains.values().stream().mapToInt(List::size).sum()).isEqualTo(total);
+        chains.values().forEach(chain -> assertThat(hashChainService.verifyChain(chain,
+                chain.stream().map(event -> CanonicalHashInput.CURRENT_VERSION).toList())).isTrue());
+    }
+
+    private Event append(Map<String, List<Event>> chains, String tenantId) {
+        List<Event> chain = chains.computeIfAbsent(tenantId, key -> new ArrayList<>());
+        String previousHash = chain.isEmpty()
+                ? HashChainServiceImpl.GENESIS_HASH
+                : chain.get(chain.size() - 1).hash();
+
+        Event event = TestFixtures.createTestEventWithTenant(tenantId);
+        String hash = hashChainService.calculateHash(event, previousHash);
+        LockSupport.parkNanos(SIMULATED_INSERT_NANOS);
+
+        Event stored = new Event(event.id(), event.timestamp(), event.actor(), event.action(), event.resource(),
+                event.metadata(), previousHash, hash, null);
+        chain.add(stored);
+        return stored;
+    }
+}
@@ -0,0 +1,169 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.exception.StorageException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChainSequencerTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRunWorkAndReleaseLockWithoutTransaction() {
+        ChainSequencer sequencer = new ChainSequencer(ChainSequencer.Mode.LOCAL, 4, 100, null);
+
+        String result = sequencer.sequence("tenant-1", () -> "stored");
+
+        assertThat(result).isEqualTo("stored");
+        assertThat(lockedFromOtherThread(sequencer, "tenant-1")).isTrue();
+    }
+
+    @Test
+    void shouldHoldLockUntilTransactionCompletes() {
+        ChainSequencer sequencer = new ChainSequencer(ChainSequencer.Mode.LOCAL, 4, 50, null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        sequencer.sequence("tenant-1", () -> "stored");
+        sequencer.sequence("tenant-1", () -> "stored again");
+
+        assertThat(lockedFromOtherThread(sequencer, "tenant-1")).isFalse();
+
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(synchronizations).hasSize(1);
+        assertThat(lockedFromOtherThread(sequencer, "tenant-1")).isTrue();
+    }
+
+    @Test
+    void shouldNotBlockOtherTenants() throws Exception {
+        ChainSequencer sequencer = new ChainSequencer(ChainSequencer.Mode.LOCAL, 1024, 50, null);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> sequencer.sequence("tenant-a", () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await(1, TimeUnit.SECONDS);
+
+        assertThat(sequencer.sequence("tenant-b", () -> "stored")).isEqualTo("stored");
+        assertThatThrownBy(() -> sequencer.sequence("tenant-a", () -> "stored"))
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("tenant-a");
+
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldOrderLocksTheSameWayWhateverTheInputOrder() {
+        ChainSequencer sequencer = new ChainSequencer(ChainSequencer.Mode.LOCAL, 8, 100, null);
+        List<String> tenants = IntStream.range(0, 40).mapToObj(i -> "tenant-" + i).toList();
+        List<String> reversed = new ArrayList<>(tenants);
+        Collections.reverse(reversed);
+
+        List<String> order = sequencer.lockOrder(tenants);
+
+        assertThat(sequencer.lockOrder(reversed)).isEqualTo(order);
+        assertThat(order).hasSize(40);
+        assertThat(order).isSortedAccordingTo(Comparator.comparingInt(t -> Math.floorMod(t.hashCode(), 8)));
+    }
+
+    @Test
+    void shouldDeduplicateTenantsInLockOrder() {
+        ChainSequencer sequencer = new ChainSequencer(ChainSequencer.Mode.LOCAL, 4, 100, null);
+
+        assertThat(sequencer.lockOrder(List.of("tenant-b", "tenant-a", "tenant-b")))
+                .containsExactlyInAnyOrder("tenant-a", "tenant-b");
+    }
+
+    @Test
+    void shouldNotDeadlockBatchesOverSameTenantsInOppositeOrder() throws Exception {
+        ChainSequencer sequencer = new ChainSequencer(ChainSequencer.Mode.LOCAL, 1024, 2_000, null);
+        List<String> tenants = List.of("tenant-a", "tenant-b");
+        CountDownLatch firstTaken = new CountDownLatch(2);
+
+        // each batch holds its locks until its simulated transaction completes, as storeBatch does
+        Callable<Void> forward = () -> lockAll(sequencer, tenants, firstTaken);
+        Callable<Void> backward = () -> lockAll(sequencer, tenants.reversed(), firstTaken);
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var first = executor.submit(forward);
+            var second = executor.submit(backward);
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Void lockAll(ChainSequencer sequencer, List<String> tenants, CountDownLatch firstTaken)
+            throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            boolean first = true;
+            for (String tenant : sequencer.lockOrder(tenants)) {
+                sequencer.sequence(tenant, () -> null);
+                if (first) {
+                    firstTaken.countDown();
+                    // gives the other batch time to take its first lock too
+                    firstTaken.await(200, TimeUnit.MILLISECONDS);
+                    first = false;
+                }
+            }
+        } finally {
+            var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+        return null;
+    }
+
+    @Test
+    void shouldRejectAdvisoryModeWithoutDataSource() {
+        assertThatThrownBy(() -> new ChainSequencer(ChainSequencer.Mode.ADVISORY, 4, 100, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private boolean lockedFromOtherThread(ChainSequencer sequencer, String tenantId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return sequencer.sequence(tenantId, () -> true);
+            } catch (StorageException e) {
+                return false;
+            }
+        }).join();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
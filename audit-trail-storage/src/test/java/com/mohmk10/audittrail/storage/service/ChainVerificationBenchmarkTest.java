@@ -0,0 +1,69 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader.ChainLink;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChainVerificationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainVerificationBenchmarkTest.class);
+
+    private static final int EVENTS = 4_000;
+    private static final int CHECKPOINT_EVERY = 250;
+    private static final Instant START = Instant.parse("2026-10-18T00:00:00Z");
+
+    private final HashChainService hashChainService = new HashChainServiceImpl(null);
+
+    @Test
+    void shouldScaleVerificationWithParallelism() {
+        SignatureServiceImpl signatureService = new SignatureServiceImpl(SignatureServiceImpl.Mode.PER_EVENT);
+        signatureService.init();
+        InMemoryChainReader chain = new InMemoryChainReader("acme", EVENTS, START, hashChainService, signatureService);
+        ChainCheckpointService checkpointService = mock(ChainCheckpointService.class);
+        List<ChainCheckpoint> checkpoints = IntStream.iterate(CHECKPOINT_EVERY - 1, i -> i < EVENTS, i -> i + CHECKPOINT_EVERY)
+                .mapToObj(i -> checkpointAt(chain.links().get(i)))
+                .toList();
+        when(checkpointService.findAll("acme", ChainCheckpointWriter.CHECKPOINT_REASON)).thenReturn(checkpoints);
+        when(checkpointService.verify(any())).thenReturn(true);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long baselineNanos = 0;
+        for (int parallelism : IntStream.of(1, 2, 4, 8).filter(p -> p == 1 || p <= cores).toArray()) {
+            ChainVerificationServiceImpl service = new ChainVerificationServiceImpl(chain, hashChainService,
+                    checkpointService, signatureService, 100, 1, parallelism, true, 10, Clock.systemUTC());
+            ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", Instant.now());
+
+            long start = System.nanoTime();
+            service.verify(job);
+            long elapsedNanos = System.nanoTime() - start;
+            service.shutdown();
+
+            baselineNanos = parallelism == 1 ? elapsedNanos : baselineNanos;
+            log.info("chain verification: parallelism={} cores={} events={} segments={} elapsed={}ms speedup={}",
+                    parallelism, cores, EVENTS, job.getSegments(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    String.format("%.2f", (double) baselineNanos / Math.max(1, elapsedNanos)));
+
+            assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.VALID);
+            assertThat(job.getVerifiedEvents()).isEqualTo(EVENTS);
+        }
+    }
+
+    private static ChainCheckpoint checkpointAt(ChainLink link) {
+        return new ChainCheckpoint(UUID.randomUUID(), "acme", link.event().id(), link.event().hash(),
+                link.createdAt(), CHECKPOINT_EVERY, ChainCheckpointWriter.CHECKPOINT_REASON, START, "sig");
+    }
+}
@@ -0,0 +1,189 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.ChainCheckpoint;
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader.ChainLink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChainVerificationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T00:00:00Z");
+
+    @Mock
+    private JdbcChainReader chainReader;
+
+    @Mock
+    private ChainCheckpointService checkpointService;
+
+    @Mock
+    private SignatureService signatureService;
+
+    private final HashChainService hashChainService = new HashChainServiceImpl(null);
+    private ChainVerificationServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private ChainVerificationServiceImpl service(JdbcChainReader reader, int pageSize, boolean verifySignatures) {
+        service = new ChainVerificationServiceImpl(reader, hashChainService, checkpointService, signatureService,
+                pageSize, 1, 4, verifySignatures, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+        return service;
+    }
+
+    private InMemoryChainReader chain(int length) {
+        return new InMemoryChainReader("acme", length, NOW, hashChainService, null);
+    }
+
+    // checkpoints at the given chain indexes, as the periodic writer would record them
+    private void checkpointsAt(InMemoryChainReader chain, int... indexes) {
+        List<ChainCheckpoint> checkpoints = IntStream.of(indexes)
+                .mapToObj(index -> chain.links().get(index))
+                .map(link -> new ChainCheckpoint(UUID.randomUUID(), "acme", link.event().id(), link.event().hash(),
+                        link.createdAt(), 10, ChainCheckpointWriter.CHECKPOINT_REASON, NOW, "sig"))
+                .toList();
+        when(checkpointService.findAll("acme", ChainCheckpointWriter.CHECKPOINT_REASON)).thenReturn(checkpoints);
+    }
+
+    private static Event tamper(Event event) {
+        return new Event(event.id(), event.timestamp().plusSeconds(1), event.actor(), event.action(),
+                event.resource(), event.metadata(), event.previousHash(), event.hash(), event.signature());
+    }
+
+    @Test
+    void shouldVerifyChainPageByPage() {
+        InMemoryChainReader chain = chain(5);
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", NOW);
+
+        service(chain, 2, false).verify(job);
+
+        assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.VALID);
+        assertThat(job.getVerifiedEvents()).isEqualTo(5);
+        assertThat(job.getSegments()).isEqualTo(1);
+        assertThat(job.getLastVerifiedEventId()).isEqualTo(chain.idAt(4));
+        assertThat(job.getFinishedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void shouldReportFirstBrokenLink() {
+        InMemoryChainReader chain = chain(3);
+        chain.replace(1, tamper(chain.links().get(1).event()));
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", NOW);
+
+        service(chain, 2, false).verify(job);
+
+        assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.BROKEN);
+        assertThat(job.getBrokenEventId()).isEqualTo(chain.idAt(1));
+        assertThat(job.getVerifiedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldVerifySegmentsBetweenCheckpointsInParallel() {
+        InMemoryChainReader chain = chain(40);
+        checkpointsAt(chain, 9, 19, 29);
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", NOW);
+
+        service(chain, 3, false).verify(job);
+
+        assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.VALID);
+        assertThat(job.getSegments()).isEqualTo(4);
+        assertThat(job.getCompletedSegments()).isEqualTo(4);
+        assertThat(job.getVerifiedEvents()).isEqualTo(40);
+        assertThat(job.getLastVerifiedEventId()).isEqualTo(chain.idAt(39));
+    }
+
+    @Test
+    void shouldReportEarliestBreakAcrossSegments() {
+        InMemoryChainReader chain = chain(40);
+        checkpointsAt(chain, 9, 19, 29);
+        chain.replace(35, tamper(chain.links().get(35).event()));
+        chain.replace(14, tamper(chain.links().get(14).event()));
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", NOW);
+
+        service(chain, 3, false).verify(job);
+
+        assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.BROKEN);
+        assertThat(job.getBrokenEventId()).isEqualTo(chain.idAt(14));
+        assertThat(job.getLastVerifiedEventId()).isEqualTo(chain.idAt(9));
+    }
+
+    @Test
+    void shouldDetectChainThatDoesNotMatchCheckpoint() {
+        InMemoryChainReader chain = chain(20);
+        checkpointsAt(chain, 9);
+        // an event removed in front of the checkpoint leaves the segment ending one event early
+        chain.links().remove(9);
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", NOW);
+
+        service(chain, 4, false).verify(job);
+
+        assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.BROKEN);
+        assertThat(job.getMessage()).startsWith("Chain does not match checkpoint");
+    }
+
+    @Test
+    void shouldCheckSignaturesWhenEnabled() {
+        InMemoryChainReader chain = chain(3);
+        when(signatureService.verify(anyString(), isNull())).thenReturn(true, false);
+        ChainVerificationJob job = new ChainVerificationJob(UUID.randomUUID(), "acme", NOW);
+
+        service(chain, 10, true).verify(job);
+
+        assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.BROKEN);
+        assertThat(job.getBrokenEventId()).isEqualTo(chain.idAt(1));
+        assertThat(job.getMessage()).isEqualTo("Signature does not match the event hash");
+    }
+
+    @Test
+    void shouldRunOneJobPerTenantAndStopWhenCancelled() throws InterruptedException {
+        List<ChainLink> links = chain(2).links();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(chainReader.readPage("acme", null, null, 1)).thenReturn(links.subList(0, 1));
+        when(chainReader.readPage(eq("acme"), any(), any(), eq(2))).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return links;
+        });
+        service(chainReader, 2, false);
+
+        ChainVerificationJob job = service.start("acme");
+        assertThat(service.start("acme")).isSameAs(job);
+        assertThat(service.findJob(job.getId())).contains(job);
+        assertThat(reading.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.cancel(job.getId())).isTrue();
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (job.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.getStatus()).isEqualTo(ChainVerificationJob.Status.CANCELLED);
+        assertThat(job.getVerifiedEvents()).isEqualTo(2);
+        assertThat(service.cancel(job.getId())).isFalse();
+    }
+}
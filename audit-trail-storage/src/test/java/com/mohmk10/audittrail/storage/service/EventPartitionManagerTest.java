@@ -0,0 +1,66 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.storage.service.EventPartitionManager.Granularity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventPartitionManagerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCreateCurrentAndFutureMonthlyPartitions() {
+        EventPartitionManager manager = new EventPartitionManager(jdbcTemplate, Granularity.MONTHLY, 2, CLOCK);
+
+        manager.maintain();
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS events_p2026_10 PARTITION OF events "
+                + "FOR VALUES FROM ('2026-10-01T00:00:00Z') TO ('2026-11-01T00:00:00Z')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS events_p2026_11 PARTITION OF events "
+                + "FOR VALUES FROM ('2026-11-01T00:00:00Z') TO ('2026-12-01T00:00:00Z')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS events_p2026_12 PARTITION OF events "
+                + "FOR VALUES FROM ('2026-12-01T00:00:00Z') TO ('2027-01-01T00:00:00Z')");
+    }
+
+    @Test
+    void shouldSkipDailyPartitionsAlreadyCoveredByMonthlyOnes() {
+        EventPartitionManager manager = new EventPartitionManager(jdbcTemplate, Granularity.DAILY, 1, CLOCK);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("events_default", "events_p2026_09", "events_p2026_10"));
+
+        manager.maintain();
+
+        verify(jdbcTemplate, never()).execute(contains("events_p2026_10_18"));
+        verify(jdbcTemplate, never()).execute(contains("events_p2026_10_19"));
+    }
+
+    @Test
+    void shouldCreateRemainingPartitionsWhenOneFails() {
+        EventPartitionManager manager = new EventPartitionManager(jdbcTemplate, Granularity.DAILY, 1, CLOCK);
+        doThrow(new DataIntegrityViolationException(
+                "updated partition constraint for default partition \"events_default\" would be violated by some row"))
+                .when(jdbcTemplate).execute(contains("events_p2026_10_18"));
+
+        manager.maintain();
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS events_p2026_10_19 PARTITION OF events "
+                + "FOR VALUES FROM ('2026-10-19T00:00:00Z') TO ('2026-10-20T00:00:00Z')");
+    }
+}
@@ -0,0 +1,148 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventReadCacheTest {
+
+    private static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(TestFixtures.createTestEvent());
+        }
+        return events;
+    }
+
+    @Test
+    void shouldReturnCachedEventsAndCountHitsAndMisses() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventReadCache cache = new EventReadCache(1 << 20, meterRegistry);
+        Event event = TestFixtures.createTestEvent();
+
+        assertThat(cache.get(event.id())).isEmpty();
+        cache.put(event);
+
+        assertThat(cache.get(event.id())).contains(event);
+        assertThat(meterRegistry.get("audit.event-cache.hits").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("audit.event-cache.misses").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("audit.event-cache.size").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldStayWithinWeightBound() {
+        Event sample = TestFixtures.createTestEvent();
+        long maxBytes = EventReadCache.weigh(sample) * 50;
+        EventReadCache cache = new EventReadCache(maxBytes);
+
+        events(500).forEach(cache::put);
+
+        assertThat(cache.weight()).isLessThanOrEqualTo(maxBytes);
+        assertThat(cache.size()).isBetween(1, 50);
+        assertThat(cache.evictionCount()).isEqualTo(500 - cache.size());
+    }
+
+    @Test
+    void shouldKeepFrequentlyReadEventsDuringScan() {
+        Event sample = TestFixtures.createTestEvent();
+        EventReadCache cache = new EventReadCache(EventReadCache.weigh(sample) * 200);
+        List<Event> hot = events(20);
+        hot.forEach(cache::put);
+        for (int round = 0; round < 5; round++) {
+            hot.forEach(event -> cache.get(event.id()));
+        }
+
+        // a long run of one-off lookups, as when a dashboard pages through old events
+        for (Event event : events(2_000)) {
+            cache.get(event.id());
+            cache.put(event);
+        }
+
+        assertThat(hot).allSatisfy(event -> assertThat(cache.get(event.id())).isPresent());
+    }
+
+    @Test
+    void shouldServeConcurrentReadsWhileEventsAreAdded() throws Exception {
+        Event sample = TestFixtures.createTestEvent();
+        EventReadCache cache = new EventReadCache(EventReadCache.weigh(sample) * 100);
+        List<Event> hot = events(20);
+        hot.forEach(cache::put);
+        List<Event> cold = events(1_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 7; thread++) {
+                tasks.add(executor.submit(() -> {
+                    for (int round = 0; round < 2_000; round++) {
+                        cache.get(hot.get(round % hot.size()).id());
+                    }
+                }));
+            }
+            tasks.add(executor.submit(() -> cold.forEach(cache::put)));
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(hot).allSatisfy(event -> assertThat(cache.get(event.id())).contains(event));
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        assertThat(cache.weight()).isEqualTo(cache.size() * EventReadCache.weigh(sample));
+    }
+
+    @Test
+    void shouldDropPurgedEvents() {
+        EventReadCache cache = new EventReadCache(1 << 20);
+        List<Event> stored = events(3);
+        stored.forEach(cache::put);
+
+        cache.onPurged("tenant-a", List.of(stored.get(0).id(), stored.get(2).id(), UUID.randomUUID()));
+
+        assertThat(cache.get(stored.get(0).id())).isEmpty();
+        assertThat(cache.get(stored.get(1).id())).isPresent();
+        assertThat(cache.get(stored.get(2).id())).isEmpty();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExpireEntriesPurgedByAnotherInstance() {
+        AtomicLong nanos = new AtomicLong();
+        EventReadCache cache = new EventReadCache(1 << 20, 60_000, null, nanos::get);
+        Event event = TestFixtures.createTestEvent();
+        cache.put(event);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertThat(cache.get(event.id())).contains(event);
+
+        // the purge ran elsewhere, so only the expiry drops the entry here
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(cache.get(event.id())).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    void shouldCacheNothingWhenDisabled() {
+        EventReadCache cache = new EventReadCache(0);
+        Event event = TestFixtures.createTestEvent();
+
+        cache.put(event);
+
+        assertThat(cache.get(event.id())).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+}
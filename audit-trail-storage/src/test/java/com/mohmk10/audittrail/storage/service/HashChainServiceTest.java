@@ -1,5 +1,7 @@
 package com.mohmk10.audittrail.storage.service;
 
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
+import com.mohmk10.audittrail.core.crypto.Crypto;
 import com.mohmk10.audittrail.core.domain.*;
 import com.mohmk10.audittrail.storage.TestFixtures;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
@@ -17,6 +19,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -26,11 +29,14 @@ class HashChainServiceTest {
     @Mock
     private JpaEventRepository jpaEventRepository;
 
+    @Mock
+    private ChainCheckpointService checkpointService;
+
     private HashChainServiceImpl hashChainService;
 
     @BeforeEach
     void setUp() {
-        hashChainService = new HashChainServiceImpl(jpaEventRepository);
+        hashChainService = new HashChainServiceImpl(jpaEventRepository, checkpointService);
     }
 
     @Test
@@ -184,7 +190,7 @@ class HashChainServiceTest {
 
         List<Event> chain = List.of(event1WithHash, event2WithHash, event3WithHash);
 
-        boolean isValid = hashChainService.verifyChain(chain);
+        boolean isValid = hashChainService.verifyChain(chain, currentVersions(chain));
 
         assertThat(isValid).isTrue();
     }
@@ -201,7 +207,7 @@ class HashChainServiceTest {
 
         List<Event> chain = List.of(event);
 
-        boolean isValid = hashChainService.verifyChain(chain);
+        boolean isValid = hashChainService.verifyChain(chain, currentVersions(chain));
 
         assertThat(isValid).isFalse();
     }
@@ -232,21 +238,60 @@ class HashChainServiceTest {
 
         List<Event> chain = List.of(event1WithHash, event2WithHash);
 
-        boolean isValid = hashChainService.verifyChain(chain);
+        boolean isValid = hashChainService.verifyChain(chain, currentVersions(chain));
 
         assertThat(isValid).isFalse();
     }
 
+    @Test
+    void shouldVerifyChainWithEachEventsStoredHashVersion() {
+        Actor actor = new Actor("actor", Actor.ActorType.USER, "User", null, null, null);
+        Action action = new Action(Action.ActionType.CREATE, null, null);
+        Resource resource = new Resource("res", Resource.ResourceType.DOCUMENT, "Doc", null, null);
+        EventMetadata metadata = new EventMetadata("src", "tenant", null, null, null, null);
+
+        // a row written before the canonical encoding, followed by one written after it
+        Event legacy = new Event(UUID.randomUUID(), Instant.parse("2024-01-15T10:00:00Z"), actor, action, resource,
+                metadata, HashChainServiceImpl.GENESIS_HASH, null, null);
+        String legacyHash = hashChainService.calculateHash(legacy, HashChainServiceImpl.GENESIS_HASH,
+                CanonicalHashInput.LEGACY_VERSION);
+        Event legacyWithHash = new Event(legacy.id(), legacy.timestamp(), actor, action, resource, metadata,
+                HashChainServiceImpl.GENESIS_HASH, legacyHash, null);
+        Event current = new Event(UUID.randomUUID(), Instant.parse("2024-01-15T10:01:00Z"), actor, action, resource,
+                metadata, legacyHash, null, null);
+        String currentHash = hashChainService.calculateHash(current, legacyHash);
+        Event currentWithHash = new Event(current.id(), current.timestamp(), actor, action, resource, metadata,
+                legacyHash, currentHash, null);
+        List<Event> chain = List.of(legacyWithHash, currentWithHash);
+
+        assertThat(hashChainService.verifyChain(chain,
+                List.of(CanonicalHashInput.LEGACY_VERSION, CanonicalHashInput.CURRENT_VERSION))).isTrue();
+        assertThat(hashChainService.verifyChain(chain, currentVersions(chain))).isFalse();
+    }
+
+    @Test
+    void shouldRejectHashVersionsThatDoNotMatchTheChain() {
+        Event event = new Event(UUID.randomUUID(), Instant.now(),
+                new Actor("actor", Actor.ActorType.USER, "User", null, null, null),
+                new Action(Action.ActionType.CREATE, null, null),
+                new Resource("res", Resource.ResourceType.DOCUMENT, "Doc", null, null),
+                new EventMetadata("src", "tenant", null, null, null, null),
+                HashChainServiceImpl.GENESIS_HASH, "hash", null);
+
+        assertThatThrownBy(() -> hashChainService.verifyChain(List.of(event), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldReturnTrueForEmptyChain() {
-        boolean isValid = hashChainService.verifyChain(List.of());
+        boolean isValid = hashChainService.verifyChain(List.of(), List.of());
 
         assertThat(isValid).isTrue();
     }
 
     @Test
     void shouldReturnTrueForNullChain() {
-        boolean isValid = hashChainService.verifyChain(null);
+        boolean isValid = hashChainService.verifyChain(null, null);
 
         assertThat(isValid).isTrue();
     }
@@ -282,4 +327,100 @@ class HashChainServiceTest {
         assertThat(hash).isNotNull();
         assertThat(hash).isNotEmpty();
     }
+
+    @Test
+    void shouldVerifySuffixAnchoredBySignedCheckpoint() {
+        Event first = TestFixtures.createTestEventWithTenant("tenant-a");
+        String anchorHash = "a".repeat(64);
+        String hash = hashChainService.calculateHash(first, anchorHash);
+        Event suffixStart = new Event(first.id(), first.timestamp(), first.actor(), first.action(), first.resource(),
+                first.metadata(), anchorHash, hash, null);
+        ChainCheckpoint checkpoint = new ChainCheckpoint(UUID.randomUUID(), "tenant-a", UUID.randomUUID(),
+                anchorHash, Instant.now(), 10, "RETENTION", Instant.now(), "signature");
+        when(checkpointService.findVerifiedAnchor("tenant-a", anchorHash)).thenReturn(Optional.of(checkpoint));
+
+        assertThat(hashChainService.verifyChain(List.of(suffixStart), List.of(CanonicalHashInput.CURRENT_VERSION))).isTrue();
+    }
+
+    @Test
+    void shouldRejectSuffixWithoutCheckpoint() {
+        Event first = TestFixtures.createTestEventWithTenant("tenant-a");
+        String danglingHash = "b".repeat(64);
+        Event suffixStart = new Event(first.id(), first.timestamp(), first.actor(), first.action(), first.resource(),
+                first.metadata(), danglingHash, hashChainService.calculateHash(first, danglingHash), null);
+        when(checkpointService.findVerifiedAnchor("tenant-a", danglingHash)).thenReturn(Optional.empty());
+
+        assertThat(hashChainService.verifyChain(List.of(suffixStart), List.of(CanonicalHashInput.CURRENT_VERSION))).isFalse();
+    }
+
+    @Test
+    void shouldContinueFromLatestCheckpointWhenTenantHasNoEvents() {
+        ChainCheckpoint checkpoint = new ChainCheckpoint(UUID.randomUUID(), "tenant-a", UUID.randomUUID(),
+                "c".repeat(64), Instant.now(), 10, "RETENTION", Instant.now(), "signature");
+        when(jpaEventRepository.findTopByTenantIdOrderByCreatedAtDesc("tenant-a")).thenReturn(Optional.empty());
+        when(checkpointService.findLatest("tenant-a", RetentionEngine.CHECKPOINT_REASON))
+                .thenReturn(Optional.of(checkpoint));
+
+        assertThat(hashChainService.getLastHash("tenant-a")).isEqualTo("c".repeat(64));
+    }
+
+    @Test
+    void shouldKeepLegacyHashForVersionOneEvents() {
+        Event event = TestFixtures.createTestEvent();
+        String legacyInput = event.timestamp().toString() + event.actor().id() + event.action().type().name()
+                + event.resource().id() + HashChainServiceImpl.GENESIS_HASH;
+
+        String hash = hashChainService.calculateHash(event, null, CanonicalHashInput.LEGACY_VERSION);
+
+        assertThat(hash).isEqualTo(Crypto.sha256Hex(legacyInput));
+        assertThat(hashChainService.calculateHash(event, null)).isNotEqualTo(hash);
+    }
+
+    @Test
+    void shouldSeparateFieldsInCanonicalEncoding() {
+        Instant timestamp = Instant.parse("2026-10-18T10:00:00Z");
+        Event first = eventWith(timestamp, "alice", "doc-1");
+        Event second = eventWith(timestamp, "alice", "doc-1a");
+
+        // the legacy text concatenation cannot tell where the resource id ends and the previous hash begins
+        assertThat(hashChainService.calculateHash(first, "abc", CanonicalHashInput.LEGACY_VERSION))
+                .isEqualTo(hashChainService.calculateHash(second, "bc", CanonicalHashInput.LEGACY_VERSION));
+        assertThat(hashChainService.calculateHash(first, "abc"))
+                .isNotEqualTo(hashChainService.calculateHash(second, "bc"));
+    }
+
+    @Test
+    void shouldHashLongAndNonAsciiFieldsInCanonicalEncoding() {
+        Instant timestamp = Instant.parse("2026-10-18T10:00:00.123456789Z");
+        String longId = "x".repeat(5_000);
+
+        String hash = hashChainService.calculateHash(eventWith(timestamp, longId, "résumé"), null);
+
+        assertThat(hash).hasSize(64);
+        assertThat(hashChainService.calculateHash(eventWith(timestamp, longId, "résumé"), null)).isEqualTo(hash);
+        assertThat(hashChainService.calculateHash(eventWith(timestamp, longId + "y", "résumé"), null))
+                .isNotEqualTo(hash);
+        assertThat(hashChainService.calculateHash(eventWith(timestamp, longId, "resume"), null)).isNotEqualTo(hash);
+    }
+
+    @Test
+    void shouldRejectUnknownHashVersion() {
+        Event event = TestFixtures.createTestEvent();
+
+        assertThatThrownBy(() -> hashChainService.calculateHash(event, null, 99))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Event eventWith(Instant timestamp, String actorId, String resourceId) {
+        return new Event(UUID.randomUUID(), timestamp,
+                new Actor(actorId, Actor.ActorType.USER, null, null, null, null),
+                new Action(Action.ActionType.CREATE, null, null),
+                new Resource(resourceId, Resource.ResourceType.DOCUMENT, null, null, null),
+                new EventMetadata(null, "tenant-a", null, null, null, null),
+                null, null, null);
+    }
+
+    private static List<Integer> currentVersions(List<Event> chain) {
+        return chain.stream().map(event -> CanonicalHashInput.CURRENT_VERSION).toList();
+    }
 }
@@ -1,8 +1,12 @@
 package com.mohmk10.audittrail.storage.service;
 
+import com.mohmk10.audittrail.core.crypto.CanonicalHashInput;
 import com.mohmk10.audittrail.core.domain.Event;
 import com.mohmk10.audittrail.storage.TestFixtures;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.entity.EventEntity;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventBatchWriter;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventOutbox;
 import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +15,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -26,17 +34,27 @@ class ImmutableStorageServiceTest {
     @Mock
     private JpaEventRepository jpaEventRepository;
 
+    @Mock
+    private JdbcEventBatchWriter eventBatchWriter;
+
+    @Mock
+    private JdbcEventOutbox eventOutbox;
+
     @Mock
     private HashChainService hashChainService;
 
     @Mock
     private SignatureService signatureService;
 
+    private final EventReadCache eventReadCache = new EventReadCache(1 << 20);
+
     private ImmutableStorageServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new ImmutableStorageServiceImpl(jpaEventRepository, hashChainService, signatureService);
+        service = new ImmutableStorageServiceImpl(jpaEventRepository, eventBatchWriter, eventOutbox, hashChainService, signatureService,
+                new ChainHeadCache(ChainHeadCache.Mode.LOCAL),
+                new ChainSequencer(ChainSequencer.Mode.LOCAL, 16, 1000, null), eventReadCache);
     }
 
     @Test
@@ -44,7 +62,7 @@ class ImmutableStorageServiceTest {
         Event event = TestFixtures.createTestEvent();
         String expectedHash = "computed-hash-value";
 
-        when(hashChainService.getLastHash(anyString())).thenReturn("GENESIS");
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
         when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn(expectedHash);
         when(signatureService.sign(anyString())).thenReturn("signature");
         when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -62,7 +80,7 @@ class ImmutableStorageServiceTest {
         Event event = TestFixtures.createTestEvent();
         String expectedSignature = "digital-signature";
 
-        when(hashChainService.getLastHash(anyString())).thenReturn("GENESIS");
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
         when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn("hash");
         when(signatureService.sign(anyString())).thenReturn(expectedSignature);
         when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -80,7 +98,7 @@ class ImmutableStorageServiceTest {
         Event event = TestFixtures.createTestEvent();
         String previousHash = "previous-event-hash";
 
-        when(hashChainService.getLastHash(anyString())).thenReturn(previousHash);
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of(previousHash));
         when(hashChainService.calculateHash(any(Event.class), eq(previousHash))).thenReturn("new-hash");
         when(signatureService.sign(anyString())).thenReturn("signature");
         when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -92,18 +110,39 @@ class ImmutableStorageServiceTest {
         assertThat(entityCaptor.getValue().getPreviousHash()).isEqualTo(previousHash);
     }
 
+    @Test
+    void shouldStampCreatedAtAfterChainHead() {
+        // the previous segment took created_at values ahead of the clock
+        Instant headCreatedAt = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        when(hashChainService.getLastHead(anyString())).thenReturn(new ChainHead("head", headCreatedAt));
+        when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn("h1", "h2", "h3");
+        when(signatureService.sign(anyString())).thenReturn("signature");
+        when(signatureService.signAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.store(TestFixtures.createTestEvent());
+        service.storeBatch(List.of(TestFixtures.createTestEvent(), TestFixtures.createTestEvent()));
+        service.store(TestFixtures.createTestEvent());
+
+        ArgumentCaptor<EventEntity> entityCaptor = ArgumentCaptor.forClass(EventEntity.class);
+        verify(jpaEventRepository, times(2)).save(entityCaptor.capture());
+        assertThat(entityCaptor.getAllValues().get(0).getCreatedAt()).isEqualTo(headCreatedAt.plus(1, ChronoUnit.MICROS));
+        verify(eventBatchWriter).insert(anyList(), eq(headCreatedAt.plus(2, ChronoUnit.MICROS)));
+        assertThat(entityCaptor.getAllValues().get(1).getCreatedAt()).isEqualTo(headCreatedAt.plus(4, ChronoUnit.MICROS));
+    }
+
     @Test
     void shouldHandleFirstEventOfTenant() {
         Event event = TestFixtures.createTestEventWithTenant("new-tenant");
 
-        when(hashChainService.getLastHash("new-tenant")).thenReturn("GENESIS");
+        when(hashChainService.getLastHead("new-tenant")).thenReturn(ChainHead.of("GENESIS"));
         when(hashChainService.calculateHash(any(Event.class), eq("GENESIS"))).thenReturn("first-hash");
         when(signatureService.sign(anyString())).thenReturn("signature");
         when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         service.store(event);
 
-        verify(hashChainService).getLastHash("new-tenant");
+        verify(hashChainService).getLastHead("new-tenant");
         verify(hashChainService).calculateHash(any(Event.class), eq("GENESIS"));
     }
 
@@ -114,16 +153,23 @@ class ImmutableStorageServiceTest {
         Event event3 = TestFixtures.createTestEvent();
         List<Event> events = List.of(event1, event2, event3);
 
-        when(hashChainService.getLastHash(anyString())).thenReturn("GENESIS", "hash1", "hash2");
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
         when(hashChainService.calculateHash(any(Event.class), anyString()))
                 .thenReturn("hash1", "hash2", "hash3");
-        when(signatureService.sign(anyString())).thenReturn("sig");
-        when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(signatureService.signAll(List.of("hash1", "hash2", "hash3"))).thenReturn(List.of("sig1", "sig2", "sig3"));
 
         List<Event> stored = service.storeBatch(events);
 
         assertThat(stored).hasSize(3);
-        verify(jpaEventRepository, times(3)).save(any(EventEntity.class));
+        assertThat(stored).extracting(Event::id).containsExactly(event1.id(), event2.id(), event3.id());
+        assertThat(stored).extracting(Event::signature).containsExactly("sig1", "sig2", "sig3");
+        verify(eventBatchWriter, times(1)).insert(anyList(), any(Instant.class));
+        verify(jpaEventRepository, never()).save(any(EventEntity.class));
+    }
+
+    // the service hashes a copy of each event at the stored timestamp precision
+    private static Event same(Event event) {
+        return argThat(hashed -> hashed != null && hashed.id().equals(event.id()));
     }
 
     @Test
@@ -132,17 +178,72 @@ class ImmutableStorageServiceTest {
         Event event2 = TestFixtures.createTestEvent();
         List<Event> events = List.of(event1, event2);
 
-        when(hashChainService.getLastHash(anyString()))
-                .thenReturn("GENESIS")
-                .thenReturn("hash1");
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
+        when(hashChainService.calculateHash(same(event1), eq("GENESIS"))).thenReturn("hash1");
+        when(hashChainService.calculateHash(same(event2), eq("hash1"))).thenReturn("hash2");
+        when(signatureService.signAll(anyList())).thenReturn(List.of("sig1", "sig2"));
+
+        List<Event> stored = service.storeBatch(events);
+
+        assertThat(stored.get(0).previousHash()).isEqualTo("GENESIS");
+        assertThat(stored.get(1).previousHash()).isEqualTo("hash1");
+        assertThat(stored.get(1).hash()).isEqualTo("hash2");
+        verify(hashChainService, times(1)).getLastHead(anyString());
+        verify(signatureService, never()).sign(anyString());
+    }
+
+    @Test
+    void shouldChainBatchSegmentsPerTenant() {
+        Event first = TestFixtures.createTestEventWithTenant("tenant-a");
+        Event second = TestFixtures.createTestEventWithTenant("tenant-b");
+        Event third = TestFixtures.createTestEventWithTenant("tenant-a");
+
+        when(hashChainService.getLastHead("tenant-a")).thenReturn(ChainHead.of("head-a"));
+        when(hashChainService.getLastHead("tenant-b")).thenReturn(ChainHead.of("head-b"));
+        when(hashChainService.calculateHash(same(first), eq("head-a"))).thenReturn("a1");
+        when(hashChainService.calculateHash(same(third), eq("a1"))).thenReturn("a2");
+        when(hashChainService.calculateHash(same(second), eq("head-b"))).thenReturn("b1");
+        when(signatureService.signAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Event> stored = service.storeBatch(List.of(first, second, third));
+
+        assertThat(stored).extracting(Event::previousHash).containsExactly("head-a", "head-b", "a1");
+        assertThat(stored).extracting(Event::hash).containsExactly("a1", "b1", "a2");
+        verify(eventBatchWriter, times(2)).insert(anyList(), any(Instant.class));
+    }
+
+    @Test
+    void shouldWriteOutboxEntriesWithStoredEvents() {
+        Event single = TestFixtures.createTestEvent();
+        Event first = TestFixtures.createTestEvent();
+        Event second = TestFixtures.createTestEvent();
+
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
+        when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn("h1", "h2", "h3");
+        when(signatureService.sign(anyString())).thenReturn("signature");
+        when(signatureService.signAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.store(single);
+        List<Event> batch = service.storeBatch(List.of(first, second));
+
+        verify(eventOutbox).append(argThat(events -> events.size() == 1 && events.get(0).id().equals(single.id())));
+        verify(eventOutbox).append(batch);
+    }
+
+    @Test
+    void shouldReuseCachedChainHeadAcrossStores() {
+        when(hashChainService.getLastHead("tenant-001")).thenReturn(ChainHead.of("GENESIS"));
         when(hashChainService.calculateHash(any(Event.class), eq("GENESIS"))).thenReturn("hash1");
         when(hashChainService.calculateHash(any(Event.class), eq("hash1"))).thenReturn("hash2");
         when(signatureService.sign(anyString())).thenReturn("sig");
         when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        service.storeBatch(events);
+        service.store(TestFixtures.createTestEvent());
+        Event second = service.store(TestFixtures.createTestEvent());
 
-        verify(hashChainService, times(2)).getLastHash(anyString());
+        assertThat(second.previousHash()).isEqualTo("hash1");
+        verify(hashChainService, times(1)).getLastHead("tenant-001");
     }
 
     @Test
@@ -159,6 +260,69 @@ class ImmutableStorageServiceTest {
         assertThat(result.get().id()).isEqualTo(eventId);
     }
 
+    @Test
+    void shouldServeRepeatedLookupsFromReadCache() {
+        UUID eventId = UUID.randomUUID();
+        EventEntity entity = TestFixtures.createTestEventEntity();
+        entity.setId(eventId);
+        when(jpaEventRepository.findById(eventId)).thenReturn(Optional.of(entity));
+
+        service.findById(eventId);
+        Optional<Event> result = service.findById(eventId);
+
+        assertThat(result).map(Event::id).contains(eventId);
+        verify(jpaEventRepository, times(1)).findById(eventId);
+        assertThat(eventReadCache.hitCount()).isEqualTo(1);
+        assertThat(eventReadCache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCacheStoredEventsWithoutReadingThemBack() {
+        Event event = TestFixtures.createTestEvent();
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
+        when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn("h1");
+        when(signatureService.signAll(anyList())).thenReturn(List.of("s1"));
+
+        service.storeBatch(List.of(event));
+
+        assertThat(service.findById(event.id())).map(Event::hash).contains("h1");
+        verify(jpaEventRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldHashAndCacheTimestampsAtStoredPrecision() {
+        Event template = TestFixtures.createTestEvent();
+        Instant nanos = Instant.parse("2026-01-15T10:00:00.123456789Z");
+        Event event = new Event(template.id(), nanos, template.actor(), template.action(), template.resource(),
+                template.metadata(), null, null, null);
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
+        when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn("h1");
+        when(signatureService.signAll(anyList())).thenReturn(List.of("s1"));
+
+        List<Event> stored = service.storeBatch(List.of(event));
+
+        Instant micros = Instant.parse("2026-01-15T10:00:00.123456Z");
+        verify(hashChainService).calculateHash(argThat(hashed -> hashed.timestamp().equals(micros)), anyString());
+        assertThat(stored.get(0).timestamp()).isEqualTo(micros);
+        assertThat(service.findById(event.id())).map(Event::timestamp).contains(micros);
+    }
+
+    @Test
+    void shouldVerifyIntegrityAgainstDatabaseEvenWhenCached() {
+        UUID eventId = UUID.randomUUID();
+        EventEntity entity = TestFixtures.createTestEventEntity();
+        entity.setId(eventId);
+        entity.setPreviousHash("prev-hash");
+        entity.setHash("valid-hash");
+        when(jpaEventRepository.findById(eventId)).thenReturn(Optional.of(entity));
+        service.findById(eventId);
+
+        entity.setHash("tampered-hash");
+        when(hashChainService.calculateHash(any(Event.class), eq("prev-hash"), anyInt())).thenReturn("valid-hash");
+
+        assertThat(service.verifyIntegrity(eventId)).isFalse();
+    }
+
     @Test
     void shouldReturnEmptyForNonExistentEvent() {
         UUID nonExistentId = UUID.randomUUID();
@@ -177,9 +341,11 @@ class ImmutableStorageServiceTest {
         entity.setPreviousHash("prev-hash");
         entity.setHash("valid-hash");
         entity.setSignature("valid-signature");
+        entity.setHashVersion(CanonicalHashInput.LEGACY_VERSION);
 
         when(jpaEventRepository.findById(eventId)).thenReturn(Optional.of(entity));
-        when(hashChainService.calculateHash(any(Event.class), eq("prev-hash"))).thenReturn("valid-hash");
+        when(hashChainService.calculateHash(any(Event.class), eq("prev-hash"), eq(CanonicalHashInput.LEGACY_VERSION)))
+                .thenReturn("valid-hash");
         when(signatureService.verify("valid-hash", "valid-signature")).thenReturn(true);
 
         boolean isValid = service.verifyIntegrity(eventId);
@@ -197,7 +363,7 @@ class ImmutableStorageServiceTest {
         entity.setSignature("signature");
 
         when(jpaEventRepository.findById(eventId)).thenReturn(Optional.of(entity));
-        when(hashChainService.calculateHash(any(Event.class), eq("prev-hash"))).thenReturn("different-hash");
+        when(hashChainService.calculateHash(any(Event.class), eq("prev-hash"), anyInt())).thenReturn("different-hash");
 
         boolean isValid = service.verifyIntegrity(eventId);
 
@@ -214,7 +380,7 @@ class ImmutableStorageServiceTest {
         entity.setSignature("invalid-signature");
 
         when(jpaEventRepository.findById(eventId)).thenReturn(Optional.of(entity));
-        when(hashChainService.calculateHash(any(Event.class), eq("prev-hash"))).thenReturn("valid-hash");
+        when(hashChainService.calculateHash(any(Event.class), eq("prev-hash"), anyInt())).thenReturn("valid-hash");
         when(signatureService.verify("valid-hash", "invalid-signature")).thenReturn(false);
 
         boolean isValid = service.verifyIntegrity(eventId);
@@ -222,6 +388,31 @@ class ImmutableStorageServiceTest {
         assertThat(isValid).isFalse();
     }
 
+    @Test
+    void shouldVerifyIntegrityOfBatchSignedEventByItsMerkleProof() {
+        SignatureServiceImpl merkleSignatures = new SignatureServiceImpl(SignatureServiceImpl.Mode.MERKLE);
+        merkleSignatures.init();
+        ImmutableStorageServiceImpl merkleService = new ImmutableStorageServiceImpl(jpaEventRepository, eventBatchWriter,
+                eventOutbox, hashChainService, merkleSignatures, new ChainHeadCache(ChainHeadCache.Mode.LOCAL),
+                new ChainSequencer(ChainSequencer.Mode.LOCAL, 16, 1000, null), new EventReadCache(0));
+        List<Event> events = List.of(TestFixtures.createTestEvent(), TestFixtures.createTestEvent(),
+                TestFixtures.createTestEvent());
+
+        when(hashChainService.getLastHead(anyString())).thenReturn(ChainHead.of("GENESIS"));
+        when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn("hash1", "hash2", "hash3");
+        List<Event> stored = merkleService.storeBatch(events);
+
+        Event second = stored.get(1);
+        EventEntity entity = EventMapper.toEntity(second);
+        when(jpaEventRepository.findById(second.id())).thenReturn(Optional.of(entity));
+        when(hashChainService.calculateHash(any(Event.class), eq("hash1"), anyInt())).thenReturn("hash2");
+
+        assertThat(merkleService.verifyIntegrity(second.id())).isTrue();
+
+        entity.setSignature(stored.get(0).signature());
+        assertThat(merkleService.verifyIntegrity(second.id())).isFalse();
+    }
+
     @Test
     void shouldReturnFalseForNonExistentEventIntegrity() {
         UUID nonExistentId = UUID.randomUUID();
@@ -246,7 +437,7 @@ class ImmutableStorageServiceTest {
                 null
         );
 
-        when(hashChainService.getLastHash("default")).thenReturn("GENESIS");
+        when(hashChainService.getLastHead("default")).thenReturn(ChainHead.of("GENESIS"));
         when(hashChainService.calculateHash(any(Event.class), anyString())).thenReturn("hash");
         when(signatureService.sign(anyString())).thenReturn("sig");
         when(jpaEventRepository.save(any(EventEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -254,7 +445,7 @@ class ImmutableStorageServiceTest {
         Event stored = service.store(eventWithNullMetadata);
 
         assertThat(stored).isNotNull();
-        verify(hashChainService).getLastHash("default");
+        verify(hashChainService).getLastHead("default");
     }
 
     @Test
@@ -263,5 +454,6 @@ class ImmutableStorageServiceTest {
 
         assertThat(stored).isEmpty();
         verify(jpaEventRepository, never()).save(any());
+        verify(eventBatchWriter, never()).insert(anyList(), any(Instant.class));
     }
 }
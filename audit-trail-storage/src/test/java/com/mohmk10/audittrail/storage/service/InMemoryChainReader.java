@@ -0,0 +1,73 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcChainReader;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// a single tenant chain held in memory, answering keyset reads the way the events table would
+class InMemoryChainReader extends JdbcChainReader {
+
+    private final String tenantId;
+    private final List<ChainLink> links = new ArrayList<>();
+
+    InMemoryChainReader(String tenantId, int length, Instant start, HashChainService hashChainService,
+                        SignatureService signatureService) {
+        super(null);
+        this.tenantId = tenantId;
+        String previousHash = HashChainServiceImpl.GENESIS_HASH;
+        for (int i = 0; i < length; i++) {
+            Event template = TestFixtures.createTestEventWithTenant(tenantId);
+            String hash = hashChainService.calculateHash(template, previousHash);
+            String signature = signatureService != null ? signatureService.sign(hash) : null;
+            links.add(new ChainLink(new Event(template.id(), template.timestamp(), template.actor(), template.action(),
+                    template.resource(), template.metadata(), previousHash, hash, signature), start.plusMillis(i)));
+            previousHash = hash;
+        }
+    }
+
+    List<ChainLink> links() {
+        return links;
+    }
+
+    void replace(int index, Event event) {
+        links.set(index, new ChainLink(event, links.get(index).createdAt()));
+    }
+
+    @Override
+    public List<ChainLink> readPage(String tenantId, ChainPosition after, ChainPosition until, int limit) {
+        return stream(tenantId, after, until).stream().limit(limit).toList();
+    }
+
+    @Override
+    public Optional<ChainLink> findNth(String tenantId, ChainPosition after, Instant createdBefore, int n) {
+        List<ChainLink> candidates = stream(tenantId, after, null).stream()
+                .filter(link -> link.createdAt().isBefore(createdBefore))
+                .toList();
+        return candidates.size() >= n ? Optional.of(candidates.get(n - 1)) : Optional.empty();
+    }
+
+    @Override
+    public List<String> findTenantIds() {
+        return List.of(tenantId);
+    }
+
+    private List<ChainLink> stream(String tenantId, ChainPosition after, ChainPosition until) {
+        if (!this.tenantId.equals(tenantId)) {
+            return List.of();
+        }
+        return links.stream()
+                .filter(link -> after == null || link.position().compareTo(after) > 0)
+                .filter(link -> until == null || link.position().compareTo(until) <= 0)
+                .toList();
+    }
+
+    UUID idAt(int index) {
+        return links.get(index).event().id();
+    }
+}
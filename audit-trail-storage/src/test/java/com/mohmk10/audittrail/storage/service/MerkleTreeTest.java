@@ -0,0 +1,72 @@
+package com.mohmk10.audittrail.storage.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MerkleTreeTest {
+
+    private static List<String> hashes(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "hash-" + i).toList();
+    }
+
+    @Test
+    void shouldRebuildRootFromEveryProof() {
+        for (int size = 1; size <= 17; size++) {
+            List<String> hashes = hashes(size);
+            MerkleTree tree = MerkleTree.of(hashes);
+
+            assertThat(tree.size()).isEqualTo(size);
+            for (int i = 0; i < size; i++) {
+                assertThat(MerkleTree.rootOf(hashes.get(i), tree.proof(i))).isEqualTo(tree.root());
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepProofsLogarithmic() {
+        MerkleTree tree = MerkleTree.of(hashes(1000));
+
+        assertThat(tree.proof(0).split(",")).hasSize(10);
+        assertThat(tree.proof(999).split(",")).hasSizeLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void shouldUseLeafHashAsRootOfSingleLeafTree() {
+        MerkleTree tree = MerkleTree.of(List.of("only"));
+
+        assertThat(tree.proof(0)).isEmpty();
+        assertThat(MerkleTree.rootOf("only", "")).isEqualTo(tree.root());
+    }
+
+    @Test
+    void shouldNotAcceptLeafAtAnotherPosition() {
+        List<String> hashes = hashes(8);
+        MerkleTree tree = MerkleTree.of(hashes);
+
+        assertThat(MerkleTree.rootOf(hashes.get(3), tree.proof(4))).isNotEqualTo(tree.root());
+    }
+
+    @Test
+    void shouldNotAcceptInnerNodeAsLeaf() {
+        List<String> hashes = hashes(4);
+        MerkleTree tree = MerkleTree.of(hashes);
+        MerkleTree left = MerkleTree.of(hashes.subList(0, 2));
+
+        // the left subtree root with the right subtree as sibling must not reproduce the full root
+        String rightSibling = tree.proof(0).split(",")[1];
+        assertThat(MerkleTree.rootOf(left.root(), rightSibling)).isNotEqualTo(tree.root());
+    }
+
+    @Test
+    void shouldRejectMalformedProof() {
+        assertThatThrownBy(() -> MerkleTree.rootOf("hash", "Xabcd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MerkleTree.rootOf("hash", "Rzz")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MerkleTree.rootOf("hash", "R")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MerkleTree.of(List.of())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
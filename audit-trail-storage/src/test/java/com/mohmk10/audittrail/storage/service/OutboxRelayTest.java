@@ -0,0 +1,150 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.domain.Event;
+import com.mohmk10.audittrail.core.event.StoredEventHandler;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.mapper.EventMapper;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventOutbox;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.OutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private JdbcEventOutbox outbox;
+
+    @Mock
+    private JpaEventRepository jpaEventRepository;
+
+    @Mock
+    private StoredEventHandler handler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outbox, jpaEventRepository, List.of(handler), meterRegistry,
+                10, 30_000, MAX_ATTEMPTS);
+    }
+
+    private OutboxEntry entryFor(Event event, int attempts) {
+        return new OutboxEntry(attempts * 100L + event.hashCode(), event.id(), Instant.now().minusSeconds(5), attempts);
+    }
+
+    @Test
+    void shouldDispatchClaimedEventsAndAcknowledgeThem() {
+        Event first = TestFixtures.createTestEvent();
+        Event second = TestFixtures.createTestEvent();
+        List<OutboxEntry> entries = List.of(entryFor(first, 1), entryFor(second, 1));
+        when(outbox.claim(10, 30_000)).thenReturn(entries);
+        when(jpaEventRepository.findAllById(anyList())).thenReturn(
+                List.of(EventMapper.toEntity(first), EventMapper.toEntity(second)));
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isEqualTo(2);
+        verify(handler).onStored(argThat(event -> event.id().equals(first.id())));
+        verify(handler).onStored(argThat(event -> event.id().equals(second.id())));
+        verify(outbox).delete(entries);
+        assertThat(meterRegistry.get("audit.outbox.dispatched").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("audit.outbox.lag").gauge().value()).isGreaterThanOrEqualTo(5.0);
+    }
+
+    @Test
+    void shouldLeaveFailedDeliveryForRetry() {
+        Event event = TestFixtures.createTestEvent();
+        OutboxEntry entry = entryFor(event, 1);
+        when(outbox.claim(10, 30_000)).thenReturn(List.of(entry));
+        when(jpaEventRepository.findAllById(anyList())).thenReturn(List.of(EventMapper.toEntity(event)));
+        doThrow(new IllegalStateException("mail server down")).when(handler).onStored(any(Event.class));
+
+        relay.relayBatch();
+
+        verify(outbox).delete(List.of());
+        assertThat(meterRegistry.get("audit.outbox.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldAbandonEntryAfterMaxAttempts() {
+        Event event = TestFixtures.createTestEvent();
+        OutboxEntry entry = entryFor(event, MAX_ATTEMPTS);
+        when(outbox.claim(10, 30_000)).thenReturn(List.of(entry));
+        when(jpaEventRepository.findAllById(anyList())).thenReturn(List.of(EventMapper.toEntity(event)));
+        doThrow(new IllegalStateException("mail server down")).when(handler).onStored(any(Event.class));
+
+        relay.relayBatch();
+
+        verify(outbox).delete(List.of(entry));
+        assertThat(meterRegistry.get("audit.outbox.abandoned").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldDropEntryWhoseEventNoLongerExists() {
+        OutboxEntry entry = new OutboxEntry(1L, UUID.randomUUID(), Instant.now(), 1);
+        when(outbox.claim(10, 30_000)).thenReturn(List.of(entry));
+        when(jpaEventRepository.findAllById(anyList())).thenReturn(List.of());
+
+        relay.relayBatch();
+
+        verify(outbox).delete(List.of(entry));
+        verifyNoInteractions(handler);
+    }
+
+    @Test
+    void shouldResetLagWhenOutboxIsEmpty() {
+        when(outbox.claim(10, 30_000)).thenReturn(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+        assertThat(meterRegistry.get("audit.outbox.lag").gauge().value()).isZero();
+        verify(outbox, never()).delete(anyList());
+    }
+
+    @Test
+    void shouldRetryOnlyTheHandlersThatFailed() {
+        StoredEventHandler alerts = mock(StoredEventHandler.class);
+        when(handler.name()).thenReturn("detection");
+        when(alerts.name()).thenReturn("alerts");
+        relay = new OutboxRelay(outbox, jpaEventRepository, List.of(handler, alerts), meterRegistry,
+                10, 30_000, MAX_ATTEMPTS);
+        Event event = TestFixtures.createTestEvent();
+        OutboxEntry entry = entryFor(event, 1);
+        when(outbox.claim(10, 30_000)).thenReturn(List.of(entry));
+        when(jpaEventRepository.findAllById(anyList())).thenReturn(List.of(EventMapper.toEntity(event)));
+        doThrow(new IllegalStateException("mail server down")).when(alerts).onStored(any(Event.class));
+
+        relay.relayBatch();
+
+        verify(outbox).delete(List.of());
+        verify(outbox).recordDeliveries(List.of(entry.withDeliveredTo(Set.of("detection"))));
+
+        OutboxEntry retried = new OutboxEntry(entry.id(), event.id(), entry.createdAt(), 2, Set.of("detection"));
+        when(outbox.claim(10, 30_000)).thenReturn(List.of(retried));
+        doNothing().when(alerts).onStored(any(Event.class));
+
+        relay.relayBatch();
+
+        verify(handler, times(1)).onStored(any(Event.class));
+        verify(alerts, times(2)).onStored(any(Event.class));
+        verify(outbox).delete(List.of(retried));
+    }
+}
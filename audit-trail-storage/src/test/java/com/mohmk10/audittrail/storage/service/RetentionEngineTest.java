@@ -0,0 +1,129 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.core.event.PurgedEventsHandler;
+import com.mohmk10.audittrail.core.port.out.EventArchivePort;
+import com.mohmk10.audittrail.core.port.out.RetentionPolicyPort;
+import com.mohmk10.audittrail.storage.TestFixtures;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JdbcEventPurger;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.JpaEventRepository;
+import com.mohmk10.audittrail.storage.adapter.out.persistence.repository.PurgeBoundary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionEngineTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T00:00:00Z");
+    private static final Instant CUTOFF = Instant.parse("2026-10-11T00:00:00Z");
+
+    @Mock
+    private JdbcEventPurger purger;
+
+    @Mock
+    private JpaEventRepository jpaEventRepository;
+
+    @Mock
+    private ChainCheckpointService checkpointService;
+
+    @Mock
+    private RetentionPolicyPort retentionPolicy;
+
+    @Mock
+    private PurgedEventsHandler purgedEventsHandler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RetentionEngine engine(EventArchivePort archive) {
+        return new RetentionEngine(purger, jpaEventRepository, checkpointService,
+                TransactionOperations.withoutTransaction(), retentionPolicy, archive, List.of(purgedEventsHandler),
+                meterRegistry, 2, 0, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static List<UUID> ids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+
+    @Test
+    void shouldPurgeInChunksAndCheckpointEachChunk() {
+        PurgeBoundary first = new PurgeBoundary(UUID.randomUUID(), "a".repeat(64), Instant.parse("2026-10-01T00:00:00Z"));
+        PurgeBoundary second = new PurgeBoundary(UUID.randomUUID(), "b".repeat(64), Instant.parse("2026-10-02T00:00:00Z"));
+        when(retentionPolicy.retentionDaysByTenant()).thenReturn(Map.of("acme", 7));
+        when(purger.findChunkBoundary("acme", CUTOFF, 2)).thenReturn(Optional.of(first), Optional.of(second));
+        List<UUID> firstIds = ids(2);
+        List<UUID> secondIds = ids(1);
+        when(purger.deleteThrough("acme", first.createdAt())).thenReturn(firstIds);
+        when(purger.deleteThrough("acme", second.createdAt())).thenReturn(secondIds);
+
+        long purged = engine(null).purgeExpired();
+
+        assertThat(purged).isEqualTo(3);
+        verify(checkpointService).record("acme", first.eventId(), first.hash(), first.createdAt(), 2,
+                RetentionEngine.CHECKPOINT_REASON);
+        verify(checkpointService).record("acme", second.eventId(), second.hash(), second.createdAt(), 1,
+                RetentionEngine.CHECKPOINT_REASON);
+        verify(purgedEventsHandler).onPurged("acme", firstIds);
+        verify(purgedEventsHandler).onPurged("acme", secondIds);
+        assertThat(meterRegistry.get("audit.retention.purged").counter().count()).isEqualTo(3.0);
+        verifyNoInteractions(jpaEventRepository);
+    }
+
+    @Test
+    void shouldSkipTenantsWithoutRetention() {
+        when(retentionPolicy.retentionDaysByTenant()).thenReturn(Map.of("acme", 0));
+
+        assertThat(engine(null).purgeExpired()).isZero();
+        verifyNoInteractions(purger, checkpointService);
+    }
+
+    @Test
+    void shouldArchiveChunkBeforeDeletingIt() {
+        EventArchivePort archive = mock(EventArchivePort.class);
+        PurgeBoundary boundary = new PurgeBoundary(UUID.randomUUID(), "a".repeat(64), Instant.parse("2026-10-01T00:00:00Z"));
+        when(retentionPolicy.retentionDaysByTenant()).thenReturn(Map.of("acme", 7));
+        when(purger.findChunkBoundary("acme", CUTOFF, 2)).thenReturn(Optional.of(boundary));
+        when(jpaEventRepository.findByTenantIdAndCreatedAtLessThanEqualOrderByCreatedAtAsc("acme", boundary.createdAt()))
+                .thenReturn(List.of(TestFixtures.createTestEventEntity()));
+        when(purger.deleteThrough("acme", boundary.createdAt())).thenReturn(ids(1));
+
+        engine(archive).purgeExpired();
+
+        var inOrder = inOrder(archive, purger);
+        inOrder.verify(archive).archiveAll(argThat(events -> events.size() == 1));
+        inOrder.verify(purger).deleteThrough("acme", boundary.createdAt());
+    }
+
+    @Test
+    void shouldKeepPurgingOtherTenantsWhenOneFails() {
+        PurgeBoundary boundary = new PurgeBoundary(UUID.randomUUID(), "a".repeat(64), Instant.parse("2026-10-01T00:00:00Z"));
+        Map<String, Integer> retentionDays = new LinkedHashMap<>();
+        retentionDays.put("broken", 7);
+        retentionDays.put("acme", 7);
+        when(retentionPolicy.retentionDaysByTenant()).thenReturn(retentionDays);
+        when(purger.findChunkBoundary(eq("broken"), any(), anyInt())).thenThrow(new IllegalStateException("boom"));
+        when(purger.findChunkBoundary("acme", CUTOFF, 2)).thenReturn(Optional.of(boundary));
+        when(purger.deleteThrough("acme", boundary.createdAt())).thenReturn(ids(1));
+        doThrow(new IllegalStateException("index down")).when(purgedEventsHandler).onPurged(anyString(), anyList());
+
+        assertThat(engine(null).purgeExpired()).isEqualTo(1);
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.security.KeyPair;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -13,7 +14,7 @@ class SignatureServiceTest {
 
     @BeforeEach
     void setUp() {
-        signatureService = new SignatureServiceImpl();
+        signatureService = new SignatureServiceImpl(SignatureServiceImpl.Mode.PER_EVENT);
         signatureService.init();
     }
 
@@ -27,6 +28,18 @@ class SignatureServiceTest {
         assertThat(signature).isNotEmpty();
     }
 
+    @Test
+    void shouldSignAllHashesInOrder() {
+        List<String> hashes = List.of("hash-1", "hash-2", "hash-3");
+
+        List<String> signatures = signatureService.signAll(hashes);
+
+        assertThat(signatures).hasSize(3);
+        for (int i = 0; i < hashes.size(); i++) {
+            assertThat(signatureService.verify(hashes.get(i), signatures.get(i))).isTrue();
+        }
+    }
+
     @Test
     void shouldVerifyValidSignature() {
         String hash = "abc123def456789";
@@ -69,9 +82,9 @@ class SignatureServiceTest {
 
     @Test
     void shouldProduceDifferentSignaturesWithDifferentKeys() {
-        SignatureServiceImpl service1 = new SignatureServiceImpl();
+        SignatureServiceImpl service1 = new SignatureServiceImpl(SignatureServiceImpl.Mode.PER_EVENT);
         service1.init();
-        SignatureServiceImpl service2 = new SignatureServiceImpl();
+        SignatureServiceImpl service2 = new SignatureServiceImpl(SignatureServiceImpl.Mode.PER_EVENT);
         service2.init();
 
         String hash = "same-hash-value";
@@ -140,8 +153,8 @@ class SignatureServiceTest {
 
         String signature = signatureService.sign(hash);
 
-        // Base64 characters are A-Z, a-z, 0-9, +, /, =
-        assertThat(signature).matches("^[A-Za-z0-9+/=]+$");
+        // <key id>:<base64>, base64 characters are A-Z, a-z, 0-9, +, /, =
+        assertThat(signature).matches("^[A-Za-z0-9_-]+:[A-Za-z0-9+/=]+$");
     }
 
     @Test
@@ -186,4 +199,52 @@ class SignatureServiceTest {
         assertThat(signatureService.verify(hash1, signature2)).isFalse();
         assertThat(signatureService.verify(hash2, signature1)).isFalse();
     }
+
+    @Test
+    void shouldSignBatchUnderOneMerkleRoot() {
+        SignatureServiceImpl merkle = new SignatureServiceImpl(SignatureServiceImpl.Mode.MERKLE);
+        merkle.init();
+        List<String> hashes = List.of("hash-1", "hash-2", "hash-3", "hash-4", "hash-5");
+
+        List<String> signatures = merkle.signAll(hashes);
+
+        assertThat(signatures).hasSize(5).allMatch(signature -> signature.startsWith(SignatureServiceImpl.MERKLE_PREFIX));
+        assertThat(signatures).extracting(signature -> signature.split(":")[1]).containsOnly(signatures.get(0).split(":")[1]);
+        for (int i = 0; i < hashes.size(); i++) {
+            assertThat(merkle.verify(hashes.get(i), signatures.get(i))).isTrue();
+        }
+    }
+
+    @Test
+    void shouldRejectHashOutsideMerkleBatch() {
+        SignatureServiceImpl merkle = new SignatureServiceImpl(SignatureServiceImpl.Mode.MERKLE);
+        merkle.init();
+        List<String> signatures = merkle.signAll(List.of("hash-1", "hash-2", "hash-3"));
+
+        assertThat(merkle.verify("hash-2", signatures.get(0))).isFalse();
+        assertThat(merkle.verify("tampered-hash", signatures.get(1))).isFalse();
+        assertThat(merkle.verify("hash-1", signatures.get(0) + "00")).isFalse();
+        assertThat(merkle.verify("hash-1", "merkle:broken")).isFalse();
+    }
+
+    @Test
+    void shouldRejectMerkleRootSignedByAnotherKey() {
+        SignatureServiceImpl merkle = new SignatureServiceImpl(SignatureServiceImpl.Mode.MERKLE);
+        merkle.init();
+        List<String> signatures = merkle.signAll(List.of("hash-1", "hash-2"));
+
+        assertThat(signatureService.verify("hash-1", signatures.get(0))).isFalse();
+    }
+
+    @Test
+    void shouldVerifyPerEventSignaturesInMerkleMode() {
+        SignatureServiceImpl merkle = new SignatureServiceImpl(SignatureServiceImpl.Mode.MERKLE);
+        merkle.init();
+
+        String single = merkle.signAll(List.of("only-hash")).get(0);
+
+        assertThat(single).doesNotStartWith(SignatureServiceImpl.MERKLE_PREFIX);
+        assertThat(merkle.verify("only-hash", single)).isTrue();
+        assertThat(merkle.verify("some-hash", merkle.sign("some-hash"))).isTrue();
+    }
 }
@@ -0,0 +1,102 @@
+package com.mohmk10.audittrail.storage.service;
+
+import com.mohmk10.audittrail.storage.adapter.out.keystore.FileSigningKeyStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SigningKeyRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private SigningKeyRegistry registry(Clock clock) {
+        return new SigningKeyRegistry(new FileSigningKeyStore(directory, new char[0]), Duration.ofDays(90), clock);
+    }
+
+    private SignatureServiceImpl signatures(SigningKeyRegistry registry) {
+        SignatureServiceImpl service = new SignatureServiceImpl(SignatureServiceImpl.Mode.MERKLE, registry);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void shouldKeepSigningKeyAcrossRestarts() {
+        SigningKeyRegistry first = registry(Clock.fixed(NOW, ZoneOffset.UTC));
+        SignatureServiceImpl before = signatures(first);
+        String signature = before.sign("hash");
+        List<String> batch = before.signAll(List.of("hash-1", "hash-2", "hash-3"));
+
+        SigningKeyRegistry restarted = registry(Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        SignatureServiceImpl after = signatures(restarted);
+
+        assertThat(restarted.current().id()).isEqualTo(first.current().id());
+        assertThat(after.verify("hash", signature)).isTrue();
+        assertThat(after.verify("hash-2", batch.get(1))).isTrue();
+    }
+
+    @Test
+    void shouldVerifyOlderSignaturesAfterRotation() {
+        SigningKeyRegistry registry = registry(Clock.fixed(NOW, ZoneOffset.UTC));
+        SignatureServiceImpl service = signatures(registry);
+        String oldKeyId = registry.current().id();
+        String before = service.sign("hash");
+
+        registry.rotate();
+        String after = service.sign("hash");
+
+        assertThat(registry.current().id()).isNotEqualTo(oldKeyId);
+        assertThat(before).startsWith(oldKeyId + ":");
+        assertThat(after).startsWith(registry.current().id() + ":");
+        assertThat(service.verify("hash", before)).isTrue();
+        assertThat(service.verify("hash", after)).isTrue();
+    }
+
+    @Test
+    void shouldPickUpKeysRotatedByAnotherNode() {
+        SigningKeyRegistry nodeA = registry(Clock.fixed(NOW, ZoneOffset.UTC));
+        SigningKeyRegistry nodeB = registry(Clock.fixed(NOW, ZoneOffset.UTC));
+        nodeA.init();
+        nodeB.init();
+
+        nodeA.rotate();
+        String signature = signatures(nodeA).sign("hash");
+
+        // node B has never seen the new key id and reads it from the shared store on first use
+        assertThat(signatures(nodeB).verify("hash", signature)).isTrue();
+    }
+
+    @Test
+    void shouldRotateOnlyOnceCurrentKeyIsDue() {
+        SigningKeyRegistry registry = registry(Clock.fixed(NOW, ZoneOffset.UTC));
+        registry.init();
+        String initial = registry.current().id();
+
+        assertThat(registry.rotateIfDue()).isFalse();
+
+        SigningKeyRegistry later = registry(Clock.fixed(NOW.plus(Duration.ofDays(91)), ZoneOffset.UTC));
+        later.init();
+        assertThat(later.current().id()).isEqualTo(initial);
+        assertThat(later.rotateIfDue()).isTrue();
+        assertThat(later.current().id()).isNotEqualTo(initial);
+    }
+
+    @Test
+    void shouldRejectSignatureNamingUnknownKey() {
+        SignatureServiceImpl service = signatures(registry(Clock.fixed(NOW, ZoneOffset.UTC)));
+        String signature = service.sign("hash");
+        String foreign = "20260101T000000Z-00000000" + signature.substring(signature.indexOf(':'));
+
+        assertThat(service.verify("hash", foreign)).isFalse();
+    }
+}